@@ -15,6 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.aspectj.weaver.internal.tools.PointcutExpressionImpl;
 import org.aspectj.weaver.patterns.NamePattern;
 import org.aspectj.weaver.reflect.ReflectionWorld.ReflectionWorldException;
 import org.aspectj.weaver.reflect.ShadowMatchImpl;
@@ -100,6 +101,9 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
+	@Nullable
+	private transient PointcutPrefilter prefilter;
+
 
 	/**
 	 * Create a new default AspectJExpressionPointcut.
@@ -246,6 +250,24 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return obtainPointcutExpression();
 	}
 
+	/**
+	 * Return the prefilter that rejects classes that this pointcut cannot apply to,
+	 * derived from the types and annotations that the expression requires.
+	 * @since 5.1.9
+	 * @see PointcutPrefilter#couldMatch(Class)
+	 */
+	public PointcutPrefilter getPrefilter() {
+		PointcutPrefilter prefilter = this.prefilter;
+		if (prefilter == null) {
+			PointcutExpression pointcutExpression = obtainPointcutExpression();
+			prefilter = (pointcutExpression instanceof PointcutExpressionImpl ?
+					PointcutPrefilter.forPointcut(((PointcutExpressionImpl) pointcutExpression).getUnderlyingPointcut()) :
+					PointcutPrefilter.NONE);
+			this.prefilter = prefilter;
+		}
+		return prefilter;
+	}
+
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
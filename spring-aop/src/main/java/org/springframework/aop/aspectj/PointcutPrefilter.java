@@ -0,0 +1,354 @@
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.aspectj.weaver.patterns.AndPointcut;
+import org.aspectj.weaver.patterns.AnnotationPointcut;
+import org.aspectj.weaver.patterns.AnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactAnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactTypePattern;
+import org.aspectj.weaver.patterns.KindedPointcut;
+import org.aspectj.weaver.patterns.NamePattern;
+import org.aspectj.weaver.patterns.OrPointcut;
+import org.aspectj.weaver.patterns.Pointcut;
+import org.aspectj.weaver.patterns.SignaturePattern;
+import org.aspectj.weaver.patterns.TypePattern;
+import org.aspectj.weaver.patterns.WildTypePattern;
+import org.aspectj.weaver.patterns.WithinAnnotationPointcut;
+import org.aspectj.weaver.patterns.WithinPointcut;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cheap, conservative test whether an AspectJ pointcut could match any method of a class,
+ * derived from the type, package and annotation patterns that the pointcut requires:
+ * the declaring type pattern of {@code execution}, {@code within}, {@code @annotation}
+ * and {@code @within}, combined with {@code &&} and {@code ||}.
+ * The class side is described by the names and annotations of all types in its hierarchy
+ * and the annotations of all their methods, which get computed once per class.
+ * This lets the auto-proxy creators skip the shadow matching of every method against
+ * pointcuts that cannot apply to a bean class at all.
+ * Parts of an expression that cannot be classified or that AspectJ tests at runtime
+ * (e.g. {@code args}, {@code @target}, negations or {@code bean()}) impose no requirement, so the prefilter never rejects
+ * a class that the full match would accept.
+ * 简而言之，根据切点表达式要求的类型/包/注解预先过滤目标类，避免对每个方法做完整的 shadow 匹配。
+ * @since 5.1.9
+ * @see AspectJExpressionPointcut#getPrefilter()
+ */
+public final class PointcutPrefilter {
+
+	/**
+	 * Prefilter that lets every class through.
+	 */
+	public static final PointcutPrefilter NONE = new PointcutPrefilter(null, "none");
+
+	private static final Map<Class<?>, TypeFacts> typeFactsCache = new ConcurrentReferenceHashMap<>(256);
+
+	@Nullable
+	private final Requirement requirement;
+
+	private final String description;
+
+
+	private PointcutPrefilter(@Nullable Requirement requirement, String description) {
+		this.requirement = requirement;
+		this.description = description;
+	}
+
+
+	/**
+	 * Derive the prefilter of the given AspectJ pointcut.
+	 * @param pointcut the underlying AspectJ pointcut of a parsed expression
+	 * @return the prefilter ({@link #NONE} if the pointcut requires nothing that can be prefiltered)
+	 */
+	static PointcutPrefilter forPointcut(Pointcut pointcut) {
+		Requirement requirement = requirementOf(pointcut);
+		return (requirement != null ? new PointcutPrefilter(requirement, requirement.toString()) : NONE);
+	}
+
+	/**
+	 * Return whether the pointcut could match any method of the given class.
+	 * A {@code false} result is definite, a {@code true} result calls for the full match.
+	 * @param targetClass the class to check
+	 */
+	public boolean couldMatch(Class<?> targetClass) {
+		if (this.requirement == null) return true;
+		return this.requirement.isSatisfiedBy(typeFacts(targetClass));
+	}
+
+	/**
+	 * Return whether this prefilter can reject classes at all.
+	 */
+	public boolean isSelective() {
+		return (this.requirement != null);
+	}
+
+	@Override
+	public String toString() {
+		return "PointcutPrefilter: " + this.description;
+	}
+
+
+	// Requirements of a pointcut, or null where it cannot be classified
+
+	@Nullable
+	private static Requirement requirementOf(Pointcut pointcut) {
+		if (pointcut instanceof AndPointcut) {
+			Requirement left = requirementOf(((AndPointcut) pointcut).getLeft());
+			Requirement right = requirementOf(((AndPointcut) pointcut).getRight());
+			if (left == null) return right;
+			if (right == null) return left;
+			return new Conjunction(left, right);
+		}
+		if (pointcut instanceof OrPointcut) {
+			Requirement left = requirementOf(((OrPointcut) pointcut).getLeft());
+			Requirement right = requirementOf(((OrPointcut) pointcut).getRight());
+			if (left == null || right == null) return null;
+			return new Disjunction(left, right);
+		}
+		if (pointcut instanceof KindedPointcut) {
+			SignaturePattern signature = ((KindedPointcut) pointcut).getSignature();
+			Requirement declaringType = typeRequirementOf(signature.getDeclaringType());
+			String annotation = annotationNameOf(signature.getAnnotationPattern());
+			if (annotation == null) return declaringType;
+			Requirement methodAnnotation = new AnnotationRequirement(annotation, false);
+			return (declaringType != null ? new Conjunction(declaringType, methodAnnotation) : methodAnnotation);
+		}
+		if (pointcut instanceof WithinPointcut) {
+			return typeRequirementOf(((WithinPointcut) pointcut).getTypePattern());
+		}
+		if (pointcut instanceof AnnotationPointcut) {
+			String annotation = annotationNameOf(((AnnotationPointcut) pointcut).getAnnotationTypePattern());
+			return (annotation != null ? new AnnotationRequirement(annotation, false) : null);
+		}
+		if (pointcut instanceof WithinAnnotationPointcut) {
+			String annotation = annotationNameOf(((WithinAnnotationPointcut) pointcut).getAnnotationTypePattern());
+			return (annotation != null ? new AnnotationRequirement(annotation, true) : null);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Requirement typeRequirementOf(TypePattern typePattern) {
+		Requirement nameRequirement = null;
+		if (typePattern instanceof ExactTypePattern && !typePattern.isArray() && !typePattern.isVoid()) {
+			nameRequirement = new TypeNameRequirement(((ExactTypePattern) typePattern).getType().getName(), null);
+		}else if (typePattern instanceof WildTypePattern) {
+			WildTypePattern wildTypePattern = (WildTypePattern) typePattern;
+			NamePattern[] namePatterns = wildTypePattern.getNamePatterns();
+			// Only qualified patterns: simple names may also match through imports
+			if (namePatterns.length > 1 && !wildTypePattern.isArray() && wildTypePattern.getTypeParameters().size() == 0 &&
+					wildTypePattern.getUpperBound() == null && isLiteral(namePatterns[0])) {
+				nameRequirement = new TypeNameRequirement(wildTypePattern.toString(), namePattern(namePatterns));
+			}
+		}
+		String annotation = annotationNameOf(typePattern.getAnnotationPattern());
+		if (annotation == null) return nameRequirement;
+		Requirement typeAnnotation = new AnnotationRequirement(annotation, true);
+		return (nameRequirement != null ? new Conjunction(nameRequirement, typeAnnotation) : typeAnnotation);
+	}
+
+	@Nullable
+	private static String annotationNameOf(@Nullable AnnotationTypePattern annotationPattern) {
+		if (annotationPattern instanceof ExactAnnotationTypePattern) {
+			// Also covers annotations bound to advice parameters
+			return ((ExactAnnotationTypePattern) annotationPattern).getAnnotationType().getName();
+		}
+		return null;
+	}
+
+	private static boolean isLiteral(NamePattern namePattern) {
+		return (namePattern != NamePattern.ELLIPSIS && !namePattern.toString().contains("*"));
+	}
+
+	// Turn the name parts of a type pattern into a regular expression over qualified type names
+	private static Pattern namePattern(NamePattern[] namePatterns) {
+		StringBuilder regex = new StringBuilder();
+		boolean afterEllipsis = true;
+		for (int i = 0; i < namePatterns.length; i++) {
+			if (namePatterns[i] == NamePattern.ELLIPSIS) {
+				regex.append(i == 0 ? "(?:.*\\.)?" : "\\.(?:.*\\.)?");
+				afterEllipsis = true;
+				continue;
+			}
+			if (!afterEllipsis) regex.append("\\.");
+			String[] literals = namePatterns[i].toString().split("\\*", -1);
+			regex.append(Pattern.quote(literals[0]));
+			for (int j = 1; j < literals.length; j++) {
+				regex.append("[^.]*").append(Pattern.quote(literals[j]));
+			}
+			afterEllipsis = false;
+		}
+		return Pattern.compile(regex.toString());
+	}
+
+
+	private static TypeFacts typeFacts(Class<?> targetClass) {
+		TypeFacts facts = typeFactsCache.get(targetClass);
+		if (facts == null) {
+			facts = new TypeFacts(targetClass);
+			typeFactsCache.put(targetClass, facts);
+		}
+		return facts;
+	}
+
+
+	/**
+	 * The names and annotations of a class's hierarchy, as far as pointcuts may refer to them.
+	 */
+	private static final class TypeFacts {
+
+		private final Set<String> typeNames = new LinkedHashSet<>();
+
+		private final Set<String> typeAnnotations = new HashSet<>();
+
+		private final Set<String> methodAnnotations = new HashSet<>();
+
+		TypeFacts(Class<?> targetClass) {
+			Set<Class<?>> types = new LinkedHashSet<>();
+			for (Class<?> clazz = targetClass; clazz != null; clazz = clazz.getSuperclass()) {
+				types.add(clazz);
+			}
+			types.addAll(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
+			// within() also matches code in nested types
+			for (Class<?> type : new ArrayList<>(types)) {
+				for (Class<?> enclosing = type.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+					types.add(enclosing);
+				}
+			}
+			for (Class<?> type : types) {
+				this.typeNames.add(type.getName());
+				this.typeNames.add(type.getName().replace('$', '.'));
+				addAnnotations(type.getAnnotations(), this.typeAnnotations);
+				for (Method method : type.getDeclaredMethods()) {
+					addAnnotations(method.getAnnotations(), this.methodAnnotations);
+				}
+			}
+		}
+
+		private static void addAnnotations(Annotation[] annotations, Set<String> names) {
+			for (Annotation annotation : annotations) {
+				names.add(annotation.annotationType().getName());
+			}
+		}
+	}
+
+
+	private interface Requirement {
+
+		boolean isSatisfiedBy(TypeFacts facts);
+	}
+
+
+	private static final class Conjunction implements Requirement {
+
+		private final Requirement left;
+
+		private final Requirement right;
+
+		Conjunction(Requirement left, Requirement right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public boolean isSatisfiedBy(TypeFacts facts) {
+			return (this.left.isSatisfiedBy(facts) && this.right.isSatisfiedBy(facts));
+		}
+
+		@Override
+		public String toString() {
+			return "(" + this.left + " && " + this.right + ")";
+		}
+	}
+
+
+	private static final class Disjunction implements Requirement {
+
+		private final Requirement left;
+
+		private final Requirement right;
+
+		Disjunction(Requirement left, Requirement right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public boolean isSatisfiedBy(TypeFacts facts) {
+			return (this.left.isSatisfiedBy(facts) || this.right.isSatisfiedBy(facts));
+		}
+
+		@Override
+		public String toString() {
+			return "(" + this.left + " || " + this.right + ")";
+		}
+	}
+
+
+	/**
+	 * Some type in the hierarchy has the given name, or a name matching the given pattern.
+	 */
+	private static final class TypeNameRequirement implements Requirement {
+
+		private final String name;
+
+		@Nullable
+		private final Pattern pattern;
+
+		TypeNameRequirement(String name, @Nullable Pattern pattern) {
+			this.name = name;
+			this.pattern = pattern;
+		}
+
+		@Override
+		public boolean isSatisfiedBy(TypeFacts facts) {
+			if (this.pattern == null) return facts.typeNames.contains(this.name);
+			for (String typeName : facts.typeNames) {
+				if (this.pattern.matcher(typeName).matches()) return true;
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return "type " + this.name;
+		}
+	}
+
+
+	/**
+	 * Some type in the hierarchy, or some method of it, carries the given annotation.
+	 */
+	private static final class AnnotationRequirement implements Requirement {
+
+		private final String annotationName;
+
+		private final boolean onType;
+
+		AnnotationRequirement(String annotationName, boolean onType) {
+			this.annotationName = annotationName;
+			this.onType = onType;
+		}
+
+		@Override
+		public boolean isSatisfiedBy(TypeFacts facts) {
+			return (this.onType ? facts.typeAnnotations : facts.methodAnnotations).contains(this.annotationName);
+		}
+
+		@Override
+		public String toString() {
+			return (this.onType ? "type" : "method") + " annotated @" + this.annotationName;
+		}
+	}
+
+}
@@ -5,17 +5,27 @@ package org.springframework.aop.aspectj.autoproxy;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.aopalliance.aop.Advice;
 import org.aspectj.util.PartialOrder;
 import org.aspectj.util.PartialOrder.PartialComparable;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJAopUtils;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.aspectj.AspectJPointcutAdvisor;
+import org.springframework.aop.aspectj.AspectJPrecedenceInformation;
 import org.springframework.aop.aspectj.AspectJProxyUtils;
+import org.springframework.aop.aspectj.PointcutPrefilter;
 import org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.core.Ordered;
 import org.springframework.util.ClassUtils;
 
@@ -23,13 +33,116 @@ import org.springframework.util.ClassUtils;
  * {@link org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator}
  * subclass that exposes AspectJ's invocation context and understands AspectJ's rules
  * for advice precedence when multiple pieces of advice come from the same aspect.
+ * Candidate advisors with AspectJ expression pointcuts are {@link PointcutPrefilter prefiltered}
+ * per bean class before their pointcuts get matched against every method. With debug logging,
+ * the time spent matching each advisor until all singletons are instantiated is
+ * {@link #getAdvisorMatchingReport() reported} at that point.
  * @since 2.0
  */
 @SuppressWarnings("serial")
-public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProxyCreator {
+public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProxyCreator implements SmartInitializingSingleton {
 
 	private static final Comparator<Advisor> DEFAULT_PRECEDENCE_COMPARATOR = new AspectJPrecedenceComparator();
 
+	private boolean pointcutPrefiltering = true;
+
+	// Matching statistics per advice of an aspect, or else per advisor, for the startup report
+	private final Map<Object, AdvisorMatchingStatistics> advisorStatistics = new ConcurrentHashMap<>(64);
+
+	private volatile boolean singletonsInstantiated;
+
+
+	/**
+	 * Set whether to reject candidate advisors whose AspectJ pointcut cannot apply to a bean class
+	 * by the types and annotations it requires, before matching it against each method.
+	 * Default is "true"; switch this off to match every advisor in full.
+	 * @since 5.1.9
+	 * @see AspectJExpressionPointcut#getPrefilter()
+	 */
+	public void setPointcutPrefiltering(boolean pointcutPrefiltering) {
+		this.pointcutPrefiltering = pointcutPrefiltering;
+	}
+
+	/**
+	 * Return whether candidate advisors get prefiltered per bean class.
+	 * @since 5.1.9
+	 */
+	public boolean isPointcutPrefiltering() {
+		return this.pointcutPrefiltering;
+	}
+
+	/**
+	 * Apply the prefilter of the advisor before the full match, and record the time spent on both
+	 * for the startup report.
+	 */
+	@Override
+	protected boolean canApply(Advisor candidate, Class<?> beanClass, boolean hasIntroductions) {
+		boolean recording = (!this.singletonsInstantiated && isMatchingReportEnabled());
+		long start = (recording ? System.nanoTime() : 0);
+		boolean prefiltered = (this.pointcutPrefiltering && !prefilterOf(candidate).couldMatch(beanClass));
+		boolean result = (!prefiltered && super.canApply(candidate, beanClass, hasIntroductions));
+		if (recording) {
+			this.advisorStatistics.computeIfAbsent(statisticsKey(candidate), key -> new AdvisorMatchingStatistics(candidate))
+					.record(System.nanoTime() - start, prefiltered, result);
+		}
+		return result;
+	}
+
+	// The report is only logged at debug level
+	boolean isMatchingReportEnabled() {
+		return logger.isDebugEnabled();
+	}
+
+	// Prototype and perthis aspects get new advisors per bean: aggregate them by aspect and advice method, i.e. declaration order
+	private static Object statisticsKey(Advisor advisor) {
+		AspectJPrecedenceInformation precedenceInfo = AspectJAopUtils.getAspectJPrecedenceInformationFor(advisor);
+		return (precedenceInfo != null ? precedenceInfo.getAspectName() + "#" + precedenceInfo.getDeclarationOrder() : advisor);
+	}
+
+	private static PointcutPrefilter prefilterOf(Advisor advisor) {
+		if (advisor instanceof PointcutAdvisor) {
+			Pointcut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+			if (pointcut instanceof AspectJExpressionPointcut) {
+				return ((AspectJExpressionPointcut) pointcut).getPrefilter();
+			}
+		}
+		return PointcutPrefilter.NONE;
+	}
+
+	/**
+	 * Return a report of the time spent matching each candidate advisor against bean classes
+	 * until all singletons are instantiated, slowest advisor first, with the number of classes
+	 * it was matched against, rejected by its prefilter, and found to apply to.
+	 * Advisors for the same advice of an aspect are reported together. Matching is only
+	 * recorded with debug logging enabled.
+	 * @since 5.1.9
+	 */
+	public String getAdvisorMatchingReport() {
+		List<AdvisorMatchingStatistics> statistics = new ArrayList<>(this.advisorStatistics.values());
+		statistics.sort(Comparator.comparingLong(AdvisorMatchingStatistics::getNanos).reversed());
+		long totalNanos = 0;
+		for (AdvisorMatchingStatistics entry : statistics) {
+			totalNanos += entry.getNanos();
+		}
+		StringBuilder sb = new StringBuilder("Advisor matching took ").append(totalNanos / 1000000).append(" ms for ")
+				.append(statistics.size()).append(" advisors (prefiltering ").append(this.pointcutPrefiltering ? "on" : "off").append(")");
+		for (AdvisorMatchingStatistics entry : statistics) {
+			sb.append("\n  ").append(entry);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Log the {@link #getAdvisorMatchingReport() advisor matching report} at debug level.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		this.singletonsInstantiated = true;
+		if (logger.isDebugEnabled() && !this.advisorStatistics.isEmpty()) {
+			logger.debug(getAdvisorMatchingReport());
+		}
+	}
+
 	/**
 	 * Sort the rest by AspectJ precedence. If two pieces of advice have
 	 * come from the same aspect they will have the same order.
@@ -134,4 +247,42 @@ public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProx
 		}
 	}
 
+
+	/**
+	 * Time spent on matching one advisor, and the outcomes.
+	 */
+	private static final class AdvisorMatchingStatistics {
+
+		private final Advisor advisor;
+
+		private final LongAdder nanos = new LongAdder();
+
+		private final LongAdder classes = new LongAdder();
+
+		private final LongAdder prefiltered = new LongAdder();
+
+		private final LongAdder matched = new LongAdder();
+
+		AdvisorMatchingStatistics(Advisor advisor) {
+			this.advisor = advisor;
+		}
+
+		void record(long nanos, boolean prefiltered, boolean matched) {
+			this.nanos.add(nanos);
+			this.classes.increment();
+			if (prefiltered) this.prefiltered.increment();
+			if (matched) this.matched.increment();
+		}
+
+		long getNanos() {
+			return this.nanos.sum();
+		}
+
+		@Override
+		public String toString() {
+			return (this.nanos.sum() / 1000) + " us for " + this.classes.sum() + " classes (" + this.prefiltered.sum() +
+					" prefiltered, " + this.matched.sum() + " matched): " + this.advisor;
+		}
+	}
+
 }
@@ -86,6 +86,16 @@ public abstract class AopConfigUtils {
 		}
 	}
 
+	/**
+	 * @since 5.1.9
+	 */
+	public static void forceAutoProxyCreatorToUseDirectDispatch(BeanDefinitionRegistry registry) {
+		if (registry.containsBeanDefinition(AUTO_PROXY_CREATOR_BEAN_NAME)) {
+			BeanDefinition definition = registry.getBeanDefinition(AUTO_PROXY_CREATOR_BEAN_NAME);
+			definition.getPropertyValues().add("directDispatch", Boolean.TRUE);
+		}
+	}
+
 	@Nullable
 	private static BeanDefinition registerOrEscalateApcAsRequired(Class<?> cls, BeanDefinitionRegistry registry, @Nullable Object source) {
 		Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
@@ -62,6 +62,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** Cache with Method as key and advisor chain List as value. */
 	private transient Map<MethodCacheKey, List<Object>> methodCache;
 
+	/** Cache with Method as key and pre-linked interceptor chain as value, for {@link #isPreLinked() pre-linked} proxies. */
+	private transient Map<Method, LinkedInterceptorChain> linkedChainCache;
+
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
 	 * of registration, to create JDK proxy with specified order of interfaces.
@@ -85,6 +88,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	public AdvisedSupport() {
 		this.methodCache = new ConcurrentHashMap<>(32);
+		this.linkedChainCache = new ConcurrentHashMap<>(32);
 	}
 
 	/**
@@ -449,11 +453,30 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		return cached;
 	}
 
+	/**
+	 * Determine the pre-linked interceptor chain for the given method, based on this configuration.
+	 * Looked up by the Method itself, which the proxies pass in as the same instance on every call.
+	 * @param method the proxied method
+	 * @param targetClass the target class
+	 * @return the linked chain of the method's MethodInterceptors
+	 * @since 5.1.9
+	 * @see #getInterceptorsAndDynamicInterceptionAdvice
+	 */
+	LinkedInterceptorChain getLinkedInterceptorChain(Method method, @Nullable Class<?> targetClass) {
+		LinkedInterceptorChain chain = this.linkedChainCache.get(method);
+		if (chain == null) {
+			chain = new LinkedInterceptorChain(getInterceptorsAndDynamicInterceptionAdvice(method, targetClass), method);
+			this.linkedChainCache.put(method, chain);
+		}
+		return chain;
+	}
+
 	/**
 	 * Invoked when advice has changed.
 	 */
 	protected void adviceChanged() {
 		this.methodCache.clear();
+		this.linkedChainCache.clear();
 	}
 
 	/**
@@ -513,6 +536,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
 		// Initialize transient fields.
 		this.methodCache = new ConcurrentHashMap<>(32);
+		this.linkedChainCache = new ConcurrentHashMap<>(32);
 	}
 
 	@Override
@@ -111,7 +111,7 @@ public abstract class AopProxyUtils {
 			if (targetClass != null) {
 				if (targetClass.isInterface()) {
 					advised.setInterfaces(targetClass);
-				}else if (Proxy.isProxyClass(targetClass)) {
+				}else if (Proxy.isProxyClass(targetClass) || AopUtils.isDirectProxyClass(targetClass)) {
 					advised.setInterfaces(targetClass.getInterfaces());
 				}
 				specifiedInterfaces = advised.getProxiedInterfaces();
@@ -288,7 +288,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 			// 获取目标对象的切面逻辑
 			for (int x = 0; x < methods.length; x++) {
 				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
-				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
+				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass(), this.advised.isPreLinked());
 				// 对调用链进行缓存
 				this.fixedInterceptorMap.put(methods[x].toString(), x);
 			}
@@ -561,15 +561,30 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Nullable
 		private final Class<?> targetClass;
 
-		public FixedChainStaticTargetInterceptor(List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass) {
+		private final boolean preLinked;
+
+		// Linked on the first call, since the chain does not know its Method (which is not serializable)
+		@Nullable
+		private transient LinkedInterceptorChain linkedChain;
+
+		public FixedChainStaticTargetInterceptor(List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass, boolean preLinked) {
 			this.adviceChain = adviceChain;
 			this.target = target;
 			this.targetClass = targetClass;
+			this.preLinked = preLinked;
 		}
 
 		@Override
 		@Nullable
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+			if (this.preLinked) {
+				LinkedInterceptorChain linkedChain = this.linkedChain;
+				if (linkedChain == null) {
+					linkedChain = new LinkedInterceptorChain(this.adviceChain, method);
+					this.linkedChain = linkedChain;
+				}
+				return processReturnType(proxy, this.target, method, linkedChain.invoke(proxy, this.target, args, this.targetClass, methodProxy));
+			}
 			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,this.targetClass, this.adviceChain, methodProxy);
 			// If we get here, we need to create a MethodInvocation.
 			Object retVal = invocation.proceed();
@@ -608,6 +623,11 @@ class CglibAopProxy implements AopProxy, Serializable {
 				// Get as late as possible to minimize the time we "own" the target, in case it comes from a pool...
 				target = targetSource.getTarget();
 				Class<?> targetClass = (target != null ? target.getClass() : null);
+				if (this.advised.preLinked) {
+					// Pre-linked chain: no chain lookup and no MethodInvocation allocation.
+					Object retVal = this.advised.getLinkedInterceptorChain(method, targetClass).invoke(proxy, target, args, targetClass, methodProxy);
+					return processReturnType(proxy, target, method, retVal);
+				}
 				// 获取目标对象切面逻辑的环绕链
 				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
 				Object retVal;
@@ -5,6 +5,7 @@ package org.springframework.aop.framework;
 import java.io.Serializable;
 import java.lang.reflect.Proxy;
 import org.springframework.aop.SpringProxy;
+import org.springframework.aop.support.AopUtils;
 
 /**
  * Default {@link AopProxyFactory} implementation, creating either a CGLIB proxy or a JDK dynamic proxy.
@@ -13,6 +14,8 @@ import org.springframework.aop.SpringProxy;
  * <li>the {@code proxyTargetClass} flag is set
  * <li>no proxy interfaces have been specified
  * In general, specify {@code proxyTargetClass} to enforce a CGLIB proxy, or specify one or more interfaces to use a JDK dynamic proxy.
+ * Interface-based proxies are generated {@link DirectAopProxy} classes instead when the
+ * {@link ProxyConfig#setDirectDispatch directDispatch} flag is set.
  * @since 12.03.2004
  * @see AdvisedSupport#setOptimize
  * @see AdvisedSupport#setProxyTargetClass
@@ -29,18 +32,24 @@ public class DefaultAopProxyFactory implements AopProxyFactory, Serializable {
 		if (config.isOptimize() || config.isProxyTargetClass() || hasNoUserSuppliedProxyInterfaces(config)) {
 			Class<?> targetClass = config.getTargetClass();
 			if (targetClass == null) throw new AopConfigException("TargetSource cannot determine target class: Either an interface or a target is required for proxy creation.");
-			// 如果被代理的类是一个接口，或者被代理的类是使用Jdk代理生成的类，此时还是使用Jdk代理
-			if (targetClass.isInterface() || Proxy.isProxyClass(targetClass)) {
-				return new JdkDynamicAopProxy(config);
+			// 如果被代理的类是一个接口，或者被代理的类是使用Jdk代理（或直接调用代理，同为 final 类）生成的类，此时还是使用Jdk代理
+			if (targetClass.isInterface() || Proxy.isProxyClass(targetClass) || AopUtils.isDirectProxyClass(targetClass)) {
+				return createInterfaceProxy(config);
 			}
 			// 【使用 cglib 代理】 返回Cglib代理织入类对象
 			return new ObjenesisCglibAopProxy(config); //
 		}else {
 			// 【使用 jdk 代理】  返回Jdk代理织入类对象
-			return new JdkDynamicAopProxy(config);  //
+			return createInterfaceProxy(config);  //
 		}
 	}
 
+	// 基于接口的代理：默认 JDK 动态代理，开启 directDispatch 时使用生成的直接调用代理类
+	private AopProxy createInterfaceProxy(AdvisedSupport config) {
+		if (config.isDirectDispatch()) return new DirectAopProxy(config);
+		return new JdkDynamicAopProxy(config);
+	}
+
 	/**
 	 * Determine whether the supplied {@link AdvisedSupport} has only the {@link org.springframework.aop.SpringProxy} interface specified (or no proxy interfaces specified at all).
 	 */
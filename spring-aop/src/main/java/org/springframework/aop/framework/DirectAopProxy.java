@@ -0,0 +1,561 @@
+package org.springframework.aop.framework;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.RawTargetAccess;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link AopProxy} implementation that generates a dedicated proxy class per target type
+ * and set of proxied interfaces with the bundled ASM, instead of going through
+ * {@link java.lang.reflect.Proxy} and an {@link java.lang.reflect.InvocationHandler}.
+ * The generated methods call the target directly (through {@code invokeinterface}),
+ * both at the end of the interceptor chain and, for a {@link ProxyConfig#isFrozen() frozen}
+ * config with a static target, instead of the chain for methods without advice.
+ * Configurations that such a class cannot express (non-public interfaces, interfaces that
+ * declare {@code equals} or {@code hashCode}, JDK types as the only context) get a
+ * {@link JdkDynamicAopProxy}, which behaves the same.
+ * 简而言之，用 ASM 为每个目标类型生成专用的接口代理类，直接调用目标方法，无法生成时退回 JDK 动态代理。
+ * @since 5.1.9
+ * @see ProxyConfig#setDirectDispatch
+ * @see DirectAopProxySupport
+ */
+final class DirectAopProxy implements AopProxy {
+
+	private static final Log logger = LogFactory.getLog(DirectAopProxy.class);
+
+	private static final String SUPPORT_NAME = Type.getInternalName(DirectAopProxySupport.class);
+
+	private static final String ADVISED_SUPPORT_NAME = Type.getInternalName(AdvisedSupport.class);
+
+	private static final String SUPER_CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+			Type.getType(AdvisedSupport.class), Type.getType(Method[].class), Type.getType(boolean[].class));
+
+	private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(AdvisedSupport.class));
+
+	// Static fields of the generated class that hold its method table, set right after defining the class
+	private static final String METHODS_FIELD = "SPRING$METHODS";
+
+	private static final String DIRECT_CAPABLE_FIELD = "SPRING$DIRECT_CAPABLE";
+
+	private static final String INVOKE_ADVISED_DESCRIPTOR = "(I[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final String INVOKE_TARGET_DESCRIPTOR = "(ILjava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final Method TO_STRING_METHOD = ClassUtils.getMethod(Object.class, "toString");
+
+	private static final AtomicInteger classCounter = new AtomicInteger();
+
+	/**
+	 * Generated proxy classes per class loader that they are defined in, by the names of the target type and the
+	 * interfaces plus the opaque flag; {@code NO_PROXY_CLASS} for configs that need a JDK proxy. As with CGLIB, the
+	 * entries of a class loader are kept for as long as the class loader, which holds on to the generated classes
+	 * anyway; nothing in them refers to the class loader, so that it can still be collected.
+	 */
+	private static final Map<ClassLoader, Map<List<Object>, ProxyClass>> proxyClassCache = new WeakHashMap<>();
+
+	private static final ProxyClass NO_PROXY_CLASS = new ProxyClass();
+
+
+	/** Config used to configure this proxy. */
+	private final AdvisedSupport advised;
+
+
+	/**
+	 * Create a new DirectAopProxy for the given AOP configuration.
+	 * @param config the AOP configuration as AdvisedSupport object
+	 * @throws AopConfigException if the config is invalid
+	 */
+	public DirectAopProxy(AdvisedSupport config) throws AopConfigException {
+		Assert.notNull(config, "AdvisedSupport must not be null");
+		if (config.getAdvisors().length == 0 && config.getTargetSource() == AdvisedSupport.EMPTY_TARGET_SOURCE) {
+			throw new AopConfigException("No advisors and no TargetSource specified");
+		}
+		this.advised = config;
+	}
+
+	@Override
+	public Object getProxy() {
+		return getProxy(ClassUtils.getDefaultClassLoader());
+	}
+
+	@Override
+	public Object getProxy(@Nullable ClassLoader classLoader) {
+		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
+		Class<?> targetClass = this.advised.getTargetClass();
+		Class<?> contextClass = determineContextClass(proxiedInterfaces, targetClass);
+		if (contextClass == null) {
+			return new JdkDynamicAopProxy(this.advised).getProxy(classLoader);
+		}
+		// Define the proxy class in the given class loader, as a JDK proxy would: if it cannot see the proxied
+		// interfaces or the types of their methods, generateProxyClass() opts for a JDK proxy in that loader
+		ClassLoader proxyClassLoader = (classLoader != null ? classLoader : contextClass.getClassLoader());
+		// Within one class loader, the names identify the classes visible to it
+		List<Object> key = new ArrayList<>(proxiedInterfaces.length + 2);
+		key.add(targetClass != null ? targetClass.getName() : null);
+		key.add(this.advised.isOpaque());
+		for (Class<?> ifc : proxiedInterfaces) {
+			key.add(ifc.getName());
+		}
+		Map<List<Object>, ProxyClass> proxyClasses;
+		synchronized (proxyClassCache) {
+			proxyClasses = proxyClassCache.computeIfAbsent(proxyClassLoader, loader -> new ConcurrentHashMap<>(16));
+		}
+		ProxyClass proxyClass = proxyClasses.get(key);
+		Class<?> generatedClass = (proxyClass != null ? proxyClass.getGeneratedClass() : null);
+		if (proxyClass == null || (proxyClass != NO_PROXY_CLASS && generatedClass == null)) {
+			proxyClass = generateProxyClass(proxiedInterfaces, targetClass, contextClass, proxyClassLoader);
+			generatedClass = proxyClass.getGeneratedClass();
+			proxyClasses.put(key, proxyClass);
+		}
+		if (generatedClass == null) {
+			return new JdkDynamicAopProxy(this.advised).getProxy(classLoader);
+		}
+		try {
+			Constructor<?> constructor = generatedClass.getConstructor(AdvisedSupport.class);
+			return constructor.newInstance(this.advised);
+		}catch (Exception ex) {
+			throw new AopConfigException("Unable to instantiate generated proxy class " + generatedClass.getName(), ex);
+		}
+	}
+
+
+	private ProxyClass generateProxyClass(Class<?>[] proxiedInterfaces, @Nullable Class<?> targetClass, Class<?> contextClass,
+			ClassLoader classLoader) {
+
+		if (!ClassUtils.isVisible(DirectAopProxySupport.class, classLoader)) return NO_PROXY_CLASS;
+		// Proxied methods by signature, in interface order, as a JDK dynamic proxy would dispatch them
+		Map<String, Method> methods = new LinkedHashMap<>();
+		// The types to call the methods on, where the declaring interface is not accessible to the proxy class
+		Map<String, Class<?>> dispatchTypes = new HashMap<>();
+		List<Method> advisedMethods = new ArrayList<>();
+		for (Class<?> ifc : proxiedInterfaces) {
+			if (!Modifier.isPublic(ifc.getModifiers()) || !ClassUtils.isVisible(ifc, classLoader)) return NO_PROXY_CLASS;
+			for (Method method : ifc.getMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == DecoratingProxy.class) continue;
+				if (AopUtils.isEqualsMethod(method) || AopUtils.isHashCodeMethod(method)) return NO_PROXY_CLASS;
+				String signature = method.getName() + Type.getMethodDescriptor(method);
+				String erasure = method.getName() + signature.substring(signature.indexOf('('), signature.indexOf(')') + 1);
+				Method existing = methods.get(erasure);
+				if (existing != null) {
+					if (existing.getReturnType() != method.getReturnType()) return NO_PROXY_CLASS;
+					continue;
+				}
+				if (!isAccessible(method, classLoader)) return NO_PROXY_CLASS;
+				methods.put(erasure, method);
+				Class<?> declaringClass = method.getDeclaringClass();
+				boolean accessible = (Modifier.isPublic(declaringClass.getModifiers()) && ClassUtils.isVisible(declaringClass, classLoader));
+				// A method inherited from a non-public interface is called through the public interface that exposes it
+				dispatchTypes.put(erasure, accessible ? declaringClass : ifc);
+			}
+		}
+		Method[] methodTable = new Method[methods.size() + 1];
+		Class<?>[] dispatchTable = new Class<?>[methodTable.length];
+		boolean[] directCapable = new boolean[methodTable.length];
+		int index = 0;
+		for (Map.Entry<String, Method> entry : methods.entrySet()) {
+			Method method = entry.getValue();
+			if (!this.advised.isOpaque() && method.getDeclaringClass().isAssignableFrom(Advised.class)) {
+				// Service invocations on ProxyConfig with the proxy config
+				advisedMethods.add(method);
+				continue;
+			}
+			Class<?> dispatchType = dispatchTypes.get(entry.getKey());
+			directCapable[index] = (targetClass != null && dispatchType.isAssignableFrom(targetClass));
+			dispatchTable[index] = dispatchType;
+			methodTable[index++] = method;
+		}
+		methodTable[index] = TO_STRING_METHOD;
+		methodTable = Arrays.copyOf(methodTable, index + 1);
+		directCapable = Arrays.copyOf(directCapable, index + 1);
+
+		String className = contextClass.getName() + AopUtils.DIRECT_PROXY_CLASS_SEPARATOR + classCounter.getAndIncrement();
+		byte[] bytes = new ProxyClassWriter(className, proxiedInterfaces, methodTable, dispatchTable, directCapable, advisedMethods).generate();
+		try {
+			Class<?> generatedClass = ReflectUtils.defineClass(className, bytes, classLoader, null, contextClass);
+			if (generatedClass.getClassLoader() != classLoader) {
+				// Defined in the class loader of the context class instead, without access to ClassLoader.defineClass
+				if (logger.isDebugEnabled()) {
+					logger.debug("Could not define proxy class " + className + " in " + classLoader + ", using JDK dynamic proxy instead");
+				}
+				return NO_PROXY_CLASS;
+			}
+			generatedClass.getField(METHODS_FIELD).set(null, methodTable);
+			generatedClass.getField(DIRECT_CAPABLE_FIELD).set(null, directCapable);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Generated proxy class " + className + " for " + ClassUtils.classNamesToString(proxiedInterfaces));
+			}
+			return new ProxyClass(generatedClass);
+		}catch (Throwable ex) {
+			// Not definable in the class loader or the package of the context class: fall back to a JDK proxy
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate proxy class " + className + ", using JDK dynamic proxy instead", ex);
+			}
+			return NO_PROXY_CLASS;
+		}
+	}
+
+	/**
+	 * Determine the class in whose package the proxy class gets defined, and whose class loader
+	 * is used unless another one is given: the target class, or else the first user interface,
+	 * unless it is a JDK type.
+	 */
+	@Nullable
+	private static Class<?> determineContextClass(Class<?>[] proxiedInterfaces, @Nullable Class<?> targetClass) {
+		List<Class<?>> candidates = new ArrayList<>();
+		if (targetClass != null && !Proxy.isProxyClass(targetClass) && !AopUtils.isDirectProxyClass(targetClass) && !targetClass.isArray()) {
+			candidates.add(targetClass);
+		}
+		candidates.addAll(Arrays.asList(proxiedInterfaces));
+		for (Class<?> candidate : candidates) {
+			if (candidate.getClassLoader() != null && !candidate.getName().startsWith("java.")) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	// Generated code may only refer to public types that are visible from the class loader of the proxy class
+	private static boolean isAccessible(Method method, ClassLoader classLoader) {
+		List<Class<?>> types = new ArrayList<>(Arrays.asList(method.getParameterTypes()));
+		types.add(method.getReturnType());
+		for (Class<?> type : types) {
+			while (type.isArray()) type = type.getComponentType();
+			if (!type.isPrimitive() && (!Modifier.isPublic(type.getModifiers()) || !ClassUtils.isVisible(type, classLoader))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * A generated proxy class, which holds the method table that its instances are created with.
+	 * The class is only weakly referenced, so that the cache entry does not keep its class loader alive.
+	 */
+	private static final class ProxyClass {
+
+		@Nullable
+		private final WeakReference<Class<?>> generatedClass;
+
+		ProxyClass() {
+			this.generatedClass = null;
+		}
+
+		ProxyClass(Class<?> generatedClass) {
+			this.generatedClass = new WeakReference<>(generatedClass);
+		}
+
+		@Nullable
+		Class<?> getGeneratedClass() {
+			return (this.generatedClass != null ? this.generatedClass.get() : null);
+		}
+	}
+
+
+	/**
+	 * Writes the bytecode of a proxy class: per proxied method a direct call on the target,
+	 * guarded by {@link DirectAopProxySupport#direct}, and a call of
+	 * {@link DirectAopProxySupport#invokeAdvised}; plus the {@code invokeTarget} switch.
+	 */
+	private static final class ProxyClassWriter {
+
+		private final String internalName;
+
+		private final Class<?>[] proxiedInterfaces;
+
+		private final Method[] methods;
+
+		// Per method the accessible interface to call it on
+		private final Class<?>[] dispatchTypes;
+
+		private final boolean[] directCapable;
+
+		private final List<Method> advisedMethods;
+
+		ProxyClassWriter(String className, Class<?>[] proxiedInterfaces, Method[] methods, Class<?>[] dispatchTypes,
+				boolean[] directCapable, List<Method> advisedMethods) {
+
+			this.internalName = className.replace('.', '/');
+			this.proxiedInterfaces = proxiedInterfaces;
+			this.methods = methods;
+			this.dispatchTypes = dispatchTypes;
+			this.directCapable = directCapable;
+			this.advisedMethods = advisedMethods;
+		}
+
+		byte[] generate() {
+			ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+				@Override
+				protected String getCommonSuperClass(String type1, String type2) {
+					// Only merged where a method returns either the target's result or the proxy itself
+					return "java/lang/Object";
+				}
+			};
+			String[] interfaceNames = new String[this.proxiedInterfaces.length];
+			for (int i = 0; i < interfaceNames.length; i++) {
+				interfaceNames[i] = Type.getInternalName(this.proxiedInterfaces[i]);
+			}
+			cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+					this.internalName, null, SUPPORT_NAME, interfaceNames);
+			cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC, METHODS_FIELD,
+					"[Ljava/lang/reflect/Method;", null, null).visitEnd();
+			cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC, DIRECT_CAPABLE_FIELD,
+					"[Z", null, null).visitEnd();
+
+			// super(advised, METHODS, DIRECT_CAPABLE);
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, new String[] {"java/lang/Exception"});
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitFieldInsn(Opcodes.GETSTATIC, this.internalName, METHODS_FIELD, "[Ljava/lang/reflect/Method;");
+			mv.visitFieldInsn(Opcodes.GETSTATIC, this.internalName, DIRECT_CAPABLE_FIELD, "[Z");
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPPORT_NAME, "<init>", SUPER_CONSTRUCTOR_DESCRIPTOR, false);
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+
+			// The last entry is Object.toString(), which DirectAopProxySupport dispatches itself
+			for (int i = 0; i < this.methods.length - 1; i++) {
+				writeProxiedMethod(cw, i);
+			}
+			for (Method method : this.advisedMethods) {
+				writeAdvisedMethod(cw, method);
+			}
+			writeInvokeTarget(cw);
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+
+		private void writeProxiedMethod(ClassWriter cw, int index) {
+			Method method = this.methods[index];
+			Type[] argumentTypes = Type.getArgumentTypes(method);
+			Type returnType = Type.getReturnType(method);
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), Type.getMethodDescriptor(method),
+					null, exceptionNames(method));
+			mv.visitCode();
+			if (this.directCapable[index]) {
+				// if (this.direct[index]) return ((Ifc) this.target).method(args);
+				Label advised = new Label();
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, SUPPORT_NAME, "direct", "[Z");
+				pushInt(mv, index);
+				mv.visitInsn(Opcodes.BALOAD);
+				mv.visitJumpInsn(Opcodes.IFEQ, advised);
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, SUPPORT_NAME, "target", "Ljava/lang/Object;");
+				invokeOnTarget(mv, method, this.dispatchTypes[index], argumentTypes, false);
+				if (mayReturnProxy(method)) {
+					// Return the proxy instead of a target that returned "this"
+					Label done = new Label();
+					mv.visitInsn(Opcodes.DUP);
+					mv.visitVarInsn(Opcodes.ALOAD, 0);
+					mv.visitFieldInsn(Opcodes.GETFIELD, SUPPORT_NAME, "target", "Ljava/lang/Object;");
+					mv.visitJumpInsn(Opcodes.IF_ACMPNE, done);
+					mv.visitInsn(Opcodes.POP);
+					mv.visitVarInsn(Opcodes.ALOAD, 0);
+					mv.visitLabel(done);
+				}
+				mv.visitInsn(returnType.getOpcode(Opcodes.IRETURN));
+				mv.visitLabel(advised);
+			}
+			// return invokeAdvised(index, new Object[] {args});
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			pushInt(mv, index);
+			pushInt(mv, argumentTypes.length);
+			mv.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/Object");
+			int slot = 1;
+			for (int i = 0; i < argumentTypes.length; i++) {
+				mv.visitInsn(Opcodes.DUP);
+				pushInt(mv, i);
+				mv.visitVarInsn(argumentTypes[i].getOpcode(Opcodes.ILOAD), slot);
+				box(mv, argumentTypes[i]);
+				mv.visitInsn(Opcodes.AASTORE);
+				slot += argumentTypes[i].getSize();
+			}
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SUPPORT_NAME, "invokeAdvised", INVOKE_ADVISED_DESCRIPTOR, false);
+			if (returnType.getSort() == Type.VOID) {
+				mv.visitInsn(Opcodes.POP);
+				mv.visitInsn(Opcodes.RETURN);
+			}else {
+				unbox(mv, returnType);
+				mv.visitInsn(returnType.getOpcode(Opcodes.IRETURN));
+			}
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		private void writeAdvisedMethod(ClassWriter cw, Method method) {
+			// return this.advised.method(args);
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), Type.getMethodDescriptor(method),
+					null, exceptionNames(method));
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, SUPPORT_NAME, "advised", "L" + ADVISED_SUPPORT_NAME + ";");
+			int slot = 1;
+			for (Type argumentType : Type.getArgumentTypes(method)) {
+				mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), slot);
+				slot += argumentType.getSize();
+			}
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, ADVISED_SUPPORT_NAME, method.getName(), Type.getMethodDescriptor(method), false);
+			mv.visitInsn(Type.getReturnType(method).getOpcode(Opcodes.IRETURN));
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		private void writeInvokeTarget(ClassWriter cw) {
+			int directCount = 0;
+			for (boolean capable : this.directCapable) {
+				if (capable) directCount++;
+			}
+			if (directCount == 0) return;
+			// switch (index) { case i: return ((Ifc) target).method((T) args[0], ...); default: return super.invokeTarget(...); }
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PROTECTED, "invokeTarget", INVOKE_TARGET_DESCRIPTOR,
+					null, new String[] {"java/lang/Throwable"});
+			mv.visitCode();
+			Label defaultLabel = new Label();
+			Label[] labels = new Label[this.methods.length];
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = (this.directCapable[i] ? new Label() : defaultLabel);
+			}
+			mv.visitVarInsn(Opcodes.ILOAD, 1);
+			mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+			for (int i = 0; i < labels.length; i++) {
+				if (!this.directCapable[i]) continue;
+				Method method = this.methods[i];
+				mv.visitLabel(labels[i]);
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				invokeOnTarget(mv, method, this.dispatchTypes[i], Type.getArgumentTypes(method), true);
+				Type returnType = Type.getReturnType(method);
+				if (returnType.getSort() == Type.VOID) {
+					mv.visitInsn(Opcodes.ACONST_NULL);
+				}else {
+					box(mv, returnType);
+				}
+				mv.visitInsn(Opcodes.ARETURN);
+			}
+			mv.visitLabel(defaultLabel);
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ILOAD, 1);
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitVarInsn(Opcodes.ALOAD, 3);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPPORT_NAME, "invokeTarget", INVOKE_TARGET_DESCRIPTOR, false);
+			mv.visitInsn(Opcodes.ARETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		// Target on the stack: cast it, push the arguments from the locals or from the array in local 3, and call
+		private void invokeOnTarget(MethodVisitor mv, Method method, Class<?> ifc, Type[] argumentTypes, boolean fromArray) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(ifc));
+			int slot = 1;
+			for (int i = 0; i < argumentTypes.length; i++) {
+				if (fromArray) {
+					mv.visitVarInsn(Opcodes.ALOAD, 3);
+					pushInt(mv, i);
+					mv.visitInsn(Opcodes.AALOAD);
+					unbox(mv, argumentTypes[i]);
+				}else {
+					mv.visitVarInsn(argumentTypes[i].getOpcode(Opcodes.ILOAD), slot);
+					slot += argumentTypes[i].getSize();
+				}
+			}
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(ifc), method.getName(),
+					Type.getMethodDescriptor(method), true);
+		}
+
+		// Whether a target returning "this" has to be replaced by the proxy, see JdkDynamicAopProxy
+		private boolean mayReturnProxy(Method method) {
+			Class<?> returnType = method.getReturnType();
+			if (!returnType.isInterface() || RawTargetAccess.class.isAssignableFrom(method.getDeclaringClass())) {
+				return false;
+			}
+			for (Class<?> ifc : this.proxiedInterfaces) {
+				if (returnType.isAssignableFrom(ifc)) return true;
+			}
+			return false;
+		}
+
+		@Nullable
+		private static String[] exceptionNames(Method method) {
+			Class<?>[] exceptionTypes = method.getExceptionTypes();
+			if (exceptionTypes.length == 0) return null;
+			String[] names = new String[exceptionTypes.length];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = Type.getInternalName(exceptionTypes[i]);
+			}
+			return names;
+		}
+
+		private static void pushInt(MethodVisitor mv, int value) {
+			if (value >= -1 && value <= 5) {
+				mv.visitInsn(Opcodes.ICONST_0 + value);
+			}else if (value <= Byte.MAX_VALUE) {
+				mv.visitIntInsn(Opcodes.BIPUSH, value);
+			}else if (value <= Short.MAX_VALUE) {
+				mv.visitIntInsn(Opcodes.SIPUSH, value);
+			}else {
+				mv.visitLdcInsn(value);
+			}
+		}
+
+		private static void box(MethodVisitor mv, Type type) {
+			if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) return;
+			String wrapper = wrapperName(type);
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf", "(" + type.getDescriptor() + ")L" + wrapper + ";", false);
+		}
+
+		private static void unbox(MethodVisitor mv, Type type) {
+			if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+				if (!type.getDescriptor().equals("Ljava/lang/Object;")) {
+					mv.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+				}
+				return;
+			}
+			String wrapper = wrapperName(type);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getClassName() + "Value", "()" + type.getDescriptor(), false);
+		}
+
+		private static String wrapperName(Type type) {
+			switch (type.getSort()) {
+				case Type.BOOLEAN: return "java/lang/Boolean";
+				case Type.CHAR: return "java/lang/Character";
+				case Type.BYTE: return "java/lang/Byte";
+				case Type.SHORT: return "java/lang/Short";
+				case Type.INT: return "java/lang/Integer";
+				case Type.FLOAT: return "java/lang/Float";
+				case Type.LONG: return "java/lang/Long";
+				case Type.DOUBLE: return "java/lang/Double";
+				default: throw new IllegalArgumentException("Not a primitive type: " + type);
+			}
+		}
+	}
+
+}
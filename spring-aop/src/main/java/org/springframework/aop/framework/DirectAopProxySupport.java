@@ -0,0 +1,234 @@
+package org.springframework.aop.framework;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.aop.RawTargetAccess;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Base class of the proxy classes that {@link DirectAopProxy} generates.
+ * A generated class implements the proxied interfaces with methods that call the target
+ * directly (through {@code invokeinterface}) where the chain of the method is known to be empty,
+ * and otherwise hand the call to {@link #invokeAdvised}, which runs the interceptor chain
+ * like {@link JdkDynamicAopProxy} does and calls the target through the generated
+ * {@link #invokeTarget} switch at the end of the chain.
+ * <p><b>NOTE:</b> This class is internal to Spring's AOP framework. It is public only
+ * since the generated subclasses live in the packages of the proxied types.
+ * 简而言之，生成的静态代理类的父类：负责拦截器链的执行，由生成的子类直接调用目标方法。
+ * @since 5.1.9
+ * @see DirectAopProxy
+ */
+public abstract class DirectAopProxySupport {
+
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+	/** Config that the proxy was created for. */
+	protected final AdvisedSupport advised;
+
+	/** The target of a frozen proxy with a static target, for the direct calls. */
+	@Nullable
+	protected final Object target;
+
+	/** Whether the method at each index may call the target directly, for an empty chain. */
+	protected final boolean[] direct;
+
+	// The proxied methods, by the index that the generated methods pass in
+	private final Method[] methods;
+
+
+	/**
+	 * Create a proxy instance for the given config.
+	 * @param advised the AOP configuration
+	 * @param methods the proxied methods, by index, followed by {@link Object#toString()}
+	 * @param directCapable whether the generated class calls the target of the method at each index directly
+	 */
+	protected DirectAopProxySupport(AdvisedSupport advised, Method[] methods, boolean[] directCapable) throws Exception {
+		this.advised = advised;
+		this.methods = methods;
+		this.direct = new boolean[methods.length];
+		TargetSource targetSource = advised.getTargetSource();
+		// Like the fixed chains of CglibAopProxy: only a frozen config with a static target keeps its chains and target
+		if (advised.isFrozen() && targetSource.isStatic() && !advised.isExposeProxy()) {
+			this.target = targetSource.getTarget();
+			Class<?> targetClass = (this.target != null ? this.target.getClass() : null);
+			for (int i = 0; i < methods.length; i++) {
+				this.direct[i] = (directCapable[i] && this.target != null &&
+						advised.getInterceptorsAndDynamicInterceptionAdvice(methods[i], targetClass).isEmpty());
+			}
+		}else {
+			this.target = null;
+		}
+	}
+
+
+	/**
+	 * Run the interceptor chain of the method at the given index.
+	 * @param index the index of the method
+	 * @param args the arguments of the call
+	 * @return the return value of the chain
+	 */
+	@Nullable
+	protected final Object invokeAdvised(int index, Object[] args) throws Throwable {
+		Method method = this.methods[index];
+		Object oldProxy = null;
+		boolean setProxyContext = false;
+		TargetSource targetSource = this.advised.targetSource;
+		Object target = null;
+		try {
+			if (this.advised.exposeProxy) {
+				// Make invocation available if necessary.
+				oldProxy = AopContext.setCurrentProxy(this);
+				setProxyContext = true;
+			}
+			// Get as late as possible to minimize the time we "own" the target, in case it comes from a pool.
+			target = targetSource.getTarget();
+			Class<?> targetClass = (target != null ? target.getClass() : null);
+			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			Object retVal;
+			if (chain.isEmpty()) {
+				retVal = invokeTarget(index, target, AopProxyUtils.adaptArgumentsIfNecessary(method, args));
+			}else {
+				retVal = new DirectMethodInvocation(this, index, target, method, args, targetClass, chain).proceed();
+			}
+			// Massage return value if necessary.
+			Class<?> returnType = method.getReturnType();
+			if (retVal != null && retVal == target && returnType != Object.class && returnType.isInstance(this) &&
+					!RawTargetAccess.class.isAssignableFrom(method.getDeclaringClass())) {
+				// Special case: it returned "this" and the return type of the method is type-compatible.
+				retVal = this;
+			}else if (retVal == null && returnType != Void.TYPE && returnType.isPrimitive()) {
+				throw new AopInvocationException("Null return value from advice does not match primitive return type for: " + method);
+			}
+			return retVal;
+		}catch (RuntimeException | Error ex) {
+			throw ex;
+		}catch (Throwable ex) {
+			// Checked exceptions that the method does not declare, as a JDK dynamic proxy would throw them
+			for (Class<?> exceptionType : method.getExceptionTypes()) {
+				if (exceptionType.isInstance(ex)) throw ex;
+			}
+			throw new UndeclaredThrowableException(ex);
+		}finally {
+			if (target != null && !targetSource.isStatic()) {
+				// Must have come from TargetSource.
+				targetSource.releaseTarget(target);
+			}
+			if (setProxyContext) {
+				// Restore old proxy.
+				AopContext.setCurrentProxy(oldProxy);
+			}
+		}
+	}
+
+	/**
+	 * Call the method at the given index on the target.
+	 * Generated classes override this with direct calls, and delegate to this implementation,
+	 * which uses reflection, for the methods that the target does not implement.
+	 * @param index the index of the method
+	 * @param target the target object
+	 * @param args the arguments of the call
+	 * @return the return value of the target method
+	 */
+	@Nullable
+	protected Object invokeTarget(int index, @Nullable Object target, Object[] args) throws Throwable {
+		return AopUtils.invokeJoinpointUsingReflection(target, this.methods[index], args);
+	}
+
+	/**
+	 * Implementation of {@link org.springframework.core.DecoratingProxy#getDecoratedClass()}.
+	 */
+	public Class<?> getDecoratedClass() {
+		return AopProxyUtils.ultimateTargetClass(this.advised);
+	}
+
+	/**
+	 * Serialize a proxy with serializable interfaces as its config only,
+	 * since the generated class may not exist where it gets deserialized.
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		return new SerializedProxy(this.advised);
+	}
+
+	/**
+	 * Equality means interfaces, advisors and TargetSource are equal, as for {@link JdkDynamicAopProxy}.
+	 */
+	@Override
+	public final boolean equals(@Nullable Object other) {
+		if (other == this) return true;
+		if (!(other instanceof DirectAopProxySupport)) return false;
+		return AopProxyUtils.equalsInProxy(this.advised, ((DirectAopProxySupport) other).advised);
+	}
+
+	/**
+	 * Proxy uses the hash code of the TargetSource.
+	 */
+	@Override
+	public final int hashCode() {
+		return DirectAopProxySupport.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
+	}
+
+	/**
+	 * Run {@code toString()} through the chain, like any other proxied method.
+	 */
+	@Override
+	public String toString() {
+		try {
+			return (String) invokeAdvised(this.methods.length - 1, EMPTY_ARGUMENTS);
+		}catch (RuntimeException | Error ex) {
+			throw ex;
+		}catch (Throwable ex) {
+			throw new UndeclaredThrowableException(ex);
+		}
+	}
+
+
+	/**
+	 * Serialized form of a proxy, which generates the proxy again on deserialization.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SerializedProxy implements Serializable {
+
+		private final AdvisedSupport advised;
+
+		SerializedProxy(AdvisedSupport advised) {
+			this.advised = advised;
+		}
+
+		private Object readResolve() {
+			return new DirectAopProxy(this.advised).getProxy();
+		}
+	}
+
+
+	/**
+	 * MethodInvocation that calls the target through the generated switch of the proxy.
+	 */
+	private static final class DirectMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final DirectAopProxySupport directProxy;
+
+		private final int index;
+
+		DirectMethodInvocation(DirectAopProxySupport proxy, int index, @Nullable Object target, Method method,
+				Object[] arguments, @Nullable Class<?> targetClass, List<Object> interceptorsAndDynamicMethodMatchers) {
+
+			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.directProxy = proxy;
+			this.index = index;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.directProxy.invokeTarget(this.index, this.target, this.arguments);
+		}
+	}
+
+}
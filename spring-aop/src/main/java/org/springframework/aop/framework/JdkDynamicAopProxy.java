@@ -163,27 +163,33 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			// Get as late as possible to minimize the time we "own" the target,in case it comes from a pool.
 			target = targetSource.getTarget();
 			Class<?> targetClass = (target != null ? target.getClass() : null);
-			// Get the interception chain for this method.
-			// 获取当前方法需要织入的切面逻辑的调用链  // 获取适合当前方法的拦截器
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
-			// Check whether we have any advice. If we don't, we can fallback on direct  reflective invocation of the target, and avoid creating a MethodInvocation.
-			// 如果拦截器链为空，则直接执行目标方法
-			if (chain.isEmpty()) {
-				// 如果切面逻辑的调用链为空，则对方法参数进行类型转换处理，
-				// 并且通过反射直接调用目标对象的方法
-				// We can skip creating a MethodInvocation: just invoke the target directly
-				// Note that the final invoker must be an InvokerInterceptor so we know it does  nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
-				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				// 通过反射执行目标方法
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+			if (this.advised.preLinked) {
+				// 预先链接好的调用链，复用当前线程的 MethodInvocation
+				// Pre-linked chain: no chain lookup and no MethodInvocation allocation.
+				retVal = this.advised.getLinkedInterceptorChain(method, targetClass).invoke(proxy, target, args, targetClass, null);
 			}else {
-				// 创建一个方法调用器，并将拦截器链传入其中
-				// 获取目标对象的调用链逻辑，并且对该链进行调用
-				// We need to create a method invocation...
-				MethodInvocation invocation = new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
-				// 执行拦截器链
-				// Proceed to the joinpoint through the interceptor chain.
-				retVal = invocation.proceed();
+				// Get the interception chain for this method.
+				// 获取当前方法需要织入的切面逻辑的调用链  // 获取适合当前方法的拦截器
+				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				// Check whether we have any advice. If we don't, we can fallback on direct  reflective invocation of the target, and avoid creating a MethodInvocation.
+				// 如果拦截器链为空，则直接执行目标方法
+				if (chain.isEmpty()) {
+					// 如果切面逻辑的调用链为空，则对方法参数进行类型转换处理，
+					// 并且通过反射直接调用目标对象的方法
+					// We can skip creating a MethodInvocation: just invoke the target directly
+					// Note that the final invoker must be an InvokerInterceptor so we know it does  nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
+					Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
+					// 通过反射执行目标方法
+					retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				}else {
+					// 创建一个方法调用器，并将拦截器链传入其中
+					// 获取目标对象的调用链逻辑，并且对该链进行调用
+					// We need to create a method invocation...
+					MethodInvocation invocation = new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+					// 执行拦截器链
+					// Proceed to the joinpoint through the interceptor chain.
+					retVal = invocation.proceed();
+				}
 			}
 
 			// Massage return value if necessary.
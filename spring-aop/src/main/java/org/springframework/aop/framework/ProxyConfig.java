@@ -25,6 +25,10 @@ public class ProxyConfig implements Serializable {
 
 	boolean exposeProxy = false;
 
+	boolean preLinked = false;
+
+	private boolean directDispatch = false;
+
 	private boolean frozen = false;
 
 	/**
@@ -98,6 +102,48 @@ public class ProxyConfig implements Serializable {
 		return this.exposeProxy;
 	}
 
+	/**
+	 * Set whether proxies should link the interceptor chain of each method ahead of time and reuse
+	 * their {@link org.aopalliance.intercept.MethodInvocation MethodInvocations} per thread,
+	 * so that an advised call allocates nothing beyond its arguments array. Default is "false".
+	 * Only switch this on when no advice holds on to the MethodInvocation beyond its {@code invoke} call
+	 * (e.g. to proceed asynchronously): such advice has to work on
+	 * {@link org.springframework.aop.ProxyMethodInvocation#invocableClone() a clone} instead,
+	 * as the {@link org.springframework.aop.interceptor.AsyncExecutionInterceptor} does.
+	 * @since 5.1.9
+	 */
+	public void setPreLinked(boolean preLinked) {
+		this.preLinked = preLinked;
+	}
+
+	/**
+	 * Return whether proxies link their interceptor chains ahead of time and reuse their invocations.
+	 * @since 5.1.9
+	 */
+	public boolean isPreLinked() {
+		return this.preLinked;
+	}
+
+	/**
+	 * Set whether interface-based proxies should be generated classes that call the target directly,
+	 * instead of JDK dynamic proxies that dispatch every call reflectively. Default is "false".
+	 * Methods without advice on a {@link #setFrozen frozen} proxy with a static target
+	 * then skip the interceptor chain altogether. Class-based proxies are CGLIB proxies either way.
+	 * @since 5.1.9
+	 * @see DirectAopProxy
+	 */
+	public void setDirectDispatch(boolean directDispatch) {
+		this.directDispatch = directDispatch;
+	}
+
+	/**
+	 * Return whether interface-based proxies are generated classes with direct target dispatch.
+	 * @since 5.1.9
+	 */
+	public boolean isDirectDispatch() {
+		return this.directDispatch;
+	}
+
 	/**
 	 * Set whether this config should be frozen.
 	 * When a config is frozen, no advice changes can be made.
@@ -124,6 +170,8 @@ public class ProxyConfig implements Serializable {
 		this.proxyTargetClass = other.proxyTargetClass;
 		this.optimize = other.optimize;
 		this.exposeProxy = other.exposeProxy;
+		this.preLinked = other.preLinked;
+		this.directDispatch = other.directDispatch;
 		this.frozen = other.frozen;
 		this.opaque = other.opaque;
 	}
@@ -135,6 +183,8 @@ public class ProxyConfig implements Serializable {
 		sb.append("optimize=").append(this.optimize).append("; ");
 		sb.append("opaque=").append(this.opaque).append("; ");
 		sb.append("exposeProxy=").append(this.exposeProxy).append("; ");
+		sb.append("preLinked=").append(this.preLinked).append("; ");
+		sb.append("directDispatch=").append(this.directDispatch).append("; ");
 		sb.append("frozen=").append(this.frozen);
 		return sb.toString();
 	}
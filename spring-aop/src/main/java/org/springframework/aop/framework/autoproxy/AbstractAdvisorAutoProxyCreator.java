@@ -2,9 +2,11 @@
 
 package org.springframework.aop.framework.autoproxy;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.IntroductionAdvisor;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
@@ -112,16 +114,45 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 	 * @see ProxyCreationContext#getCurrentProxiedBeanName()
 	 */
 	protected List<Advisor> findAdvisorsThatCanApply(List<Advisor> candidateAdvisors, Class<?> beanClass, String beanName) {
+		if (candidateAdvisors.isEmpty()) {
+			return candidateAdvisors;
+		}
 		ProxyCreationContext.setCurrentProxiedBeanName(beanName);
 		try {
-			// 调用重载方法
-			return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
+			// 与 AopUtils.findAdvisorsThatCanApply 相同，只是每个通知器都经过 canApply 钩子判断
+			List<Advisor> eligibleAdvisors = new ArrayList<>();
+			for (Advisor candidate : candidateAdvisors) {
+				if (candidate instanceof IntroductionAdvisor && canApply(candidate, beanClass, false)) {
+					eligibleAdvisors.add(candidate);
+				}
+			}
+			boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+			for (Advisor candidate : candidateAdvisors) {
+				if (!(candidate instanceof IntroductionAdvisor) && canApply(candidate, beanClass, hasIntroductions)) {
+					eligibleAdvisors.add(candidate);
+				}
+			}
+			return eligibleAdvisors;
 		}
 		finally {
 			ProxyCreationContext.setCurrentProxiedBeanName(null);
 		}
 	}
 
+	/**
+	 * Determine whether the given candidate Advisor can apply to the specified bean class.
+	 * The default implementation delegates to {@link AopUtils#canApply(Advisor, Class, boolean)}.
+	 * @param candidate the candidate Advisor
+	 * @param beanClass the target's bean class
+	 * @param hasIntroductions whether the eligible Advisors for this bean include introductions
+	 * @return whether the Advisor applies to any method of the bean class
+	 * @since 5.1.9
+	 * @see #findAdvisorsThatCanApply
+	 */
+	protected boolean canApply(Advisor candidate, Class<?> beanClass, boolean hasIntroductions) {
+		return AopUtils.canApply(candidate, beanClass, hasIntroductions);
+	}
+
 	/**
 	 * Return whether the Advisor bean with the given name is eligible
 	 * for proxying in the first place.
@@ -11,6 +11,7 @@ import java.util.concurrent.Future;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
@@ -81,7 +82,7 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 	 */
 	@Override
 	@Nullable
-	public Object invoke(final MethodInvocation invocation) throws Throwable {
+	public Object invoke(MethodInvocation invocation) throws Throwable {
 		Class<?> targetClass = (invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null);
 		Method specificMethod = ClassUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
 		final Method userDeclaredMethod = BridgeMethodResolver.findBridgedMethod(specificMethod);
@@ -92,16 +93,19 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 					"No executor specified and no default executor set on AsyncExecutionInterceptor either");
 		}
 
+		// Proceed on a copy: the invocation of a pre-linked proxy is reused once this call returns
+		MethodInvocation asyncInvocation = (invocation instanceof ProxyMethodInvocation ?
+				((ProxyMethodInvocation) invocation).invocableClone() : invocation);
 		Callable<Object> task = () -> {
 			try {
-				Object result = invocation.proceed();
+				Object result = asyncInvocation.proceed();
 				if (result instanceof Future) {
 					return ((Future<?>) result).get();
 				}
 			}catch (ExecutionException ex) {
-				handleError(ex.getCause(), userDeclaredMethod, invocation.getArguments());
+				handleError(ex.getCause(), userDeclaredMethod, asyncInvocation.getArguments());
 			}catch (Throwable ex) {
-				handleError(ex, userDeclaredMethod, invocation.getArguments());
+				handleError(ex, userDeclaredMethod, asyncInvocation.getArguments());
 			}
 			return null;
 		};
@@ -37,12 +37,20 @@ import org.springframework.util.ReflectionUtils;
  */
 public abstract class AopUtils {
 
+	/**
+	 * The separator in the names of the proxy classes that are generated for
+	 * {@link org.springframework.aop.framework.ProxyConfig#setDirectDispatch direct dispatch}.
+	 * @since 5.1.9
+	 */
+	public static final String DIRECT_PROXY_CLASS_SEPARATOR = "$DirectAopProxy$";
+
 	/**
 	 * Check whether the given object is a JDK dynamic proxy or a CGLIB proxy.
 	 * This method additionally checks if the given object is an instance of {@link SpringProxy}.
 	 * @param object the object to check
 	 * @see #isJdkDynamicProxy
 	 * @see #isCglibProxy
+	 * @see #isDirectAopProxy
 	 */
 	public static boolean isAopProxy(@Nullable Object object) {
 		/**
@@ -51,7 +59,29 @@ public abstract class AopUtils {
 		 * 	 3.使用ClassUtils的isCglibProxyClass方法判断该对象是否是cglib代理实现；ClassUtils也是Spring中针对反射提供的非常有用的工具类
 		 * 	 4.为什么要这样判断?因为Spring需要判定这个对象是否是由spring完成的AOP代理；
 		*/
-		return (object instanceof SpringProxy && (Proxy.isProxyClass(object.getClass()) || ClassUtils.isCglibProxyClass(object.getClass())));
+		return (object instanceof SpringProxy && (Proxy.isProxyClass(object.getClass()) ||
+				ClassUtils.isCglibProxyClass(object.getClass()) || isDirectProxyClass(object.getClass())));
+	}
+
+	/**
+	 * Check whether the given object is a generated proxy with direct target dispatch.
+	 * @param object the object to check
+	 * @since 5.1.9
+	 * @see org.springframework.aop.framework.ProxyConfig#setDirectDispatch
+	 */
+	public static boolean isDirectAopProxy(@Nullable Object object) {
+		return (object instanceof SpringProxy && isDirectProxyClass(object.getClass()));
+	}
+
+	/**
+	 * Check whether the given class is a generated proxy class with direct target dispatch.
+	 * Like a JDK proxy class, it is final and only implements the proxied interfaces.
+	 * @param clazz the class to check
+	 * @since 5.1.9
+	 * @see #isDirectAopProxy
+	 */
+	public static boolean isDirectProxyClass(Class<?> clazz) {
+		return (clazz.isSynthetic() && clazz.getName().contains(DIRECT_PROXY_CLASS_SEPARATOR));
 	}
 
 	/**
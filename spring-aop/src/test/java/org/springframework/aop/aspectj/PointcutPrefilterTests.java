@@ -0,0 +1,170 @@
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.junit.Test;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PointcutPrefilter}.
+ */
+public class PointcutPrefilterTests {
+
+	private static final String MARKER = "org.springframework.aop.aspectj.PointcutPrefilterTests.Marker";
+
+	private static final Class<?>[] CLASSES = {TestBean.class, PlainBean.class, AnnotatedMethodBean.class,
+			AnnotatedTypeBean.class, AnnotatedTypeBean.Nested.class, SubclassOfAnnotatedMethodBean.class};
+
+
+	private PointcutPrefilter prefilter(String expression) {
+		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+		pointcut.setExpression(expression);
+		return pointcut.getPrefilter();
+	}
+
+
+	@Test
+	public void exactDeclaringType() {
+		PointcutPrefilter prefilter = prefilter("execution(* org.springframework.aop.aspectj.PointcutPrefilterTests.Service.*(..))");
+		assertTrue(prefilter.isSelective());
+		assertTrue(prefilter.couldMatch(AnnotatedMethodBean.class));
+		assertTrue(prefilter.couldMatch(SubclassOfAnnotatedMethodBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+		assertFalse(prefilter.couldMatch(TestBean.class));
+	}
+
+	@Test
+	public void packagePattern() {
+		PointcutPrefilter prefilter = prefilter("execution(* org.springframework.tests..*.get*(..))");
+		assertTrue(prefilter.couldMatch(TestBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+		prefilter = prefilter("within(org.springframework.tests.sample.*)");
+		assertFalse(prefilter.couldMatch(TestBean.class));
+		prefilter = prefilter("within(org.springframework.tests.sample.beans.*Bean)");
+		assertTrue(prefilter.couldMatch(TestBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+	}
+
+	@Test
+	public void withinMatchesNestedTypes() {
+		PointcutPrefilter prefilter = prefilter("within(org.springframework.aop.aspectj.PointcutPrefilterTests.AnnotatedTypeBean)");
+		assertTrue(prefilter.couldMatch(AnnotatedTypeBean.Nested.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+	}
+
+	@Test
+	public void methodAnnotation() {
+		PointcutPrefilter prefilter = prefilter("@annotation(" + MARKER + ")");
+		assertTrue(prefilter.couldMatch(AnnotatedMethodBean.class));
+		assertTrue(prefilter.couldMatch(SubclassOfAnnotatedMethodBean.class));
+		assertFalse(prefilter.couldMatch(AnnotatedTypeBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+		prefilter = prefilter("execution(@" + MARKER + " * *(..))");
+		assertTrue(prefilter.couldMatch(AnnotatedMethodBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+	}
+
+	@Test
+	public void typeAnnotation() {
+		PointcutPrefilter prefilter = prefilter("@within(" + MARKER + ")");
+		assertTrue(prefilter.couldMatch(AnnotatedTypeBean.class));
+		assertFalse(prefilter.couldMatch(AnnotatedMethodBean.class));
+		// A runtime test in AspectJ, which may match a subclass of any class
+		assertFalse(prefilter("@target(" + MARKER + ")").isSelective());
+	}
+
+	@Test
+	public void combinations() {
+		PointcutPrefilter prefilter = prefilter("within(org.springframework.tests..*) || @annotation(" + MARKER + ")");
+		assertTrue(prefilter.couldMatch(TestBean.class));
+		assertTrue(prefilter.couldMatch(AnnotatedMethodBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+		prefilter = prefilter("within(org.springframework.tests..*) && args(String)");
+		assertTrue(prefilter.couldMatch(TestBean.class));
+		assertFalse(prefilter.couldMatch(PlainBean.class));
+	}
+
+	@Test
+	public void unclassifiedExpressions() {
+		assertFalse(prefilter("execution(* *(..))").isSelective());
+		assertFalse(prefilter("!within(org.springframework.tests..*)").isSelective());
+		assertFalse(prefilter("within(org.springframework.tests..*) || args(String)").isSelective());
+		assertFalse(prefilter("execution(* *..TestBean.*(..))").isSelective());
+		assertTrue(prefilter("args(String)").couldMatch(PlainBean.class));
+	}
+
+	@Test
+	public void neverRejectsWhatFullMatchAccepts() {
+		String[] expressions = {
+				"execution(* org.springframework.aop.aspectj.PointcutPrefilterTests.Service.*(..))",
+				"execution(* org.springframework.tests..*.get*(..))",
+				"within(org.springframework.aop.aspectj.PointcutPrefilterTests.AnnotatedTypeBean)",
+				"within(org.springframework.aop..*)",
+				"@annotation(" + MARKER + ")",
+				"@within(" + MARKER + ")",
+				"@target(" + MARKER + ")",
+				"execution(* org.springframework.tests.sample.beans.ITestBean.*(..))",
+				"execution(* java.lang.Object.toString())",
+				"within(org.springframework.tests..*) || @annotation(" + MARKER + ")"};
+		for (String expression : expressions) {
+			for (Class<?> clazz : CLASSES) {
+				AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+				pointcut.setExpression(expression);
+				if (AopUtils.canApply(pointcut, clazz)) {
+					assertTrue(expression + " on " + clazz.getName(), pointcut.getPrefilter().couldMatch(clazz));
+				}
+			}
+		}
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Marker {
+	}
+
+
+	public interface Service {
+
+		void serve();
+	}
+
+
+	public static class PlainBean {
+
+		public void serve() {
+		}
+	}
+
+
+	public static class AnnotatedMethodBean implements Service {
+
+		@Marker
+		@Override
+		public void serve() {
+		}
+	}
+
+
+	public static class SubclassOfAnnotatedMethodBean extends AnnotatedMethodBean {
+	}
+
+
+	@Marker
+	public static class AnnotatedTypeBean {
+
+		public void serve() {
+		}
+
+		public static class Nested {
+
+			public void serve() {
+			}
+		}
+	}
+
+}
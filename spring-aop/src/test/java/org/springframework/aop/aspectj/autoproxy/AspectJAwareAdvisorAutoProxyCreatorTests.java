@@ -0,0 +1,124 @@
+package org.springframework.aop.aspectj.autoproxy;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.aspectj.AspectJMethodBeforeAdvice;
+import org.springframework.aop.aspectj.AspectJPointcutAdvisor;
+import org.springframework.aop.aspectj.SingletonAspectInstanceFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the advisor prefiltering and matching report of {@link AspectJAwareAdvisorAutoProxyCreator}.
+ */
+public class AspectJAwareAdvisorAutoProxyCreatorTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final AspectJAwareAdvisorAutoProxyCreator autoProxyCreator = new ReportingAutoProxyCreator();
+
+	private final NopInterceptor nop = new NopInterceptor();
+
+
+	@Before
+	public void setup() {
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.tests.sample.beans.ITestBean.getAge())");
+		advisor.setAdvice(this.nop);
+		this.beanFactory.registerSingleton("advisor", advisor);
+		this.autoProxyCreator.setBeanFactory(this.beanFactory);
+	}
+
+
+	@Test
+	public void prefilteredAdvisor() {
+		ITestBean proxy = (ITestBean) this.autoProxyCreator.postProcessAfterInitialization(new TestBean("tb", 42), "tb");
+		assertTrue(AopUtils.isAopProxy(proxy));
+		assertEquals(42, proxy.getAge());
+		assertEquals(1, this.nop.getCount());
+
+		Object other = new StringBuilder();
+		assertSame(other, this.autoProxyCreator.postProcessAfterInitialization(other, "other"));
+		String report = this.autoProxyCreator.getAdvisorMatchingReport();
+		assertTrue(report, report.contains("2 classes (1 prefiltered, 1 matched)"));
+	}
+
+	@Test
+	public void withoutPrefiltering() {
+		this.autoProxyCreator.setPointcutPrefiltering(false);
+		assertTrue(AopUtils.isAopProxy(this.autoProxyCreator.postProcessAfterInitialization(new TestBean(), "tb")));
+		Object other = new StringBuilder();
+		assertSame(other, this.autoProxyCreator.postProcessAfterInitialization(other, "other"));
+		String report = this.autoProxyCreator.getAdvisorMatchingReport();
+		assertTrue(report, report.contains("2 classes (0 prefiltered, 1 matched)"));
+	}
+
+	@Test
+	public void advisorsForSameAdviceReportedTogether() throws Exception {
+		Method adviceMethod = CountingAspect.class.getMethod("before");
+		for (int i = 0; i < 2; i++) {
+			AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+			pointcut.setExpression("execution(* org.springframework.tests.sample.beans.ITestBean.getName())");
+			AspectJMethodBeforeAdvice advice = new AspectJMethodBeforeAdvice(adviceMethod, pointcut,
+					new SingletonAspectInstanceFactory(new CountingAspect()));
+			advice.setAspectName("countingAspect");
+			advice.setDeclarationOrder(0);
+			this.beanFactory.registerSingleton("aspectAdvisor" + i, new AspectJPointcutAdvisor(advice));
+		}
+		this.autoProxyCreator.postProcessAfterInitialization(new TestBean(), "tb");
+		String report = this.autoProxyCreator.getAdvisorMatchingReport();
+		assertTrue(report, report.contains(" for 2 advisors "));
+		assertTrue(report, report.contains("2 classes (0 prefiltered, 2 matched)"));
+	}
+
+	@Test
+	public void noRecordingAfterSingletonsInstantiated() {
+		this.autoProxyCreator.postProcessAfterInitialization(new TestBean(), "tb");
+		this.autoProxyCreator.afterSingletonsInstantiated();
+		this.autoProxyCreator.postProcessAfterInitialization(new TestBean(), "tb2");
+		String report = this.autoProxyCreator.getAdvisorMatchingReport();
+		assertTrue(report, report.contains("1 classes (0 prefiltered, 1 matched)"));
+	}
+
+	@Test
+	public void noRecordingWithoutDebugLogging() {
+		AspectJAwareAdvisorAutoProxyCreator autoProxyCreator = new AspectJAwareAdvisorAutoProxyCreator() {
+			@Override
+			boolean isMatchingReportEnabled() {
+				return false;
+			}
+		};
+		autoProxyCreator.setBeanFactory(this.beanFactory);
+		assertTrue(AopUtils.isAopProxy(autoProxyCreator.postProcessAfterInitialization(new TestBean(), "tb")));
+		assertTrue(autoProxyCreator.getAdvisorMatchingReport().contains(" for 0 advisors "));
+	}
+
+
+	// Records the matching statistics regardless of the log level
+	@SuppressWarnings("serial")
+	private static class ReportingAutoProxyCreator extends AspectJAwareAdvisorAutoProxyCreator {
+
+		@Override
+		boolean isMatchingReportEnabled() {
+			return true;
+		}
+	}
+
+
+	public static class CountingAspect {
+
+		public void before() {
+		}
+	}
+
+}
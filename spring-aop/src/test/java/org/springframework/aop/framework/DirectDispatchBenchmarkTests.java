@@ -0,0 +1,61 @@
+package org.springframework.aop.framework;
+
+import org.junit.Test;
+
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.StopWatch;
+
+/**
+ * Benchmarks comparing JDK dynamic proxies, CGLIB proxies and generated proxies
+ * with {@link ProxyConfig#setDirectDispatch direct dispatch}, for advised and unadvised methods.
+ *
+ * NOTE: No assertions!
+ *
+ * @since 5.1.9
+ */
+public class DirectDispatchBenchmarkTests {
+
+	/** Increase this if you want meaningful results! */
+	private static final int INVOCATIONS = 100000;
+
+
+	private ITestBean proxy(boolean proxyTargetClass, boolean directDispatch) {
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb", 42));
+		pf.setProxyTargetClass(proxyTargetClass);
+		pf.setDirectDispatch(directDispatch);
+		NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(new NopInterceptor());
+		advisor.setMappedName("getName");
+		pf.addAdvisor(advisor);
+		pf.setFrozen(true);
+		return (ITestBean) pf.getProxy();
+	}
+
+	@Test
+	public void timeManyInvocations() {
+		Assume.group(TestGroup.PERFORMANCE);
+		StopWatch sw = new StopWatch();
+		time(sw, "JDK dynamic proxy", proxy(false, false));
+		time(sw, "CGLIB proxy", proxy(true, false));
+		time(sw, "generated proxy", proxy(false, true));
+	}
+
+	private void time(StopWatch sw, String kind, ITestBean proxy) {
+		sw.start(INVOCATIONS + " invocations on " + kind + ", unadvised");
+		for (int i = 0; i < INVOCATIONS; i++) {
+			proxy.getAge();
+		}
+		sw.stop();
+
+		sw.start(INVOCATIONS + " invocations on " + kind + ", advised");
+		for (int i = 0; i < INVOCATIONS; i++) {
+			proxy.getName();
+		}
+		sw.stop();
+	}
+
+}
@@ -0,0 +1,268 @@
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.AsyncExecutionInterceptor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LinkedInterceptorChain}, through JDK and CGLIB proxies with
+ * {@link ProxyConfig#setPreLinked pre-linked} interceptor chains.
+ */
+@RunWith(Parameterized.class)
+public class LinkedInterceptorChainTests {
+
+	@Parameterized.Parameter
+	public boolean proxyTargetClass;
+
+	@Parameterized.Parameters(name = "proxyTargetClass = {0}")
+	public static Object[] proxyTargetClass() {
+		return new Object[] {false, true};
+	}
+
+
+	private ProxyFactory proxyFactory(Object target) {
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(this.proxyTargetClass);
+		pf.setPreLinked(true);
+		return pf;
+	}
+
+
+	@Test
+	public void interceptorsInOrder() {
+		List<String> calls = new ArrayList<>();
+		ProxyFactory pf = proxyFactory(new TestBean("tb", 42));
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("first");
+			return invocation.proceed();
+		});
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("second " + invocation.getMethod().getName());
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals(42, proxy.getAge());
+		proxy.setAge(43);
+		assertEquals(43, proxy.getAge());
+		assertEquals(6, calls.size());
+		assertEquals("first", calls.get(0));
+		assertEquals("second getAge", calls.get(1));
+		assertEquals("second setAge", calls.get(3));
+	}
+
+	@Test
+	public void invocationReused() {
+		List<MethodInvocation> invocations = new ArrayList<>();
+		ProxyFactory pf = proxyFactory(new TestBean());
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			invocations.add(invocation);
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.getAge();
+		proxy.getName();
+		proxy.setName("tb");
+		assertEquals(3, invocations.size());
+		assertSame(invocations.get(0), invocations.get(1));
+		assertSame(invocations.get(0), invocations.get(2));
+	}
+
+	@Test
+	public void nestedCallsUseSeparateInvocations() {
+		ProxyFactory pf = proxyFactory(new TestBean("tb", 42));
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			if (invocation.getMethod().getName().equals("getName")) {
+				ITestBean self = (ITestBean) ((ProxyMethodInvocation) invocation).getProxy();
+				String name = (String) invocation.proceed();
+				// Nested call on the proxy while this invocation is in use
+				assertEquals(42, self.getAge());
+				assertEquals("getName", invocation.getMethod().getName());
+				return name + self.getAge();
+			}
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals("tb42", proxy.getName());
+		assertEquals("tb42", proxy.getName());
+	}
+
+	@Test
+	public void dynamicMethodMatcher() {
+		NopInterceptor matched = new NopInterceptor();
+		NopInterceptor all = new NopInterceptor();
+		ProxyFactory pf = proxyFactory(new TestBean());
+		pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass, Object... args) {
+				return (args.length == 1 && Integer.valueOf(5).equals(args[0]));
+			}
+		}, matched));
+		pf.addAdvice(all);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.setAge(4);
+		proxy.setAge(5);
+		proxy.getAge();
+		assertEquals(5, proxy.getAge());
+		assertEquals(1, matched.getCount());
+		assertEquals(4, all.getCount());
+	}
+
+	@Test
+	public void exceptionReleasesInvocation() {
+		List<MethodInvocation> invocations = new ArrayList<>();
+		ProxyFactory pf = proxyFactory(new TestBean());
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			invocations.add(invocation);
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		try {
+			proxy.exceptional(new IllegalStateException());
+			fail("IllegalStateException expected");
+		}
+		catch (Throwable ex) {
+			assertTrue(ex instanceof IllegalStateException);
+		}
+		proxy.getAge();
+		assertSame(invocations.get(0), invocations.get(1));
+	}
+
+	@Test
+	public void userAttributesNotCarriedOver() {
+		List<Object> attributes = new ArrayList<>();
+		ProxyFactory pf = proxyFactory(new TestBean());
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			ProxyMethodInvocation pmi = (ProxyMethodInvocation) invocation;
+			attributes.add(pmi.getUserAttribute("key"));
+			pmi.setUserAttribute("key", "value");
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.getAge();
+		proxy.getAge();
+		assertNull(attributes.get(0));
+		assertNull(attributes.get(1));
+	}
+
+	@Test
+	public void invocableCloneOutlivesCall() throws Throwable {
+		List<MethodInvocation> clones = new ArrayList<>();
+		List<MethodInvocation> invocations = new ArrayList<>();
+		ProxyFactory pf = proxyFactory(new TestBean("tb", 42));
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			clones.add(((ProxyMethodInvocation) invocation).invocableClone());
+			invocations.add(invocation);
+			return invocation.proceed();
+		});
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.getAge();
+		proxy.getName();
+		assertEquals(42, clones.get(0).proceed());
+		assertEquals("tb", clones.get(1).proceed());
+		try {
+			invocations.get(0).proceed();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void asyncExecutionOutlivesCall() throws InterruptedException {
+		List<Runnable> tasks = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		AgeRecorder target = new AgeRecorder();
+		ProxyFactory pf = proxyFactory(target);
+		pf.addAdvice(new AsyncExecutionInterceptor(tasks::add, (ex, method, params) -> errors.add(ex)));
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.setAge(5);
+		// Reuses the pooled invocation of the first call while its task is pending
+		proxy.setAge(7);
+		assertTrue(target.ages.isEmpty());
+		Thread executor = new Thread(() -> tasks.forEach(Runnable::run));
+		executor.start();
+		executor.join();
+		assertEquals(Arrays.asList(5, 7), target.ages);
+		assertTrue(errors.isEmpty());
+	}
+
+	@Test
+	public void adviceChangeRelinksChain() {
+		ProxyFactory pf = proxyFactory(new TestBean());
+		NopInterceptor first = new NopInterceptor();
+		pf.addAdvice(first);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.getAge();
+		NopInterceptor second = new NopInterceptor();
+		((Advised) proxy).addAdvice(second);
+		proxy.getAge();
+		assertEquals(2, first.getCount());
+		assertEquals(1, second.getCount());
+	}
+
+	@Test
+	public void frozenStaticProxy() {
+		ProxyFactory pf = proxyFactory(new TestBean("tb", 42));
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals(42, proxy.getAge());
+		proxy.setAge(43);
+		assertEquals(43, proxy.getAge());
+		assertEquals(3, nop.getCount());
+	}
+
+	@Test
+	public void returnThisIsProxy() {
+		ProxyFactory pf = proxyFactory(new SelfReturning());
+		pf.addAdvice(new NopInterceptor());
+		Self proxy = (Self) pf.getProxy();
+		assertSame(proxy, proxy.self());
+	}
+
+
+	public static class AgeRecorder extends TestBean {
+
+		final List<Integer> ages = new ArrayList<>();
+
+		@Override
+		public void setAge(int age) {
+			this.ages.add(age);
+		}
+	}
+
+
+	public interface Self {
+
+		Self self();
+	}
+
+
+	public static class SelfReturning implements Self {
+
+		@Override
+		public Self self() {
+			return this;
+		}
+	}
+
+}
@@ -817,7 +817,7 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 * @param propertyName the property name to parse
 	 * @return representation of the parsed property tokens
 	 */
-	private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+	protected PropertyTokenHolder getPropertyNameTokens(String propertyName) {
 		String actualName = null;
 		List<String> keys = new ArrayList<>(2);
 		int searchIndex = 0;
@@ -6,6 +6,11 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -19,7 +24,13 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
@@ -45,6 +56,10 @@ import org.springframework.util.StringUtils;
  * been set up, this class will fall back to a weak-reference-based caching model that
  * recreates much-requested entries every time the garbage collector removed them. In
  * such a scenario, consider the {@link #IGNORE_BEANINFO_PROPERTY_NAME} system property.
+ *
+ * To avoid the cost of introspection on the first binding of large object graphs, the cache may be pre-warmed at
+ * startup through {@link #warmUp(Collection)} or {@link #warmUpPackages}, which introspect in parallel.
+ * See {@link SimpleBeanInfoFactory} for introspection without the JavaBeans {@link Introspector}.
 
  * @since 05 May 2001
  * @see #acceptClassLoader(ClassLoader)
@@ -129,6 +144,55 @@ public final class CachedIntrospectionResults {
 		softClassCache.keySet().removeIf(beanClass ->isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
 	}
 
+	/**
+	 * Introspect the given bean classes in parallel and cache the results, e.g. at application startup.
+	 * Classes that fail introspection are skipped (and logged at debug level) rather than failing the warm-up.
+	 * @param beanClasses the bean classes to introspect
+	 * @since 5.1.9
+	 */
+	public static void warmUp(Collection<Class<?>> beanClasses) {
+		beanClasses.parallelStream().forEach(beanClass -> {
+			try {
+				forClass(beanClass);
+			}catch (BeansException | LinkageError ex) {
+				if (logger.isDebugEnabled()) logger.debug("Skipping introspection warm-up for class [" + beanClass.getName() + "]", ex);
+			}
+		});
+	}
+
+	/**
+	 * Introspect all concrete, top-level or static nested classes in the given packages (including sub-packages)
+	 * in parallel and cache the results. Classes are loaded without being initialized.
+	 * @param classLoader the ClassLoader to find and load the classes with (can be {@code null} to use the default)
+	 * @param basePackages the packages to scan, e.g. the ones of the application's data transfer objects
+	 * @return the number of classes introspected
+	 * @throws IOException in case of I/O errors while scanning the packages
+	 * @since 5.1.9
+	 * @see #warmUp(Collection)
+	 */
+	public static int warmUpPackages(@Nullable ClassLoader classLoader, String... basePackages) throws IOException {
+		ClassLoader classLoaderToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+		ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoaderToUse);
+		MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(classLoaderToUse);
+		List<Class<?>> beanClasses = new ArrayList<>();
+		for (String basePackage : basePackages) {
+			String pattern = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + ClassUtils.convertClassNameToResourcePath(basePackage) + "/**/*.class";
+			for (Resource resource : resolver.getResources(pattern)) {
+				ClassMetadata metadata = metadataReaderFactory.getMetadataReader(resource).getClassMetadata();
+				if (!metadata.isConcrete() || !metadata.isIndependent()) continue;
+				try {
+					Class<?> beanClass = ClassUtils.forName(metadata.getClassName(), classLoaderToUse);
+					if (Modifier.isPublic(beanClass.getModifiers())) beanClasses.add(beanClass);
+				}catch (ClassNotFoundException | LinkageError ex) {
+					if (logger.isDebugEnabled()) logger.debug("Skipping introspection warm-up for class [" + metadata.getClassName() + "]", ex);
+				}
+			}
+		}
+		warmUp(beanClasses);
+		if (logger.isDebugEnabled()) logger.debug("Warmed up introspection for " + beanClasses.size() + " classes in packages " + Arrays.toString(basePackages));
+		return beanClasses.size();
+	}
+
 	/**
 	 * Create CachedIntrospectionResults for the given bean class.
 	 * @param beanClass the bean class to analyze
@@ -0,0 +1,233 @@
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link BeanWrapper} implementation that invokes getters and setters through a class generated once per bean class
+ * (a CGLIB {@link FastClass}, built with the bundled ASM) instead of {@code Method.invoke}, and that parses each
+ * property path once per JVM instead of on every access. Nested paths and indexed/keyed collection paths
+ * (e.g. {@code "orders[0].items['key'].name"}) are resolved through the same generated accessors, so that binding
+ * a form onto an object graph does not use reflection once the accessor classes exist.
+ *
+ * Falls back to the reflective behavior of {@link BeanWrapperImpl} for properties the generated class cannot invoke
+ * (e.g. accessors declared in a non-visible class), for values not assignable to the setter parameter
+ * (keeping the standard error reporting), and when running under a SecurityManager.
+ * @since 5.1.9
+ * @see PropertyAccessorFactory#forGeneratedBeanPropertyAccess
+ * 简而言之，就是用生成的访问类代替反射调用 getter/setter 的 BeanWrapper
+ */
+public class GeneratedBeanWrapper extends BeanWrapperImpl {
+
+	private static final Object[] NO_ARGS = new Object[0];
+
+	// Maximum number of parsed property paths to keep, since paths may come from request parameter names
+	private static final int TOKEN_CACHE_LIMIT = 4096;
+
+	private static final Log accessorLogger = LogFactory.getLog(GeneratedBeanWrapper.class);
+
+	/** Generated accessor per bean class. */
+	private static final Map<Class<?>, ClassAccessor> accessorCache = new ConcurrentReferenceHashMap<>(64);
+
+	/** Parsed property paths, shared by all instances. */
+	private static final Map<String, PropertyTokenHolder> tokenCache = new ConcurrentReferenceHashMap<>(256);
+
+	@Nullable
+	private ClassAccessor classAccessor;
+
+	/**
+	 * Create a new GeneratedBeanWrapper for the given object.
+	 * @param object object wrapped by this BeanWrapper
+	 */
+	public GeneratedBeanWrapper(Object object) {
+		super(object);
+	}
+
+	/**
+	 * Create a new GeneratedBeanWrapper, wrapping a new instance of the specified class.
+	 * @param clazz class to instantiate and wrap
+	 */
+	public GeneratedBeanWrapper(Class<?> clazz) {
+		super(clazz);
+	}
+
+	private GeneratedBeanWrapper(Object object, String nestedPath, GeneratedBeanWrapper parent) {
+		super(object, nestedPath, parent);
+	}
+
+	@Override
+	@Nullable
+	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
+		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
+		if (pd == null) return null;
+		if (System.getSecurityManager() == null) {
+			ClassAccessor accessor = getClassAccessor();
+			FastClass fastClass = accessor.getFastClass();
+			if (fastClass != null) {
+				PropertyMethods methods = accessor.getPropertyMethods(pd);
+				if (methods != PropertyMethods.NONE) return new GeneratedPropertyHandler(pd, fastClass, methods);
+			}
+		}
+		return new BeanPropertyHandler(pd);
+	}
+
+	@Override
+	protected GeneratedBeanWrapper newNestedPropertyAccessor(Object object, String nestedPath) {
+		return new GeneratedBeanWrapper(object, nestedPath, this);
+	}
+
+	@Override
+	protected PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+		PropertyTokenHolder tokens = tokenCache.get(propertyName);
+		if (tokens == null) {
+			tokens = super.getPropertyNameTokens(propertyName);
+			if (tokenCache.size() < TOKEN_CACHE_LIMIT) tokenCache.put(propertyName, tokens);
+		}
+		return tokens;
+	}
+
+	private ClassAccessor getClassAccessor() {
+		Class<?> beanClass = getWrappedClass();
+		ClassAccessor accessor = this.classAccessor;
+		if (accessor == null || accessor.beanClass != beanClass) {
+			accessor = accessorCache.computeIfAbsent(beanClass, ClassAccessor::new);
+			this.classAccessor = accessor;
+		}
+		return accessor;
+	}
+
+
+	private class GeneratedPropertyHandler extends BeanPropertyHandler {
+
+		private final FastClass fastClass;
+
+		private final PropertyMethods methods;
+
+		public GeneratedPropertyHandler(PropertyDescriptor pd, FastClass fastClass, PropertyMethods methods) {
+			super(pd);
+			this.fastClass = fastClass;
+			this.methods = methods;
+		}
+
+		@Override
+		@Nullable
+		public Object getValue() throws Exception {
+			if (this.methods.readIndex < 0) return super.getValue();
+			return this.fastClass.invoke(this.methods.readIndex, getWrappedInstance(), NO_ARGS);
+		}
+
+		@Override
+		public void setValue(@Nullable Object value) throws Exception {
+			// 不可赋值的参数交给反射处理，以保持原有的异常类型
+			if (this.methods.writeIndex < 0 || !ClassUtils.isAssignableValue(this.methods.writeParameterType, value)) {
+				super.setValue(value);
+				return;
+			}
+			this.fastClass.invoke(this.methods.writeIndex, getWrappedInstance(), new Object[] {value});
+		}
+	}
+
+
+	/**
+	 * Holder for the generated accessor class of a bean class, along with the resolved method indexes per property.
+	 */
+	private static class ClassAccessor {
+
+		final Class<?> beanClass;
+
+		@Nullable
+		private volatile FastClass fastClass;
+
+		private volatile boolean generated;
+
+		private final Map<String, PropertyMethods> propertyMethods = new ConcurrentReferenceHashMap<>(16);
+
+		ClassAccessor(Class<?> beanClass) {
+			this.beanClass = beanClass;
+		}
+
+		@Nullable
+		FastClass getFastClass() {
+			if (!this.generated) {
+				synchronized (this) {
+					if (!this.generated) {
+						this.fastClass = generate();
+						this.generated = true;
+					}
+				}
+			}
+			return this.fastClass;
+		}
+
+		@Nullable
+		private FastClass generate() {
+			try {
+				FastClass.Generator generator = new FastClass.Generator();
+				generator.setType(this.beanClass);
+				// 在 bean 类所在的包中定义生成的类，以便访问包可见的 getter 和 setter
+				generator.setContextClass(this.beanClass);
+				generator.setClassLoader(this.beanClass.getClassLoader());
+				FastClass fastClass = generator.create();
+				if (accessorLogger.isDebugEnabled()) accessorLogger.debug("Generated accessor class [" + fastClass.getClass().getName() + "] for bean class [" + this.beanClass.getName() + "]");
+				return fastClass;
+			}catch (Throwable ex) {
+				if (accessorLogger.isDebugEnabled()) accessorLogger.debug("Could not generate accessor class for bean class [" + this.beanClass.getName() + "] - using reflection", ex);
+				return null;
+			}
+		}
+
+		PropertyMethods getPropertyMethods(PropertyDescriptor pd) {
+			PropertyMethods methods = this.propertyMethods.get(pd.getName());
+			if (methods == null) {
+				methods = resolvePropertyMethods(pd);
+				this.propertyMethods.put(pd.getName(), methods);
+			}
+			return methods;
+		}
+
+		private PropertyMethods resolvePropertyMethods(PropertyDescriptor pd) {
+			FastClass fastClass = this.fastClass;
+			if (fastClass == null) return PropertyMethods.NONE;
+			Method readMethod = pd.getReadMethod();
+			Method writeMethod = pd.getWriteMethod();
+			if (writeMethod != null && pd instanceof GenericTypeAwarePropertyDescriptor) {
+				writeMethod = ((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess();
+			}
+			int readIndex = (readMethod != null ? fastClass.getIndex(readMethod.getName(), readMethod.getParameterTypes()) : -1);
+			int writeIndex = (writeMethod != null ? fastClass.getIndex(writeMethod.getName(), writeMethod.getParameterTypes()) : -1);
+			if (readIndex < 0 && writeIndex < 0) return PropertyMethods.NONE;
+			return new PropertyMethods(readIndex, writeIndex, (writeMethod != null ? writeMethod.getParameterTypes()[0] : Object.class));
+		}
+	}
+
+
+	/**
+	 * Indexes of the read and write method of a property in the generated class (-1 if not invocable through it).
+	 */
+	private static class PropertyMethods {
+
+		static final PropertyMethods NONE = new PropertyMethods(-1, -1, Object.class);
+
+		final int readIndex;
+
+		final int writeIndex;
+
+		final Class<?> writeParameterType;
+
+		PropertyMethods(int readIndex, int writeIndex, Class<?> writeParameterType) {
+			this.readIndex = readIndex;
+			this.writeIndex = writeIndex;
+			this.writeParameterType = writeParameterType;
+		}
+	}
+
+}
@@ -3,9 +3,16 @@
 package org.springframework.beans;
 
 import java.beans.IntrospectionException;
+import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
@@ -124,6 +131,59 @@ abstract class PropertyDescriptorUtils {
 		return indexedPropertyType;
 	}
 
+	/**
+	 * Determine the basic JavaBeans properties of the given class from its public getter and setter methods,
+	 * without going through the {@link Introspector} and its synchronized caches. Like {@link ExtendedBeanInfo},
+	 * setters with a non-void return type are accepted; indexed properties are not detected.
+	 * @param beanClass the class to introspect
+	 * @return the property descriptors, sorted by property name
+	 * @since 5.1.9
+	 */
+	public static Collection<? extends PropertyDescriptor> determineBasicProperties(Class<?> beanClass) throws IntrospectionException {
+		Map<String, BasicPropertyDescriptor> pdMap = new TreeMap<>();
+		for (Method method : beanClass.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers())) continue;
+			String methodName = method.getName();
+			boolean setter;
+			int nameIndex;
+			if (methodName.startsWith("set") && method.getParameterCount() == 1) {
+				setter = true;
+				nameIndex = 3;
+			}else if (methodName.startsWith("get") && method.getParameterCount() == 0 && method.getReturnType() != Void.TYPE) {
+				setter = false;
+				nameIndex = 3;
+			}else if (methodName.startsWith("is") && method.getParameterCount() == 0 && method.getReturnType() == boolean.class) {
+				setter = false;
+				nameIndex = 2;
+			}else {
+				continue;
+			}
+			String propertyName = Introspector.decapitalize(methodName.substring(nameIndex));
+			if (propertyName.isEmpty()) continue;
+			BasicPropertyDescriptor pd = pdMap.get(propertyName);
+			if (pd != null) {
+				if (setter) {
+					Method writeMethod = pd.getWriteMethod();
+					if (writeMethod == null || writeMethod.getParameterTypes()[0].isAssignableFrom(method.getParameterTypes()[0])) {
+						pd.setWriteMethod(method);
+					}else {
+						pd.addWriteMethod(method);
+					}
+				}else {
+					Method readMethod = pd.getReadMethod();
+					// Like the Introspector, an "is" method takes precedence over a "get" method
+					if (readMethod == null || (readMethod.getReturnType() == method.getReturnType() && methodName.startsWith("is"))) {
+						pd.setReadMethod(method);
+					}
+				}
+			}else {
+				pd = new BasicPropertyDescriptor(propertyName, (!setter ? method : null), (setter ? method : null));
+				pdMap.put(propertyName, pd);
+			}
+		}
+		return pdMap.values();
+	}
+
 	/**
 	 * Compare the given {@code PropertyDescriptors} and return {@code true} if
 	 * they are equivalent, i.e. their read method, write method, property type,
@@ -137,4 +197,64 @@ abstract class PropertyDescriptorUtils {
 				ObjectUtils.nullSafeEquals(pd.getPropertyEditorClass(), otherPd.getPropertyEditorClass()) &&
 				pd.isBound() == otherPd.isBound() && pd.isConstrained() == otherPd.isConstrained());
 	}
+
+
+	/**
+	 * PropertyDescriptor for {@link #determineBasicProperties}, not performing any early type determination
+	 * (in contrast to {@link java.beans.PropertyDescriptor}, whose method setters validate eagerly).
+	 * Overloaded setters are kept as alternatives and resolved against the read method on first access.
+	 */
+	private static class BasicPropertyDescriptor extends PropertyDescriptor {
+
+		@Nullable
+		private Method readMethod;
+
+		@Nullable
+		private Method writeMethod;
+
+		private final List<Method> alternativeWriteMethods = new ArrayList<>(1);
+
+		public BasicPropertyDescriptor(String propertyName, @Nullable Method readMethod, @Nullable Method writeMethod) throws IntrospectionException {
+			super(propertyName, readMethod, writeMethod);
+		}
+
+		@Override
+		public void setReadMethod(@Nullable Method readMethod) {
+			this.readMethod = readMethod;
+		}
+
+		@Override
+		@Nullable
+		public Method getReadMethod() {
+			return this.readMethod;
+		}
+
+		@Override
+		public void setWriteMethod(@Nullable Method writeMethod) {
+			this.writeMethod = writeMethod;
+		}
+
+		void addWriteMethod(Method writeMethod) {
+			if (this.writeMethod != null) {
+				this.alternativeWriteMethods.add(this.writeMethod);
+				this.writeMethod = null;
+			}
+			this.alternativeWriteMethods.add(writeMethod);
+		}
+
+		@Override
+		@Nullable
+		public Method getWriteMethod() {
+			if (this.writeMethod == null && !this.alternativeWriteMethods.isEmpty()) {
+				if (this.readMethod == null) return this.alternativeWriteMethods.get(0);
+				for (Method method : this.alternativeWriteMethods) {
+					if (this.readMethod.getReturnType().isAssignableFrom(method.getParameterTypes()[0])) {
+						this.writeMethod = method;
+						break;
+					}
+				}
+			}
+			return this.writeMethod;
+		}
+	}
 }
@@ -171,6 +171,16 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 		return this.defaultEditors.get(requiredType);
 	}
 
+	// Determine whether values of the given type are converted by the built-in default editor, i.e. not by an overridden one
+	boolean isBuiltInDefaultEditorActive(Class<?> requiredType) {
+		return (this.defaultEditorsActive && !hasOverriddenDefaultEditor(requiredType));
+	}
+
+	// Determine whether the default editor for the given type has been overridden via overrideDefaultEditor
+	boolean hasOverriddenDefaultEditor(Class<?> requiredType) {
+		return (this.overriddenDefaultEditors != null && this.overriddenDefaultEditors.containsKey(requiredType));
+	}
+
 	/**
 	 * Actually register the default editors for this registry instance.
 	 */
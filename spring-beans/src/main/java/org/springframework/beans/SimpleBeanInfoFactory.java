@@ -0,0 +1,64 @@
+package org.springframework.beans;
+
+import java.beans.BeanDescriptor;
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
+import java.util.Collection;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link BeanInfoFactory} implementation that determines the bean properties of a class from its public getter
+ * and setter methods directly, without the {@link java.beans.Introspector}: no synchronization on the JDK-wide
+ * BeanInfo cache, no search for {@code BeanInfo} classes, no event set or method descriptors.
+ * Non-void returning setters are supported as with {@link ExtendedBeanInfoFactory}; indexed properties are not.
+ *
+ * Only active if the {@value #SIMPLE_BEANINFO_PROPERTY_NAME} system property is set. Ordered before
+ * {@link ExtendedBeanInfoFactory}, so that the latter only applies when this factory is not active.
+ * @since 5.1.9
+ * @see CachedIntrospectionResults
+ * 简而言之，就是不经过 java.beans.Introspector 的属性描述符构建方式
+ */
+public class SimpleBeanInfoFactory implements BeanInfoFactory, Ordered {
+
+	/**
+	 * System property that instructs Spring to introspect bean classes without the JavaBeans
+	 * {@link java.beans.Introspector}: "spring.beaninfo.simple". The default is "false".
+	 */
+	public static final String SIMPLE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.simple";
+
+	private static final boolean simpleBeanInfo = SpringProperties.getFlag(SIMPLE_BEANINFO_PROPERTY_NAME);
+
+	@Override
+	@Nullable
+	public BeanInfo getBeanInfo(Class<?> beanClass) throws IntrospectionException {
+		return (simpleBeanInfo ? createBeanInfo(beanClass) : null);
+	}
+
+	// Build the BeanInfo for the given class, regardless of the system property.
+	BeanInfo createBeanInfo(Class<?> beanClass) throws IntrospectionException {
+		Collection<? extends PropertyDescriptor> pds = PropertyDescriptorUtils.determineBasicProperties(beanClass);
+		PropertyDescriptor[] pdArray = pds.toArray(new PropertyDescriptor[0]);
+		BeanDescriptor beanDescriptor = new BeanDescriptor(beanClass);
+		return new SimpleBeanInfo() {
+			@Override
+			public BeanDescriptor getBeanDescriptor() {
+				return beanDescriptor;
+			}
+			@Override
+			public PropertyDescriptor[] getPropertyDescriptors() {
+				return pdArray;
+			}
+		};
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE - 1;
+	}
+
+}
@@ -19,6 +19,10 @@ import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ToDoubleConverter;
+import org.springframework.core.convert.converter.ToIntConverter;
+import org.springframework.core.convert.converter.ToLongConverter;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
@@ -376,6 +380,10 @@ class TypeConverterDelegate {
 			if (componentType.equals(input.getClass().getComponentType()) && !this.propertyEditorRegistry.hasCustomEditorForElement(componentType, propertyName)) {
 				return input;
 			}
+			if (input instanceof String[]) {
+				Object result = convertToPrimitiveArray((String[]) input, propertyName, componentType);
+				if (result != null) return result;
+			}
 			int arrayLength = Array.getLength(input);
 			Object result = Array.newInstance(componentType, arrayLength);
 			for (int i = 0; i < arrayLength; i++) {
@@ -392,6 +400,56 @@ class TypeConverterDelegate {
 		}
 	}
 
+	/**
+	 * Convert the given Strings into an {@code int[]}, {@code long[]} or {@code double[]} array without boxing each element,
+	 * as long as the element-wise conversion would use the default number editor or a primitive-specialized converter
+	 * of a {@link GenericConversionService}: custom editors for the elements and an overridden default editor for the
+	 * component type always take precedence, with or without a conversion service.
+	 * Any failure is left to the element-wise conversion for its error reporting.
+	 * @return the converted array, or {@code null} if not applicable
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private Object convertToPrimitiveArray(String[] input, @Nullable String propertyName, Class<?> componentType) {
+		if ((componentType != int.class && componentType != long.class && componentType != double.class) ||
+				this.propertyEditorRegistry.hasCustomEditorForElement(componentType, propertyName) ||
+				this.propertyEditorRegistry.hasOverriddenDefaultEditor(componentType)) return null;
+		ConversionService conversionService = this.propertyEditorRegistry.getConversionService();
+		Object converter = null;
+		if (conversionService instanceof GenericConversionService) {
+			GenericConversionService genericConversionService = (GenericConversionService) conversionService;
+			TypeDescriptor sourceType = TypeDescriptor.valueOf(String.class);
+			converter = (componentType == int.class ? genericConversionService.getIntConverter(sourceType) :
+					componentType == long.class ? genericConversionService.getLongConverter(sourceType) : genericConversionService.getDoubleConverter(sourceType));
+			if (converter == null) return null;
+		}else if (conversionService != null || !this.propertyEditorRegistry.isBuiltInDefaultEditorActive(componentType)) {
+			return null;
+		}
+		try {
+			if (componentType == int.class) {
+				int[] result = new int[input.length];
+				for (int i = 0; i < input.length; i++) {
+					result[i] = (converter != null ? ((ToIntConverter<Object>) converter).convertToInt(input[i]) : NumberUtils.parseInt(input[i]));
+				}
+				return result;
+			}else if (componentType == long.class) {
+				long[] result = new long[input.length];
+				for (int i = 0; i < input.length; i++) {
+					result[i] = (converter != null ? ((ToLongConverter<Object>) converter).convertToLong(input[i]) : NumberUtils.parseLong(input[i]));
+				}
+				return result;
+			}else {
+				double[] result = new double[input.length];
+				for (int i = 0; i < input.length; i++) {
+					result[i] = (converter != null ? ((ToDoubleConverter<Object>) converter).convertToDouble(input[i]) : NumberUtils.parseDouble(input[i]));
+				}
+				return result;
+			}
+		}catch (RuntimeException ex) {
+			return null;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private Collection<?> convertToTypedCollection(Collection<?> original, @Nullable String propertyName,Class<?> requiredType, @Nullable TypeDescriptor typeDescriptor) {
 		if (!Collection.class.isAssignableFrom(requiredType)) {
@@ -8,11 +8,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
@@ -26,6 +28,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InjectionPoint;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -38,8 +41,10 @@ import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -188,27 +193,79 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		this.injectionMetadataCache.remove(beanName);
 	}
 
+	/**
+	 * Predict the autowired dependency types of the given bean class: candidate constructor parameters
+	 * plus autowired fields and method parameters, unwrapped from arrays, collections, maps and {@link Optional}.
+	 * Lazy dependencies ({@link ObjectFactory}, {@link org.springframework.beans.factory.ObjectProvider},
+	 * {@code javax.inject.Provider}) are not included since they do not require their target to exist upfront.
+	 */
+	@Override
+	@Nullable
+	public Class<?>[] predictDependencyTypes(Class<?> beanClass, String beanName) throws BeansException {
+		Set<Class<?>> dependencyTypes = new LinkedHashSet<>();
+		Constructor<?>[] candidateConstructors = determineCandidateConstructors(beanClass, beanName);
+		if (candidateConstructors != null) {
+			for (Constructor<?> candidate : candidateConstructors) {
+				for (int i = 0; i < candidate.getParameterCount(); i++) {
+					addDependencyType(ResolvableType.forConstructorParameter(candidate, i), dependencyTypes);
+				}
+			}
+		}
+		for (InjectionMetadata.InjectedElement element : findAutowiringMetadata(beanName, beanClass, null).getInjectedElements()) {
+			if (element.getMember() instanceof Field) {
+				addDependencyType(ResolvableType.forField((Field) element.getMember()), dependencyTypes);
+			}else if (element.getMember() instanceof Method) {
+				Method method = (Method) element.getMember();
+				for (int i = 0; i < method.getParameterCount(); i++) {
+					addDependencyType(ResolvableType.forMethodParameter(method, i), dependencyTypes);
+				}
+			}
+		}
+		return (dependencyTypes.isEmpty() ? null : dependencyTypes.toArray(new Class<?>[0]));
+	}
+
+	private static void addDependencyType(ResolvableType type, Set<Class<?>> dependencyTypes) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || ObjectFactory.class.isAssignableFrom(rawType) || "javax.inject.Provider".equals(rawType.getName())) {
+			return;
+		}
+		if (rawType.isArray()) {
+			addDependencyType(type.getComponentType(), dependencyTypes);
+		}else if (Collection.class.isAssignableFrom(rawType)) {
+			addDependencyType(type.asCollection().getGeneric(), dependencyTypes);
+		}else if (Map.class.isAssignableFrom(rawType)) {
+			addDependencyType(type.asMap().getGeneric(1), dependencyTypes);
+		}else if (Optional.class == rawType) {
+			addDependencyType(type.getGeneric(), dependencyTypes);
+		}else if (!rawType.isPrimitive() && rawType != Object.class && rawType != String.class) {
+			dependencyTypes.add(rawType);
+		}
+	}
+
 	@Override
 	@Nullable
 	public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, final String beanName) throws BeanCreationException {
 		// Let's check for lookup methods here..  // 在beanClass及其继承的父类中寻找@Lookup注解方法。 lookup-method、replaced-method标签相关
 		if (!this.lookupMethodsChecked.contains(beanName)) {
-			try {
-				ReflectionUtils.doWithMethods(beanClass, method -> {
-					Lookup lookup = method.getAnnotation(Lookup.class);
-					if (lookup != null) {
-						Assert.state(this.beanFactory != null, "No BeanFactory available");
-						LookupOverride override = new LookupOverride(method, lookup.value());
-						try {
-							RootBeanDefinition mbd = (RootBeanDefinition) this.beanFactory.getMergedBeanDefinition(beanName);
-							mbd.getMethodOverrides().addOverride(override);
-						}catch (NoSuchBeanDefinitionException ex) {
-							throw new BeanCreationException(beanName,"Cannot apply @Lookup to beans without corresponding bean definition");
+			// Skip the method scan for classes that do not declare @Lookup anywhere in their hierarchy
+			if (AnnotationUtils.isCandidateClass(beanClass, Lookup.class)) {
+				try {
+					ReflectionUtils.doWithMethods(beanClass, method -> {
+						Lookup lookup = method.getAnnotation(Lookup.class);
+						if (lookup != null) {
+							Assert.state(this.beanFactory != null, "No BeanFactory available");
+							LookupOverride override = new LookupOverride(method, lookup.value());
+							try {
+								RootBeanDefinition mbd = (RootBeanDefinition) this.beanFactory.getMergedBeanDefinition(beanName);
+								mbd.getMethodOverrides().addOverride(override);
+							}catch (NoSuchBeanDefinitionException ex) {
+								throw new BeanCreationException(beanName,"Cannot apply @Lookup to beans without corresponding bean definition");
+							}
 						}
-					}
-				});
-			}catch (IllegalStateException ex) {
-				throw new BeanCreationException(beanName, "Lookup method resolution failed", ex);
+					});
+				}catch (IllegalStateException ex) {
+					throw new BeanCreationException(beanName, "Lookup method resolution failed", ex);
+				}
 			}
 			// 记录已经检查过的beanName，避免重复检查。
 			this.lookupMethodsChecked.add(beanName);
@@ -369,6 +426,9 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 	}
 
 	private InjectionMetadata buildAutowiringMetadata(final Class<?> clazz) {
+		if (!AnnotationUtils.isCandidateClass(clazz, this.autowiredAnnotationTypes)) {
+			return new InjectionMetadata(clazz, Collections.emptyList());
+		}
 		// 用来存储通过反射获取的需要注入的Field和Method元数据，并构建 InjectionMetadata
 		List<InjectionMetadata.InjectedElement> elements = new ArrayList<>();
 		Class<?> targetClass = clazz;
@@ -11,6 +11,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcess
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
@@ -161,6 +163,9 @@ public class InitDestroyAnnotationBeanPostProcessor implements DestructionAwareB
 	}
 
 	private LifecycleMetadata buildLifecycleMetadata(final Class<?> clazz) {
+		if (!isLifecycleCandidateClass(clazz)) {
+			return new LifecycleMetadata(clazz, Collections.emptyList(), Collections.emptyList());
+		}
 		List<LifecycleElement> initMethods = new ArrayList<>();
 		List<LifecycleElement> destroyMethods = new ArrayList<>();
 		Class<?> targetClass = clazz;
@@ -186,6 +191,12 @@ public class InitDestroyAnnotationBeanPostProcessor implements DestructionAwareB
 		return new LifecycleMetadata(clazz, initMethods, destroyMethods);
 	}
 
+	// Determine whether the class may declare init or destroy methods at all, avoiding the method scan otherwise
+	private boolean isLifecycleCandidateClass(Class<?> clazz) {
+		return ((this.initAnnotationType != null && AnnotationUtils.isCandidateClass(clazz, this.initAnnotationType)) ||
+				(this.destroyAnnotationType != null && AnnotationUtils.isCandidateClass(clazz, this.destroyAnnotationType)));
+	}
+
 	//---------------------------------------------------------------------
 	// Serialization support
 	//---------------------------------------------------------------------
@@ -45,6 +45,11 @@ public class InjectionMetadata {
 	}
 
 
+	// Return the injected elements, as found on the target class and its superclasses.
+	Collection<InjectedElement> getInjectedElements() {
+		return this.injectedElements;
+	}
+
 	public void checkConfigMembers(RootBeanDefinition beanDefinition) {
 		Set<InjectedElement> checkedElements = new LinkedHashSet<>(this.injectedElements.size());
 		for (InjectedElement element : this.injectedElements) {
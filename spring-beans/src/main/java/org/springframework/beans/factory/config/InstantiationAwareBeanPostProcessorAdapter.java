@@ -31,6 +31,12 @@ public abstract class InstantiationAwareBeanPostProcessorAdapter implements Smar
 		return null;
 	}
 
+	@Override
+	@Nullable
+	public Class<?>[] predictDependencyTypes(Class<?> beanClass, String beanName) throws BeansException {
+		return null;
+	}
+
 	@Override
 	public Object getEarlyBeanReference(Object bean, String beanName) throws BeansException {
 		return bean;
@@ -42,6 +42,22 @@ public interface SmartInstantiationAwareBeanPostProcessor extends InstantiationA
 		return null;
 	}
 
+	/**
+	 * Predict the types of the dependencies that this processor is going to inject into a bean of the given class.
+	 * Only used as a hint for ordering bean creation, e.g. for parallel pre-instantiation of singletons:
+	 * dependencies that are not predicted here will still be resolved on demand. The default implementation returns {@code null}.
+	 * @param beanClass the raw class of the bean
+	 * @param beanName the name of the bean
+	 * @return the dependency types, or {@code null} if not predictable
+	 * @throws org.springframework.beans.BeansException in case of errors
+	 * @since 5.1.9
+	 * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#setParallelPreInstantiation
+	 */
+	@Nullable
+	default Class<?>[] predictDependencyTypes(Class<?> beanClass, String beanName) throws BeansException {
+		return null;
+	}
+
 	/**
 	 * Obtain a reference for early access to the specified bean,typically for the purpose of resolving a circular reference.
 	 * This callback gives post-processors a chance to expose a wrapper early - that is, before the target bean instance is fully initialized.
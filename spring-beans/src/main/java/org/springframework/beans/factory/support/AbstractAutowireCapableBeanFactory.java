@@ -88,6 +88,10 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	/** Strategy for creating bean instances. */
 	private InstantiationStrategy instantiationStrategy = new CglibSubclassingInstantiationStrategy();
 
+	/** Strategy for applying resolved property values, if any: otherwise applied through the BeanWrapper. */
+	@Nullable
+	private PropertyPopulationStrategy propertyPopulationStrategy;
+
 	/** Resolver strategy for method parameter names. */
 	@Nullable
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
@@ -158,6 +162,22 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		return this.instantiationStrategy;
 	}
 
+	/**
+	 * Set the strategy to use for applying resolved property values to bean instances.
+	 * Default is none, setting all property values through the bean's BeanWrapper.
+	 * @since 5.1.9
+	 * @see GeneratedInstantiationStrategy
+	 */
+	public void setPropertyPopulationStrategy(@Nullable PropertyPopulationStrategy propertyPopulationStrategy) {
+		this.propertyPopulationStrategy = propertyPopulationStrategy;
+	}
+
+	// Return the strategy to use for applying resolved property values, if any.
+	@Nullable
+	protected PropertyPopulationStrategy getPropertyPopulationStrategy() {
+		return this.propertyPopulationStrategy;
+	}
+
 	/**
 	 * Set the ParameterNameDiscoverer to use for resolving method parameter names if needed (e.g. for constructor names).
 	 * Default is a {@link DefaultParameterNameDiscoverer}.
@@ -223,6 +243,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		if (otherFactory instanceof AbstractAutowireCapableBeanFactory) {
 			AbstractAutowireCapableBeanFactory otherAutowireFactory = (AbstractAutowireCapableBeanFactory) otherFactory;
 			instantiationStrategy = otherAutowireFactory.instantiationStrategy;
+			propertyPopulationStrategy = otherAutowireFactory.propertyPopulationStrategy;
 			allowCircularReferences = otherAutowireFactory.allowCircularReferences;
 			ignoredDependencyTypes.addAll(otherAutowireFactory.ignoredDependencyTypes);
 			ignoredDependencyInterfaces.addAll(otherAutowireFactory.ignoredDependencyInterfaces);
@@ -893,7 +914,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
+		// 类型检查只是尽力而为：并发模式下若其他线程正持有该 bean 的创建锁则直接放弃，而不是等待
+		return executeIfSingletonCreationLockAvailable(beanName, () -> {
 			BeanWrapper bw = factoryBeanInstanceCache.get(beanName);
 			if (bw != null) {
 				return (FactoryBean<?>) bw.getWrappedInstance();
@@ -932,7 +954,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				factoryBeanInstanceCache.put(beanName, bw);
 			}
 			return fb;
-		}
+		});
 	}
 
 	/**
@@ -1623,7 +1645,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				// Shortcut: use the pre-converted values as-is.
 				try {
 					// 如果已被设置转换完成，直接完成配置
-					bw.setPropertyValues(mpvs);
+					if (!populateWithStrategy(beanName, mbd, bw, mpvs)) bw.setPropertyValues(mpvs);
 					return;
 				}catch (BeansException ex) {
 					throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Error setting property values", ex);
@@ -1644,6 +1666,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		// Create a deep copy, resolving any references for values.
 		List<PropertyValue> deepCopy = new ArrayList<>(original.size());
 		boolean resolveNecessary = false;
+		// 所有属性值都已转换时，才可以交给 PropertyPopulationStrategy 直接设置
+		boolean allConverted = true;
 		// 遍历属性列表
 		for (PropertyValue pv : original) {
 			// 如果属性值被转换过，则就不需要再次转换
@@ -1705,6 +1729,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				 */
 				// 判断是否可以转换
 				boolean convertible = bw.isWritableProperty(propertyName) && !PropertyAccessorUtils.isNestedOrIndexedProperty(propertyName);
+				allConverted &= convertible;
 				// 对于一般的属性，convertible 通常为 true
 				if (convertible) {
 					// 对属性值的类型进行转换，比如将 String 类型的属性值 "123" 转为 Integer 类型的 123   Resourse 转换为 UrlResource
@@ -1743,12 +1768,23 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		// Set our (possibly massaged) deep copy.
 		try {
 			// 将所有的属性值设置到 bean 实例中
-			bw.setPropertyValues(new MutablePropertyValues(deepCopy));
+			MutablePropertyValues resolvedPvs = new MutablePropertyValues(deepCopy);
+			if (!allConverted || !populateWithStrategy(beanName, mbd, bw, resolvedPvs)) bw.setPropertyValues(resolvedPvs);
 		}catch (BeansException ex) {
 			throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Error setting property values", ex);
 		}
 	}
 
+	/**
+	 * Apply the given resolved and converted property values through the {@link PropertyPopulationStrategy}, if any.
+	 * @return {@code true} if the strategy applied all values, {@code false} if they need to be set through the BeanWrapper
+	 */
+	private boolean populateWithStrategy(String beanName, BeanDefinition mbd, BeanWrapper bw, PropertyValues pvs) {
+		PropertyPopulationStrategy strategy = getPropertyPopulationStrategy();
+		return (strategy != null && mbd instanceof RootBeanDefinition && System.getSecurityManager() == null &&
+				strategy.applyPropertyValues((RootBeanDefinition) mbd, beanName, bw.getWrappedInstance(), pvs));
+	}
+
 	/**
 	 * Convert the given value for the specified target property.
 	 */
@@ -0,0 +1,220 @@
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Incremental index from bean types to bean names, used by {@link DefaultListableBeanFactory}
+ * to narrow down by-type lookups once its configuration has been frozen.
+ *
+ * Each bean is indexed under its predicted type plus all superclasses and interfaces of it,
+ * and additionally under the class of its singleton instance once created. Beans whose type cannot be
+ * predicted upfront (e.g. FactoryBeans) are kept as untyped and returned as candidates for every type.
+ * Candidates therefore form a superset of the actual matches and still need to be checked via
+ * {@link DefaultListableBeanFactory#isTypeMatch}; they are returned in registration order.
+ *
+ * Bean definitions and manually registered singletons are indexed separately,
+ * mirroring the two phases of {@code DefaultListableBeanFactory#doGetBeanNamesForType}.
+ * @since 5.1.9
+ * @see DefaultListableBeanFactory#freezeConfiguration()
+ */
+final class BeanTypeIndex {
+
+	private final TypeTable beanDefinitions = new TypeTable();
+
+	private final TypeTable manualSingletons = new TypeTable();
+
+	/**
+	 * Index the given bean definition under the given predicted type, replacing any previous entry
+	 * but keeping its registration order.
+	 * @param beanName the name of the bean definition
+	 * @param beanType the predicted bean type, or {@code null} if not predictable
+	 */
+	public void registerBeanDefinition(String beanName, @Nullable Class<?> beanType) {
+		this.beanDefinitions.register(beanName, beanType);
+	}
+
+	/**
+	 * Index the given bean definition under the class of its singleton instance as well.
+	 * @param beanName the name of the bean definition
+	 * @param singletonObject the singleton instance
+	 */
+	public void addSingletonInstance(String beanName, Object singletonObject) {
+		if (singletonObject instanceof FactoryBean) {
+			this.beanDefinitions.markUntyped(beanName);
+		}else if (!(singletonObject instanceof NullBean)) {
+			this.beanDefinitions.addType(beanName, singletonObject.getClass());
+		}
+	}
+
+	/**
+	 * Index the given manually registered singleton under the class of its instance.
+	 * @param beanName the name of the singleton
+	 * @param singletonObject the singleton instance, or {@code null} if not available
+	 */
+	public void registerManualSingleton(String beanName, @Nullable Object singletonObject) {
+		this.manualSingletons.register(beanName, (singletonObject == null || singletonObject instanceof FactoryBean ? null : singletonObject.getClass()));
+	}
+
+	public void removeBeanDefinition(String beanName) {
+		this.beanDefinitions.remove(beanName);
+	}
+
+	public void removeManualSingleton(String beanName) {
+		this.manualSingletons.remove(beanName);
+	}
+
+	public void removeManualSingletons() {
+		this.manualSingletons.clear();
+	}
+
+	// Return the bean definitions that possibly match the given type, in registration order.
+	public List<String> getBeanDefinitionCandidates(Class<?> type) {
+		return this.beanDefinitions.getCandidates(type);
+	}
+
+	// Return the manually registered singletons that possibly match the given type, in registration order.
+	public List<String> getManualSingletonCandidates(Class<?> type) {
+		return this.manualSingletons.getCandidates(type);
+	}
+
+	/**
+	 * Return all types the given bean is currently indexed under.
+	 * @param beanName the name of the bean
+	 * @return the indexed types (empty if the bean is not indexed at all),
+	 * or {@code null} if the bean is untyped and may therefore match any type
+	 */
+	@Nullable
+	public Set<Class<?>> getIndexedTypes(String beanName) {
+		Set<Class<?>> definitionTypes = this.beanDefinitions.getTypes(beanName);
+		Set<Class<?>> singletonTypes = this.manualSingletons.getTypes(beanName);
+		if (definitionTypes == null || singletonTypes == null) return null;
+		if (singletonTypes.isEmpty()) return definitionTypes;
+		if (definitionTypes.isEmpty()) return singletonTypes;
+		Set<Class<?>> types = new LinkedHashSet<>(definitionTypes);
+		types.addAll(singletonTypes);
+		return types;
+	}
+
+	// Return the given type plus all of its superclasses and interfaces.
+	private static Set<Class<?>> getTypeHierarchy(Class<?> type) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			types.add(current);
+			types.addAll(ClassUtils.getAllInterfacesForClassAsSet(current));
+		}
+		return types;
+	}
+
+
+	/**
+	 * Type-to-names table for one kind of bean registration.
+	 */
+	private static class TypeTable {
+
+		/** Indexed type to names of the beans assignable to it. */
+		private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(256);
+
+		/** Bean name to all types it is indexed under. */
+		private final Map<String, Set<Class<?>>> typesByBeanName = new ConcurrentHashMap<>(256);
+
+		/** Names of beans whose type is not known upfront. */
+		private final Set<String> untypedBeanNames = ConcurrentHashMap.newKeySet();
+
+		/** Bean name to registration position. */
+		private final Map<String, Integer> registrationOrder = new ConcurrentHashMap<>(256);
+
+		private int nextRegistrationOrder = 0;
+
+		public synchronized void register(String beanName, @Nullable Class<?> beanType) {
+			removeTypes(beanName);
+			this.registrationOrder.computeIfAbsent(beanName, k -> this.nextRegistrationOrder++);
+			if (beanType == null) {
+				this.untypedBeanNames.add(beanName);
+			}else {
+				addType(beanName, beanType);
+			}
+		}
+
+		public void addType(String beanName, Class<?> type) {
+			// Lock-free check first: a singleton usually has its predicted type, indexed at registration already,
+			// and parallel pre-instantiation would otherwise serialize on this table
+			Set<Class<?>> indexedTypes = this.typesByBeanName.get(beanName);
+			if ((indexedTypes != null && indexedTypes.contains(type)) || this.untypedBeanNames.contains(beanName)) return;
+			Set<Class<?>> typeHierarchy = getTypeHierarchy(type);
+			synchronized (this) {
+				if (!this.registrationOrder.containsKey(beanName) || this.untypedBeanNames.contains(beanName)) return;
+				indexedTypes = this.typesByBeanName.computeIfAbsent(beanName, k -> ConcurrentHashMap.newKeySet());
+				for (Class<?> candidate : typeHierarchy) {
+					if (indexedTypes.add(candidate)) {
+						this.beanNamesByType.computeIfAbsent(candidate, k -> ConcurrentHashMap.newKeySet()).add(beanName);
+					}
+				}
+			}
+		}
+
+		public void markUntyped(String beanName) {
+			if (this.untypedBeanNames.contains(beanName)) return;
+			synchronized (this) {
+				if (this.registrationOrder.containsKey(beanName)) {
+					removeTypes(beanName);
+					this.untypedBeanNames.add(beanName);
+				}
+			}
+		}
+
+		public synchronized void remove(String beanName) {
+			removeTypes(beanName);
+			this.registrationOrder.remove(beanName);
+		}
+
+		public synchronized void clear() {
+			this.beanNamesByType.clear();
+			this.typesByBeanName.clear();
+			this.untypedBeanNames.clear();
+			this.registrationOrder.clear();
+		}
+
+		private void removeTypes(String beanName) {
+			this.untypedBeanNames.remove(beanName);
+			Set<Class<?>> indexedTypes = this.typesByBeanName.remove(beanName);
+			if (indexedTypes != null) {
+				for (Class<?> type : indexedTypes) {
+					Set<String> beanNames = this.beanNamesByType.get(type);
+					if (beanNames != null) {
+						beanNames.remove(beanName);
+						if (beanNames.isEmpty()) this.beanNamesByType.remove(type);
+					}
+				}
+			}
+		}
+
+		public List<String> getCandidates(Class<?> type) {
+			Set<String> typed = this.beanNamesByType.getOrDefault(type, Collections.emptySet());
+			Set<String> matches = new LinkedHashSet<>(typed);
+			matches.addAll(this.untypedBeanNames);
+			List<String> candidates = new ArrayList<>(matches);
+			if (candidates.size() > 1) {
+				candidates.sort((name1, name2) -> Integer.compare(
+						this.registrationOrder.getOrDefault(name1, Integer.MAX_VALUE), this.registrationOrder.getOrDefault(name2, Integer.MAX_VALUE)));
+			}
+			return candidates;
+		}
+
+		@Nullable
+		public Set<Class<?>> getTypes(String beanName) {
+			if (this.untypedBeanNames.contains(beanName)) return null;
+			Set<Class<?>> indexedTypes = this.typesByBeanName.get(beanName);
+			return (indexedTypes != null ? indexedTypes : Collections.emptySet());
+		}
+	}
+}
@@ -143,6 +143,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. 是否可以为所有bean，缓存bean 的元数据 */
 	private volatile boolean configurationFrozen = false;
 
+	/**
+	 * Index of bean names by type, built once after the configuration has been frozen and updated per bean afterwards.
+	 * 配置冻结后构建的 类型->beanName 索引，按类型查找时只需检查候选 bean，而不必遍历所有 bean 定义
+	 */
+	@Nullable
+	private volatile BeanTypeIndex beanTypeIndex;
+
+	/** Whether to pre-instantiate independent singletons in parallel. 是否按依赖关系图并行地预实例化单例 */
+	private boolean parallelPreInstantiation = false;
+
+	/** Number of threads to use for parallel pre-instantiation. 并行预实例化使用的线程数 */
+	private int preInstantiationParallelism = Runtime.getRuntime().availableProcessors();
+
 	// Create a new DefaultListableBeanFactory.
 	public DefaultListableBeanFactory() {
 		 super(); // 注释掉super(); -modify
@@ -247,6 +260,43 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return autowireCandidateResolver;
 	}
 
+	/**
+	 * Set whether {@link #preInstantiateSingletons()} should create independent singletons in parallel.
+	 * Default is "false".
+	 * Turn this flag on to build a dependency graph from the merged bean definitions (depends-on, bean references,
+	 * factory beans and the dependency types predicted by {@link org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor}s)
+	 * and to instantiate beans on a {@link java.util.concurrent.ForkJoinPool} as soon as their dependencies exist.
+	 * Beans involved in dependency cycles are created serially afterwards, and {@link SmartInitializingSingleton}
+	 * callbacks are still triggered on the calling thread once all singletons exist.
+	 * Switching this flag on also switches on {@link #setConcurrentSingletonAccess concurrent singleton access}.
+	 * @since 5.1.9
+	 * @see #setPreInstantiationParallelism
+	 */
+	public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+		this.parallelPreInstantiation = parallelPreInstantiation;
+		if (parallelPreInstantiation) setConcurrentSingletonAccess(true);
+	}
+
+	// Return whether independent singletons are pre-instantiated in parallel. @since 5.1.9
+	public boolean isParallelPreInstantiation() {
+		return parallelPreInstantiation;
+	}
+
+	/**
+	 * Set the number of threads to use for parallel pre-instantiation. Default is the number of available processors.
+	 * @since 5.1.9
+	 * @see #setParallelPreInstantiation
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+	}
+
+	// Return the number of threads to use for parallel pre-instantiation. @since 5.1.9
+	public int getPreInstantiationParallelism() {
+		return preInstantiationParallelism;
+	}
+
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
 		super.copyConfigurationFrom(otherFactory);
@@ -255,6 +305,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.parallelPreInstantiation = otherListableFactory.parallelPreInstantiation;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
+			setConcurrentSingletonAccess(otherListableFactory.isConcurrentSingletonAccess());
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -427,9 +480,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		// 准备返回值
 		List<String> result = new ArrayList<>();
+		// 配置冻结后，通过类型索引只检查可能匹配的 bean（按注册顺序），而不是遍历所有 bean 定义
+		Collection<String> definitionNames = beanDefinitionNames;
+		Collection<String> singletonNames = manualSingletonNames;
+		Class<?> rawType = type.resolve();
+		BeanTypeIndex index = (rawType != null && rawType != Object.class ? obtainBeanTypeIndex() : null);
+		if (index != null) {
+			definitionNames = index.getBeanDefinitionCandidates(rawType);
+			singletonNames = index.getManualSingletonCandidates(rawType);
+		}
 		// 1.首先在容器的bean定义中去查找，再去手动注册bean集合（manualSingletonNames）中去查找
 		// Check all bean definitions.
-		for (String beanName : beanDefinitionNames) {
+		for (String beanName : definitionNames) {
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			// 只考虑没有别名的bean， 有别名的bean直接忽略
 			// 如果是别名，跳过（beanDefinitionNames 这个集合会保存所有的主beanName，并且不会保存别名，别名由BeanFactory中别名map维护，这里个人认为是一种防御性编程）
@@ -486,7 +548,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Check manually registered singletons too.
 		// 2.在手动注册bean集合（manualSingletonNames）中去查找
 		//从单例注册集合中获取，这个单例集合是保存spring内部注入的单例对象。它们有特点就是没有BeanDefinition
-		for (String beanName : manualSingletonNames) {
+		for (String beanName : singletonNames) {
 			try {
 				// In case of FactoryBean, match object created by FactoryBean.
 				//如果是工厂bean，那么调用其getObjectType去匹配是否符合指定类型
@@ -513,6 +575,65 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Return the type index for by-type lookups, building it on first access after the configuration has been frozen.
+	 * @return the type index, or {@code null} if the configuration is not frozen yet
+	 * @see #freezeConfiguration()
+	 */
+	@Nullable
+	private BeanTypeIndex obtainBeanTypeIndex() {
+		if (!configurationFrozen) return null;
+		BeanTypeIndex index = beanTypeIndex;
+		if (index == null) {
+			synchronized (beanDefinitionMap) {
+				index = beanTypeIndex;
+				if (index == null) {
+					index = new BeanTypeIndex();
+					for (String beanName : beanDefinitionNames) {
+						indexBeanDefinition(index, beanName);
+					}
+					for (String beanName : manualSingletonNames) {
+						index.registerManualSingleton(beanName, getSingleton(beanName, false));
+					}
+					beanTypeIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Index the given bean definition under its predicted type, without instantiating anything.
+	 * Beans whose type cannot be determined this way are indexed as untyped, i.e. as candidates for every type.
+	 */
+	private void indexBeanDefinition(BeanTypeIndex index, String beanName) {
+		if (!beanDefinitionMap.containsKey(beanName)) {
+			index.removeBeanDefinition(beanName);
+			return;
+		}
+		Class<?> beanType = null;
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract()) {
+				index.removeBeanDefinition(beanName);
+				return;
+			}
+			// 别名、装饰定义（如 scoped proxy）、需要提前初始化才能确定类型的 bean 都作为"无类型"候选，交给 isTypeMatch 判断
+			if (!isAlias(beanName) && mbd.getDecoratedDefinition() == null && (mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading())
+					&& !requiresEagerInitForType(mbd.getFactoryBeanName())) {
+				beanType = predictBeanType(beanName, mbd);
+				if (beanType != null && FactoryBean.class.isAssignableFrom(beanType)) beanType = null;
+			}
+		}catch (BeansException ex) {
+			// Probably a class name or metadata with a placeholder: let the actual type check handle it.
+			if (logger.isTraceEnabled()) logger.trace("Indexing bean definition '" + beanName + "' as untyped", ex);
+			beanType = null;
+		}
+		index.registerBeanDefinition(beanName, beanType);
+		Object singletonInstance = getSingleton(beanName, false);
+		if (singletonInstance != null) index.addSingletonInstance(beanName, singletonInstance);
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized in order to determine its type.
 	 * @param factoryBeanName a factory-bean reference that the bean definition defines a factory method for
@@ -640,6 +761,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void freezeConfiguration() {
 		configurationFrozen = true;
 		frozenBeanDefinitionNames = StringUtils.toStringArray(beanDefinitionNames);
+		// 类型索引在冻结后首次按类型查找时构建一次，此后按 bean 增量维护
 	}
 
 	@Override
@@ -713,41 +835,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// 遍历获取容器内加载的所有 bean的名称 ，对所有的非懒加载且单例的bean进行创建,已经创建的不会再次执行。
 		List<String> beanNames = new ArrayList<>(beanDefinitionNames);
 		// Trigger initialization of all non-lazy singleton beans... 遍历初始化所有非懒加载单例Bean
-		for (String beanName : beanNames) {
-			/**
-			 * 合并父 Bean 中的配置，主意<bean id="" class="" parent="" /> 中的 parent属性
-			 Bean定义公共的抽象类是AbstractBeanDefinition，普通的Bean在Spring加载Bean定义的时候，实例化出来的是GenericBeanDefinition
-			 而Spring上下文包括实例化所有Bean，用的是RootBeanDefinition
-			 这时候就使用getMergedLocalBeanDefinition方法做了一次转化，将非RootBeanDefinition转换为RootBeanDefinition以供后续操作。
-			 注意如果当前BeanDefinition存在父BeanDefinition，会基于父BeanDefinition生成一个RootBeanDefinition,然后再将调用OverrideFrom子BeanDefinition的相关属性覆写进去。
-			 // 该方法的merge是指如果bean类继承有父类，那么就将它所有的父类的bd融合成一个RootBeanDefinition返回
-			 */
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName); // 拿到bean的定义信息
-			// 不是抽象类、是单例的且非懒加载的
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				/**
-				 *  处理 FactoryBean
-				 *  判断当前Bean是否是工厂bean (是否实现了FactoryBean接口)，如果实现了，判断是否要立即初始化
-				 *  判断是否需要立即初始化，则根据Bean是否实现了SmartFactoryBean并且重写的内部方法isEagerInit 返回true
-				 */
-				if (isFactoryBean(beanName)) {
-					// 在 beanName 前面加上“&” 符号
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					// 判断当前 FactoryBean 是否是 SmartFactoryBean 的实现
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)	((SmartFactoryBean<?>) factory)::isEagerInit,getAccessControlContext());
-						}else {
-							isEagerInit = (factory instanceof SmartFactoryBean && ((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) getBean(beanName);
-					}
-				}else {
-					// 非工厂bean 就是普通的bean  对其获取  // 不是FactoryBean的直接使用此方法进行初始化
-					getBean(beanName);
-				}
+		if (parallelPreInstantiation && preInstantiationParallelism > 1) {
+			// 并行模式：按依赖关系图在 ForkJoinPool 上创建互不依赖的单例，存在循环依赖的单例随后按注册顺序串行创建
+			new ParallelSingletonPreInstantiator(this, preInstantiationParallelism).preInstantiate(beanNames);
+		}else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 		// 如果bean实现了 SmartInitializingSingleton 接口的，那么在这里得到回调
@@ -767,6 +860,50 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Instantiate the given bean if it is a non-lazy singleton, including eager FactoryBean objects.
+	 * Shared by serial and parallel pre-instantiation.
+	 * @param beanName the name of the bean
+	 * @see #preInstantiateSingletons()
+	 */
+	void preInstantiateSingleton(String beanName) {
+		/**
+		 * 合并父 Bean 中的配置，主意<bean id="" class="" parent="" /> 中的 parent属性
+		 Bean定义公共的抽象类是AbstractBeanDefinition，普通的Bean在Spring加载Bean定义的时候，实例化出来的是GenericBeanDefinition
+		 而Spring上下文包括实例化所有Bean，用的是RootBeanDefinition
+		 这时候就使用getMergedLocalBeanDefinition方法做了一次转化，将非RootBeanDefinition转换为RootBeanDefinition以供后续操作。
+		 注意如果当前BeanDefinition存在父BeanDefinition，会基于父BeanDefinition生成一个RootBeanDefinition,然后再将调用OverrideFrom子BeanDefinition的相关属性覆写进去。
+		 // 该方法的merge是指如果bean类继承有父类，那么就将它所有的父类的bd融合成一个RootBeanDefinition返回
+		 */
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName); // 拿到bean的定义信息
+		// 不是抽象类、是单例的且非懒加载的
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			/**
+			 *  处理 FactoryBean
+			 *  判断当前Bean是否是工厂bean (是否实现了FactoryBean接口)，如果实现了，判断是否要立即初始化
+			 *  判断是否需要立即初始化，则根据Bean是否实现了SmartFactoryBean并且重写的内部方法isEagerInit 返回true
+			 */
+			if (isFactoryBean(beanName)) {
+				// 在 beanName 前面加上“&” 符号
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				// 判断当前 FactoryBean 是否是 SmartFactoryBean 的实现
+				if (bean instanceof FactoryBean) {
+					final FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)	((SmartFactoryBean<?>) factory)::isEagerInit,getAccessControlContext());
+					}else {
+						isEagerInit = (factory instanceof SmartFactoryBean && ((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) getBean(beanName);
+				}
+			}else {
+				// 非工厂bean 就是普通的bean  对其获取  // 不是FactoryBean的直接使用此方法进行初始化
+				getBean(beanName);
+			}
+		}
+	}
+
 	//---------------------------------------------------------------------
 	// Implementation of 【BeanDefinitionRegistry】 interface
 	//---------------------------------------------------------------------
@@ -834,6 +971,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// 当前注册的bean的定义已经在beanDefinitionMap缓存中存在， 或者其实例已经存在于单例bean的缓存中
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
+		}else if (isConfigurationFrozen()) {
+			// 配置冻结后注册的新定义：增量更新类型索引，并清除可能受影响的按类型查找缓存
+			updateBeanTypeIndex(beanName);
 		}
 	}
 
@@ -861,6 +1001,24 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		resetBeanDefinition(beanName);
 	}
 
+	/**
+	 * Re-index the given bean definition after it has been registered, replaced or removed,
+	 * evicting only the by-type lookup results that the bean may have been part of.
+	 * @param beanName the name of the bean definition
+	 */
+	private void updateBeanTypeIndex(String beanName) {
+		BeanTypeIndex index = beanTypeIndex;
+		if (index == null) {
+			clearByTypeCache();
+			return;
+		}
+		Set<Class<?>> previousTypes = index.getIndexedTypes(beanName);
+		clearMergedBeanDefinition(beanName);
+		indexBeanDefinition(index, beanName);
+		clearByTypeCache(previousTypes);
+		clearByTypeCache(index.getIndexedTypes(beanName));
+	}
+
 	/**
 	 * Reset all bean definition caches for the given bean, including the caches of beans that are derived from it.
 	 * Called after an existing bean definition has been replaced or removed, triggering {@link #clearMergedBeanDefinition}, {@link #destroySingleton}
@@ -875,6 +1033,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually  be necessary, rather just meant for overriding a context's default beans
 		// (e.g. the default StaticMessageSource in a StaticApplicationContext).
 		destroySingleton(beanName);
+		// 类型索引按 bean 增量更新，而不是整体清空
+		if (beanTypeIndex != null) updateBeanTypeIndex(beanName);
 		// Notify all post-processors that the specified bean definition has been reset.
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
 			if (processor instanceof MergedBeanDefinitionPostProcessor) {
@@ -898,6 +1058,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
+		// 合并后的 bean 定义可能已变化，类型索引需在下次按类型查找时重建
+		beanTypeIndex = null;
 		clearByTypeCache();
 	}
 
@@ -920,25 +1082,45 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !beanDefinitionMap.containsKey(beanName));
-		clearByTypeCache();
+		BeanTypeIndex index = beanTypeIndex;
+		if (index != null) {
+			if (!beanDefinitionMap.containsKey(beanName)) index.registerManualSingleton(beanName, singletonObject);
+			clearByTypeCache(index.getIndexedTypes(beanName));
+		}else {
+			clearByTypeCache();
+		}
+	}
+
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		// 单例实例的实际类型（例如代理）可能比预测类型实现了更多接口，补充到类型索引中
+		BeanTypeIndex index = beanTypeIndex;
+		if (index != null) index.addSingletonInstance(beanName, singletonObject);
 	}
 
 	@Override
 	public void destroySingletons() {
 		super.destroySingletons();
 		updateManualSingletonNames(Set::clear, set -> !set.isEmpty());
+		BeanTypeIndex index = beanTypeIndex;
+		if (index != null) index.removeManualSingletons();
 		clearByTypeCache();
 	}
 
 	@Override
 	public void destroySingleton(String beanName) {
 		super.destroySingleton(beanName);
+		BeanTypeIndex index = beanTypeIndex;
+		Set<Class<?>> previousTypes = (index != null ? index.getIndexedTypes(beanName) : null);
 		removeManualSingletonName(beanName);
-		clearByTypeCache();
+		clearByTypeCache(previousTypes);
 	}
 
 	private void removeManualSingletonName(String beanName) {
 		updateManualSingletonNames(set -> set.remove(beanName), set -> set.contains(beanName));
+		BeanTypeIndex index = beanTypeIndex;
+		if (index != null) index.removeManualSingleton(beanName);
 	}
 
 	/**
@@ -970,6 +1152,21 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		singletonBeanNamesByType.clear();
 	}
 
+	/**
+	 * Remove the by-type mappings for the given types only.
+	 * @param types the types a changed bean is (or was) indexed under, or {@code null} if it may match any type
+	 */
+	private void clearByTypeCache(@Nullable Set<Class<?>> types) {
+		if (types == null) {
+			clearByTypeCache();
+			return;
+		}
+		for (Class<?> type : types) {
+			allBeanNamesByType.remove(type);
+			singletonBeanNamesByType.remove(type);
+		}
+	}
+
 	//---------------------------------------------------------------------
 	// Dependency resolution functionality  【AutowireCapableBeanFactory】
 	//---------------------------------------------------------------------
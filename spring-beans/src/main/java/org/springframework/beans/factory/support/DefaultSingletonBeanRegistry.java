@@ -3,7 +3,6 @@
 package org.springframework.beans.factory.support;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -11,6 +10,9 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -18,6 +20,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -50,6 +53,9 @@ import org.springframework.util.StringUtils;
  */
 public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
+	/** Poll interval while waiting for another thread's singleton creation lock, in milliseconds. */
+	private static final long SINGLETON_CREATION_LOCK_POLL_MILLIS = 50;
+
 	/**
 	 * 【一级缓存】
 	 * Cache of singleton objects: bean name to bean instance.
@@ -64,7 +70,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * 缓存beanName和bean实例 key-->beanName,value-->beanInstance
 	 * 用于存放【纯净态】的早期单例bean实例（尚未填充属性），主要用于解决 一般情况下的循环依赖
 	 */
-	private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	/**
 	 * 【三级缓存】
@@ -72,14 +78,34 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * 用于存放bean工厂  bean 工厂所产生的 bean 是还未完成初始化的 bean   如代码所示，bean 工厂所生成的对象最终会被缓存到 earlySingletonObjects 中
 	 * 单例对象工厂的cache，存放 bean 工厂对象，主要用于解决基于AOP代理的循环依赖
 	 */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/**
 	 * Set of registered singletons, containing the bean names in registration order. 已经注册过了的单例对象
 	 * 缓存所有已注册的SingleBean对象的名称
+	 * 所有的读写都在该集合自身的监视器下进行，以便在并发模式下也能保持注册顺序
 	*/
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
 
+	/**
+	 * Whether the three-level cache is guarded per bean name rather than by the global singleton mutex.
+	 * 并发单例模式：三级缓存按 beanName 加锁，单例创建使用每个 beanName 独立的可重入锁，互不相关的 bean 可以并发创建与获取
+	 * @see #setConcurrentSingletonAccess
+	 */
+	private volatile boolean concurrentSingletonAccess = false;
+
+	/** Per-bean-name monitors guarding the three-level cache in concurrent mode: bean name to monitor. */
+	private final Map<String, Object> singletonCacheLocks = new ConcurrentHashMap<>(256);
+
+	/** Per-bean-name creation locks in concurrent mode: bean name to lock. */
+	private final Map<String, SingletonCreationLock> singletonCreationLocks = new ConcurrentHashMap<>(256);
+
+	/**
+	 * Bean names whose creation locks threads are currently waiting for: thread to bean name.
+	 * 用于检测跨线程的循环等待（线程A持有a等待b，线程B持有b等待a）
+	 */
+	private final Map<Thread, String> singletonCreationWaits = new ConcurrentHashMap<>(16);
+
 	/**
 	 * Names of beans that are currently in creation.
 	 * 存储当前正在创建的单例对象集合
@@ -102,8 +128,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * 用来存储异常
 	 * suppressedExceptions 作用当从ObjectFactory获得对象时出现异常，把suppressedExceptions的异常一并抛出。作用不大。
 	 */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions = new NamedThreadLocal<>("Suppressed singleton creation exceptions");
 
 	/**
 	 * Flag that indicates whether we're currently within destroySingletons.
@@ -112,7 +137,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * 销毁所有单例对象的时候，singletonsCurrentlyInDestruction设为true
 	 * 在getSingleton的时候，识别singletonsCurrentylInDestruction就拒绝获得bean，并报异常。
 	 */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
 
 	/** Disposable bean instances: bean name to disposable instance.
 	 * bean对应的DisposableBean， DisposableBean接口有一个destroy()。为bean指定DisposableBean,作用类似于设置destroy-method
@@ -144,7 +169,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (singletonObjects) {
+		synchronized (getSingletonLock(beanName)) {
 			// 将动态代理后的bean 或是正常的非代理的单例bean， 存入一级单例缓存池中  全局唯一入口
 			singletonObjects.put(beanName, singletonObject);
 			logger.warn("【IOC容器 添加 singletonObjects 一级单例缓冲池 全局唯一入口！ 】 beanName： " + beanName);
@@ -155,7 +180,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			 * 向已经注册的单例集合中添加该实例 ，用来记录已经处理过的bean。
 			 * @see DefaultSingletonBeanRegistry#getSingletonNames()  唯一出口
 			*/
-			registeredSingletons.add(beanName);
+			synchronized (registeredSingletons) {
+				registeredSingletons.add(beanName);
+			}
 		}
 	}
 
@@ -168,12 +195,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (singletonObjects) {
+		synchronized (getSingletonLock(beanName)) {
 			if (!singletonObjects.containsKey(beanName)) {
 				logger.warn("【IOC容器 添加 singletonFactories 三级单例缓冲池 全局唯一入口！ 】 beanName： " + beanName);
 				singletonFactories.put(beanName, singletonFactory);
 				earlySingletonObjects.remove(beanName);
-				registeredSingletons.add(beanName);
+				synchronized (registeredSingletons) {
+					registeredSingletons.add(beanName);
+				}
 			}
 		}
 	}
@@ -192,16 +221,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		// 1、先从一级缓存池中去获取，如果获取到就直接return。 （有可能是aop获取代理后的对象）
 		Object singletonObject = singletonObjects.get(beanName);
-		// 如果获取不到，且对象正在创建中，就从二级缓存池中获取。
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			synchronized (singletonObjects) {
-				// 从二级缓冲池中获取提前曝光的 bean，用于处理循环引用
-				singletonObject = earlySingletonObjects.get(beanName);
-				// 如果二级缓冲池也没有，且允许提前曝光 bean 实例，则从三级缓冲池中获取一个原始的（raw）bean（尚未填充属性）
-				// 如果还是获取不到，且当前的bean允许被创建早期依赖 singletonFactories（allowEarlyReference=true）通过getObject()获取。 就从三级缓存 singletonFactory.getObject()获取。
-				if (singletonObject == null && allowEarlyReference) {
+		// 如果获取不到，且对象正在创建中，就从二级缓存池中获取。（并发模式下只对正在创建该 bean 的线程可见）
+		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) && isEarlyReferenceVisible(beanName)) {
+			// 从二级缓冲池中获取提前曝光的 bean，用于处理循环引用（二级缓存为 ConcurrentHashMap，命中时无需加锁）
+			singletonObject = earlySingletonObjects.get(beanName);
+			// 如果二级缓冲池也没有，且允许提前曝光 bean 实例，则从三级缓冲池中获取一个原始的（raw）bean（尚未填充属性）
+			// 如果还是获取不到，且当前的bean允许被创建早期依赖 singletonFactories（allowEarlyReference=true）通过getObject()获取。 就从三级缓存 singletonFactory.getObject()获取。
+			if (singletonObject == null && allowEarlyReference) {
+				synchronized (getSingletonLock(beanName)) {
+					// Consistent creation of early reference within full singleton lock
+					singletonObject = singletonObjects.get(beanName);
+					if (singletonObject == null) singletonObject = earlySingletonObjects.get(beanName);
 					// getSingleton()从缓存里获取单例对象步骤分析可知，Spring解决循环依赖的诀窍：就在于singletonFactories这个三级缓存。这个Cache里面都是ObjectFactory，它是解决问题的关键。
-					ObjectFactory<?> singletonFactory = singletonFactories.get(beanName);
+					ObjectFactory<?> singletonFactory = (singletonObject == null ? singletonFactories.get(beanName) : null);
 					if (singletonFactory != null) {
 						/**
 						 * 获取提前引用 ，对应入口为：
@@ -231,56 +263,218 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (singletonObjects) {
-			// 双重判定从缓存中获取单例 bean，若不为空，则直接返回，不用再初始化
+		if (concurrentSingletonAccess) {
+			// 并发模式：已创建完成的单例无需加锁，否则只锁定当前 beanName 的创建锁
 			Object singletonObject = singletonObjects.get(beanName);
-			if (singletonObject != null) return singletonObject; // -modify
-			if (singletonsCurrentlyInDestruction) {
-				throw new BeanCreationNotAllowedException(beanName,"Singleton bean creation not allowed while singletons of this factory are in destruction (Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			if (singletonObject != null) return singletonObject;
+			SingletonCreationLock creationLock = acquireSingletonCreationLock(beanName);
+			try {
+				return doGetSingleton(beanName, singletonFactory);
+			}finally {
+				creationLock.unlock();
 			}
-			if (logger.isDebugEnabled()) logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-			// 将这个 beanName 添加到 singletonsCurrentlyInCreation 集合中，用于标记 beanName 对应的 bean 正在创建中
-			beforeSingletonCreation(beanName);
-			boolean newSingleton = false;
-			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+		}
+		synchronized (singletonObjects) {
+			return doGetSingleton(beanName, singletonFactory);
+		}
+	}
+
+	/**
+	 * Create and register the singleton if necessary, with the global mutex or the bean's creation lock held by the caller.
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	private Object doGetSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+		// 双重判定从缓存中获取单例 bean，若不为空，则直接返回，不用再初始化
+		Object singletonObject = singletonObjects.get(beanName);
+		if (singletonObject != null) return singletonObject; // -modify
+		if (singletonsCurrentlyInDestruction) {
+			throw new BeanCreationNotAllowedException(beanName,"Singleton bean creation not allowed while singletons of this factory are in destruction (Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		}
+		if (logger.isDebugEnabled()) logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+		// 将这个 beanName 添加到 singletonsCurrentlyInCreation 集合中，用于标记 beanName 对应的 bean 正在创建中
+		beforeSingletonCreation(beanName);
+		boolean newSingleton = false;
+		// 被抑制的异常按线程记录，并发模式下各线程互不干扰
+		boolean recordSuppressedExceptions = (suppressedExceptions.get() == null);
+		if (recordSuppressedExceptions) {
+			suppressedExceptions.set(new LinkedHashSet<>());
+		}
+		try {
+			/**
+			 * 	初始化bean  调用签名定义的内部类进行创建，内部调用了createBean(String beanName, RootBeanDefinition mbd, Object[] args)
+			 * 	singletonFactory.getObject() 其实是调用上一层函数的 sharedInstance = getSingleton(beanName, () -> 中的  createBean(beanName, mbd, args) 方法
+			 * 	因为 ObjectFactory 接口中 只有一个方法，所以说可以直接使用匿名方法
+			 * 	通过 getObject 方法调用 createBean 方法创建 bean 实例
+			 * @see DefaultSingletonBeanRegistry#getSingleton(java.lang.String, org.springframework.beans.factory.ObjectFactory)
+			 */
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime -> if yes, proceed with it since the exception indicates that state.
+			singletonObject = singletonObjects.get(beanName);
+			if (singletonObject == null) throw ex;
+		}catch (BeanCreationException ex) {
 			if (recordSuppressedExceptions) {
-				suppressedExceptions = new LinkedHashSet<>();
+				for (Exception suppressedException : suppressedExceptions.get()) {
+					ex.addRelatedCause(suppressedException);
+				}
 			}
-			try {
-				/**
-				 * 	初始化bean  调用签名定义的内部类进行创建，内部调用了createBean(String beanName, RootBeanDefinition mbd, Object[] args)
-				 * 	singletonFactory.getObject() 其实是调用上一层函数的 sharedInstance = getSingleton(beanName, () -> 中的  createBean(beanName, mbd, args) 方法
-				 * 	因为 ObjectFactory 接口中 只有一个方法，所以说可以直接使用匿名方法
-				 * 	通过 getObject 方法调用 createBean 方法创建 bean 实例
-				 * @see DefaultSingletonBeanRegistry#getSingleton(java.lang.String, org.springframework.beans.factory.ObjectFactory)
-				 */
-				singletonObject = singletonFactory.getObject();
-				newSingleton = true;
-			}catch (IllegalStateException ex) {
-				// Has the singleton object implicitly appeared in the meantime -> if yes, proceed with it since the exception indicates that state.
-				singletonObject = singletonObjects.get(beanName);
-				if (singletonObject == null) throw ex;
-			}catch (BeanCreationException ex) {
-				if (recordSuppressedExceptions) {
-					for (Exception suppressedException : suppressedExceptions) {
-						ex.addRelatedCause(suppressedException);
-					}
+			throw ex;
+		}finally {
+			if (recordSuppressedExceptions) suppressedExceptions.remove();
+			/**
+			 * 对应前面的 {@link DefaultSingletonBeanRegistry#beforeSingletonCreation(java.lang.String)}
+			 * 这里将这个beanName，移动正在创建中
+			*/
+			afterSingletonCreation(beanName);
+		}
+		if (newSingleton) {
+			// 将上面 singletonFactory.getObject() 创建好的单例bean，存到一级单例缓存池中
+			addSingleton(beanName, singletonObject);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Acquire the creation lock for the given bean in concurrent mode.
+	 * Waits while another thread creates the same bean, but fails fast if that thread is in turn
+	 * (directly or transitively) waiting for a bean whose creation lock the current thread holds.
+	 * @param beanName the name of the bean about to be created
+	 * @return the acquired lock, to be released by the caller
+	 * @throws BeanCurrentlyInCreationException in case of a cross-thread creation cycle
+	 */
+	private SingletonCreationLock acquireSingletonCreationLock(String beanName) {
+		while (true) {
+			SingletonCreationLock creationLock = singletonCreationLocks.computeIfAbsent(beanName, k -> new SingletonCreationLock());
+			if (!creationLock.tryLock()) {
+				awaitSingletonCreationLock(beanName, creationLock);
+			}
+			// The lock may have been dropped along with the singleton in the meantime: retry with the current one
+			if (singletonCreationLocks.get(beanName) == creationLock) return creationLock;
+			creationLock.unlock();
+		}
+	}
+
+	private void awaitSingletonCreationLock(String beanName, SingletonCreationLock creationLock) {
+		Thread currentThread = Thread.currentThread();
+		singletonCreationWaits.put(currentThread, beanName);
+		try {
+			while (!creationLock.tryLock(SINGLETON_CREATION_LOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (isCreationCycle(currentThread, creationLock)) {
+					throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation on another thread " +
+							"which waits for a bean that is in creation on the current thread: Is there a circular reference across threads?");
 				}
-				throw ex;
-			}finally {
-				if (recordSuppressedExceptions) suppressedExceptions = null;
-				/**
-				 * 对应前面的 {@link DefaultSingletonBeanRegistry#beforeSingletonCreation(java.lang.String)}
-				 * 这里将这个beanName，移动正在创建中
-				*/
-				afterSingletonCreation(beanName);
 			}
-			if (newSingleton) {
-				// 将上面 singletonFactory.getObject() 创建好的单例bean，存到一级单例缓存池中
-				addSingleton(beanName, singletonObject);
+		}catch (InterruptedException ex) {
+			currentThread.interrupt();
+			throw new BeanCreationException(beanName, "Interrupted while waiting for singleton creation on another thread", ex);
+		}finally {
+			singletonCreationWaits.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Execute an extended creation phase of the given singleton, e.g. obtaining the object of a singleton FactoryBean:
+	 * under the global {@link #getSingletonMutex() singleton mutex} by default, or under the bean's creation lock in
+	 * concurrent mode, so that waiting for it takes part in the detection of cross-thread creation cycles.
+	 * @param beanName the name of the bean
+	 * @param action the creation phase to execute
+	 * @return the result of the action
+	 * @throws BeanCurrentlyInCreationException in case of a cross-thread creation cycle
+	 * @since 5.1.9
+	 */
+	protected <T> T executeInSingletonCreationLock(String beanName, Supplier<T> action) {
+		if (!concurrentSingletonAccess) {
+			synchronized (singletonObjects) {
+				return action.get();
+			}
+		}
+		SingletonCreationLock creationLock = acquireSingletonCreationLock(beanName);
+		try {
+			return action.get();
+		}finally {
+			creationLock.unlock();
+		}
+	}
+
+	/**
+	 * Variant of {@link #executeInSingletonCreationLock} for optional work such as type checks: in concurrent mode,
+	 * the action is skipped rather than waited for while another thread holds the bean's creation lock, since that
+	 * thread might in turn wait for a lock held by the current thread.
+	 * @param beanName the name of the bean
+	 * @param action the creation phase to execute
+	 * @return the result of the action, or {@code null} if skipped
+	 * @since 5.1.9
+	 */
+	@Nullable
+	protected <T> T executeIfSingletonCreationLockAvailable(String beanName, Supplier<T> action) {
+		if (!concurrentSingletonAccess) {
+			synchronized (singletonObjects) {
+				return action.get();
 			}
-			return singletonObject;
 		}
+		SingletonCreationLock creationLock = singletonCreationLocks.computeIfAbsent(beanName, k -> new SingletonCreationLock());
+		if (!creationLock.tryLock()) return null;
+		try {
+			return (singletonCreationLocks.get(beanName) == creationLock ? action.get() : null);
+		}finally {
+			creationLock.unlock();
+		}
+	}
+
+	// 单例被移除后释放其锁对象；正被持有或等待的创建锁保留，避免同一 bean 出现两把创建锁
+	private void removeSingletonLocks(String beanName) {
+		singletonCacheLocks.remove(beanName);
+		singletonCreationLocks.computeIfPresent(beanName, (name, lock) -> (lock.isLocked() || lock.hasQueuedThreads() ? lock : null));
+	}
+
+	// 并发模式下，提前曝光的早期引用只对正在创建该 bean 的线程可见，其他线程需等待其创建完成，避免拿到尚未填充属性的实例
+	private boolean isEarlyReferenceVisible(String beanName) {
+		if (!concurrentSingletonAccess) return true;
+		SingletonCreationLock creationLock = singletonCreationLocks.get(beanName);
+		return (creationLock == null || creationLock.isHeldByCurrentThread());
+	}
+
+	// 沿着 "锁持有线程 -> 该线程正在等待的 bean -> 该 bean 的锁持有线程" 链条查找，若回到当前线程则说明出现了跨线程循环等待
+	private boolean isCreationCycle(Thread currentThread, SingletonCreationLock creationLock) {
+		Thread owner = creationLock.getOwner();
+		for (int i = 0; owner != null && i <= singletonCreationWaits.size(); i++) {
+			if (owner == currentThread) return true;
+			String awaitedBeanName = singletonCreationWaits.get(owner);
+			if (awaitedBeanName == null) return false;
+			SingletonCreationLock awaitedLock = singletonCreationLocks.get(awaitedBeanName);
+			owner = (awaitedLock != null ? awaitedLock.getOwner() : null);
+		}
+		return false;
+	}
+
+	/**
+	 * Return the monitor guarding the three-level cache entries of the given bean:
+	 * the global singleton mutex by default, or a per-bean-name monitor in concurrent mode.
+	 * @param beanName the name of the bean
+	 * @see #setConcurrentSingletonAccess
+	 */
+	protected Object getSingletonLock(String beanName) {
+		if (!concurrentSingletonAccess) return singletonObjects;
+		return singletonCacheLocks.computeIfAbsent(beanName, k -> new Object());
+	}
+
+	/**
+	 * Set whether this registry should guard its singleton caches per bean name instead of
+	 * through the global singleton mutex. Default is "false".
+	 * Switch this flag on to let independent singletons be created and resolved concurrently,
+	 * e.g. during parallel startup. Note that {@link #getSingletonMutex()} remains the global
+	 * mutex for collaborators which synchronize on it for their own extended creation phases.
+	 * Must be set before any singleton gets created.
+	 * 开启后，三级缓存按 beanName 加锁，单例创建使用按 beanName 区分的创建锁，不再在同一把全局锁上串行
+	 */
+	public void setConcurrentSingletonAccess(boolean concurrentSingletonAccess) {
+		this.concurrentSingletonAccess = concurrentSingletonAccess;
+	}
+
+	// Return whether this registry guards its singleton caches per bean name.
+	public boolean isConcurrentSingletonAccess() {
+		return concurrentSingletonAccess;
 	}
 
 	//  Clear all cached singleton instances in this registry. @since 4.3.15
@@ -289,9 +483,13 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			singletonObjects.clear();
 			singletonFactories.clear();
 			earlySingletonObjects.clear();
-			registeredSingletons.clear();
+			synchronized (registeredSingletons) {
+				registeredSingletons.clear();
+			}
 			singletonsCurrentlyInDestruction = false;
 		}
+		singletonCacheLocks.clear();
+		singletonCreationLocks.values().removeIf(lock -> !lock.isLocked() && !lock.hasQueuedThreads());
 	}
 
 	/**
@@ -368,10 +566,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (singletonObjects) {
-			if (suppressedExceptions != null) {
-				suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressed = suppressedExceptions.get();
+		if (suppressed != null) {
+			suppressed.add(ex);
 		}
 	}
 
@@ -382,12 +579,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #getSingletonMutex()
 	 */
 	protected void removeSingleton(String beanName) {
-		synchronized (singletonObjects) {
+		synchronized (getSingletonLock(beanName)) {
 			singletonObjects.remove(beanName);
 			singletonFactories.remove(beanName);
 			earlySingletonObjects.remove(beanName);
-			registeredSingletons.remove(beanName);
+			synchronized (registeredSingletons) {
+				registeredSingletons.remove(beanName);
+			}
 		}
+		removeSingletonLocks(beanName);
 	}
 
 	protected boolean isActuallyInCreation(String beanName) {
@@ -607,7 +807,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	// 获取所有单例的name
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (singletonObjects) {
+		synchronized (registeredSingletons) {
 			return StringUtils.toStringArray(registeredSingletons);
 		}
 	}
@@ -615,7 +815,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	// 获取所有已经注册了的单例的个数
 	@Override
 	public int getSingletonCount() {
-		synchronized (singletonObjects) {
+		synchronized (registeredSingletons) {
 			return registeredSingletons.size();
 		}
 	}
@@ -626,7 +826,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
 		// 加锁： doit 为什么用 ConcurrentHashMap 了还需要加锁？
-		synchronized (singletonObjects) {
+		synchronized (getSingletonLock(beanName)) {
 			// 不允许key重复 不使用 singletonObjects.containsKey(beanName) 是因为需要使用 oldObject 进行异常内容提示
 			Object oldObject = singletonObjects.get(beanName);
 			if (oldObject != null) throw new IllegalStateException("Could not register object [" + singletonObject + "] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
@@ -648,4 +848,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	public Object getSingleton(String beanName) {
 		return getSingleton(beanName, true);
 	}
+
+	/**
+	 * Reentrant lock guarding the creation of a single bean in concurrent mode,
+	 * exposing its owner thread for cross-thread cycle detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonCreationLock extends ReentrantLock {
+
+		@Override
+		@Nullable
+		protected Thread getOwner() {
+			return super.getOwner();
+		}
+	}
 }
@@ -76,7 +76,8 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		 */
 		// 为单例模式且 beanName 已经注册了在 Spring容器 中
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
+			// 默认在全局单例锁下执行；并发模式下改用该 bean 的创建锁，等待过程可被跨线程循环检测识别
+			return executeInSingletonCreationLock(beanName, () -> {
 				// 从缓存中取 bean 实例，避免多次创建 bean 实例
 				Object object = this.factoryBeanObjectCache.get(beanName);
 				if (object == null) {
@@ -117,7 +118,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 					}
 				}
 				return object;
-			}
+			});
 		}else { // 获取非单例实例
 			// 从工厂类中获取实例
 			Object object = doGetObjectFromFactoryBean(factory, beanName);
@@ -0,0 +1,299 @@
+package org.springframework.beans.factory.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.PropertyAccessException;
+import org.springframework.beans.PropertyAccessorUtils;
+import org.springframework.beans.PropertyBatchUpdateException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Instantiation strategy which, after a bean class has been instantiated reflectively a configurable number of times,
+ * generates a CGLIB {@link FastClass} for it: a class calling the bean's constructors and setter methods directly
+ * ({@code new} and {@code invokevirtual} instructions) instead of going through {@link Constructor#newInstance} and the
+ * BeanWrapper. Intended for prototype and other short-lived beans that are created over and over again.
+ *
+ * Also implements {@link PropertyPopulationStrategy}, so that the generated setter invocations can be used for
+ * property population as well: see {@link AbstractAutowireCapableBeanFactory#setPropertyPopulationStrategy}.
+ * Falls back to the reflective behavior of {@link CglibSubclassingInstantiationStrategy} whenever the generated class
+ * is not applicable: Method Injection, Kotlin types, non-visible constructors or setters, nested property paths,
+ * values not assignable to the setter parameter, or a class that CGLIB cannot generate an accessor for.
+ * @since 5.1.9
+ * 简而言之，就是在 bean 类被反射创建若干次后，为其生成直接 new 对象、直接调用 setter 的字节码类，以替代反射调用
+ */
+public class GeneratedInstantiationStrategy extends CglibSubclassingInstantiationStrategy implements PropertyPopulationStrategy {
+
+	// Marker for a property without a directly invocable setter.
+	private static final PropertySetter NO_SETTER = new PropertySetter(-1, Object.class);
+
+	private static final Log logger = LogFactory.getLog(GeneratedInstantiationStrategy.class);
+
+	private final int generationThreshold;
+
+	/** Bean class to its (lazily generated) accessor. */
+	private final Map<Class<?>, BeanClassAccessor> accessorCache = new ConcurrentReferenceHashMap<>(64);
+
+	/**
+	 * Create a new GeneratedInstantiationStrategy, generating an accessor class right after the first
+	 * reflective creation of a bean class.
+	 */
+	public GeneratedInstantiationStrategy() {
+		this(1);
+	}
+
+	/**
+	 * Create a new GeneratedInstantiationStrategy.
+	 * @param generationThreshold the number of reflective creations of a bean class after which
+	 * its accessor class gets generated (0 for generating it right away)
+	 */
+	public GeneratedInstantiationStrategy(int generationThreshold) {
+		Assert.isTrue(generationThreshold >= 0, "Generation threshold must not be negative");
+		this.generationThreshold = generationThreshold;
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
+		if (!bd.hasMethodOverrides() && bd.hasBeanClass()) {
+			Class<?> beanClass = bd.getBeanClass();
+			FastClass fastClass = obtainFastClass(beanClass);
+			if (fastClass != null) {
+				int index = obtainAccessor(beanClass).getConstructorIndex(null);
+				if (index >= 0) return newInstance(fastClass, index, null, new Object[0]);
+			}
+		}
+		return super.instantiate(bd, beanName, owner);
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner, final Constructor<?> ctor, Object... args) {
+		if (!bd.hasMethodOverrides() && areAssignable(ctor.getParameterTypes(), args)) {
+			FastClass fastClass = obtainFastClass(ctor.getDeclaringClass());
+			if (fastClass != null) {
+				int index = obtainAccessor(ctor.getDeclaringClass()).getConstructorIndex(ctor);
+				if (index >= 0) return newInstance(fastClass, index, ctor, args);
+			}
+		}
+		return super.instantiate(bd, beanName, owner, ctor, args);
+	}
+
+	@Override
+	public boolean applyPropertyValues(RootBeanDefinition bd, @Nullable String beanName, Object bean, PropertyValues pvs) throws BeansException {
+		// Only once generated for instantiation: property population does not count as a reflective creation
+		BeanClassAccessor accessor = this.accessorCache.get(bean.getClass());
+		FastClass fastClass = (accessor != null && System.getSecurityManager() == null ? accessor.getFastClass() : null);
+		if (fastClass == null) return false;
+		PropertyValue[] pvArray = pvs.getPropertyValues();
+		PropertySetter[] setters = new PropertySetter[pvArray.length];
+		Object[] values = new Object[pvArray.length];
+		// 先检查所有属性是否都能直接设置，保证返回 false 时没有任何属性已被设置
+		for (int i = 0; i < pvArray.length; i++) {
+			PropertyValue pv = pvArray[i];
+			setters[i] = accessor.getSetter(pv.getName());
+			values[i] = (pv.isConverted() ? pv.getConvertedValue() : pv.getValue());
+			if (setters[i] == NO_SETTER || !ClassUtils.isAssignableValue(setters[i].parameterType, values[i])) {
+				return false;
+			}
+		}
+		List<PropertyAccessException> propertyAccessExceptions = null;
+		for (int i = 0; i < pvArray.length; i++) {
+			try {
+				fastClass.invoke(setters[i].index, bean, new Object[] {values[i]});
+			}catch (InvocationTargetException ex) {
+				// Same as the BeanWrapper: collect setter failures and report them together
+				PropertyChangeEvent event = new PropertyChangeEvent(bean, pvArray[i].getName(), null, values[i]);
+				if (propertyAccessExceptions == null) propertyAccessExceptions = new ArrayList<>();
+				propertyAccessExceptions.add(new MethodInvocationException(event, ex.getTargetException()));
+			}
+		}
+		if (propertyAccessExceptions != null) {
+			throw new PropertyBatchUpdateException(propertyAccessExceptions.toArray(new PropertyAccessException[0]));
+		}
+		return true;
+	}
+
+	/**
+	 * Return the generated accessor class for the given bean class, generating it once the
+	 * configured number of reflective creations has been reached.
+	 * @return the generated class, or {@code null} if reflection is to be used
+	 */
+	@Nullable
+	private FastClass obtainFastClass(Class<?> beanClass) {
+		if (System.getSecurityManager() != null) return null;
+		return obtainAccessor(beanClass).obtainFastClass(this.generationThreshold);
+	}
+
+	private BeanClassAccessor obtainAccessor(Class<?> beanClass) {
+		BeanClassAccessor accessor = this.accessorCache.get(beanClass);
+		if (accessor == null) {
+			accessor = new BeanClassAccessor(beanClass);
+			BeanClassAccessor existing = this.accessorCache.putIfAbsent(beanClass, accessor);
+			if (existing != null) accessor = existing;
+		}
+		return accessor;
+	}
+
+	private static Object newInstance(FastClass fastClass, int index, @Nullable Constructor<?> ctor, Object[] args) {
+		try {
+			return fastClass.newInstance(index, args);
+		}catch (InvocationTargetException ex) {
+			if (ctor != null) throw new BeanInstantiationException(ctor, "Constructor threw exception", ex.getTargetException());
+			throw new BeanInstantiationException(fastClass.getJavaClass(), "Constructor threw exception", ex.getTargetException());
+		}
+	}
+
+	// Check the arguments upfront: the generated class would report a mismatch as an exception thrown by the constructor itself.
+	private static boolean areAssignable(Class<?>[] parameterTypes, Object[] args) {
+		if (parameterTypes.length != args.length) return false;
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Holder for the generated accessor of a bean class, along with the resolved constructor and setter indexes.
+	 */
+	private static class BeanClassAccessor {
+
+		private final Class<?> beanClass;
+
+		private final AtomicInteger reflectiveCreations = new AtomicInteger();
+
+		@Nullable
+		private volatile FastClass fastClass;
+
+		private volatile boolean generationFailed;
+
+		@Nullable
+		private volatile Integer defaultConstructorIndex;
+
+		private final Map<Constructor<?>, Integer> constructorIndexes = new ConcurrentHashMap<>(4);
+
+		private final Map<String, PropertySetter> setters = new ConcurrentHashMap<>(16);
+
+		public BeanClassAccessor(Class<?> beanClass) {
+			this.beanClass = beanClass;
+		}
+
+		@Nullable
+		public FastClass getFastClass() {
+			return this.fastClass;
+		}
+
+		@Nullable
+		public FastClass obtainFastClass(int generationThreshold) {
+			FastClass fastClass = this.fastClass;
+			if (fastClass != null || this.generationFailed) return fastClass;
+			if (this.reflectiveCreations.getAndIncrement() < generationThreshold) return null;
+			synchronized (this) {
+				fastClass = this.fastClass;
+				if (fastClass == null && !this.generationFailed) {
+					fastClass = generate();
+					this.fastClass = fastClass;
+					this.generationFailed = (fastClass == null);
+				}
+			}
+			return fastClass;
+		}
+
+		@Nullable
+		private FastClass generate() {
+			if (KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(this.beanClass)) return null;
+			try {
+				FastClass.Generator generator = new FastClass.Generator();
+				generator.setType(this.beanClass);
+				// 在 bean 类所在的包中定义生成的类，以便访问包可见的构造方法和 setter
+				generator.setContextClass(this.beanClass);
+				generator.setClassLoader(this.beanClass.getClassLoader());
+				FastClass fastClass = generator.create();
+				if (logger.isDebugEnabled()) logger.debug("Generated accessor class [" + fastClass.getClass().getName() + "] for bean class [" + this.beanClass.getName() + "]");
+				return fastClass;
+			}catch (Throwable ex) {
+				if (logger.isDebugEnabled()) logger.debug("Could not generate accessor class for bean class [" + this.beanClass.getName() + "] - using reflection", ex);
+				return null;
+			}
+		}
+
+		// Return the index of the given constructor (null for the default constructor), or -1 if not invocable through the generated class.
+		public int getConstructorIndex(@Nullable Constructor<?> ctor) {
+			FastClass fastClass = this.fastClass;
+			if (fastClass == null || Modifier.isAbstract(this.beanClass.getModifiers())) return -1;
+			if (ctor == null) {
+				Integer index = this.defaultConstructorIndex;
+				if (index == null) {
+					index = fastClass.getIndex(new Class<?>[0]);
+					this.defaultConstructorIndex = index;
+				}
+				return index;
+			}
+			Integer index = this.constructorIndexes.get(ctor);
+			if (index == null) {
+				index = fastClass.getIndex(ctor.getParameterTypes());
+				this.constructorIndexes.put(ctor, index);
+			}
+			return index;
+		}
+
+		public PropertySetter getSetter(String propertyName) {
+			PropertySetter setter = this.setters.get(propertyName);
+			if (setter == null) {
+				setter = resolveSetter(propertyName);
+				this.setters.put(propertyName, setter);
+			}
+			return setter;
+		}
+
+		private PropertySetter resolveSetter(String propertyName) {
+			FastClass fastClass = this.fastClass;
+			if (fastClass == null || PropertyAccessorUtils.isNestedOrIndexedProperty(propertyName)) return NO_SETTER;
+			PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(this.beanClass, propertyName);
+			Method writeMethod = (pd != null ? pd.getWriteMethod() : null);
+			if (writeMethod == null || writeMethod.getParameterCount() != 1) return NO_SETTER;
+			int index = fastClass.getIndex(writeMethod.getName(), writeMethod.getParameterTypes());
+			return (index >= 0 ? new PropertySetter(index, writeMethod.getParameterTypes()[0]) : NO_SETTER);
+		}
+	}
+
+
+	/**
+	 * Index of a setter method in the generated class, along with its parameter type.
+	 */
+	private static class PropertySetter {
+
+		final int index;
+
+		final Class<?> parameterType;
+
+		PropertySetter(int index, Class<?> parameterType) {
+			this.index = index;
+			this.parameterType = parameterType;
+		}
+	}
+
+}
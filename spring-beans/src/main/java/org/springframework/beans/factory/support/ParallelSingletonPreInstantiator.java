@@ -0,0 +1,296 @@
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Helper class for {@link DefaultListableBeanFactory#preInstantiateSingletons()} in parallel mode.
+ * Builds a dependency graph between all eager singletons from their merged bean definitions and instantiates
+ * each bean on a {@link ForkJoinPool} as soon as all of its known dependencies have been created.
+ *
+ * The graph only serves as a scheduling hint: dependencies it does not know about are simply resolved on demand
+ * by the creating thread. Beans that are part of a dependency cycle, or that ran into a creation cycle across
+ * threads, are instantiated serially in registration order once the parallel phase is over, just like
+ * FactoryBeans, beans obtained from a factory bean and any bean depending on those.
+ * @since 5.1.9
+ * @see DefaultListableBeanFactory#setParallelPreInstantiation
+ */
+class ParallelSingletonPreInstantiator {
+
+	private static final Log logger = LogFactory.getLog(ParallelSingletonPreInstantiator.class);
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final int parallelism;
+
+	/** Names of the eager singletons, in registration order. */
+	private final List<String> candidates = new ArrayList<>();
+
+	/**
+	 * Names of the candidates kept out of the parallel phase: FactoryBeans and beans obtained from a factory bean,
+	 * whose creation runs user code that commonly looks up other beans. Their dependents stay serial as well.
+	 */
+	private final Set<String> sequential = new LinkedHashSet<>();
+
+	/** Bean name to the names of the candidates depending on it. */
+	private final Map<String, Set<String>> dependents = new HashMap<>();
+
+	/** Bean name to the number of its dependencies which have not been instantiated yet. */
+	private final Map<String, AtomicInteger> pendingDependencies = new HashMap<>();
+
+	/** Names of the beans successfully instantiated in the parallel phase. */
+	private final Set<String> instantiated = ConcurrentHashMap.newKeySet();
+
+	/** Bean name to the failure raised while instantiating it in the parallel phase. */
+	private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+
+	private final AtomicInteger tasksInFlight = new AtomicInteger();
+
+	private final CountDownLatch completion = new CountDownLatch(1);
+
+	/**
+	 * Create a new ParallelSingletonPreInstantiator for the given BeanFactory.
+	 * @param beanFactory the BeanFactory to pre-instantiate singletons in
+	 * @param parallelism the number of threads to use
+	 */
+	public ParallelSingletonPreInstantiator(DefaultListableBeanFactory beanFactory, int parallelism) {
+		this.beanFactory = beanFactory;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Instantiate all non-lazy singletons among the given bean names:
+	 * independent ones in parallel first, then any remaining ones serially.
+	 * @param beanNames the names of all bean definitions, in registration order
+	 * @throws BeansException if one of the singletons could not be created
+	 */
+	public void preInstantiate(List<String> beanNames) throws BeansException {
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				this.candidates.add(beanName);
+				if (bd.getFactoryBeanName() != null || this.beanFactory.isFactoryBean(beanName, bd)) {
+					this.sequential.add(beanName);
+				}
+			}
+		}
+		buildDependencyGraph();
+		runParallelPhase();
+		// Report the failure of the first bean in registration order, as serial pre-instantiation would do
+		for (String beanName : this.candidates) {
+			RuntimeException failure = this.failures.get(beanName);
+			if (failure != null) throw failure;
+		}
+		// FactoryBeans, cycles and cross-thread creation conflicts: deterministic fallback to serial creation
+		int serialCount = 0;
+		for (String beanName : this.candidates) {
+			if (!this.instantiated.contains(beanName)) {
+				this.beanFactory.preInstantiateSingleton(beanName);
+				serialCount++;
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiated " + this.instantiated.size() + " singletons in parallel and " + serialCount + " serially in " + this.beanFactory);
+		}
+	}
+
+	private void buildDependencyGraph() {
+		for (String beanName : this.candidates) {
+			this.pendingDependencies.put(beanName, new AtomicInteger());
+		}
+		for (String beanName : this.candidates) {
+			for (String dependency : determineDependencies(beanName)) {
+				if (this.pendingDependencies.containsKey(dependency) &&
+						this.dependents.computeIfAbsent(dependency, k -> new LinkedHashSet<>()).add(beanName)) {
+					this.pendingDependencies.get(beanName).incrementAndGet();
+				}
+			}
+		}
+	}
+
+	// 收集 depends-on、factory-bean、构造参数与属性中的 bean 引用，以及后置处理器预测的自动注入类型所对应的 bean
+	private Set<String> determineDependencies(String beanName) {
+		RootBeanDefinition bd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+		Set<String> references = new LinkedHashSet<>();
+		addReferences(bd, references);
+		for (Class<?> dependencyType : predictDependencyTypes(beanName, bd)) {
+			for (String candidate : this.beanFactory.getBeanNamesForType(dependencyType, true, false)) {
+				references.add(candidate);
+			}
+		}
+		Set<String> dependencies = new LinkedHashSet<>(references.size());
+		for (String reference : references) {
+			dependencies.add(this.beanFactory.transformedBeanName(reference));
+		}
+		dependencies.remove(beanName);
+		return dependencies;
+	}
+
+	private void addReferences(BeanDefinition bd, Set<String> references) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependsOnBean : dependsOn) references.add(dependsOnBean);
+		}
+		if (bd.getFactoryBeanName() != null) {
+			references.add(bd.getFactoryBeanName());
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues argumentValues = bd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getIndexedArgumentValues().values()) {
+				addReference(valueHolder.getValue(), references);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+				addReference(valueHolder.getValue(), references);
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				addReference(pv.getValue(), references);
+			}
+		}
+	}
+
+	private void addReference(@Nullable Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			references.add(((RuntimeBeanReference) value).getBeanName());
+		}else if (value instanceof BeanDefinitionHolder) {
+			addReferences(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		}else if (value instanceof BeanDefinition) {
+			addReferences((BeanDefinition) value, references);
+		}else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) addReference(element, references);
+		}else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				addReference(entry.getKey(), references);
+				addReference(entry.getValue(), references);
+			}
+		}
+	}
+
+	private Set<Class<?>> predictDependencyTypes(String beanName, RootBeanDefinition bd) {
+		Set<Class<?>> dependencyTypes = new LinkedHashSet<>();
+		Method factoryMethod = bd.getResolvedFactoryMethod();
+		if (factoryMethod != null) {
+			for (Class<?> parameterType : factoryMethod.getParameterTypes()) dependencyTypes.add(parameterType);
+		}
+		if (bd.getFactoryMethodName() == null && bd.hasBeanClass() && this.beanFactory.hasInstantiationAwareBeanPostProcessors()) {
+			for (BeanPostProcessor bp : this.beanFactory.getBeanPostProcessors()) {
+				if (bp instanceof SmartInstantiationAwareBeanPostProcessor) {
+					try {
+						Class<?>[] types = ((SmartInstantiationAwareBeanPostProcessor) bp).predictDependencyTypes(bd.getBeanClass(), beanName);
+						if (types != null) {
+							for (Class<?> type : types) dependencyTypes.add(type);
+						}
+					}catch (BeansException ex) {
+						// Only a scheduling hint: the actual creation of the bean will report the problem.
+						if (logger.isTraceEnabled()) logger.trace("Could not predict dependency types of bean '" + beanName + "'", ex);
+					}
+				}
+			}
+		}
+		return dependencyTypes;
+	}
+
+	private void runParallelPhase() {
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		// Hold an extra task count while submitting the roots, so that completion cannot be signalled prematurely
+		this.tasksInFlight.incrementAndGet();
+		try {
+			for (String beanName : this.candidates) {
+				if (this.pendingDependencies.get(beanName).get() == 0 && !this.sequential.contains(beanName)) {
+					schedule(pool, beanName, contextClassLoader);
+				}
+			}
+			taskDone();
+			this.completion.await();
+		}catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException("Interrupted during parallel pre-instantiation of singletons", ex);
+		}finally {
+			pool.shutdown();
+		}
+	}
+
+	private void schedule(ForkJoinPool pool, String beanName, @Nullable ClassLoader contextClassLoader) {
+		this.tasksInFlight.incrementAndGet();
+		pool.execute(() -> {
+			Thread currentThread = Thread.currentThread();
+			ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader(contextClassLoader);
+			try {
+				instantiate(pool, beanName, contextClassLoader);
+			}finally {
+				currentThread.setContextClassLoader(originalClassLoader);
+				taskDone();
+			}
+		});
+	}
+
+	private void instantiate(ForkJoinPool pool, String beanName, @Nullable ClassLoader contextClassLoader) {
+		if (!this.failures.isEmpty()) return;
+		try {
+			this.beanFactory.preInstantiateSingleton(beanName);
+		}catch (BeanCurrentlyInCreationException ex) {
+			deferToSerialPhase(beanName, ex);
+			return;
+		}catch (BeansException ex) {
+			if (ex.contains(BeanCurrentlyInCreationException.class)) {
+				deferToSerialPhase(beanName, ex);
+			}else {
+				this.failures.put(beanName, ex);
+			}
+			return;
+		}catch (RuntimeException ex) {
+			this.failures.put(beanName, ex);
+			return;
+		}
+		this.instantiated.add(beanName);
+		Set<String> beanDependents = this.dependents.get(beanName);
+		if (beanDependents != null) {
+			for (String dependent : beanDependents) {
+				if (this.pendingDependencies.get(dependent).decrementAndGet() == 0 && !this.sequential.contains(dependent)) {
+					schedule(pool, dependent, contextClassLoader);
+				}
+			}
+		}
+	}
+
+	// 跨线程的创建冲突（或真正的循环依赖）：该 bean 及其依赖者留到串行阶段按注册顺序创建
+	private void deferToSerialPhase(String beanName, BeansException ex) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Deferring creation of singleton '" + beanName + "' to serial pre-instantiation: " + ex.getMessage());
+		}
+	}
+
+	private void taskDone() {
+		if (this.tasksInFlight.decrementAndGet() == 0) {
+			this.completion.countDown();
+		}
+	}
+}
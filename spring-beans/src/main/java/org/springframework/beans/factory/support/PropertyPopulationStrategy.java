@@ -0,0 +1,32 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValues;
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy interface for applying the property values of a bean definition to a freshly created bean instance,
+ * as an alternative to setting them through the bean's {@link org.springframework.beans.BeanWrapper}.
+ * Only consulted once all property values have been resolved and converted by the bean factory.
+ * @since 5.1.9
+ * 简而言之，就是把已经解析、转换完毕的属性值直接设置到 bean 实例上；返回 false 时由 BeanWrapper 按原有方式处理
+ * @see AbstractAutowireCapableBeanFactory#setPropertyPopulationStrategy
+ * @see GeneratedInstantiationStrategy
+ */
+public interface PropertyPopulationStrategy {
+
+	/**
+	 * Apply the given property values to the given bean instance.
+	 * Each value has been resolved and converted for its target property already: its converted value if marked as
+	 * {@link org.springframework.beans.PropertyValue#isConverted() converted}, its plain value otherwise.
+	 * @param bd the bean definition
+	 * @param beanName the name of the bean, or {@code null} if we are autowiring a bean which doesn't belong to the factory
+	 * @param bean the bean instance to populate
+	 * @param pvs the resolved and converted property values
+	 * @return {@code true} if all property values have been applied, or {@code false} if none has been applied
+	 * and the property values should be set through the bean's BeanWrapper instead
+	 * @throws BeansException if applying the property values failed
+	 */
+	boolean applyPropertyValues(RootBeanDefinition bd, @Nullable String beanName, Object bean, PropertyValues pvs) throws BeansException;
+
+}
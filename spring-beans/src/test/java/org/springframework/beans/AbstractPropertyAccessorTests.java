@@ -28,6 +28,8 @@ import org.springframework.beans.propertyeditors.StringTrimmerEditor;
 import org.springframework.beans.support.DerivedFromProtectedBaseBean;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ToIntConverter;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.lang.Nullable;
@@ -941,6 +943,37 @@ public abstract class AbstractPropertyAccessorTests {
 		assertTrue("correct values", target.intArray[0] == 1);
 	}
 
+	@Test
+	public void setIntArrayPropertyFromStringArray() {
+		PropsTester target = new PropsTester();
+		AbstractPropertyAccessor accessor = createAccessor(target);
+		accessor.setPropertyValue("intArray", new String[] {"4", " 5", "0x2"});
+		assertArrayEquals(new int[] {4, 5, 2}, target.intArray);
+
+		accessor.registerCustomEditor(int.class, new PropertyEditorSupport() {
+			@Override
+			public void setAsText(String text) {
+				setValue(Integer.parseInt(text) + 1);
+			}
+		});
+		accessor.setPropertyValue("intArray", new String[] {"4", "5"});
+		assertArrayEquals(new int[] {5, 6}, target.intArray);
+	}
+
+	@Test
+	public void setIntArrayPropertyFromStringArrayWithConversionService() {
+		PropsTester target = new PropsTester();
+		AbstractPropertyAccessor accessor = createAccessor(target);
+		accessor.setConversionService(new DefaultConversionService());
+		accessor.setPropertyValue("intArray", new String[] {"4", " 5"});
+		assertArrayEquals(new int[] {4, 5}, target.intArray);
+	}
+
+	@Test(expected = TypeMismatchException.class)
+	public void setIntArrayPropertyFromInvalidStringArray() {
+		createAccessor(new PropsTester()).setPropertyValue("intArray", new String[] {"4", "x"});
+	}
+
 	@Test
 	public void setIntArrayPropertyWithCustomEditor() {
 		PropsTester target = new PropsTester();
@@ -1087,6 +1120,41 @@ public abstract class AbstractPropertyAccessorTests {
 		assertEquals(1, target.getArray()[1]);
 	}
 
+	@Test
+	public void setPrimitiveArrayPropertyWithOverriddenDefaultEditor() {
+		PrimitiveArrayBean target = new PrimitiveArrayBean();
+		AbstractPropertyAccessor accessor = createAccessor(target);
+		accessor.overrideDefaultEditor(int.class, new PropertyEditorSupport() {
+			@Override
+			public void setAsText(String text) {
+				setValue(Integer.parseInt(text) + 1);
+			}
+		});
+		accessor.setPropertyValue("array", new String[] {"1", "2"});
+		assertEquals(2, target.getArray()[0]);
+		assertEquals(3, target.getArray()[1]);
+	}
+
+	@Test
+	public void setPrimitiveArrayPropertyWithConversionServiceAndCustomEditor() {
+		PrimitiveArrayBean target = new PrimitiveArrayBean();
+		AbstractPropertyAccessor accessor = createAccessor(target);
+		// Without array converters, so that the elements are converted one by one
+		GenericConversionService conversionService = new GenericConversionService();
+		conversionService.addConverter(String.class, Integer.class, new IntParsingConverter());
+		accessor.setConversionService(conversionService);
+		assertNotNull(conversionService.getIntConverter(TypeDescriptor.valueOf(String.class)));
+		accessor.registerCustomEditor(int.class, new PropertyEditorSupport() {
+			@Override
+			public void setAsText(String text) {
+				setValue(Integer.parseInt(text) + 1);
+			}
+		});
+		accessor.setPropertyValue("array", new String[] {"1", "2"});
+		assertEquals(2, target.getArray()[0]);
+		assertEquals(3, target.getArray()[1]);
+	}
+
 	@Test
 	public void setPrimitiveArrayPropertyWithAutoGrow() throws Exception {
 		PrimitiveArrayBean target = new PrimitiveArrayBean();
@@ -1941,6 +2009,20 @@ public abstract class AbstractPropertyAccessorTests {
 
 
 	@SuppressWarnings("unused")
+	private static class IntParsingConverter implements Converter<String, Integer>, ToIntConverter<String> {
+
+		@Override
+		public Integer convert(String source) {
+			return convertToInt(source);
+		}
+
+		@Override
+		public int convertToInt(String source) {
+			return Integer.parseInt(source);
+		}
+	}
+
+
 	private static class PrimitiveArrayBean {
 
 		private int[] array;
@@ -5,10 +5,14 @@ package org.springframework.beans;
 import java.beans.BeanInfo;
 import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Test;
 
 import org.springframework.core.OverridingClassLoader;
+import org.springframework.tests.sample.beans.DerivedTestBean;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.NestedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -46,6 +50,24 @@ public class CachedIntrospectionResultsTests {
 		assertFalse(CachedIntrospectionResults.strongClassCache.containsKey(ArrayList.class));
 	}
 
+	@Test
+	public void warmUp() {
+		CachedIntrospectionResults.clearClassLoader(getClass().getClassLoader());
+		CachedIntrospectionResults.warmUp(Arrays.asList(TestBean.class, DerivedTestBean.class));
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(TestBean.class));
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(DerivedTestBean.class));
+	}
+
+	@Test
+	public void warmUpPackages() throws Exception {
+		CachedIntrospectionResults.clearClassLoader(getClass().getClassLoader());
+		int count = CachedIntrospectionResults.warmUpPackages(getClass().getClassLoader(), "org.springframework.tests.sample.beans");
+		assertTrue(count > 0);
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(TestBean.class));
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(NestedTestBean.class));
+		assertFalse(CachedIntrospectionResults.strongClassCache.containsKey(ITestBean.class));
+	}
+
 	@Test
 	public void shouldUseExtendedBeanInfoWhenApplicable() throws NoSuchMethodException, SecurityException {
 		// given a class with a non-void returning setter method
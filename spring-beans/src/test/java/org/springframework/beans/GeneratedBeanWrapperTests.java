@@ -0,0 +1,147 @@
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Specific {@link GeneratedBeanWrapper} tests, on top of the common property accessor tests.
+ * @since 5.1.9
+ */
+public class GeneratedBeanWrapperTests extends AbstractPropertyAccessorTests {
+
+	@Override
+	protected GeneratedBeanWrapper createAccessor(Object target) {
+		return new GeneratedBeanWrapper(target);
+	}
+
+	@Test
+	public void usesGeneratedAccessors() {
+		GeneratedBeanWrapper accessor = createAccessor(new TestBean());
+		AbstractNestablePropertyAccessor.PropertyHandler handler = accessor.getLocalPropertyHandler("name");
+		assertNotNull(handler);
+		assertNotSame(BeanWrapperImpl.BeanPropertyHandler.class, handler.getClass());
+		assertNull(accessor.getLocalPropertyHandler("unknown"));
+
+		accessor.setPropertyValue("name", "tom");
+		accessor.setPropertyValue("age", "12");
+		assertEquals("tom", accessor.getPropertyValue("name"));
+		assertEquals(12, accessor.getPropertyValue("age"));
+	}
+
+	@Test
+	public void nestedAndKeyedPaths() {
+		Order order = new Order();
+		GeneratedBeanWrapper accessor = createAccessor(order);
+		accessor.setAutoGrowNestedPaths(true);
+		accessor.setPropertyValue("items[1].name", "second");
+		accessor.setPropertyValue("items[1].quantity", "3");
+		accessor.setPropertyValue("attributes['color'].name", "red");
+		accessor.setPropertyValue("customer.name", "John");
+
+		assertEquals(2, order.getItems().size());
+		assertEquals("second", order.getItems().get(1).getName());
+		assertEquals(3, order.getItems().get(1).getQuantity());
+		assertEquals("red", accessor.getPropertyValue("attributes['color'].name"));
+		assertEquals("John", order.getCustomer().getName());
+		assertTrue(accessor.getPropertyAccessorForPropertyPath("customer.name") instanceof GeneratedBeanWrapper);
+	}
+
+	@Test
+	public void packagePrivateAndFallbackAccessors() {
+		HiddenBean target = new HiddenBean();
+		GeneratedBeanWrapper accessor = createAccessor(target);
+		accessor.setPropertyValue("value", "v");
+		assertEquals("v", accessor.getPropertyValue("value"));
+
+		accessor.setWrappedInstance(new TestBean());
+		accessor.setPropertyValue("name", "other");
+		assertEquals("other", accessor.getPropertyValue("name"));
+	}
+
+	@Test(expected = TypeMismatchException.class)
+	public void typeMismatch() {
+		createAccessor(new TestBean()).setPropertyValue("age", "invalid");
+	}
+
+
+	@SuppressWarnings("unused")
+	public static class Order {
+
+		private List<Item> items = new ArrayList<>();
+
+		private Map<String, Item> attributes = new HashMap<>();
+
+		private Item customer;
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		public void setItems(List<Item> items) {
+			this.items = items;
+		}
+
+		public Map<String, Item> getAttributes() {
+			return this.attributes;
+		}
+
+		public void setAttributes(Map<String, Item> attributes) {
+			this.attributes = attributes;
+		}
+
+		public Item getCustomer() {
+			return this.customer;
+		}
+
+		public void setCustomer(Item customer) {
+			this.customer = customer;
+		}
+	}
+
+
+	public static class Item {
+
+		private String name;
+
+		private int quantity;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+	}
+
+
+	static class HiddenBean {
+
+		private String value;
+
+		public String getValue() {
+			return this.value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package org.springframework.beans;
+
+import java.beans.BeanInfo;
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.BooleanTestBean;
+import org.springframework.tests.sample.beans.DerivedTestBean;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.NumberTestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SimpleBeanInfoFactory}.
+ *
+ * @since 5.1.9
+ */
+public class SimpleBeanInfoFactoryTests {
+
+	private final SimpleBeanInfoFactory factory = new SimpleBeanInfoFactory();
+
+	@Test
+	public void inactiveByDefault() throws IntrospectionException {
+		assertNull(factory.getBeanInfo(TestBean.class));
+	}
+
+	@Test
+	public void sameAsIntrospector() throws IntrospectionException {
+		assertSameProperties(TestBean.class);
+		assertSameProperties(DerivedTestBean.class);
+		assertSameProperties(BooleanTestBean.class);
+		assertSameProperties(NumberTestBean.class);
+		assertSameProperties(ITestBean.class);
+	}
+
+	@Test
+	public void nonVoidSetter() throws Exception {
+		@SuppressWarnings("unused")
+		class C {
+			public C setFoo(String foo) { return this; }
+			public String getFoo() { return null; }
+			public void setBar(Object bar) { }
+			public void setBar(String bar) { }
+			public String getBar() { return null; }
+		}
+
+		Map<String, PropertyDescriptor> pds = getPropertyDescriptors(factory.createBeanInfo(C.class));
+		assertEquals(C.class.getMethod("setFoo", String.class), pds.get("foo").getWriteMethod());
+		assertEquals(C.class.getMethod("getBar"), pds.get("bar").getReadMethod());
+		assertEquals(C.class.getMethod("setBar", String.class), pds.get("bar").getWriteMethod());
+		assertEquals(C.class, factory.createBeanInfo(C.class).getBeanDescriptor().getBeanClass());
+	}
+
+	private void assertSameProperties(Class<?> beanClass) throws IntrospectionException {
+		Map<String, PropertyDescriptor> expected = getPropertyDescriptors(Introspector.getBeanInfo(beanClass));
+		Map<String, PropertyDescriptor> actual = getPropertyDescriptors(factory.createBeanInfo(beanClass));
+		for (PropertyDescriptor pd : expected.values()) {
+			if (pd instanceof IndexedPropertyDescriptor && pd.getReadMethod() == null && pd.getWriteMethod() == null) {
+				continue;
+			}
+			PropertyDescriptor actualPd = actual.get(pd.getName());
+			assertNotNull(beanClass.getSimpleName() + "." + pd.getName(), actualPd);
+			assertEquals(beanClass.getSimpleName() + "." + pd.getName(), pd.getReadMethod(), actualPd.getReadMethod());
+			assertEquals(beanClass.getSimpleName() + "." + pd.getName(), pd.getWriteMethod(), actualPd.getWriteMethod());
+			assertEquals(beanClass.getSimpleName() + "." + pd.getName(), pd.getPropertyType(), actualPd.getPropertyType());
+		}
+	}
+
+	private static Map<String, PropertyDescriptor> getPropertyDescriptors(BeanInfo beanInfo) {
+		Map<String, PropertyDescriptor> result = new HashMap<>();
+		for (PropertyDescriptor pd : beanInfo.getPropertyDescriptors()) {
+			result.put(pd.getName(), pd);
+		}
+		return result;
+	}
+
+}
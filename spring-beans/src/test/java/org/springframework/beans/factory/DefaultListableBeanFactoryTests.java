@@ -152,6 +152,73 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	// 测试 并行预实例化：互不依赖的单例并行创建，循环依赖的单例回退到串行创建，SmartInitializingSingleton 回调在所有单例创建完成后触发
+	@Test
+	public void testParallelPreInstantiation() {
+		lbf.setParallelPreInstantiation(true);
+		lbf.setPreInstantiationParallelism(4);
+		assertTrue(lbf.isConcurrentSingletonAccess());
+		RootBeanDefinition kerry = new RootBeanDefinition(TestBean.class);
+		kerry.getPropertyValues().add("spouse", new RuntimeBeanReference("rod"));
+		RootBeanDefinition rod = new RootBeanDefinition(TestBean.class);
+		rod.getPropertyValues().add("spouse", new RuntimeBeanReference("kerry"));
+		lbf.registerBeanDefinition("kerry", kerry);
+		lbf.registerBeanDefinition("rod", rod);
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i > 0) bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + (i - 1)));
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+		lbf.registerBeanDefinition("callback", new RootBeanDefinition(AllSingletonsCallback.class));
+		lbf.preInstantiateSingletons();
+
+		assertSame(lbf.getBean("rod"), ((TestBean) lbf.getBean("kerry")).getSpouse());
+		assertSame(lbf.getBean("kerry"), ((TestBean) lbf.getBean("rod")).getSpouse());
+		for (int i = 1; i < 20; i++) {
+			assertSame(lbf.getBean("tb" + (i - 1)), ((TestBean) lbf.getBean("tb" + i)).getSpouse());
+		}
+		assertFalse(lbf.containsSingleton("lazy"));
+		assertEquals(23, lbf.getBean("callback", AllSingletonsCallback.class).singletonCount);
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailingBean() {
+		lbf.setParallelPreInstantiation(true);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition failing = new RootBeanDefinition(TestBean.class);
+		failing.setInitMethodName("nonExistentInitMethod");
+		lbf.registerBeanDefinition("failing", failing);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}catch (BeanCreationException ex) {
+			assertEquals("failing", ex.getBeanName());
+		}
+	}
+
+	// 测试 并行预实例化：FactoryBean#getObject() 中获取另一个工作线程正在创建的 bean，而该 bean 又获取此 FactoryBean 的产品，不会死锁
+	@Test(timeout = 20000)
+	public void testParallelPreInstantiationWithFactoryBeanLookingUpBeanInCreation() {
+		lbf.setParallelPreInstantiation(true);
+		lbf.setPreInstantiationParallelism(4);
+		LookupFactoryBean.inGetObject = new java.util.concurrent.CountDownLatch(1);
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(LookupFactoryBean.class));
+		lbf.registerBeanDefinition("standalone", new RootBeanDefinition(ThreadRecordingFactoryBean.class));
+		lbf.registerBeanDefinition("consumer", new RootBeanDefinition(FactoryProductConsumer.class));
+		lbf.registerBeanDefinition("slow", new RootBeanDefinition(FactoryProductConsumer.class));
+		lbf.preInstantiateSingletons();
+
+		TestBean product = (TestBean) lbf.getBean("factory");
+		assertSame(lbf.getBean("slow"), product.getSpouse());
+		assertSame(product, lbf.getBean("consumer", FactoryProductConsumer.class).product);
+		assertSame(product, lbf.getBean("slow", FactoryProductConsumer.class).product);
+		// FactoryBeans are kept out of the parallel phase
+		assertSame(Thread.currentThread(), lbf.getBean("&standalone", ThreadRecordingFactoryBean.class).creatingThread);
+	}
+
 	//  测试 FactoryBean
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
@@ -1874,6 +1941,36 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals("&factoryBean", beanNames[0]);
 	}
 
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfiguration() {
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.freezeConfiguration();
+		assertArrayEquals(new String[] {"tb"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"tb"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"nested"}, lbf.getBeanNamesForType(NestedTestBean.class));
+		assertEquals(2, lbf.getBeanNamesForType(Object.class).length);
+
+		lbf.registerBeanDefinition("derived", new RootBeanDefinition(DerivedTestBean.class));
+		assertArrayEquals(new String[] {"tb", "derived"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"derived"}, lbf.getBeanNamesForType(DerivedTestBean.class));
+
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(NestedTestBean.class));
+		assertArrayEquals(new String[] {"derived"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"tb", "nested"}, lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.removeBeanDefinition("derived");
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		lbf.registerSingleton("singleton", new TestBean());
+		assertArrayEquals(new String[] {"factory", "singleton"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"&factory"}, lbf.getBeanNamesForType(DummyFactory.class));
+
+		lbf.destroySingleton("singleton");
+		assertArrayEquals(new String[] {"factory"}, lbf.getBeanNamesForType(TestBean.class));
+	}
+
 	/**
 	 * Verifies that a dependency on a {@link FactoryBean} can <strong>not</strong>
 	 * be autowired <em>by name</em>, as &amp; is an illegal character in
@@ -3336,6 +3433,72 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	public static class LookupFactoryBean implements FactoryBean<TestBean>, BeanFactoryAware {
+		static java.util.concurrent.CountDownLatch inGetObject;
+		private BeanFactory beanFactory;
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+		@Override
+		public TestBean getObject() {
+			inGetObject.countDown();
+			TestBean product = new TestBean("product");
+			product.setSpouse((TestBean) this.beanFactory.getBean("slow", FactoryProductConsumer.class));
+			return product;
+		}
+		@Override
+		public Class<?> getObjectType() {
+			return TestBean.class;
+		}
+	}
+
+	public static class FactoryProductConsumer extends TestBean implements BeanFactoryAware, BeanNameAware {
+		private String beanName;
+		TestBean product;
+		@Override
+		public void setBeanName(String beanName) {
+			this.beanName = beanName;
+		}
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			if ("slow".equals(this.beanName)) {
+				// Wait until another thread runs the FactoryBean's getObject(), which in turn looks up this bean
+				try {
+					LookupFactoryBean.inGetObject.await(5, java.util.concurrent.TimeUnit.SECONDS);
+				}catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			this.product = (TestBean) beanFactory.getBean("factory");
+		}
+	}
+
+	public static class ThreadRecordingFactoryBean implements FactoryBean<Object> {
+		final Thread creatingThread = Thread.currentThread();
+		@Override
+		public Object getObject() {
+			return new Object();
+		}
+		@Override
+		public Class<?> getObjectType() {
+			return Object.class;
+		}
+	}
+
+	public static class AllSingletonsCallback implements SmartInitializingSingleton, BeanFactoryAware {
+		private ListableBeanFactory beanFactory;
+		int singletonCount;
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = (ListableBeanFactory) beanFactory;
+		}
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.singletonCount = ((ConfigurableListableBeanFactory) this.beanFactory).getSingletonCount();
+		}
+	}
+
 	private static class TestBeanRecipient {
 		public TestBean testBean;
 		public TestBeanRecipient(TestBean testBean) {
@@ -96,6 +96,28 @@ public class AutowiredAnnotationBeanPostProcessorTests {
 		}
 	}
 
+	// 测试 预测自动注入的依赖类型：构造参数、字段与方法参数，不包含延迟注入的 ObjectFactory
+	@Test
+	public void testPredictDependencyTypes() {
+		Class<?>[] types = bpp.predictDependencyTypes(ConstructorResourceInjectionBean.class, "annotatedBean");
+		assertEquals(new LinkedHashSet<>(Arrays.asList(ITestBean.class, NestedTestBean.class, ConfigurableListableBeanFactory.class, TestBean.class)),
+				new LinkedHashSet<>(Arrays.asList(types)));
+		assertNull(bpp.predictDependencyTypes(ObjectFactoryFieldInjectionBean.class, "factoryBean"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithAutowiredDependencies() {
+		bf.setParallelPreInstantiation(true);
+		bf.registerBeanDefinition("annotatedBean", new RootBeanDefinition(ConstructorResourceInjectionBean.class));
+		bf.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+		bf.registerBeanDefinition("nestedTestBean", new RootBeanDefinition(NestedTestBean.class));
+		bf.preInstantiateSingletons();
+		ConstructorResourceInjectionBean bean = (ConstructorResourceInjectionBean) bf.getBean("annotatedBean");
+		assertSame(bf.getBean("testBean"), bean.getTestBean());
+		assertSame(bf.getBean("testBean"), bean.getTestBean4());
+		assertSame(bf.getBean("nestedTestBean"), bean.getNestedTestBean());
+	}
+
 	/**
 	 * 测试  bean的作用域为原型模式，每次get出来的bean是不同的
 	 * 但是，他们注入的testBean属性 却是相同的，因为testBean是单例的。
@@ -3,11 +3,20 @@
 package org.springframework.beans.factory.support;
 
 import org.junit.Test;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -131,4 +140,171 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	/**
+	 * 测试 并发单例模式：某个 bean 正在其他线程中创建时，不影响互不相关的 bean 的创建与获取
+	 */
+	@Test
+	public void testConcurrentSingletonAccess() throws Exception {
+		beanRegistry.setConcurrentSingletonAccess(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> slow = executor.submit(() -> beanRegistry.getSingleton("slow", () -> {
+				inCreation.countDown();
+				awaitQuietly(release);
+				return new TestBean("slow");
+			}));
+			assertTrue(inCreation.await(5, TimeUnit.SECONDS));
+			TestBean fast = (TestBean) beanRegistry.getSingleton("fast", () -> new TestBean("fast"));
+			assertEquals("fast", fast.getName());
+			assertNull(beanRegistry.getSingleton("slow"));
+			release.countDown();
+			assertEquals("slow", ((TestBean) slow.get(5, TimeUnit.SECONDS)).getName());
+			assertEquals(2, beanRegistry.getSingletonCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 测试 并发单例模式：跨线程的循环等待（a 等 b，b 等 a）不会死锁，而是抛出 BeanCurrentlyInCreationException
+	 */
+	@Test
+	public void testConcurrentSingletonAccessWithCrossThreadCycle() throws Exception {
+		beanRegistry.setConcurrentSingletonAccess(true);
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		int failures = 0;
+		try {
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				awaitQuietly(barrier);
+				return beanRegistry.getSingleton("b", () -> new TestBean("b"));
+			}));
+			try {
+				beanRegistry.getSingleton("b", () -> {
+					awaitQuietly(barrier);
+					return beanRegistry.getSingleton("a", () -> new TestBean("a"));
+				});
+			}
+			catch (BeanCurrentlyInCreationException ex) {
+				failures++;
+			}
+			try {
+				a.get(5, TimeUnit.SECONDS);
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof BeanCurrentlyInCreationException);
+				failures++;
+			}
+			assertTrue(failures > 0);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 测试 并发单例模式：FactoryBean 取对象等扩展创建阶段使用 bean 自己的创建锁，与单例创建之间的跨线程循环等待同样可被检测
+	 */
+	@Test
+	public void testConcurrentSingletonAccessWithCycleThroughExtendedCreationPhase() throws Exception {
+		beanRegistry.setConcurrentSingletonAccess(true);
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		int failures = 0;
+		try {
+			// 相当于 FactoryBean#getObject() 中按名称获取另一个正在创建的 bean
+			Future<Object> factoryObject = executor.submit(() -> beanRegistry.executeInSingletonCreationLock("factory", () -> {
+				awaitQuietly(barrier);
+				return beanRegistry.getSingleton("x", () -> new TestBean("x"));
+			}));
+			try {
+				beanRegistry.getSingleton("x", () -> {
+					awaitQuietly(barrier);
+					return beanRegistry.executeInSingletonCreationLock("factory", () -> new TestBean("x"));
+				});
+			}
+			catch (BeanCurrentlyInCreationException ex) {
+				failures++;
+			}
+			try {
+				factoryObject.get(5, TimeUnit.SECONDS);
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof BeanCurrentlyInCreationException);
+				failures++;
+			}
+			assertTrue(failures > 0);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 测试 并发单例模式：类型检查等可选操作在创建锁被其他线程持有时直接跳过，不进行等待
+	 */
+	@Test
+	public void testConcurrentSingletonAccessSkipsOptionalPhaseInCreationElsewhere() throws Exception {
+		beanRegistry.setConcurrentSingletonAccess(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> slow = executor.submit(() -> beanRegistry.getSingleton("slow", () -> {
+				inCreation.countDown();
+				awaitQuietly(release);
+				return new TestBean("slow");
+			}));
+			assertTrue(inCreation.await(5, TimeUnit.SECONDS));
+			assertNull(beanRegistry.executeIfSingletonCreationLockAvailable("slow", () -> "checked"));
+			assertEquals("checked", beanRegistry.executeIfSingletonCreationLockAvailable("other", () -> "checked"));
+			release.countDown();
+			slow.get(5, TimeUnit.SECONDS);
+			assertEquals("checked", beanRegistry.executeIfSingletonCreationLockAvailable("slow", () -> "checked"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 测试 并发单例模式：移除或销毁单例时一并释放按 beanName 缓存的锁对象
+	 */
+	@Test
+	public void testConcurrentSingletonAccessReleasesLocks() {
+		beanRegistry.setConcurrentSingletonAccess(true);
+		beanRegistry.getSingleton("a", () -> new TestBean("a"));
+		beanRegistry.getSingleton("b", () -> new TestBean("b"));
+		beanRegistry.registerSingleton("c", new TestBean("c"));
+		DirectFieldAccessor accessor = new DirectFieldAccessor(beanRegistry);
+		Map<?, ?> cacheLocks = (Map<?, ?>) accessor.getPropertyValue("singletonCacheLocks");
+		Map<?, ?> creationLocks = (Map<?, ?>) accessor.getPropertyValue("singletonCreationLocks");
+		assertEquals(3, cacheLocks.size());
+		assertEquals(2, creationLocks.size());
+
+		beanRegistry.removeSingleton("a");
+		assertFalse(cacheLocks.containsKey("a"));
+		assertFalse(creationLocks.containsKey("a"));
+		beanRegistry.destroySingletons();
+		assertTrue(cacheLocks.isEmpty());
+		assertTrue(creationLocks.isEmpty());
+	}
+
+	private static void awaitQuietly(Object latchOrBarrier) {
+		try {
+			if (latchOrBarrier instanceof CountDownLatch) {
+				((CountDownLatch) latchOrBarrier).await(5, TimeUnit.SECONDS);
+			}
+			else {
+				((CyclicBarrier) latchOrBarrier).await(5, TimeUnit.SECONDS);
+			}
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
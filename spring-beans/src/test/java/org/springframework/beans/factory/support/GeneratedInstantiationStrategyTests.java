@@ -0,0 +1,164 @@
+package org.springframework.beans.factory.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.PropertyBatchUpdateException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.StopWatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 5.1.9
+ */
+public class GeneratedInstantiationStrategyTests {
+
+	private DefaultListableBeanFactory beanFactory;
+
+	@Before
+	public void setUp() {
+		beanFactory = new DefaultListableBeanFactory();
+		GeneratedInstantiationStrategy strategy = new GeneratedInstantiationStrategy();
+		beanFactory.setInstantiationStrategy(strategy);
+		beanFactory.setPropertyPopulationStrategy(strategy);
+	}
+
+	@Test
+	public void generatedAfterFirstCreation() {
+		RootBeanDefinition bd = new RootBeanDefinition(RecordingBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen").add("age", "99");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		RecordingBean first = (RecordingBean) beanFactory.getBean("bean");
+		assertFalse(first.generatedConstructor);
+		assertFalse(first.generatedSetter);
+		assertEquals("juergen", first.getName());
+		assertEquals(99, first.getAge());
+
+		RecordingBean second = (RecordingBean) beanFactory.getBean("bean");
+		assertTrue(second.generatedConstructor);
+		assertTrue(second.generatedSetter);
+		assertEquals("juergen", second.getName());
+		assertEquals(99, second.getAge());
+	}
+
+	@Test
+	public void generatedWithConstructorArgumentsAndReferences() {
+		beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(RecordingBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		beanFactory.getBean("bean");
+		RecordingBean bean = (RecordingBean) beanFactory.getBean("bean");
+		assertTrue(bean.generatedConstructor);
+		assertTrue(bean.generatedSetter);
+		assertEquals("juergen", bean.getName());
+		assertSame(beanFactory.getBean("spouse"), bean.getSpouse());
+	}
+
+	@Test
+	public void reflectiveForNestedProperty() {
+		RootBeanDefinition bd = new RootBeanDefinition(RecordingBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("spouse", new TestBean()).add("spouse.name", "kerry");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		beanFactory.getBean("bean");
+		RecordingBean bean = (RecordingBean) beanFactory.getBean("bean");
+		assertTrue(bean.generatedConstructor);
+		assertFalse(bean.generatedSetter);
+		assertEquals("kerry", bean.getSpouse().getName());
+	}
+
+	@Test
+	public void setterExceptionFromGeneratedClass() {
+		RootBeanDefinition bd = new RootBeanDefinition(RecordingBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("touchy", "1,5");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				beanFactory.getBean("bean");
+				fail("Should have thrown BeanCreationException");
+			}catch (BeanCreationException ex) {
+				assertTrue(ex.getCause() instanceof PropertyBatchUpdateException);
+				assertTrue(ex.contains(NumberFormatException.class));
+			}
+		}
+	}
+
+	@Test
+	public void prototypeCreationBenchmark() {
+		Assume.group(TestGroup.PERFORMANCE);
+		DefaultListableBeanFactory reflectiveFactory = new DefaultListableBeanFactory();
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen").add("age", "99").add("touchy", "x");
+		reflectiveFactory.registerBeanDefinition("test", bd);
+		reflectiveFactory.freezeConfiguration();
+		beanFactory.registerBeanDefinition("test", new RootBeanDefinition(bd));
+		beanFactory.freezeConfiguration();
+
+		StopWatch sw = new StopWatch();
+		sw.start("reflective");
+		for (int i = 0; i < 100000; i++) {
+			reflectiveFactory.getBean("test");
+		}
+		sw.stop();
+		sw.start("generated");
+		for (int i = 0; i < 100000; i++) {
+			beanFactory.getBean("test");
+		}
+		sw.stop();
+		// System.out.println(sw.prettyPrint());
+		long reflective = sw.getTaskInfo()[0].getTimeMillis();
+		long generated = sw.getTaskInfo()[1].getTimeMillis();
+		assertTrue("Generated prototype creation took " + generated + " ms, reflective " + reflective + " ms", generated < reflective);
+	}
+
+
+	public static class RecordingBean extends TestBean {
+
+		boolean generatedConstructor = calledFromGeneratedClass();
+
+		boolean generatedSetter;
+
+		public RecordingBean() {
+		}
+
+		public RecordingBean(String name) {
+			super(name);
+		}
+
+		@Override
+		public void setAge(int age) {
+			super.setAge(age);
+			generatedSetter = calledFromGeneratedClass();
+		}
+
+		@Override
+		public void setSpouse(ITestBean spouse) {
+			super.setSpouse(spouse);
+			generatedSetter = calledFromGeneratedClass();
+		}
+
+		private static boolean calledFromGeneratedClass() {
+			for (StackTraceElement element : new Throwable().getStackTrace()) {
+				if (element.getClassName().contains("$$FastClass")) return true;
+			}
+			return false;
+		}
+	}
+
+}
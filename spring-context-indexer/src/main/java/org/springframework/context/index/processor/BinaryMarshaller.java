@@ -0,0 +1,228 @@
+package org.springframework.context.index.processor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Marshaller to write {@link CandidateComponentsMetadata} in the compact binary format,
+ * which {@code CandidateComponentsIndexLoader} can memory-map and query by stereotype
+ * and base package without materializing all entries.
+ *
+ * <p>All numbers are big-endian, offsets are absolute:
+ * <pre>
+ * header:      int magic ("\0SCI"), byte version, byte block size,
+ *              int type count, int stereotype count,
+ *              int block offsets start, int type data start, int postings start
+ * stereotypes: sorted by name, each a modified UTF-8 name (as DataOutput#writeUTF),
+ *              int postings offset (relative to postings start), int postings count
+ * blocks:      int offset of each block of types (relative to type data start)
+ * type data:   types sorted by their UTF-8 bytes, each a varint length of the prefix shared
+ *              with the previous type in the same block, a varint suffix length and the suffix bytes
+ * postings:    ascending int type indexes per stereotype
+ * </pre>
+ *
+ * @since 5.1.9
+ */
+abstract class BinaryMarshaller {
+
+	static final int MAGIC = 0x00534349;
+
+	static final byte VERSION = 1;
+
+	static final int BLOCK_SIZE = 16;
+
+
+	public static void write(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
+		TreeMap<byte[], Set<String>> types = new TreeMap<>(BinaryMarshaller::compare);
+		for (ItemMetadata item : metadata.getItems()) {
+			types.computeIfAbsent(item.getType().getBytes(StandardCharsets.UTF_8), t -> new LinkedHashSet<>())
+					.addAll(item.getStereotypes());
+		}
+
+		Map<String, List<Integer>> postings = new TreeMap<>();
+		ByteArrayOutputStream typeData = new ByteArrayOutputStream();
+		int[] blockOffsets = new int[(types.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+		byte[] previous = new byte[0];
+		int index = 0;
+		for (Map.Entry<byte[], Set<String>> entry : types.entrySet()) {
+			byte[] type = entry.getKey();
+			int shared = 0;
+			if (index % BLOCK_SIZE == 0) {
+				blockOffsets[index / BLOCK_SIZE] = typeData.size();
+			}
+			else {
+				int max = Math.min(previous.length, type.length);
+				while (shared < max && previous[shared] == type[shared]) {
+					shared++;
+				}
+			}
+			writeVarInt(typeData, shared);
+			writeVarInt(typeData, type.length - shared);
+			typeData.write(type, shared, type.length - shared);
+			for (String stereotype : entry.getValue()) {
+				postings.computeIfAbsent(stereotype, s -> new ArrayList<>()).add(index);
+			}
+			previous = type;
+			index++;
+		}
+
+		ByteArrayOutputStream directory = new ByteArrayOutputStream();
+		DataOutputStream directoryOut = new DataOutputStream(directory);
+		int postingsOffset = 0;
+		for (Map.Entry<String, List<Integer>> entry : postings.entrySet()) {
+			directoryOut.writeUTF(entry.getKey());
+			directoryOut.writeInt(postingsOffset);
+			directoryOut.writeInt(entry.getValue().size());
+			postingsOffset += entry.getValue().size() * 4;
+		}
+		directoryOut.flush();
+
+		int headerSize = 4 + 1 + 1 + 4 * 5;
+		int blockOffsetsStart = headerSize + directory.size();
+		int typeDataStart = blockOffsetsStart + blockOffsets.length * 4;
+		int postingsStart = typeDataStart + typeData.size();
+
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(MAGIC);
+		dataOut.writeByte(VERSION);
+		dataOut.writeByte(BLOCK_SIZE);
+		dataOut.writeInt(types.size());
+		dataOut.writeInt(postings.size());
+		dataOut.writeInt(blockOffsetsStart);
+		dataOut.writeInt(typeDataStart);
+		dataOut.writeInt(postingsStart);
+		directory.writeTo(dataOut);
+		for (int blockOffset : blockOffsets) {
+			dataOut.writeInt(blockOffset);
+		}
+		typeData.writeTo(dataOut);
+		for (List<Integer> typeIndexes : postings.values()) {
+			for (int typeIndex : typeIndexes) {
+				dataOut.writeInt(typeIndex);
+			}
+		}
+		dataOut.flush();
+	}
+
+	public static CandidateComponentsMetadata read(InputStream in) throws IOException {
+		DataInputStream dataIn = new DataInputStream(in);
+		if (dataIn.readInt() != MAGIC) {
+			throw new IOException("Not a binary candidate components index");
+		}
+		byte version = dataIn.readByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary candidate components index version " + version);
+		}
+		int blockSize = dataIn.readUnsignedByte();
+		int typeCount = dataIn.readInt();
+		int stereotypeCount = dataIn.readInt();
+		dataIn.readInt();
+		dataIn.readInt();
+		dataIn.readInt();
+
+		String[] stereotypes = new String[stereotypeCount];
+		int[] postingCounts = new int[stereotypeCount];
+		for (int i = 0; i < stereotypeCount; i++) {
+			stereotypes[i] = dataIn.readUTF();
+			dataIn.readInt();
+			postingCounts[i] = dataIn.readInt();
+		}
+		for (int i = 0; i < (typeCount + blockSize - 1) / blockSize; i++) {
+			dataIn.readInt();
+		}
+
+		String[] types = new String[typeCount];
+		byte[] previous = new byte[0];
+		for (int i = 0; i < typeCount; i++) {
+			int shared = readVarInt(dataIn);
+			byte[] type = Arrays.copyOf(previous, shared + readVarInt(dataIn));
+			dataIn.readFully(type, shared, type.length - shared);
+			types[i] = new String(type, StandardCharsets.UTF_8);
+			previous = type;
+		}
+
+		Map<String, Set<String>> stereotypesByType = new HashMap<>();
+		for (int i = 0; i < stereotypeCount; i++) {
+			for (int j = 0; j < postingCounts[i]; j++) {
+				stereotypesByType.computeIfAbsent(types[dataIn.readInt()], t -> new TreeSet<>()).add(stereotypes[i]);
+			}
+		}
+		CandidateComponentsMetadata result = new CandidateComponentsMetadata();
+		for (String type : types) {
+			result.add(new ItemMetadata(type, stereotypesByType.get(type)));
+		}
+		return result;
+	}
+
+	/**
+	 * Determine whether the given stream starts with a binary index,
+	 * leaving the stream at its original position.
+	 * @param in a stream supporting {@link InputStream#mark mark}
+	 */
+	public static boolean isBinary(BufferedInputStream in) throws IOException {
+		in.mark(4);
+		try {
+			int magic = 0;
+			for (int i = 0; i < 4; i++) {
+				int b = in.read();
+				if (b == -1) {
+					return false;
+				}
+				magic = (magic << 8) | b;
+			}
+			return (magic == MAGIC);
+		}
+		finally {
+			in.reset();
+		}
+	}
+
+
+	private static int compare(byte[] left, byte[] right) {
+		int max = Math.min(left.length, right.length);
+		for (int i = 0; i < max; i++) {
+			int result = (left[i] & 0xFF) - (right[i] & 0xFF);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return left.length - right.length;
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+		return value;
+	}
+
+}
@@ -45,7 +45,7 @@ public class CandidateComponentsIndexer implements Processor {
 
 	@Override
 	public Set<String> getSupportedOptions() {
-		return Collections.emptySet();
+		return Collections.singleton(MetadataStore.FORMAT_OPTION);
 	}
 
 	@Override
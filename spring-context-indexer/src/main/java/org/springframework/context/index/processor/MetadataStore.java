@@ -2,6 +2,7 @@
 
 package org.springframework.context.index.processor;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -19,11 +20,23 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	/**
+	 * Processor option to choose the format of the index: {@code properties}
+	 * (the default) or {@code binary}, see {@link BinaryMarshaller}.
+	 * @since 5.1.9
+	 */
+	static final String FORMAT_OPTION = "spring.components.format";
+
+	static final String BINARY_FORMAT = "binary";
+
 	private final ProcessingEnvironment environment;
 
+	private final boolean binary;
+
 
 	public MetadataStore(ProcessingEnvironment environment) {
 		this.environment = environment;
+		this.binary = BINARY_FORMAT.equals(environment.getOptions().get(FORMAT_OPTION));
 	}
 
 
@@ -40,7 +53,12 @@ class MetadataStore {
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
 			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
-				PropertiesMarshaller.write(metadata, outputStream);
+				if (this.binary) {
+					BinaryMarshaller.write(metadata, outputStream);
+				}
+				else {
+					PropertiesMarshaller.write(metadata, outputStream);
+				}
 			}
 		}
 	}
@@ -48,7 +66,12 @@ class MetadataStore {
 
 	private CandidateComponentsMetadata readMetadata(InputStream in) throws IOException {
 		try {
-			return PropertiesMarshaller.read(in);
+			// An index written by a previous compilation may use either format
+			BufferedInputStream bufferedIn = new BufferedInputStream(in);
+			if (BinaryMarshaller.isBinary(bufferedIn)) {
+				return BinaryMarshaller.read(bufferedIn);
+			}
+			return PropertiesMarshaller.read(bufferedIn);
 		}
 		finally {
 			in.close();
@@ -0,0 +1,77 @@
+package org.springframework.context.index.processor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.context.index.processor.Metadata.*;
+
+/**
+ * Tests for {@link BinaryMarshaller}.
+ *
+ * @since 5.1.9
+ */
+public class BinaryMarshallerTests {
+
+	@Test
+	public void readWrite() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		metadata.add(createItem("com.foo", "first", "second"));
+		metadata.add(createItem("com.bar", "first"));
+
+		CandidateComponentsMetadata readMetadata = readWrite(metadata);
+		assertThat(readMetadata, hasComponent("com.foo", "first", "second"));
+		assertThat(readMetadata, hasComponent("com.bar", "first"));
+		assertThat(readMetadata.getItems(), hasSize(2));
+	}
+
+	@Test
+	public void readWriteSeveralBlocks() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		for (int i = 0; i < 100; i++) {
+			metadata.add(createItem("com.example.service" + (i % 7) + ".Sample" + i, "stereotype" + (i % 3)));
+		}
+		metadata.add(createItem("com.example.élève.Sample", "first"));
+
+		CandidateComponentsMetadata readMetadata = readWrite(metadata);
+		assertThat(readMetadata.getItems(), hasSize(101));
+		for (int i = 0; i < 100; i++) {
+			assertThat(readMetadata, hasComponent("com.example.service" + (i % 7) + ".Sample" + i, "stereotype" + (i % 3)));
+		}
+		assertThat(readMetadata, hasComponent("com.example.élève.Sample", "first"));
+	}
+
+	@Test
+	public void isBinary() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		metadata.add(createItem("com.foo", "first"));
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		BinaryMarshaller.write(metadata, binary);
+		ByteArrayOutputStream properties = new ByteArrayOutputStream();
+		PropertiesMarshaller.write(metadata, properties);
+
+		BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(binary.toByteArray()));
+		assertTrue(BinaryMarshaller.isBinary(in));
+		assertThat(BinaryMarshaller.read(in), hasComponent("com.foo", "first"));
+		assertFalse(BinaryMarshaller.isBinary(new BufferedInputStream(new ByteArrayInputStream(properties.toByteArray()))));
+		assertFalse(BinaryMarshaller.isBinary(new BufferedInputStream(new ByteArrayInputStream(new byte[0]))));
+	}
+
+	private static CandidateComponentsMetadata readWrite(CandidateComponentsMetadata metadata) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		BinaryMarshaller.write(metadata, outputStream);
+		return BinaryMarshaller.read(new ByteArrayInputStream(outputStream.toByteArray()));
+	}
+
+	private static ItemMetadata createItem(String type, String... stereotypes) {
+		return new ItemMetadata(type, new HashSet<>(Arrays.asList(stereotypes)));
+	}
+
+}
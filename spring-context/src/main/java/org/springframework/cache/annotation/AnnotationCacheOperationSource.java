@@ -92,13 +92,13 @@ public class AnnotationCacheOperationSource extends AbstractFallbackCacheOperati
 	@Override
 	@Nullable
 	protected Collection<CacheOperation> findCacheOperations(Class<?> clazz) {
-		return determineCacheOperations(parser -> parser.parseCacheAnnotations(clazz));
+		return determineCacheOperations(parser -> (parser.isCandidateClass(clazz) ? parser.parseCacheAnnotations(clazz) : null));
 	}
 
 	@Override
 	@Nullable
 	protected Collection<CacheOperation> findCacheOperations(Method method) {
-		return determineCacheOperations(parser -> parser.parseCacheAnnotations(method));
+		return determineCacheOperations(parser -> (parser.isCandidateClass(method.getDeclaringClass()) ? parser.parseCacheAnnotations(method) : null));
 	}
 
 	/**
@@ -19,6 +19,21 @@ import org.springframework.lang.Nullable;
  */
 public interface CacheAnnotationParser {
 
+	/**
+	 * Determine whether the given class is a candidate for cache operations in the annotation format of this parser.
+	 * If this method returns {@code false}, the methods of the given class will not be parsed for cache annotations,
+	 * avoiding the annotation search for classes that cannot carry them.
+	 * The default implementation returns {@code true}, leading to regular introspection.
+	 * @param targetClass the class to introspect
+	 * @return {@code false} if the class is known to have no cache operation annotations at class or method level;
+	 * {@code true} otherwise
+	 * @since 5.1.9
+	 * @see org.springframework.core.annotation.AnnotationUtils#isCandidateClass
+	 */
+	default boolean isCandidateClass(Class<?> targetClass) {
+		return true;
+	}
+
 	/**
 	 * Parse the cache definition for the given class,
 	 * based on an annotation type understood by this parser.
@@ -30,6 +30,9 @@ class AspectJAutoProxyRegistrar implements ImportBeanDefinitionRegistrar {
 			if (enableAspectJAutoProxy.getBoolean("exposeProxy")) {
 				AopConfigUtils.forceAutoProxyCreatorToExposeProxy(registry);
 			}
+			if (enableAspectJAutoProxy.getBoolean("directDispatch")) {
+				AopConfigUtils.forceAutoProxyCreatorToUseDirectDispatch(registry);
+			}
 		}
 	}
 
@@ -0,0 +1,860 @@
+package org.springframework.context.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.LookupOverride;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.MethodOverride;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.io.support.PropertySourceFactory;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Snapshot of the bean definitions of a fully processed bean definition registry, i.e. after classpath scanning and
+ * configuration class parsing, along with the state that configuration class parsing leaves outside the registry:
+ * the {@link PropertySource @PropertySource} declarations and the import relationships needed for {@link ImportAware}.
+ *
+ * The binary format is a sequence of tagged records with a shared string table, so that class names,
+ * scopes and bean names repeated across definitions are stored once. Only the value types produced by the
+ * standard bean definition readers are supported; anything else fails when writing the snapshot, not when loading it.
+ * @since 5.1.9
+ * 简而言之，就是构建时把处理完成的 BeanDefinition 序列化为紧凑的二进制文件，运行时直接读取，跳过类路径扫描与配置类解析
+ * @see BeanDefinitionSnapshotGenerator
+ * @see BeanDefinitionSnapshotApplicationContext
+ */
+final class BeanDefinitionSnapshot {
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshot.class);
+
+	// "SBDS"
+	private static final int MAGIC = 0x53424453;
+
+	private static final int VERSION = 2;
+
+	// Bean definition kinds
+	private static final int GENERIC_DEFINITION = 0;
+
+	private static final int ROOT_DEFINITION = 1;
+
+	private static final int BEAN_METHOD_DEFINITION = 2;
+
+	// Bean definition flags
+	private static final int ABSTRACT = 1;
+
+	private static final int LAZY_INIT = 1 << 1;
+
+	private static final int AUTOWIRE_CANDIDATE = 1 << 2;
+
+	private static final int PRIMARY = 1 << 3;
+
+	private static final int NON_PUBLIC_ACCESS_ALLOWED = 1 << 4;
+
+	private static final int LENIENT_CONSTRUCTOR_RESOLUTION = 1 << 5;
+
+	private static final int ENFORCE_INIT_METHOD = 1 << 6;
+
+	private static final int ENFORCE_DESTROY_METHOD = 1 << 7;
+
+	private static final int SYNTHETIC = 1 << 8;
+
+	private static final int UNIQUE_FACTORY_METHOD = 1 << 9;
+
+	// Value tags
+	private static final int NULL = 0;
+
+	private static final int STRING = 1;
+
+	private static final int TYPED_STRING = 2;
+
+	private static final int BEAN_REFERENCE = 3;
+
+	private static final int BEAN_NAME_REFERENCE = 4;
+
+	private static final int BOOLEAN = 5;
+
+	private static final int INTEGER = 6;
+
+	private static final int LONG = 7;
+
+	private static final int DOUBLE = 8;
+
+	private static final int FLOAT = 9;
+
+	private static final int SHORT = 10;
+
+	private static final int BYTE = 11;
+
+	private static final int CHARACTER = 12;
+
+	private static final int CLASS = 13;
+
+	private static final int ENUM = 14;
+
+	private static final int MANAGED_ARRAY = 15;
+
+	private static final int MANAGED_LIST = 16;
+
+	private static final int MANAGED_SET = 17;
+
+	private static final int MANAGED_MAP = 18;
+
+	private static final int MANAGED_PROPERTIES = 19;
+
+	private static final int LIST = 20;
+
+	private static final int SET = 21;
+
+	private static final int MAP = 22;
+
+	private static final int PROPERTIES = 23;
+
+	private static final int BEAN_DEFINITION_HOLDER = 24;
+
+	private static final int BEAN_DEFINITION = 25;
+
+	/** Top-level bean definitions along with their aliases, in registration order. */
+	private final List<BeanDefinitionHolder> beanDefinitions;
+
+	/** Imported class name to the name of the class importing it. */
+	private final Map<String, String> importingClassNames;
+
+	/** {@code @PropertySource} attributes, in processing order. */
+	private final List<AnnotationAttributes> propertySources;
+
+	BeanDefinitionSnapshot(List<BeanDefinitionHolder> beanDefinitions, Map<String, String> importingClassNames, List<AnnotationAttributes> propertySources) {
+		this.beanDefinitions = beanDefinitions;
+		this.importingClassNames = importingClassNames;
+		this.propertySources = propertySources;
+	}
+
+	public List<BeanDefinitionHolder> getBeanDefinitions() {
+		return this.beanDefinitions;
+	}
+
+	public Map<String, String> getImportingClassNames() {
+		return this.importingClassNames;
+	}
+
+	public List<AnnotationAttributes> getPropertySources() {
+		return this.propertySources;
+	}
+
+	/**
+	 * Write this snapshot to the given stream, leaving the stream open.
+	 * @throws IllegalStateException if a bean definition contains a value that cannot be snapshotted
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		SnapshotOutput output = new SnapshotOutput(new DataOutputStream(new BufferedOutputStream(out)));
+		output.out.writeInt(MAGIC);
+		output.out.writeShort(VERSION);
+		output.writeVarInt(this.importingClassNames.size());
+		for (Map.Entry<String, String> entry : this.importingClassNames.entrySet()) {
+			output.writeString(entry.getKey());
+			output.writeString(entry.getValue());
+		}
+		output.writeVarInt(this.propertySources.size());
+		for (AnnotationAttributes propertySource : this.propertySources) {
+			output.writePropertySource(propertySource);
+		}
+		output.writeVarInt(this.beanDefinitions.size());
+		for (BeanDefinitionHolder holder : this.beanDefinitions) {
+			output.writeHolder(holder);
+		}
+		output.out.flush();
+	}
+
+	/**
+	 * Read a snapshot from the given stream, leaving the stream open.
+	 * @param in the stream to read from
+	 * @param classLoader the ClassLoader to resolve class and enum values against
+	 */
+	public static BeanDefinitionSnapshot readFrom(InputStream in, @Nullable ClassLoader classLoader) throws IOException {
+		SnapshotInput input = new SnapshotInput(new DataInputStream(new BufferedInputStream(in)), classLoader);
+		if (input.in.readInt() != MAGIC) {
+			throw new IOException("Not a bean definition snapshot");
+		}
+		int version = input.in.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported bean definition snapshot version " + version + " - regenerate the snapshot");
+		}
+		int importCount = input.readVarInt();
+		Map<String, String> importingClassNames = new LinkedHashMap<>(importCount);
+		for (int i = 0; i < importCount; i++) {
+			importingClassNames.put(input.readRequiredString(), input.readRequiredString());
+		}
+		int propertySourceCount = input.readVarInt();
+		List<AnnotationAttributes> propertySources = new ArrayList<>(propertySourceCount);
+		for (int i = 0; i < propertySourceCount; i++) {
+			propertySources.add(input.readPropertySource());
+		}
+		int definitionCount = input.readVarInt();
+		List<BeanDefinitionHolder> beanDefinitions = new ArrayList<>(definitionCount);
+		for (int i = 0; i < definitionCount; i++) {
+			beanDefinitions.add(input.readHolder());
+		}
+		return new BeanDefinitionSnapshot(beanDefinitions, importingClassNames, propertySources);
+	}
+
+
+	private static class SnapshotOutput {
+
+		final DataOutputStream out;
+
+		private final Map<String, Integer> strings = new HashMap<>(256);
+
+		// Name of the top-level bean definition currently written, for error messages.
+		@Nullable
+		private String currentBeanName;
+
+		SnapshotOutput(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeVarInt(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				this.out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			this.out.writeByte(value);
+		}
+
+		// 0 for null, 1 followed by the string for its first occurrence, index + 2 for a repeated occurrence.
+		// A string is written as the length of its UTF-8 encoding followed by the bytes: unlike writeUTF(),
+		// this is not limited to 65535 bytes, e.g. for inlined SpEL or JSON values.
+		void writeString(@Nullable String value) throws IOException {
+			if (value == null) {
+				writeVarInt(0);
+				return;
+			}
+			Integer index = this.strings.get(value);
+			if (index != null) {
+				writeVarInt(index + 2);
+			}else {
+				this.strings.put(value, this.strings.size());
+				writeVarInt(1);
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(bytes.length);
+				this.out.write(bytes);
+			}
+		}
+
+		void writeStrings(@Nullable String[] values) throws IOException {
+			writeVarInt(values != null ? values.length + 1 : 0);
+			if (values != null) {
+				for (String value : values) writeString(value);
+			}
+		}
+
+		void writePropertySource(AnnotationAttributes propertySource) throws IOException {
+			writeString(propertySource.getString("name"));
+			writeStrings(propertySource.getStringArray("value"));
+			writeString(propertySource.getString("encoding"));
+			this.out.writeBoolean(propertySource.getBoolean("ignoreResourceNotFound"));
+			writeString(propertySource.getClass("factory").getName());
+		}
+
+		void writeHolder(BeanDefinitionHolder holder) throws IOException {
+			String outerBeanName = this.currentBeanName;
+			if (outerBeanName == null) this.currentBeanName = holder.getBeanName();
+			writeString(holder.getBeanName());
+			writeStrings(holder.getAliases());
+			writeDefinition(holder.getBeanDefinition());
+			this.currentBeanName = outerBeanName;
+		}
+
+		void writeDefinition(BeanDefinition definition) throws IOException {
+			if (!(definition instanceof AbstractBeanDefinition)) {
+				throw unsupported("bean definition of type [" + definition.getClass().getName() + "]");
+			}
+			AbstractBeanDefinition bd = (AbstractBeanDefinition) definition;
+			if (bd.getInstanceSupplier() != null) {
+				throw unsupported("instance supplier");
+			}
+			MethodMetadata factoryMethodMetadata = (bd instanceof AnnotatedBeanDefinition ? ((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata() : null);
+			int kind = (factoryMethodMetadata != null ? BEAN_METHOD_DEFINITION : bd.getParentName() != null ? GENERIC_DEFINITION : ROOT_DEFINITION);
+			this.out.writeByte(kind);
+			int flags = 0;
+			if (bd.isAbstract()) flags |= ABSTRACT;
+			if (bd.isLazyInit()) flags |= LAZY_INIT;
+			if (bd.isAutowireCandidate()) flags |= AUTOWIRE_CANDIDATE;
+			if (bd.isPrimary()) flags |= PRIMARY;
+			if (bd.isNonPublicAccessAllowed()) flags |= NON_PUBLIC_ACCESS_ALLOWED;
+			if (bd.isLenientConstructorResolution()) flags |= LENIENT_CONSTRUCTOR_RESOLUTION;
+			if (bd.isEnforceInitMethod()) flags |= ENFORCE_INIT_METHOD;
+			if (bd.isEnforceDestroyMethod()) flags |= ENFORCE_DESTROY_METHOD;
+			if (bd.isSynthetic()) flags |= SYNTHETIC;
+			// Same as ConfigurationClassBeanDefinitionReader: instance @Bean methods are unique by name
+			if (factoryMethodMetadata != null && !factoryMethodMetadata.isStatic()) flags |= UNIQUE_FACTORY_METHOD;
+			writeVarInt(flags);
+			writeString(bd.getParentName());
+			writeString(bd.getBeanClassName());
+			writeString(bd.getScope());
+			writeString(bd.getFactoryBeanName());
+			writeString(bd.getFactoryMethodName());
+			writeString(bd.getInitMethodName());
+			writeString(bd.getDestroyMethodName());
+			writeString(bd.getDescription());
+			writeString(bd.getResourceDescription());
+			writeVarInt(bd.getAutowireMode());
+			writeVarInt(bd.getDependencyCheck());
+			writeVarInt(bd.getRole());
+			writeStrings(bd.getDependsOn());
+			Set<AutowireCandidateQualifier> qualifiers = bd.getQualifiers();
+			writeVarInt(qualifiers.size());
+			for (AutowireCandidateQualifier qualifier : qualifiers) {
+				writeString(qualifier.getTypeName());
+				writeAttributes(qualifier.attributeNames(), qualifier::getAttribute);
+			}
+			writeConstructorArguments(bd.getConstructorArgumentValues());
+			MutablePropertyValues pvs = bd.getPropertyValues();
+			writeVarInt(pvs.size());
+			for (PropertyValue pv : pvs.getPropertyValueList()) {
+				writeString(pv.getName());
+				this.out.writeBoolean(pv.isOptional());
+				writeValue(pv.getValue());
+			}
+			Set<MethodOverride> overrides = bd.getMethodOverrides().getOverrides();
+			writeVarInt(overrides.size());
+			for (MethodOverride override : overrides) {
+				if (!(override instanceof LookupOverride)) {
+					throw unsupported("method override of type [" + override.getClass().getName() + "]");
+				}
+				writeString(override.getMethodName());
+				writeString(((LookupOverride) override).getBeanName());
+			}
+			BeanDefinitionHolder decoratedDefinition = (bd instanceof RootBeanDefinition ? ((RootBeanDefinition) bd).getDecoratedDefinition() : null);
+			this.out.writeBoolean(decoratedDefinition != null);
+			if (decoratedDefinition != null) writeHolder(decoratedDefinition);
+			writeAttributes(bd.attributeNames(), bd::getAttribute);
+		}
+
+		private void writeConstructorArguments(ConstructorArgumentValues cargs) throws IOException {
+			Map<Integer, ConstructorArgumentValues.ValueHolder> indexedArguments = cargs.getIndexedArgumentValues();
+			writeVarInt(indexedArguments.size());
+			for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : indexedArguments.entrySet()) {
+				writeVarInt(entry.getKey());
+				writeValueHolder(entry.getValue());
+			}
+			List<ConstructorArgumentValues.ValueHolder> genericArguments = cargs.getGenericArgumentValues();
+			writeVarInt(genericArguments.size());
+			for (ConstructorArgumentValues.ValueHolder valueHolder : genericArguments) {
+				writeValueHolder(valueHolder);
+			}
+		}
+
+		private void writeValueHolder(ConstructorArgumentValues.ValueHolder valueHolder) throws IOException {
+			writeValue(valueHolder.getValue());
+			writeString(valueHolder.getType());
+			writeString(valueHolder.getName());
+		}
+
+		// Only simple attribute values can be snapshotted: other attributes are runtime metadata and get dropped.
+		private void writeAttributes(String[] names, AttributeSource source) throws IOException {
+			List<String> supported = new ArrayList<>(names.length);
+			for (String name : names) {
+				Object value = source.getAttribute(name);
+				if (isSimpleValue(value)) {
+					supported.add(name);
+				}else if (logger.isDebugEnabled()) {
+					logger.debug("Dropping attribute '" + name + "' of type [" + value.getClass().getName() +
+							"] from snapshot of bean '" + this.currentBeanName + "'");
+				}
+			}
+			writeVarInt(supported.size());
+			for (String name : supported) {
+				writeString(name);
+				writeValue(source.getAttribute(name));
+			}
+		}
+
+		private boolean isSimpleValue(@Nullable Object value) {
+			return (value == null || value instanceof String || value instanceof Class || value instanceof Enum || ClassUtils.isPrimitiveWrapper(value.getClass()));
+		}
+
+		void writeValue(@Nullable Object value) throws IOException {
+			if (value == null) {
+				this.out.writeByte(NULL);
+			}else if (value instanceof String) {
+				this.out.writeByte(STRING);
+				writeString((String) value);
+			}else if (value instanceof TypedStringValue) {
+				TypedStringValue typedValue = (TypedStringValue) value;
+				this.out.writeByte(TYPED_STRING);
+				writeString(typedValue.getValue());
+				writeString(typedValue.getTargetTypeName());
+				writeString(typedValue.getSpecifiedTypeName());
+				this.out.writeBoolean(typedValue.isDynamic());
+			}else if (value instanceof RuntimeBeanReference) {
+				this.out.writeByte(BEAN_REFERENCE);
+				writeString(((RuntimeBeanReference) value).getBeanName());
+				this.out.writeBoolean(((RuntimeBeanReference) value).isToParent());
+			}else if (value instanceof RuntimeBeanNameReference) {
+				this.out.writeByte(BEAN_NAME_REFERENCE);
+				writeString(((RuntimeBeanNameReference) value).getBeanName());
+			}else if (value instanceof Boolean) {
+				this.out.writeByte(BOOLEAN);
+				this.out.writeBoolean((Boolean) value);
+			}else if (value instanceof Integer) {
+				this.out.writeByte(INTEGER);
+				this.out.writeInt((Integer) value);
+			}else if (value instanceof Long) {
+				this.out.writeByte(LONG);
+				this.out.writeLong((Long) value);
+			}else if (value instanceof Double) {
+				this.out.writeByte(DOUBLE);
+				this.out.writeDouble((Double) value);
+			}else if (value instanceof Float) {
+				this.out.writeByte(FLOAT);
+				this.out.writeFloat((Float) value);
+			}else if (value instanceof Short) {
+				this.out.writeByte(SHORT);
+				this.out.writeShort((Short) value);
+			}else if (value instanceof Byte) {
+				this.out.writeByte(BYTE);
+				this.out.writeByte((Byte) value);
+			}else if (value instanceof Character) {
+				this.out.writeByte(CHARACTER);
+				this.out.writeChar((Character) value);
+			}else if (value instanceof Class) {
+				this.out.writeByte(CLASS);
+				writeString(((Class<?>) value).getName());
+			}else if (value instanceof Enum) {
+				this.out.writeByte(ENUM);
+				writeString(((Enum<?>) value).getDeclaringClass().getName());
+				writeString(((Enum<?>) value).name());
+			}else if (value instanceof ManagedArray) {
+				this.out.writeByte(MANAGED_ARRAY);
+				writeString(((ManagedArray) value).getElementTypeName());
+				this.out.writeBoolean(((ManagedArray) value).isMergeEnabled());
+				writeElements((ManagedArray) value);
+			}else if (value instanceof ManagedList) {
+				this.out.writeByte(MANAGED_LIST);
+				writeString(((ManagedList<?>) value).getElementTypeName());
+				this.out.writeBoolean(((ManagedList<?>) value).isMergeEnabled());
+				writeElements((ManagedList<?>) value);
+			}else if (value instanceof ManagedSet) {
+				this.out.writeByte(MANAGED_SET);
+				writeString(((ManagedSet<?>) value).getElementTypeName());
+				this.out.writeBoolean(((ManagedSet<?>) value).isMergeEnabled());
+				writeElements((ManagedSet<?>) value);
+			}else if (value instanceof ManagedMap) {
+				this.out.writeByte(MANAGED_MAP);
+				writeString(((ManagedMap<?, ?>) value).getKeyTypeName());
+				writeString(((ManagedMap<?, ?>) value).getValueTypeName());
+				this.out.writeBoolean(((ManagedMap<?, ?>) value).isMergeEnabled());
+				writeEntries((ManagedMap<?, ?>) value);
+			}else if (value instanceof ManagedProperties) {
+				this.out.writeByte(MANAGED_PROPERTIES);
+				this.out.writeBoolean(((ManagedProperties) value).isMergeEnabled());
+				writeEntries((ManagedProperties) value);
+			}else if (value instanceof Properties) {
+				this.out.writeByte(PROPERTIES);
+				writeEntries((Properties) value);
+			}else if (value instanceof List) {
+				this.out.writeByte(LIST);
+				writeElements((List<?>) value);
+			}else if (value instanceof Set) {
+				this.out.writeByte(SET);
+				writeElements((Set<?>) value);
+			}else if (value instanceof Map) {
+				this.out.writeByte(MAP);
+				writeEntries((Map<?, ?>) value);
+			}else if (value instanceof BeanDefinitionHolder) {
+				this.out.writeByte(BEAN_DEFINITION_HOLDER);
+				writeHolder((BeanDefinitionHolder) value);
+			}else if (value instanceof BeanDefinition) {
+				this.out.writeByte(BEAN_DEFINITION);
+				writeDefinition((BeanDefinition) value);
+			}else {
+				throw unsupported("value of type [" + value.getClass().getName() + "]");
+			}
+		}
+
+		private void writeElements(Collection<?> elements) throws IOException {
+			writeVarInt(elements.size());
+			for (Object element : elements) writeValue(element);
+		}
+
+		private void writeEntries(Map<?, ?> entries) throws IOException {
+			writeVarInt(entries.size());
+			for (Map.Entry<?, ?> entry : entries.entrySet()) {
+				writeValue(entry.getKey());
+				writeValue(entry.getValue());
+			}
+		}
+
+		private IllegalStateException unsupported(String what) {
+			return new IllegalStateException("Cannot snapshot bean definition '" + this.currentBeanName + "': " + what + " not supported");
+		}
+	}
+
+
+	@FunctionalInterface
+	private interface AttributeSource {
+
+		@Nullable
+		Object getAttribute(String name);
+	}
+
+
+	private static class SnapshotInput {
+
+		final DataInputStream in;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		private final List<String> strings = new ArrayList<>(256);
+
+		SnapshotInput(DataInputStream in, @Nullable ClassLoader classLoader) {
+			this.in = in;
+			this.classLoader = classLoader;
+		}
+
+		int readVarInt() throws IOException {
+			int value = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = this.in.readUnsignedByte();
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while ((b & 0x80) != 0);
+			return value;
+		}
+
+		@Nullable
+		String readString() throws IOException {
+			int index = readVarInt();
+			if (index == 0) return null;
+			if (index == 1) {
+				byte[] bytes = new byte[readVarInt()];
+				this.in.readFully(bytes);
+				String value = new String(bytes, StandardCharsets.UTF_8);
+				this.strings.add(value);
+				return value;
+			}
+			return this.strings.get(index - 2);
+		}
+
+		String readRequiredString() throws IOException {
+			String value = readString();
+			if (value == null) throw new IOException("Corrupt bean definition snapshot: unexpected null value");
+			return value;
+		}
+
+		@Nullable
+		String[] readStrings() throws IOException {
+			int count = readVarInt();
+			if (count == 0) return null;
+			String[] values = new String[count - 1];
+			for (int i = 0; i < values.length; i++) values[i] = readString();
+			return values;
+		}
+
+		AnnotationAttributes readPropertySource() throws IOException {
+			AnnotationAttributes propertySource = new AnnotationAttributes(PropertySource.class);
+			String name = readString();
+			propertySource.put("name", (name != null ? name : ""));
+			String[] locations = readStrings();
+			propertySource.put("value", (locations != null ? locations : new String[0]));
+			String encoding = readString();
+			propertySource.put("encoding", (encoding != null ? encoding : ""));
+			propertySource.put("ignoreResourceNotFound", this.in.readBoolean());
+			propertySource.put("factory", resolveClass(readRequiredString()).asSubclass(PropertySourceFactory.class));
+			return propertySource;
+		}
+
+		BeanDefinitionHolder readHolder() throws IOException {
+			String beanName = readRequiredString();
+			String[] aliases = readStrings();
+			return new BeanDefinitionHolder(readDefinition(), beanName, aliases);
+		}
+
+		AbstractBeanDefinition readDefinition() throws IOException {
+			int kind = this.in.readByte();
+			AbstractBeanDefinition bd = (kind == BEAN_METHOD_DEFINITION ? new BeanMethodDefinition() : kind == ROOT_DEFINITION ? new RootBeanDefinition() : new GenericBeanDefinition());
+			int flags = readVarInt();
+			bd.setAbstract((flags & ABSTRACT) != 0);
+			bd.setLazyInit((flags & LAZY_INIT) != 0);
+			bd.setAutowireCandidate((flags & AUTOWIRE_CANDIDATE) != 0);
+			bd.setPrimary((flags & PRIMARY) != 0);
+			bd.setNonPublicAccessAllowed((flags & NON_PUBLIC_ACCESS_ALLOWED) != 0);
+			bd.setLenientConstructorResolution((flags & LENIENT_CONSTRUCTOR_RESOLUTION) != 0);
+			bd.setEnforceInitMethod((flags & ENFORCE_INIT_METHOD) != 0);
+			bd.setEnforceDestroyMethod((flags & ENFORCE_DESTROY_METHOD) != 0);
+			bd.setSynthetic((flags & SYNTHETIC) != 0);
+			String parentName = readString();
+			if (parentName != null) bd.setParentName(parentName);
+			bd.setBeanClassName(readString());
+			bd.setScope(readString());
+			bd.setFactoryBeanName(readString());
+			String factoryMethodName = readString();
+			if (factoryMethodName != null && (flags & UNIQUE_FACTORY_METHOD) != 0) {
+				((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+			}else {
+				bd.setFactoryMethodName(factoryMethodName);
+			}
+			bd.setInitMethodName(readString());
+			bd.setDestroyMethodName(readString());
+			bd.setDescription(readString());
+			bd.setResourceDescription(readString());
+			bd.setAutowireMode(readVarInt());
+			bd.setDependencyCheck(readVarInt());
+			bd.setRole(readVarInt());
+			bd.setDependsOn(readStrings());
+			int qualifierCount = readVarInt();
+			for (int i = 0; i < qualifierCount; i++) {
+				AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(readRequiredString());
+				readAttributes(qualifier::setAttribute);
+				bd.addQualifier(qualifier);
+			}
+			ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+			int indexedCount = readVarInt();
+			for (int i = 0; i < indexedCount; i++) {
+				int index = readVarInt();
+				cargs.addIndexedArgumentValue(index, readValueHolder());
+			}
+			int genericCount = readVarInt();
+			for (int i = 0; i < genericCount; i++) {
+				cargs.addGenericArgumentValue(readValueHolder());
+			}
+			int propertyCount = readVarInt();
+			MutablePropertyValues pvs = bd.getPropertyValues();
+			for (int i = 0; i < propertyCount; i++) {
+				String name = readRequiredString();
+				boolean optional = this.in.readBoolean();
+				PropertyValue pv = new PropertyValue(name, readValue());
+				pv.setOptional(optional);
+				pvs.addPropertyValue(pv);
+			}
+			int overrideCount = readVarInt();
+			for (int i = 0; i < overrideCount; i++) {
+				bd.getMethodOverrides().addOverride(new LookupOverride(readRequiredString(), readString()));
+			}
+			if (this.in.readBoolean()) {
+				((RootBeanDefinition) bd).setDecoratedDefinition(readHolder());
+			}
+			readAttributes(bd::setAttribute);
+			return bd;
+		}
+
+		private ConstructorArgumentValues.ValueHolder readValueHolder() throws IOException {
+			Object value = readValue();
+			return new ConstructorArgumentValues.ValueHolder(value, readString(), readString());
+		}
+
+		private void readAttributes(AttributeTarget target) throws IOException {
+			int count = readVarInt();
+			for (int i = 0; i < count; i++) {
+				target.setAttribute(readRequiredString(), readValue());
+			}
+		}
+
+		@Nullable
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Object readValue() throws IOException {
+			int tag = this.in.readByte();
+			switch (tag) {
+				case NULL:
+					return null;
+				case STRING:
+					return readString();
+				case TYPED_STRING: {
+					TypedStringValue typedValue = new TypedStringValue(readString());
+					typedValue.setTargetTypeName(readString());
+					typedValue.setSpecifiedTypeName(readString());
+					if (this.in.readBoolean()) typedValue.setDynamic();
+					return typedValue;
+				}
+				case BEAN_REFERENCE: {
+					String beanName = readRequiredString();
+					return new RuntimeBeanReference(beanName, this.in.readBoolean());
+				}
+				case BEAN_NAME_REFERENCE:
+					return new RuntimeBeanNameReference(readRequiredString());
+				case BOOLEAN:
+					return this.in.readBoolean();
+				case INTEGER:
+					return this.in.readInt();
+				case LONG:
+					return this.in.readLong();
+				case DOUBLE:
+					return this.in.readDouble();
+				case FLOAT:
+					return this.in.readFloat();
+				case SHORT:
+					return this.in.readShort();
+				case BYTE:
+					return this.in.readByte();
+				case CHARACTER:
+					return this.in.readChar();
+				case CLASS:
+					return resolveClass(readRequiredString());
+				case ENUM: {
+					Class enumType = resolveClass(readRequiredString());
+					return Enum.valueOf(enumType, readRequiredString());
+				}
+				case MANAGED_ARRAY: {
+					String elementTypeName = readRequiredString();
+					boolean mergeEnabled = this.in.readBoolean();
+					int size = readVarInt();
+					ManagedArray array = new ManagedArray(elementTypeName, size);
+					array.setMergeEnabled(mergeEnabled);
+					readElements(array, size);
+					return array;
+				}
+				case MANAGED_LIST: {
+					ManagedList<Object> list = new ManagedList<>();
+					list.setElementTypeName(readString());
+					list.setMergeEnabled(this.in.readBoolean());
+					readElements(list, readVarInt());
+					return list;
+				}
+				case MANAGED_SET: {
+					ManagedSet<Object> set = new ManagedSet<>();
+					set.setElementTypeName(readString());
+					set.setMergeEnabled(this.in.readBoolean());
+					readElements(set, readVarInt());
+					return set;
+				}
+				case MANAGED_MAP: {
+					ManagedMap<Object, Object> map = new ManagedMap<>();
+					map.setKeyTypeName(readString());
+					map.setValueTypeName(readString());
+					map.setMergeEnabled(this.in.readBoolean());
+					readEntries(map);
+					return map;
+				}
+				case MANAGED_PROPERTIES: {
+					ManagedProperties properties = new ManagedProperties();
+					properties.setMergeEnabled(this.in.readBoolean());
+					readEntries(properties);
+					return properties;
+				}
+				case PROPERTIES: {
+					Properties properties = new Properties();
+					readEntries(properties);
+					return properties;
+				}
+				case LIST: {
+					int size = readVarInt();
+					List<Object> list = new ArrayList<>(size);
+					readElements(list, size);
+					return list;
+				}
+				case SET: {
+					int size = readVarInt();
+					Set<Object> set = new LinkedHashSet<>(size);
+					readElements(set, size);
+					return set;
+				}
+				case MAP: {
+					Map<Object, Object> map = new LinkedHashMap<>();
+					readEntries(map);
+					return map;
+				}
+				case BEAN_DEFINITION_HOLDER:
+					return readHolder();
+				case BEAN_DEFINITION:
+					return readDefinition();
+				default:
+					throw new IOException("Corrupt bean definition snapshot: unknown value tag " + tag);
+			}
+		}
+
+		private void readElements(Collection<Object> elements, int size) throws IOException {
+			for (int i = 0; i < size; i++) elements.add(readValue());
+		}
+
+		private void readEntries(Map<Object, Object> entries) throws IOException {
+			int size = readVarInt();
+			for (int i = 0; i < size; i++) {
+				Object key = readValue();
+				entries.put(key, readValue());
+			}
+		}
+
+		private Class<?> resolveClass(String className) throws IOException {
+			try {
+				return ClassUtils.forName(className, this.classLoader);
+			}catch (ClassNotFoundException | LinkageError ex) {
+				throw new IOException("Class [" + className + "] referenced by bean definition snapshot not found", ex);
+			}
+		}
+	}
+
+
+	@FunctionalInterface
+	private interface AttributeTarget {
+
+		void setAttribute(String name, @Nullable Object value);
+	}
+
+
+	/**
+	 * Counterpart of {@code ConfigurationClassBeanDefinition} for {@link Bean @Bean} methods read from a snapshot:
+	 * only considers {@code @Bean}-annotated methods as factory method candidates.
+	 */
+	@SuppressWarnings("serial")
+	private static class BeanMethodDefinition extends RootBeanDefinition {
+
+		BeanMethodDefinition() {
+		}
+
+		private BeanMethodDefinition(BeanMethodDefinition original) {
+			super(original);
+		}
+
+		@Override
+		public boolean isFactoryMethod(Method candidate) {
+			return (super.isFactoryMethod(candidate) && BeanAnnotationHelper.isBeanAnnotated(candidate));
+		}
+
+		@Override
+		public BeanMethodDefinition cloneBeanDefinition() {
+			return new BeanMethodDefinition(this);
+		}
+	}
+
+}
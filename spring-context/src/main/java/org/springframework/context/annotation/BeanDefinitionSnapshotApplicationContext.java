@@ -0,0 +1,151 @@
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.parsing.FailFastProblemReporter;
+import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Standalone application context, loading the bean definitions from a snapshot written at build time by a
+ * {@link BeanDefinitionSnapshotGenerator} instead of scanning the classpath and parsing configuration classes at
+ * startup. {@link Configuration @Configuration} classes are still enhanced, and {@link ImportAware} beans as well as
+ * {@link PropertySource @PropertySource} declarations behave the same as with an {@link AnnotationConfigApplicationContext}.
+ *
+ * Note that the snapshot reflects the classes and the {@link Conditional @Conditional}/{@link Profile @Profile}
+ * outcome at the time of generation: it needs to be regenerated whenever those change.
+ * @since 5.1.9
+ * 简而言之，就是跳过启动时的类路径扫描与配置类解析，直接从快照文件注册 BeanDefinition
+ * @see BeanDefinitionSnapshotGenerator
+ */
+public class BeanDefinitionSnapshotApplicationContext extends GenericApplicationContext {
+
+	// Default location of the snapshot within the classpath.
+	public static final String DEFAULT_SNAPSHOT_LOCATION = "META-INF/spring-bean-definitions.snapshot";
+
+	/**
+	 * Create a new BeanDefinitionSnapshotApplicationContext that needs to be populated
+	 * through {@link #load} calls and then manually {@link #refresh refreshed}.
+	 */
+	public BeanDefinitionSnapshotApplicationContext() {
+		// Same BeanFactory setup as AnnotationConfigUtils#registerAnnotationConfigProcessors, the processors themselves are part of the snapshot
+		DefaultListableBeanFactory beanFactory = getDefaultListableBeanFactory();
+		beanFactory.setDependencyComparator(AnnotationAwareOrderComparator.INSTANCE);
+		beanFactory.setAutowireCandidateResolver(new ContextAnnotationAutowireCandidateResolver());
+	}
+
+	/**
+	 * Create a new BeanDefinitionSnapshotApplicationContext, loading the snapshot at the given classpath location
+	 * and automatically refreshing the context.
+	 * @param location the classpath location of the snapshot, e.g. {@link #DEFAULT_SNAPSHOT_LOCATION}
+	 */
+	public BeanDefinitionSnapshotApplicationContext(String location) {
+		this();
+		load(new ClassPathResource(location, getClassLoader()));
+		refresh();
+	}
+
+	/**
+	 * Create a new BeanDefinitionSnapshotApplicationContext, loading the given snapshot and automatically refreshing the context.
+	 * @param snapshot the snapshot resource
+	 */
+	public BeanDefinitionSnapshotApplicationContext(Resource snapshot) {
+		this();
+		load(snapshot);
+		refresh();
+	}
+
+	/**
+	 * Register the bean definitions contained in the given snapshot.
+	 * @param snapshot the snapshot resource
+	 * @throws BeanDefinitionStoreException if the snapshot cannot be read
+	 */
+	public void load(Resource snapshot) throws BeanDefinitionStoreException {
+		BeanDefinitionSnapshot loaded;
+		try (InputStream in = snapshot.getInputStream()) {
+			loaded = BeanDefinitionSnapshot.readFrom(in, getClassLoader());
+		}catch (IOException | IllegalStateException ex) {
+			throw new BeanDefinitionStoreException("Failed to read bean definition snapshot from " + snapshot, ex);
+		}
+		for (BeanDefinitionHolder holder : loaded.getBeanDefinitions()) {
+			BeanDefinitionReaderUtils.registerBeanDefinition(holder, this);
+		}
+		addBeanFactoryPostProcessor(beanFactory -> postProcessSnapshotBeanFactory(beanFactory, loaded));
+	}
+
+	// Perform the part of the configuration class processing that has not been done at build time
+	private void postProcessSnapshotBeanFactory(ConfigurableListableBeanFactory beanFactory, BeanDefinitionSnapshot snapshot) {
+		if (!snapshot.getPropertySources().isEmpty()) {
+			ConfigurationClassParser parser = new ConfigurationClassParser(new CachingMetadataReaderFactory(this), new FailFastProblemReporter(),
+					getEnvironment(), this, new AnnotationBeanNameGenerator(), this);
+			for (AnnotationAttributes propertySource : snapshot.getPropertySources()) {
+				try {
+					parser.processPropertySource(propertySource);
+				}catch (IOException ex) {
+					throw new BeanDefinitionStoreException("Failed to process @PropertySource " + propertySource, ex);
+				}
+			}
+		}
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		ClassLoader classLoader = getClassLoader();
+		if (classLoader != null) postProcessor.setBeanClassLoader(classLoader);
+		postProcessor.postProcessSnapshotBeanFactory(beanFactory, new SnapshotImportRegistry(snapshot.getImportingClassNames(), classLoader));
+	}
+
+
+	/**
+	 * ImportRegistry backed by the imported/importing class names recorded in a snapshot,
+	 * introspecting importing classes on demand only.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClassNames;
+
+		private final Map<String, AnnotationMetadata> importingClasses = new LinkedHashMap<>();
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		SnapshotImportRegistry(Map<String, String> importingClassNames, @Nullable ClassLoader classLoader) {
+			this.importingClassNames = new LinkedHashMap<>(importingClassNames);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public synchronized AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.importingClassNames.get(importedClass);
+			if (importingClass == null) return null;
+			return this.importingClasses.computeIfAbsent(importingClass,
+					className -> new StandardAnnotationMetadata(ClassUtils.resolveClassName(className, this.classLoader), true));
+		}
+
+		@Override
+		public synchronized void removeImportingClass(String importingClass) {
+			this.importingClassNames.values().removeIf(importingClass::equals);
+			this.importingClasses.remove(importingClass);
+		}
+
+		@Override
+		public synchronized Map<String, String> getImportingClassNames() {
+			return new LinkedHashMap<>(this.importingClassNames);
+		}
+	}
+
+}
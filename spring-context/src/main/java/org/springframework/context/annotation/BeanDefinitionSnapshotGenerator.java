@@ -0,0 +1,209 @@
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.OrderComparator;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Build-time generator for bean definition snapshots, to be loaded by a {@link BeanDefinitionSnapshotApplicationContext}.
+ * Registers and scans components like an {@link AnnotationConfigApplicationContext}, runs all
+ * {@link BeanDefinitionRegistryPostProcessor BeanDefinitionRegistryPostProcessors} (in particular the
+ * {@link ConfigurationClassPostProcessor}) and writes the resulting bean definitions, without running any regular
+ * BeanFactoryPostProcessor or instantiating any other bean.
+ *
+ * Since classpath scanning and configuration class parsing happen at build time, {@link Conditional @Conditional}
+ * and {@link org.springframework.context.annotation.Profile @Profile} are evaluated against the build-time
+ * {@link #getEnvironment() Environment}, e.g. activating profiles through the {@code spring.profiles.active}
+ * system property. The BeanDefinitionRegistryPostProcessors themselves have been applied at that point and are
+ * therefore not part of the snapshot. Placeholders in bean definitions are kept as-is and resolved at runtime.
+ *
+ * Typically invoked from the build (e.g. a Gradle {@code JavaExec} task) through {@link #main}:
+ * <pre class="code">
+ * java org.springframework.context.annotation.BeanDefinitionSnapshotGenerator build/resources/main/META-INF/spring-bean-definitions.snapshot com.example.AppConfig
+ * </pre>
+ * @since 5.1.9
+ * 简而言之，就是在构建时执行一次类路径扫描与配置类解析，并将得到的 BeanDefinition 写入快照文件
+ * @see BeanDefinitionSnapshotApplicationContext#DEFAULT_SNAPSHOT_LOCATION
+ */
+public class BeanDefinitionSnapshotGenerator {
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshotGenerator.class);
+
+	private final GeneratingApplicationContext context = new GeneratingApplicationContext();
+
+	// Return the Environment that conditions and profiles are evaluated against.
+	public ConfigurableEnvironment getEnvironment() {
+		return this.context.getEnvironment();
+	}
+
+	/**
+	 * Register one or more annotated classes to be processed.
+	 * @param annotatedClasses one or more annotated classes, e.g. {@link Configuration @Configuration} classes
+	 * @see AnnotationConfigApplicationContext#register
+	 */
+	public void register(Class<?>... annotatedClasses) {
+		this.context.register(annotatedClasses);
+	}
+
+	/**
+	 * Perform a scan within the specified base packages.
+	 * @param basePackages the packages to check for annotated classes
+	 * @see AnnotationConfigApplicationContext#scan
+	 */
+	public void scan(String... basePackages) {
+		this.context.scan(basePackages);
+	}
+
+	/**
+	 * Process the registered classes and write the resulting bean definitions to the given file.
+	 * @param snapshotFile the file to write to, with missing parent directories being created
+	 */
+	public void generate(File snapshotFile) throws IOException {
+		File parent = snapshotFile.getAbsoluteFile().getParentFile();
+		if (parent != null) Files.createDirectories(parent.toPath());
+		try (OutputStream out = Files.newOutputStream(snapshotFile.toPath())) {
+			generate(out);
+		}
+	}
+
+	/**
+	 * Process the registered classes and write the resulting bean definitions to the given stream.
+	 * May only be called once per generator.
+	 * @param out the stream to write to, left open
+	 * @throws IllegalStateException if a bean definition cannot be represented in a snapshot
+	 */
+	public void generate(OutputStream out) throws IOException {
+		BeanDefinitionSnapshot snapshot;
+		try {
+			snapshot = this.context.process();
+		}finally {
+			this.context.close();
+		}
+		snapshot.writeTo(out);
+		if (logger.isInfoEnabled()) {
+			logger.info("Generated snapshot of " + snapshot.getBeanDefinitions().size() + " bean definitions");
+		}
+	}
+
+	/**
+	 * Generate a bean definition snapshot from the command line.
+	 * @param args the snapshot file to write, followed by the fully-qualified names of the annotated classes to process
+	 */
+	public static void main(String[] args) throws Exception {
+		Assert.isTrue(args.length >= 2, "Usage: BeanDefinitionSnapshotGenerator <snapshot file> <annotated class>...");
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator();
+		ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+		for (int i = 1; i < args.length; i++) {
+			generator.register(ClassUtils.forName(args[i], classLoader));
+		}
+		generator.generate(new File(args[0]));
+	}
+
+
+	/**
+	 * Application context which only runs the bean definition registration phase of a refresh.
+	 */
+	private static class GeneratingApplicationContext extends AnnotationConfigApplicationContext {
+
+		BeanDefinitionSnapshot process() {
+			prepareRefresh();
+			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
+			prepareBeanFactory(beanFactory);
+			postProcessBeanFactory(beanFactory);
+			Set<String> registryPostProcessorNames = invokeRegistryPostProcessors(beanFactory);
+			return createSnapshot(beanFactory, registryPostProcessorNames);
+		}
+
+		// Same order as a regular refresh: PriorityOrdered first, then Ordered, then all others, until no new ones got registered
+		private Set<String> invokeRegistryPostProcessors(ConfigurableListableBeanFactory beanFactory) {
+			DefaultListableBeanFactory registry = getDefaultListableBeanFactory();
+			for (BeanFactoryPostProcessor postProcessor : getBeanFactoryPostProcessors()) {
+				if (postProcessor instanceof BeanDefinitionRegistryPostProcessor) {
+					((BeanDefinitionRegistryPostProcessor) postProcessor).postProcessBeanDefinitionRegistry(registry);
+				}
+			}
+			Set<String> processedBeans = new HashSet<>();
+			while (true) {
+				List<String> candidates = new ArrayList<>();
+				for (String ppName : beanFactory.getBeanNamesForType(BeanDefinitionRegistryPostProcessor.class, true, false)) {
+					if (!processedBeans.contains(ppName)) candidates.add(ppName);
+				}
+				if (candidates.isEmpty()) break;
+				List<String> current = filterByType(beanFactory, candidates, PriorityOrdered.class);
+				if (current.isEmpty()) current = filterByType(beanFactory, candidates, Ordered.class);
+				if (current.isEmpty()) current = candidates;
+				List<BeanDefinitionRegistryPostProcessor> postProcessors = new ArrayList<>(current.size());
+				for (String ppName : current) {
+					postProcessors.add(beanFactory.getBean(ppName, BeanDefinitionRegistryPostProcessor.class));
+					processedBeans.add(ppName);
+				}
+				postProcessors.sort(OrderComparator.INSTANCE);
+				for (BeanDefinitionRegistryPostProcessor postProcessor : postProcessors) {
+					postProcessor.postProcessBeanDefinitionRegistry(registry);
+				}
+			}
+			return processedBeans;
+		}
+
+		private List<String> filterByType(ConfigurableListableBeanFactory beanFactory, List<String> beanNames, Class<?> type) {
+			List<String> matches = new ArrayList<>();
+			for (String beanName : beanNames) {
+				if (beanFactory.isTypeMatch(beanName, type)) matches.add(beanName);
+			}
+			return matches;
+		}
+
+		private BeanDefinitionSnapshot createSnapshot(ConfigurableListableBeanFactory beanFactory, Set<String> registryPostProcessorNames) {
+			List<BeanDefinitionHolder> beanDefinitions = new ArrayList<>();
+			List<AnnotationAttributes> propertySources = new ArrayList<>();
+			Set<Class<?>> processedClasses = new HashSet<>();
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				if (registryPostProcessorNames.contains(beanName)) continue;
+				BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+				beanDefinitions.add(new BeanDefinitionHolder(bd, beanName, beanFactory.getAliases(beanName)));
+				if (ConfigurationClassUtils.isFullConfigurationClass(bd) || ConfigurationClassUtils.isLiteConfigurationClass(bd)) {
+					collectPropertySources(bd, propertySources, processedClasses);
+				}
+			}
+			ImportRegistry importRegistry = ConfigurationClassPostProcessor.getImportRegistry(beanFactory);
+			return new BeanDefinitionSnapshot(beanDefinitions,
+					(importRegistry != null ? importRegistry.getImportingClassNames() : Collections.emptyMap()), propertySources);
+		}
+
+		// Same as ConfigurationClassParser: the @PropertySource declarations of the configuration class and its superclasses
+		private void collectPropertySources(BeanDefinition bd, List<AnnotationAttributes> propertySources, Set<Class<?>> processedClasses) {
+			String className = bd.getBeanClassName();
+			if (className == null) return;
+			Class<?> configClass = ClassUtils.resolveClassName(className, getClassLoader());
+			for (Class<?> current = configClass; current != null && current != Object.class && !current.getName().startsWith("java"); current = current.getSuperclass()) {
+				if (!processedClasses.add(current)) continue;
+				propertySources.addAll(AnnotationConfigUtils.attributesForRepeatable(new StandardAnnotationMetadata(current, true), PropertySources.class, PropertySource.class));
+			}
+		}
+	}
+
+}
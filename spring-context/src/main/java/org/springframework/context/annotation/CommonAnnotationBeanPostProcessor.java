@@ -50,6 +50,7 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.jndi.support.SimpleJndiBeanFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -131,6 +132,9 @@ public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBean
 	@Nullable
 	private static Class<? extends Annotation> ejbRefClass;
 
+	// Resource annotation types supported in the current environment, for the candidate class check
+	private static final Set<Class<? extends Annotation>> resourceAnnotationTypes = new LinkedHashSet<>(4);
+
 	static {
 		try {
 			@SuppressWarnings("unchecked")
@@ -146,6 +150,9 @@ public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBean
 		}catch (ClassNotFoundException ex) {
 			ejbRefClass = null;
 		}
+		resourceAnnotationTypes.add(Resource.class);
+		if (webServiceRefClass != null) resourceAnnotationTypes.add(webServiceRefClass);
+		if (ejbRefClass != null) resourceAnnotationTypes.add(ejbRefClass);
 	}
 
 	private final Set<String> ignoredResourceTypes = new HashSet<>(1);
@@ -326,6 +333,9 @@ public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBean
 	}
 
 	private InjectionMetadata buildResourceMetadata(final Class<?> clazz) {
+		if (!AnnotationUtils.isCandidateClass(clazz, resourceAnnotationTypes)) {
+			return new InjectionMetadata(clazz, Collections.emptyList());
+		}
 		List<InjectionMetadata.InjectedElement> elements = new ArrayList<>();
 		Class<?> targetClass = clazz;
 		do {
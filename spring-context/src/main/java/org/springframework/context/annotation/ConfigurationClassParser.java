@@ -373,7 +373,8 @@ public class ConfigurationClassParser {
 	 * @param propertySource metadata for the <code>@PropertySource</code> annotation found
 	 * @throws IOException if loading a property source failed
 	 */
-	private void processPropertySource(AnnotationAttributes propertySource) throws IOException {
+	// Also used for replaying the @PropertySource declarations of a bean definition snapshot.
+	void processPropertySource(AnnotationAttributes propertySource) throws IOException {
 		String name = propertySource.getString("name");
 		if (!StringUtils.hasLength(name)) {
 			name = null;
@@ -636,6 +637,16 @@ public class ConfigurationClassParser {
 			}
 		}
 
+		@Override
+		public Map<String, String> getImportingClassNames() {
+			Map<String, String> importingClassNames = new LinkedHashMap<>(imports.size());
+			imports.forEach((importedClass, importingClasses) -> {
+				AnnotationMetadata importingClass = CollectionUtils.lastElement(importingClasses);
+				if (importingClass != null) importingClassNames.put(importedClass, importingClass.getClassName());
+			});
+			return importingClassNames;
+		}
+
 		/**
 		 * Given a stack containing (in order)
 		 * <li>com.acme.Foo</li>
@@ -207,6 +207,33 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		beanFactory.addBeanPostProcessor(new ImportAwareBeanPostProcessor(beanFactory));
 	}
 
+	/**
+	 * Prepare a BeanFactory populated from a bean definition snapshot: its configuration classes have been parsed at build time already,
+	 * so they only need to be enhanced, with the given ImportRegistry exposed to {@link ImportAware} configuration classes.
+	 * @since 5.1.9
+	 * @see BeanDefinitionSnapshotApplicationContext
+	 */
+	void postProcessSnapshotBeanFactory(ConfigurableListableBeanFactory beanFactory, ImportRegistry importRegistry) {
+		int factoryId = System.identityHashCode(beanFactory);
+		if (factoriesPostProcessed.contains(factoryId)) {
+			throw new IllegalStateException("postProcessBeanFactory already called on this post-processor against " + beanFactory);
+		}
+		registriesPostProcessed.add(factoryId);
+		factoriesPostProcessed.add(factoryId);
+		if (!beanFactory.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			beanFactory.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, importRegistry);
+		}
+		enhanceConfigurationClasses(beanFactory);
+		beanFactory.addBeanPostProcessor(new ImportAwareBeanPostProcessor(beanFactory));
+	}
+
+	// Return the ImportRegistry populated while parsing the configuration classes of the given BeanFactory, if any.
+	@Nullable
+	static ImportRegistry getImportRegistry(ConfigurableListableBeanFactory beanFactory) {
+		Object importRegistry = beanFactory.getSingleton(IMPORT_REGISTRY_BEAN_NAME);
+		return (importRegistry instanceof ImportRegistry ? (ImportRegistry) importRegistry : null);
+	}
+
 	/**
 	 * Build and validate a configuration model based on the registry of {@link Configuration} classes.
 	 * 方法内部处理@Configuration，@Import，@ImportResource和类内部的@Bean
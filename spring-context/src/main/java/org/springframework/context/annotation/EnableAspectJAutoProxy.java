@@ -120,4 +120,13 @@ public @interface EnableAspectJAutoProxy {
 	 *  通过aop框架暴露该代理对象，aopContext能够访问。为了解决类内部方法之间调用时无法增强的问题
 	 */
 	boolean exposeProxy() default false;
+
+	/**
+	 * Indicate whether interface-based proxies are to be generated classes that call the target directly,
+	 * as opposed to JDK dynamic proxies. Off by default. Has no effect on subclass-based (CGLIB) proxies.
+	 * @since 5.1.9
+	 * @see org.springframework.aop.framework.ProxyConfig#setDirectDispatch
+	 *  基于接口的代理使用生成的代理类直接调用目标方法，而不是 JDK 动态代理的反射调用
+	 */
+	boolean directDispatch() default false;
 }
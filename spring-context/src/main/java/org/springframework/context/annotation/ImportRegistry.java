@@ -2,6 +2,8 @@
 
 package org.springframework.context.annotation;
 
+import java.util.Map;
+
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.Nullable;
 
@@ -14,4 +16,10 @@ interface ImportRegistry {
 	AnnotationMetadata getImportingClassFor(String importedClass);
 
 	void removeImportingClass(String importingClass);
+
+	/**
+	 * Return the names of all imported classes, each mapped to the name of the class importing it.
+	 * @since 5.1.9
+	 */
+	Map<String, String> getImportingClassNames();
 }
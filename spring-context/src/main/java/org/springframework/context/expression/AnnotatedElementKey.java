@@ -3,6 +3,7 @@
 package org.springframework.context.expression;
 
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -36,6 +37,15 @@ public final class AnnotatedElementKey implements Comparable<AnnotatedElementKey
 	}
 
 
+	// The ClassLoader of the target class, or else of the class declaring the element
+	@Nullable
+	ClassLoader getClassLoader() {
+		if (this.targetClass != null) return this.targetClass.getClassLoader();
+		if (this.element instanceof Class) return ((Class<?>) this.element).getClassLoader();
+		if (this.element instanceof Member) return ((Member) this.element).getDeclaringClass().getClassLoader();
+		return null;
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if (this == other) {
@@ -7,7 +7,9 @@ import java.util.Map;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SharedSpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -25,6 +27,10 @@ public abstract class CachedExpressionEvaluator {
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	/** JVM-wide cache to use instead of the caches passed in by subclasses, if any. */
+	@Nullable
+	private SharedSpelExpressionCache sharedCache = (SharedSpelExpressionCache.isSharedByDefault() ? SharedSpelExpressionCache.getSharedInstance() : null);
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
@@ -57,6 +63,27 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Specify a JVM-wide, size-bounded cache to obtain expressions from instead of the unbounded
+	 * per-evaluator caches, typically {@link SharedSpelExpressionCache#getSharedInstance()}.
+	 * Expressions stay scoped to the element they are defined on, since their compiled form
+	 * is specific to the types seen there. Default is the shared instance if the
+	 * {@value SharedSpelExpressionCache#SHARED_CACHE_PROPERTY_NAME} flag is set, none otherwise.
+	 * @since 5.1.9
+	 */
+	public void setSharedCache(@Nullable SharedSpelExpressionCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Return the JVM-wide cache this evaluator obtains expressions from, if any.
+	 * @since 5.1.9
+	 */
+	@Nullable
+	public SharedSpelExpressionCache getSharedCache() {
+		return this.sharedCache;
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -68,6 +95,10 @@ public abstract class CachedExpressionEvaluator {
 	protected Expression getExpression(Map<ExpressionKey, Expression> cache,
 			AnnotatedElementKey elementKey, String expression) {
 
+		SharedSpelExpressionCache sharedCache = this.sharedCache;
+		if (sharedCache != null) {
+			return sharedCache.getExpression(getParser(), expression, null, elementKey, elementKey.getClassLoader());
+		}
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
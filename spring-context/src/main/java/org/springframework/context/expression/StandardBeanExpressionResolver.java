@@ -10,6 +10,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SharedSpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
@@ -42,6 +43,10 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 
 	private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(256);
 
+	// JVM-wide cache to use instead of the local expression cache, if any
+	@Nullable
+	private SharedSpelExpressionCache sharedCache = (SharedSpelExpressionCache.isSharedByDefault() ? SharedSpelExpressionCache.getSharedInstance() : null);
+
 	private final Map<BeanExpressionContext, StandardEvaluationContext> evaluationCache = new ConcurrentHashMap<>(8);
 
 	private final ParserContext beanExpressionParserContext = new ParserContext() {
@@ -105,6 +110,27 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 		this.expressionParser = expressionParser;
 	}
 
+	/**
+	 * Specify a JVM-wide, size-bounded cache to obtain expressions from instead of the local cache,
+	 * typically {@link SharedSpelExpressionCache#getSharedInstance()}, so that application contexts
+	 * with the same expressions share their parsed and compiled form. Only applies to a
+	 * {@link SpelExpressionParser}. Default is the shared instance if the
+	 * {@value SharedSpelExpressionCache#SHARED_CACHE_PROPERTY_NAME} flag is set, none otherwise.
+	 * @since 5.1.9
+	 */
+	public void setSharedCache(@Nullable SharedSpelExpressionCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Return the JVM-wide cache this resolver obtains expressions from, if any.
+	 * @since 5.1.9
+	 */
+	@Nullable
+	public SharedSpelExpressionCache getSharedCache() {
+		return this.sharedCache;
+	}
+
 	@Override
 	@Nullable
 	public Object evaluate(@Nullable String value, BeanExpressionContext evalContext) throws BeansException {
@@ -112,11 +138,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 			return value;
 		}
 		try {
-			Expression expr = this.expressionCache.get(value);
-			if (expr == null) {
-				expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-				this.expressionCache.put(value, expr);
-			}
+			Expression expr = getExpression(value, evalContext);
 			StandardEvaluationContext sec = this.evaluationCache.get(evalContext);
 			if (sec == null) {
 				sec = new StandardEvaluationContext(evalContext);
@@ -139,6 +161,23 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 		}
 	}
 
+	private Expression getExpression(String value, BeanExpressionContext evalContext) {
+		SharedSpelExpressionCache sharedCache = this.sharedCache;
+		if (sharedCache != null && this.expressionParser instanceof SpelExpressionParser) {
+			// Share per bean class loader: the types that a compiled form has been generated against
+			// are only the same for bean factories that resolve them through the same class loader
+			ClassLoader beanClassLoader = evalContext.getBeanFactory().getBeanClassLoader();
+			return sharedCache.getExpression((SpelExpressionParser) this.expressionParser, value,
+					this.beanExpressionParserContext, beanClassLoader, beanClassLoader);
+		}
+		Expression expr = this.expressionCache.get(value);
+		if (expr == null) {
+			expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
+			this.expressionCache.put(value, expr);
+		}
+		return expr;
+	}
+
 	/**
 	 * Template method for customizing the expression evaluation context.The default implementation is empty.
 	 */
@@ -0,0 +1,208 @@
+package org.springframework.context.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Read-only view on a {@code META-INF/spring.components} file in the compact binary format written by
+ * {@code spring-context-indexer} with the {@code spring.components.format=binary} processor option.
+ * Types are stored sorted and prefix-compressed in blocks, with a sorted list of type indexes per stereotype,
+ * so a query only decodes the types of the requested stereotype within the requested base package.
+ * The buffer is typically memory-mapped and only read through absolute methods, so instances are thread-safe.
+ * @since 5.1.9
+ * 简而言之，就是按需从（通常是内存映射的）二进制索引中查找候选组件，而不是一次性解析所有条目
+ */
+final class BinaryComponentsIndex {
+
+	// "\0SCI": cannot be the start of a properties file
+	static final int MAGIC = 0x00534349;
+
+	static final byte VERSION = 1;
+
+	private static final int HEADER_SIZE = 4 + 1 + 1 + 4 * 5;
+
+	private static final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+	private final ByteBuffer buffer;
+
+	private final int blockSize;
+
+	private final int typeCount;
+
+	private final int blockOffsetsStart;
+
+	private final int typeDataStart;
+
+	// stereotype -> {absolute postings offset, postings count}
+	private final Map<String, int[]> stereotypes;
+
+	/**
+	 * Create a new index on the given buffer.
+	 * @throws IllegalArgumentException if the buffer does not contain a supported binary index
+	 */
+	BinaryComponentsIndex(ByteBuffer buffer) {
+		if (!isBinaryIndex(buffer)) throw new IllegalArgumentException("Not a binary candidate components index");
+		byte version = buffer.get(4);
+		if (version != VERSION) throw new IllegalArgumentException("Unsupported binary candidate components index version " + version);
+		this.buffer = buffer;
+		this.blockSize = buffer.get(5) & 0xFF;
+		this.typeCount = buffer.getInt(6);
+		int stereotypeCount = buffer.getInt(10);
+		this.blockOffsetsStart = buffer.getInt(14);
+		this.typeDataStart = buffer.getInt(18);
+		int postingsStart = buffer.getInt(22);
+		this.stereotypes = new HashMap<>(stereotypeCount * 2);
+		int position = HEADER_SIZE;
+		for (int i = 0; i < stereotypeCount; i++) {
+			int length = buffer.getShort(position) & 0xFFFF;
+			byte[] name = new byte[length];
+			for (int j = 0; j < length; j++) {
+				name[j] = buffer.get(position + 2 + j);
+			}
+			position += 2 + length;
+			// Stereotypes are class names: modified UTF-8 only differs from UTF-8 for characters that never occur there
+			this.stereotypes.put(new String(name, StandardCharsets.UTF_8), new int[] {postingsStart + buffer.getInt(position), buffer.getInt(position + 4)});
+			position += 8;
+		}
+	}
+
+	// Determine whether the given buffer starts with the binary index magic number, without changing its position.
+	static boolean isBinaryIndex(ByteBuffer buffer) {
+		return (buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC);
+	}
+
+	// Return the number of types in this index.
+	int size() {
+		return this.typeCount;
+	}
+
+	/**
+	 * Add the candidate types that are associated with the specified stereotype to the given set.
+	 * @param basePackage the package to check for candidates, possibly an {@code AntPathMatcher} pattern
+	 * @param stereotype the stereotype to use
+	 * @param result the set to add the matching types to
+	 * @see CandidateComponentsIndex#getCandidateTypes
+	 */
+	void addCandidateTypes(String basePackage, String stereotype, Set<String> result) {
+		int[] postings = this.stereotypes.get(stereotype);
+		if (postings == null) return;
+		int offset = postings[0];
+		int count = postings[1];
+		Cursor cursor = new Cursor();
+		if (pathMatcher.isPattern(basePackage)) {
+			for (int i = 0; i < count; i++) {
+				String type = cursor.decode(this.buffer.getInt(offset + i * 4));
+				if (pathMatcher.match(basePackage, packageName(type))) result.add(type);
+			}
+			return;
+		}
+		// Same as a plain prefix match on the type name: the matching types are a contiguous range of the sorted types
+		byte[] prefix = basePackage.getBytes(StandardCharsets.UTF_8);
+		int from = findFirst(typeIndex -> compare(cursor.decodeBytes(typeIndex), prefix, false) >= 0, this.typeCount);
+		int to = findFirst(typeIndex -> compare(cursor.decodeBytes(typeIndex), prefix, true) > 0, this.typeCount);
+		int first = findFirst(i -> this.buffer.getInt(offset + i * 4) >= from, count);
+		for (int i = first; i < count; i++) {
+			int typeIndex = this.buffer.getInt(offset + i * 4);
+			if (typeIndex >= to) break;
+			result.add(cursor.decode(typeIndex));
+		}
+	}
+
+	private static String packageName(String type) {
+		int lastDot = type.lastIndexOf('.');
+		return (lastDot != -1 ? type.substring(0, lastDot) : "");
+	}
+
+	// Return the first index in [0, size) matching the given predicate, assumed to be false then true, or size if none
+	private static int findFirst(IndexPredicate predicate, int size) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (predicate.test(mid)) {
+				high = mid;
+			}else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	// Compare unsigned bytes, optionally only up to the length of the prefix: types starting with it then compare as equal
+	private static int compare(byte[] type, byte[] prefix, boolean prefixOnly) {
+		int max = Math.min(type.length, prefix.length);
+		for (int i = 0; i < max; i++) {
+			int result = (type[i] & 0xFF) - (prefix[i] & 0xFF);
+			if (result != 0) return result;
+		}
+		if (prefixOnly && type.length >= prefix.length) return 0;
+		return type.length - prefix.length;
+	}
+
+
+	@FunctionalInterface
+	private interface IndexPredicate {
+
+		boolean test(int index);
+	}
+
+
+	/**
+	 * Decoder for prefix-compressed types, continuing from the last decoded type when reading forward within a block.
+	 */
+	private class Cursor {
+
+		private byte[] current = new byte[0];
+
+		private int currentIndex = -1;
+
+		private int nextPosition;
+
+		String decode(int typeIndex) {
+			return new String(decodeBytes(typeIndex), StandardCharsets.UTF_8);
+		}
+
+		byte[] decodeBytes(int typeIndex) {
+			if (typeIndex < 0 || typeIndex >= typeCount) throw new IndexOutOfBoundsException("Type index " + typeIndex);
+			int block = typeIndex / blockSize;
+			if (this.currentIndex == -1 || this.currentIndex > typeIndex || this.currentIndex / blockSize != block) {
+				this.currentIndex = block * blockSize - 1;
+				this.nextPosition = typeDataStart + buffer.getInt(blockOffsetsStart + block * 4);
+			}
+			while (this.currentIndex < typeIndex) {
+				readNext();
+			}
+			return this.current;
+		}
+
+		private void readNext() {
+			int shared = readVarInt();
+			int suffixLength = readVarInt();
+			byte[] type = Arrays.copyOf(this.current, shared + suffixLength);
+			for (int i = 0; i < suffixLength; i++) {
+				type[shared + i] = buffer.get(this.nextPosition++);
+			}
+			this.current = type;
+			this.currentIndex++;
+		}
+
+		private int readVarInt() {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = buffer.get(this.nextPosition++);
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			}while ((b & 0x80) != 0);
+			return value;
+		}
+	}
+
+}
@@ -3,6 +3,7 @@
 package org.springframework.context.index;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -31,8 +32,16 @@ public class CandidateComponentsIndex {
 
 	private final MultiValueMap<String, Entry> index;
 
+	// Binary indexes are queried in place rather than parsed into the map above
+	private final List<BinaryComponentsIndex> binaryIndexes;
+
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyList());
+	}
+
+	CandidateComponentsIndex(List<Properties> content, List<BinaryComponentsIndex> binaryContent) {
 		this.index = parseIndex(content);
+		this.binaryIndexes = binaryContent;
 	}
 
 	/**
@@ -43,13 +52,25 @@ public class CandidateComponentsIndex {
 	 */
 	public Set<String> getCandidateTypes(String basePackage, String stereotype) {
 		List<Entry> candidates = this.index.get(stereotype);
+		if (this.binaryIndexes.isEmpty()) {
+			if (candidates != null) {
+				return candidates.parallelStream()
+						.filter(t -> t.match(basePackage))
+						.map(t -> t.type)
+						.collect(Collectors.toSet());
+			}
+			return Collections.emptySet();
+		}
+		Set<String> result = new HashSet<>();
 		if (candidates != null) {
-			return candidates.parallelStream()
-					.filter(t -> t.match(basePackage))
-					.map(t -> t.type)
-					.collect(Collectors.toSet());
+			for (Entry candidate : candidates) {
+				if (candidate.match(basePackage)) result.add(candidate.type);
+			}
+		}
+		for (BinaryComponentsIndex binaryIndex : this.binaryIndexes) {
+			binaryIndex.addCandidateTypes(basePackage, stereotype, result);
 		}
-		return Collections.emptySet();
+		return result;
 	}
 
 	public static MultiValueMap<String, Entry> parseIndex(List<Properties> content) { // -modify
@@ -2,8 +2,15 @@
 
 package org.springframework.context.index;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -14,10 +21,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.SpringProperties;
-import org.springframework.core.io.UrlResource;
-import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StreamUtils;
 
 /**
  * Candidate components index loading mechanism for internal use within the framework.
@@ -27,7 +34,7 @@ public final class CandidateComponentsIndexLoader {
 
 	/**
 	 * The location to look for components.
-	 * Can be present in multiple JAR files.
+	 * Can be present in multiple JAR files, each either in properties or in the binary format of {@code spring-context-indexer}.
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
@@ -74,19 +81,59 @@ public final class CandidateComponentsIndexLoader {
 			if (!urls.hasMoreElements()) {
 				return null;
 			}
-			//将解析的结果转化为Properties
+			//将解析的结果转化为Properties，二进制格式的索引则按需查询
 			List<Properties> result = new ArrayList<>();
+			List<BinaryComponentsIndex> binaryResult = new ArrayList<>();
 			while (urls.hasMoreElements()) {
 				URL url = urls.nextElement();
-				Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
-				result.add(properties);
+				// Like UrlResource, avoid caching the jar file (and thus locking it) where necessary
+				URLConnection con = url.openConnection();
+				ResourceUtils.useCachesIfNecessary(con);
+				try (BufferedInputStream in = new BufferedInputStream(con.getInputStream())) {
+					ByteBuffer binaryContent = loadBinaryIndex(url, in);
+					if (binaryContent != null) {
+						binaryResult.add(new BinaryComponentsIndex(binaryContent));
+					}else {
+						Properties properties = new Properties();
+						properties.load(in);
+						result.add(properties);
+					}
+				}
 			}
-			if (logger.isDebugEnabled()) logger.debug("Loaded " + result.size() + "] index(es)");
-			int totalCount = result.stream().mapToInt(Properties::size).sum();
+			if (logger.isDebugEnabled()) logger.debug("Loaded " + (result.size() + binaryResult.size()) + "] index(es)");
+			int totalCount = result.stream().mapToInt(Properties::size).sum() + binaryResult.stream().mapToInt(BinaryComponentsIndex::size).sum();
 			//根据Properties创建CandidateComponentsIndex
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			return (totalCount > 0 ? new CandidateComponentsIndex(result, binaryResult) : null);
 		}catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" + COMPONENTS_RESOURCE_LOCATION + "]", ex);
 		}
 	}
+
+	/**
+	 * Return the content of the given index if it is in the binary format: memory-mapped for a file in the file system, read into memory otherwise (e.g. within a jar).
+	 * @return the binary index content or {@code null} if the index is in the properties format, with the stream left at its start
+	 */
+	@Nullable
+	private static ByteBuffer loadBinaryIndex(URL url, BufferedInputStream in) throws IOException {
+		in.mark(4);
+		int magic = 0;
+		for (int i = 0; i < 4; i++) {
+			int b = in.read();
+			if (b == -1) {
+				in.reset();
+				return null;
+			}
+			magic = (magic << 8) | b;
+		}
+		in.reset();
+		if (magic != BinaryComponentsIndex.MAGIC) return null;
+		if (ResourceUtils.isFileURL(url)) {
+			try (FileChannel channel = FileChannel.open(Paths.get(ResourceUtils.toURI(url)), StandardOpenOption.READ)) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}catch (URISyntaxException ex) {
+				// Not a valid file URI -> read it like any other URL
+			}
+		}
+		return ByteBuffer.wrap(StreamUtils.copyToByteArray(in));
+	}
 }
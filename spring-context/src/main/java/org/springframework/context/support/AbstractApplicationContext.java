@@ -30,6 +30,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.SharedMetadataReaderCache;
+import org.springframework.expression.spel.standard.SharedSpelExpressionCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -917,6 +919,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 			destroyBeans();
 			// Close the state of this context itself.
 			closeBeanFactory();
+			// 释放 JVM 级别共享缓存中该上下文 ClassLoader 的元数据，避免 web 应用或插件卸载后 ClassLoader 泄漏
+			SharedMetadataReaderCache.getSharedInstance().releaseClassLoader(getClassLoader());
+			SharedSpelExpressionCache.getSharedInstance().releaseClassLoader(getClassLoader());
 			// Let subclasses do some final clean-up if they wish...
 			onClose();
 			// Reset local application listeners to pre-refresh state.
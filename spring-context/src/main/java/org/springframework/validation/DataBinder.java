@@ -257,6 +257,38 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		return result;
 	}
 
+	/**
+	 * Initialize JavaBean property access through generated accessors for this DataBinder,
+	 * as a faster alternative to the default reflective bean property access.
+	 * @since 5.1.9
+	 * @see #initBeanPropertyAccess()
+	 * @see #createGeneratedBeanPropertyBindingResult()
+	 */
+	public void initGeneratedBeanPropertyAccess() {
+		Assert.state(this.bindingResult == null,
+				"DataBinder is already initialized - call initGeneratedBeanPropertyAccess before other configuration methods");
+		this.bindingResult = createGeneratedBeanPropertyBindingResult();
+	}
+
+	/**
+	 * Create the {@link AbstractPropertyBindingResult} instance using JavaBean
+	 * property access through generated accessors.
+	 * @since 5.1.9
+	 */
+	protected AbstractPropertyBindingResult createGeneratedBeanPropertyBindingResult() {
+		GeneratedBeanPropertyBindingResult result = new GeneratedBeanPropertyBindingResult(getTarget(),
+				getObjectName(), isAutoGrowNestedPaths(), getAutoGrowCollectionLimit());
+
+		if (this.conversionService != null) {
+			result.initConversion(this.conversionService);
+		}
+		if (this.messageCodesResolver != null) {
+			result.setMessageCodesResolver(this.messageCodesResolver);
+		}
+
+		return result;
+	}
+
 	/**
 	 * Initialize direct field access for this DataBinder,
 	 * as alternative to the default bean property access.
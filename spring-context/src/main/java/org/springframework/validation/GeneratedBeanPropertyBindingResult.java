@@ -0,0 +1,41 @@
+package org.springframework.validation;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link BeanPropertyBindingResult} variant that accesses the target bean through generated accessors
+ * instead of reflection, for binding-heavy code paths such as form submissions onto large object graphs.
+ * Behaves like its superclass otherwise, including nested and indexed property paths and error reporting.
+ * @since 5.1.9
+ * @see DataBinder#initGeneratedBeanPropertyAccess()
+ * @see org.springframework.beans.GeneratedBeanWrapper
+ */
+@SuppressWarnings("serial")
+public class GeneratedBeanPropertyBindingResult extends BeanPropertyBindingResult {
+
+	/**
+	 * Creates a new instance of the {@link GeneratedBeanPropertyBindingResult} class.
+	 * @param target the target bean to bind onto
+	 * @param objectName the name of the target object
+	 * @param autoGrowNestedPaths whether to "auto-grow" a nested path that contains a null value
+	 * @param autoGrowCollectionLimit the limit for array and collection auto-growing
+	 */
+	public GeneratedBeanPropertyBindingResult(@Nullable Object target, String objectName,
+			boolean autoGrowNestedPaths, int autoGrowCollectionLimit) {
+
+		super(target, objectName, autoGrowNestedPaths, autoGrowCollectionLimit);
+	}
+
+
+	@Override
+	protected BeanWrapper createBeanWrapper() {
+		Object target = getTarget();
+		if (target == null) {
+			throw new IllegalStateException("Cannot access properties on null bean instance '" + getObjectName() + "'");
+		}
+		return PropertyAccessorFactory.forGeneratedBeanPropertyAccess(target);
+	}
+
+}
@@ -0,0 +1,209 @@
+package org.springframework.aop.framework;
+
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.sample.beans.IOther;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the proxy test suite against generated proxies with direct target dispatch.
+ */
+@SuppressWarnings("serial")
+public class DirectAopProxyTests extends AbstractAopProxyTests implements Serializable {
+
+	@Override
+	protected Object createProxy(ProxyCreatorSupport as) {
+		assertFalse("Not forcible CGLIB", as.isProxyTargetClass());
+		as.setDirectDispatch(true);
+		Object proxy = as.createAopProxy().getProxy();
+		assertTrue("Should be an AOP proxy: " + proxy.getClass(), AopUtils.isAopProxy(proxy));
+		return proxy;
+	}
+
+	@Override
+	protected AopProxy createAopProxy(AdvisedSupport as) {
+		return new DirectAopProxy(as);
+	}
+
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullConfig() {
+		new DirectAopProxy(null);
+	}
+
+	@Test
+	public void testGeneratedProxy() {
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb", 42));
+		pf.setDirectDispatch(true);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertTrue(AopUtils.isDirectAopProxy(proxy));
+		assertFalse(AopUtils.isJdkDynamicProxy(proxy));
+		assertFalse(AopUtils.isCglibProxy(proxy));
+		assertEquals(TestBean.class, AopUtils.getTargetClass(proxy));
+		assertEquals(42, proxy.getAge());
+		proxy.setAge(43);
+		assertEquals(43, proxy.getAge());
+		assertEquals(3, nop.getCount());
+		assertEquals(1, ((Advised) proxy).getAdvisors().length);
+	}
+
+	@Test
+	public void testDirectDispatchForUnadvisedMethods() {
+		TestBean target = new TestBean("tb", 42);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setDirectDispatch(true);
+		NopInterceptor nop = new NopInterceptor();
+		NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(nop);
+		advisor.setMappedName("getName");
+		pf.addAdvisor(advisor);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals(42, proxy.getAge());
+		proxy.setAge(43);
+		assertEquals(43, target.getAge());
+		assertEquals(0, nop.getCount());
+		assertEquals("tb", proxy.getName());
+		assertEquals(1, nop.getCount());
+	}
+
+	@Test
+	public void testProxyClassReused() {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setDirectDispatch(true);
+		Object proxy = pf.getProxy();
+		ProxyFactory other = new ProxyFactory(new TestBean());
+		other.setDirectDispatch(true);
+		other.addAdvice(new NopInterceptor());
+		assertSame(proxy.getClass(), other.getProxy().getClass());
+	}
+
+	@Test
+	public void testProxyClassDefinedInGivenClassLoader() {
+		ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {};
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb", 42));
+		pf.setDirectDispatch(true);
+		ITestBean proxy = (ITestBean) pf.getProxy(classLoader);
+		// A generated proxy where ClassLoader.defineClass is accessible, a JDK proxy otherwise
+		assertSame(classLoader, proxy.getClass().getClassLoader());
+		assertEquals(42, proxy.getAge());
+		assertNotSame(proxy.getClass(), pf.getProxy().getClass());
+	}
+
+	@Test
+	public void testJdkProxyForClassLoaderThatCannotSeeSupportClass() {
+		ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				if (name.equals(DirectAopProxySupport.class.getName())) throw new ClassNotFoundException(name);
+				return super.loadClass(name, resolve);
+			}
+		};
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb", 42));
+		pf.setDirectDispatch(true);
+		ITestBean proxy = (ITestBean) pf.getProxy(classLoader);
+		assertTrue(AopUtils.isJdkDynamicProxy(proxy));
+		assertSame(classLoader, proxy.getClass().getClassLoader());
+		assertEquals(42, proxy.getAge());
+	}
+
+	@Test
+	public void testJdkProxyForEqualsDefinedInInterface() {
+		ProxyFactory pf = new ProxyFactory(new JdkDynamicProxyTests.Person());
+		pf.setDirectDispatch(true);
+		Object proxy = pf.getProxy();
+		assertTrue(AopUtils.isJdkDynamicProxy(proxy));
+		assertEquals(proxy, new JdkDynamicProxyTests.Person());
+	}
+
+	@Test
+	public void testProxyReturnedForThis() {
+		JdkDynamicProxyTests.FooBar bean = new JdkDynamicProxyTests.FooBar();
+		ProxyFactory pf = new ProxyFactory(bean);
+		pf.setInterfaces(JdkDynamicProxyTests.Foo.class);
+		pf.setDirectDispatch(true);
+		pf.setFrozen(true);
+		JdkDynamicProxyTests.Foo proxy = (JdkDynamicProxyTests.Foo) pf.getProxy();
+		assertSame("Target should be returned when return types are incompatible", bean, proxy.getBarThis());
+		assertSame("Proxy should be returned when return types are compatible", proxy, proxy.getFooThis());
+	}
+
+	@Test
+	public void testMethodsOfMultipleInterfaces() {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setDirectDispatch(true);
+		pf.addAdvice(new NopInterceptor());
+		Object proxy = pf.getProxy();
+		((ITestBean) proxy).setName("tb");
+		((IOther) proxy).absquatulate();
+		assertEquals("tb", target.getName());
+	}
+
+	@Test
+	public void testVarargsWithEnumArray() {
+		ProxyFactory proxyFactory = new ProxyFactory(new JdkDynamicProxyTests.VarargTestBean());
+		proxyFactory.setDirectDispatch(true);
+		JdkDynamicProxyTests.VarargTestInterface proxy = (JdkDynamicProxyTests.VarargTestInterface) proxyFactory.getProxy();
+		assertTrue(AopUtils.isDirectAopProxy(proxy));
+		assertTrue(proxy.doWithVarargs(JdkDynamicProxyTests.MyEnum.A, JdkDynamicProxyTests.MyOtherEnum.C));
+	}
+
+	@Test
+	public void testReproxyDirectProxy() {
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb", 42));
+		pf.setDirectDispatch(true);
+		Object proxy = pf.getProxy();
+		assertTrue(AopUtils.isDirectAopProxy(proxy));
+
+		ProxyFactory targetClassProxyFactory = new ProxyFactory(proxy);
+		targetClassProxyFactory.setProxyTargetClass(true);
+		NopInterceptor nop = new NopInterceptor();
+		targetClassProxyFactory.addAdvice(nop);
+		ITestBean reproxied = (ITestBean) targetClassProxyFactory.getProxy();
+		assertTrue(AopUtils.isJdkDynamicProxy(reproxied));
+		assertEquals(42, reproxied.getAge());
+		assertEquals(1, nop.getCount());
+
+		ProxyFactory noInterfacesProxyFactory = new ProxyFactory();
+		noInterfacesProxyFactory.setTarget(proxy);
+		reproxied = (ITestBean) noInterfacesProxyFactory.getProxy();
+		assertEquals(42, reproxied.getAge());
+	}
+
+	@Test
+	public void testMethodInheritedFromNonPublicInterface() {
+		// The proxy class is generated in the package of ITestBean, where HiddenGreeter is not accessible
+		Object target = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ITestBean.class, Greeter.class},
+				(proxy, method, args) -> ("greet".equals(method.getName()) ? "hello" : null));
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setDirectDispatch(true);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		Greeter proxy = (Greeter) pf.getProxy();
+		assertTrue(AopUtils.isDirectAopProxy(proxy));
+		assertEquals("hello", proxy.greet());
+		assertEquals(1, nop.getCount());
+	}
+
+
+	private interface HiddenGreeter {
+
+		String greet();
+	}
+
+
+	public interface Greeter extends HiddenGreeter {
+	}
+
+}
@@ -0,0 +1,188 @@
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 5.1.9
+ */
+public class BeanDefinitionSnapshotTests {
+
+	@Test
+	public void configurationClassesFromSnapshot() throws IOException {
+		ConfigurableApplicationContext ctx = new BeanDefinitionSnapshotApplicationContext(generate(SnapshotConfig.class));
+		SnapshotConfig config = ctx.getBean(SnapshotConfig.class);
+		assertTrue(config.getClass().getName().contains("$$EnhancerBySpringCGLIB"));
+		assertSame(ctx.getBean("spouse"), config.spouse());
+		TestBean testBean = ctx.getBean("testBean", TestBean.class);
+		assertEquals("p1TestBean", testBean.getName());
+		assertSame(ctx.getBean("spouse"), testBean.getSpouse());
+		assertArrayEquals(new String[] {"aliasedBean"}, ctx.getAliases("testBean"));
+		assertTrue(ctx.getBeanFactory().getBeanDefinition("lazyBean").isLazyInit());
+		assertSame(ctx.getBean("lazyBean"), ctx.getBean("lazyBean"));
+		ctx.close();
+	}
+
+	@Test
+	public void importAwareFromSnapshot() throws IOException {
+		ConfigurableApplicationContext ctx = new BeanDefinitionSnapshotApplicationContext(generate(SnapshotConfig.class));
+		ImportedConfig imported = ctx.getBean(ImportedConfig.class);
+		assertNotNull(imported.importMetadata);
+		assertEquals(SnapshotConfig.class.getName(), imported.importMetadata.getClassName());
+		assertEquals("p1Value", ctx.getBean("fromP1"));
+		ctx.close();
+	}
+
+	@Test
+	public void componentsFromSnapshot() throws IOException {
+		ConfigurableApplicationContext ctx = new BeanDefinitionSnapshotApplicationContext(generate(ComponentConfig.class));
+		SnapshotComponent component = ctx.getBean(SnapshotComponent.class);
+		assertNotNull(component.autowired);
+		assertEquals("p1Value", component.value);
+		List<String> names = Arrays.asList(ctx.getBeanDefinitionNames());
+		assertFalse(names.contains(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME));
+		ctx.close();
+	}
+
+	@Test
+	public void profilesEvaluatedAtGenerationTime() throws IOException {
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator();
+		generator.getEnvironment().setActiveProfiles("snapshot");
+		generator.register(ProfileConfig.class);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generator.generate(out);
+		ConfigurableApplicationContext ctx = new BeanDefinitionSnapshotApplicationContext(new ByteArrayResource(out.toByteArray()));
+		assertTrue(ctx.containsBean("profileBean"));
+		ctx.close();
+
+		ctx = new BeanDefinitionSnapshotApplicationContext(generate(ProfileConfig.class));
+		assertFalse(ctx.containsBean("profileBean"));
+		ctx.close();
+	}
+
+	@Test
+	public void stringsBeyondModifiedUtf8Limit() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 30000; i++) builder.append("名称");
+		String name = builder.toString();
+		GenericBeanDefinition bd = new GenericBeanDefinition();
+		bd.setBeanClass(TestBean.class);
+		bd.getPropertyValues().add("name", name);
+		bd.setAttribute("description", name);
+		bd.setAttribute("runtimeMetadata", new Object());
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshot(Collections.singletonList(new BeanDefinitionHolder(bd, "testBean")),
+				Collections.emptyMap(), Collections.emptyList());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+
+		snapshot = BeanDefinitionSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()), getClass().getClassLoader());
+		BeanDefinition read = snapshot.getBeanDefinitions().get(0).getBeanDefinition();
+		assertEquals(name, read.getPropertyValues().get("name"));
+		assertEquals(name, read.getAttribute("description"));
+		assertFalse(read.hasAttribute("runtimeMetadata"));
+	}
+
+	private ByteArrayResource generate(Class<?>... annotatedClasses) throws IOException {
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator();
+		generator.register(annotatedClasses);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generator.generate(out);
+		return new ByteArrayResource(out.toByteArray());
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class SnapshotConfig {
+
+		@Bean(name = {"testBean", "aliasedBean"})
+		public TestBean testBean(@Value("${testbean.name}") String name) {
+			TestBean testBean = new TestBean(name);
+			testBean.setSpouse(spouse());
+			return testBean;
+		}
+
+		@Bean
+		public TestBean spouse() {
+			return new TestBean();
+		}
+
+		@Bean
+		@Lazy
+		@Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+		public static TestBean lazyBean() {
+			return new TestBean();
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		public String fromP1(@Value("${from.p1}") String value) {
+			return value;
+		}
+	}
+
+
+	@Configuration
+	@Import(SnapshotComponent.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class ComponentConfig {
+
+		@Bean
+		public TestBean spouse() {
+			return new TestBean();
+		}
+	}
+
+
+	static class SnapshotComponent {
+
+		@Autowired
+		TestBean autowired;
+
+		@Value("${from.p1}")
+		String value;
+	}
+
+
+	@Configuration
+	static class ProfileConfig {
+
+		@Bean
+		@Profile("snapshot")
+		public TestBean profileBean() {
+			return new TestBean();
+		}
+	}
+
+}
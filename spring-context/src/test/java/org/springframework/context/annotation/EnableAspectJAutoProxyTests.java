@@ -40,6 +40,13 @@ public class EnableAspectJAutoProxyTests {
 		assertThat(AopUtils.isJdkDynamicProxy(ctx.getBean(FooService.class)), is(true));
 	}
 
+	@Test
+	public void withDirectDispatch() {
+		ApplicationContext ctx = new AnnotationConfigApplicationContext(ConfigWithDirectDispatch.class);
+		aspectIsApplied(ctx);
+		assertThat(AopUtils.isDirectAopProxy(ctx.getBean(FooService.class)), is(true));
+	}
+
 	private void aspectIsApplied(ApplicationContext ctx) {
 		FooService fooService = ctx.getBean(FooService.class);
 		ServiceInvocationCounter counter = ctx.getBean(ServiceInvocationCounter.class);
@@ -90,6 +97,12 @@ public class EnableAspectJAutoProxyTests {
 	}
 
 
+	@ComponentScan("example.scannable")
+	@EnableAspectJAutoProxy(directDispatch = true)
+	static class ConfigWithDirectDispatch {
+	}
+
+
 	@ComponentScan("example.scannable")
 	@EnableAspectJAutoProxy(exposeProxy = true)
 	static class ConfigWithExposedProxy {
@@ -9,6 +9,7 @@ import java.io.Reader;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.security.AccessControlException;
 import java.security.Permission;
 import java.util.Optional;
@@ -22,6 +23,7 @@ import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.PropertyPlaceholderConfigurer;
 import org.springframework.beans.factory.config.Scope;
 import org.springframework.beans.factory.config.TypedStringValue;
@@ -37,6 +39,9 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SharedSpelExpressionCache;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.tests.Assume;
 import org.springframework.tests.TestGroup;
 import org.springframework.tests.sample.beans.TestBean;
@@ -310,6 +315,40 @@ public class ApplicationContextExpressionTests {
 		assertTrue(str.startsWith("test-"));
 	}
 
+	@Test
+	public void sharedCacheScopedByBeanClassLoader() {
+		SharedSpelExpressionCache sharedCache = new SharedSpelExpressionCache(16);
+		StandardBeanExpressionResolver resolver = new StandardBeanExpressionResolver();
+		resolver.setSharedCache(sharedCache);
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		DefaultListableBeanFactory sameLoader = new DefaultListableBeanFactory();
+		DefaultListableBeanFactory otherLoader = new DefaultListableBeanFactory();
+		otherLoader.setBeanClassLoader(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+
+		assertEquals(3, resolver.evaluate("#{1 + 2}", new BeanExpressionContext(bf, null)));
+		assertEquals(3, resolver.evaluate("#{1 + 2}", new BeanExpressionContext(sameLoader, null)));
+		assertEquals(1, sharedCache.size());
+		assertEquals(1, sharedCache.getHitCount());
+		assertEquals(3, resolver.evaluate("#{1 + 2}", new BeanExpressionContext(otherLoader, null)));
+		assertEquals(2, sharedCache.size());
+	}
+
+	@Test
+	public void sharedCacheReleasedOnClose() {
+		SharedSpelExpressionCache sharedCache = SharedSpelExpressionCache.getSharedInstance();
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setClassLoader(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+		StandardBeanExpressionResolver resolver = new StandardBeanExpressionResolver();
+		resolver.setSharedCache(sharedCache);
+		ac.getBeanFactory().setBeanExpressionResolver(resolver);
+		ac.refresh();
+		Expression expression = sharedCache.getExpression(new SpelExpressionParser(), "'closed'", null, null, ac.getClassLoader());
+		assertSame(expression, sharedCache.getExpression(new SpelExpressionParser(), "'closed'", null, null, ac.getClassLoader()));
+		ac.close();
+		assertNotSame(expression, sharedCache.getExpression(new SpelExpressionParser(), "'closed'", null, null, ac.getClassLoader()));
+		sharedCache.releaseClassLoader(ac.getClassLoader());
+	}
+
 	@Test
 	public void resourceInjection() throws IOException {
 		System.setProperty("logfile", "do_not_delete_me.txt");
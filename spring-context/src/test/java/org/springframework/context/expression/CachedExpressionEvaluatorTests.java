@@ -9,6 +9,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SharedSpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -48,6 +49,22 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void sharedCacheAcrossEvaluators() {
+		SharedSpelExpressionCache sharedCache = new SharedSpelExpressionCache(16);
+		expressionEvaluator.setSharedCache(sharedCache);
+		TestExpressionEvaluator otherEvaluator = new TestExpressionEvaluator();
+		otherEvaluator.setSharedCache(sharedCache);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+
+		Expression expression = expressionEvaluator.getTestExpression("true", method, getClass());
+		assertSame(expression, otherEvaluator.getTestExpression("true", method, getClass()));
+		assertNotSame(expression, otherEvaluator.getTestExpression("true", method, Object.class));
+		assertEquals("Local cache should not be used", 0, expressionEvaluator.testCache.size());
+		assertEquals(2, sharedCache.size());
+		assertEquals(1, sharedCache.getHitCount());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
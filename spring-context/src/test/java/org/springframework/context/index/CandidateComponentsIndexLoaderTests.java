@@ -70,6 +70,49 @@ public class CandidateComponentsIndexLoaderTests {
 		assertThat(components, hasSize(0));
 	}
 
+	@Test
+	public void loadBinaryIndexSeveralMatches() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.index(getClass().getClassLoader(),
+						new ClassPathResource("binary-spring.components", getClass())));
+		Set<String> components = index.getCandidateTypes("org.springframework", "foo");
+		assertThat(components, containsInAnyOrder(
+				"org.springframework.context.index.Sample1",
+				"org.springframework.context.index.Sample2"));
+		assertThat(index.getCandidateTypes("org.springframework", "none"), hasSize(0));
+		assertThat(index.getCandidateTypes("com.example", "foo"), hasSize(0));
+	}
+
+	@Test
+	public void loadBinaryIndexSeveralBlocks() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.index(getClass().getClassLoader(),
+						new ClassPathResource("binary-spring.components", getClass())));
+		assertThat(index.getCandidateTypes("com.example", "service"), hasSize(20));
+		assertThat(index.getCandidateTypes("com.example", "repository"), hasSize(20));
+		assertThat(index.getCandidateTypes("com.example.service1", "repository"), containsInAnyOrder(
+				"com.example.service1.Sample1", "com.example.service1.Sample5", "com.example.service1.Sample9",
+				"com.example.service1.Sample13", "com.example.service1.Sample17", "com.example.service1.Sample21",
+				"com.example.service1.Sample25", "com.example.service1.Sample29", "com.example.service1.Sample33",
+				"com.example.service1.Sample37"));
+		assertThat(index.getCandidateTypes("com.example.service1", "service"), hasSize(0));
+		assertThat(index.getCandidateTypes("com.example.service2.Sample3", "service"), containsInAnyOrder(
+				"com.example.service2.Sample30", "com.example.service2.Sample34", "com.example.service2.Sample38"));
+		assertThat(index.getCandidateTypes("com.example.*2", "service"), hasSize(10));
+		assertThat(index.getCandidateTypes("com.**", "repository"), hasSize(20));
+	}
+
+	@Test
+	public void loadPropertiesAndBinaryIndexes() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.index(getClass().getClassLoader(),
+						new ClassPathResource("spring.components", getClass()),
+						new ClassPathResource("binary-spring.components", getClass())));
+		assertThat(index.getCandidateTypes("org.springframework", "biz"), containsInAnyOrder(
+				"org.springframework.context.index.Sample3"));
+		assertThat(index.getCandidateTypes("com.example.service0", "service"), hasSize(10));
+	}
+
 	@Test
 	public void loadIndexNoSpringComponentsResource() {
 		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
@@ -2,11 +2,14 @@
 
 package org.springframework.context.index;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -77,4 +80,13 @@ public class CandidateComponentsIndexTests {
 		assertThat(index.getCandidateTypes("com.example", "service"),contains("com.example.Foo"));
 		assertThat(index.getCandidateTypes("com.example", "entity"),contains("com.example.Foo"));
 	}
+
+	@Test
+	public void getCandidateTypesFromBinaryIndexInMemory() throws IOException {
+		byte[] binaryContent = StreamUtils.copyToByteArray(getClass().getResourceAsStream("binary-spring.components"));
+		CandidateComponentsIndex index = new CandidateComponentsIndex(content,
+				Collections.singletonList(new BinaryComponentsIndex(ByteBuffer.wrap(binaryContent))));
+		assertThat(index.getCandidateTypes("com.example", "service"), hasItem("com.example.service.One"));
+		assertThat(index.getCandidateTypes("org.springframework.context.index", "bar"), contains("org.springframework.context.index.Sample2"));
+	}
 }
@@ -15,6 +15,7 @@ import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.lang.Nullable;
@@ -76,6 +77,16 @@ public class ConversionServiceFactoryBeanTests {
 		assertTrue(service.canConvert(String.class, Baz.class));
 	}
 
+	@Test
+	public void createFrozenConversionService() {
+		ConversionServiceFactoryBean factory = new ConversionServiceFactoryBean();
+		factory.setFrozen(true);
+		factory.afterPropertiesSet();
+		GenericConversionService service = (GenericConversionService) factory.getObject();
+		assertTrue(service.isFrozen());
+		assertEquals(Integer.valueOf(8), service.convert("8", Integer.class));
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void createDefaultConversionServiceWithInvalidSupplements() {
 		ConversionServiceFactoryBean factory = new ConversionServiceFactoryBean();
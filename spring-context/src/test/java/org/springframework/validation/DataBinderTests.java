@@ -2048,6 +2048,28 @@ public class DataBinderTests {
 		assertEquals("errors.typeMismatch", binder.getBindingResult().getFieldError("age").getCode());
 	}
 
+	@Test
+	public void testBindingWithGeneratedBeanPropertyAccess() {
+		TestBean testBean = new TestBean();
+		testBean.setSpouse(new TestBean());
+		DataBinder binder = new DataBinder(testBean, "testBean");
+		DefaultMessageCodesResolver messageCodesResolver = new DefaultMessageCodesResolver();
+		messageCodesResolver.setPrefix("errors.");
+		binder.setMessageCodesResolver(messageCodesResolver);
+		binder.initGeneratedBeanPropertyAccess();
+
+		MutablePropertyValues mpv = new MutablePropertyValues();
+		mpv.add("name", "Rod");
+		mpv.add("spouse.name", "Kerry");
+		mpv.add("age", "invalid");
+		binder.bind(mpv);
+		assertTrue(binder.getBindingResult() instanceof GeneratedBeanPropertyBindingResult);
+		assertEquals("Rod", testBean.getName());
+		assertEquals("Kerry", testBean.getSpouse().getName());
+		assertEquals("errors.typeMismatch", binder.getBindingResult().getFieldError("age").getCode());
+		assertEquals("invalid", binder.getBindingResult().getFieldValue("age"));
+	}
+
 	@Test  // SPR-15009
 	public void testSetCustomMessageCodesResolverAfterInitializeBindingResult() {
 		TestBean testBean = new TestBean();
@@ -2,6 +2,7 @@ package org.springframework.core;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
@@ -13,6 +14,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.core.SerializableTypeWrapper.FieldTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.MethodParameterTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.TypeProvider;
@@ -61,6 +63,15 @@ public class ResolvableType implements Serializable {
 
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache = new ConcurrentReferenceHashMap<>(256);
 
+	/** Interned types of the fields, method parameters and method return types, per declaring class. */
+	private static final ConcurrentReferenceHashMap<Class<?>, DeclaredTypes> declaredTypesCache = new ConcurrentReferenceHashMap<>(256);
+
+	// Number of cache lookups between two purges of garbage collected entries (a power of two)
+	private static final int PURGE_INTERVAL = 256;
+
+	// Lookups since the last purge; not thread-safe on purpose, an occasional lost update only delays a purge
+	private static int lookupsSincePurge;
+
 	/**
 	 * The underlying Java type being managed.
 	 */
@@ -90,14 +101,16 @@ public class ResolvableType implements Serializable {
 	@Nullable
 	private Class<?> resolved;
 
+	// Lazily resolved navigation results: not serialized, since interned instances are shared and may have been
+	// navigated to types that are not serializable; resolved again after deserialization
 	@Nullable
-	private volatile ResolvableType superType;
+	private transient volatile ResolvableType superType;
 
 	@Nullable
-	private volatile ResolvableType[] interfaces;
+	private transient volatile ResolvableType[] interfaces;
 
 	@Nullable
-	private volatile ResolvableType[] generics;
+	private transient volatile ResolvableType[] generics;
 
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
@@ -961,7 +974,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field) {
 		Assert.notNull(field, "Field must not be null");
-		return forType(null, new FieldTypeProvider(field), null);
+		return getDeclaredTypes(field.getDeclaringClass()).getFieldType(field);
 	}
 
 	/**
@@ -1031,7 +1044,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forConstructorParameter(Constructor<?> constructor, int parameterIndex) {
 		Assert.notNull(constructor, "Constructor must not be null");
-		return forMethodParameter(new MethodParameter(constructor, parameterIndex));
+		return getDeclaredTypes(constructor.getDeclaringClass()).getParameterType(constructor, parameterIndex);
 	}
 
 	/**
@@ -1059,7 +1072,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forMethodReturnType(Method method) {
 		Assert.notNull(method, "Method must not be null");
-		return forMethodParameter(new MethodParameter(method, -1));
+		return getDeclaredTypes(method.getDeclaringClass()).getReturnType(method);
 	}
 
 	/**
@@ -1088,7 +1101,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forMethodParameter(Method method, int parameterIndex) {
 		Assert.notNull(method, "Method must not be null");
-		return forMethodParameter(new MethodParameter(method, parameterIndex));
+		return getDeclaredTypes(method.getDeclaringClass()).getParameterType(method, parameterIndex);
 	}
 
 	/**
@@ -1239,8 +1252,12 @@ public class ResolvableType implements Serializable {
 		if (type instanceof Class) {
 			return new ResolvableType(type, typeProvider, variableResolver, (ResolvableType) null);
 		}
-		// Purge empty entries on access since we don't have a clean-up thread or the like.
-		cache.purgeUnreferencedEntries();
+		// Purge empty entries every so often since we don't have a clean-up thread or the like:
+		// purging on every access would lock each segment with pending references on the hot path.
+		if ((++lookupsSincePurge & (PURGE_INTERVAL - 1)) == 0) {
+			cache.purgeUnreferencedEntries();
+			declaredTypesCache.purgeUnreferencedEntries();
+		}
 		// Check the cache - we may have a ResolvableType which has been resolved before...
 		ResolvableType resultType = new ResolvableType(type, typeProvider, variableResolver);
 		ResolvableType cachedType = cache.get(resultType);
@@ -1258,9 +1275,20 @@ public class ResolvableType implements Serializable {
 	 */
 	public static void clearCache() {
 		cache.clear();
+		declaredTypesCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
+	private static DeclaredTypes getDeclaredTypes(Class<?> declaringClass) {
+		DeclaredTypes declaredTypes = declaredTypesCache.get(declaringClass);
+		if (declaredTypes == null) {
+			declaredTypes = new DeclaredTypes();
+			DeclaredTypes existing = declaredTypesCache.putIfAbsent(declaringClass, declaredTypes);
+			if (existing != null) declaredTypes = existing;
+		}
+		return declaredTypes;
+	}
+
 	// Strategy interface used to resolve {@link TypeVariable TypeVariables}.
 	interface VariableResolver extends Serializable {
 		// Return the source of the resolver (used for hashCode and equals).
@@ -1458,6 +1486,56 @@ public class ResolvableType implements Serializable {
 		enum Kind {UPPER, LOWER}
 	}
 
+	/**
+	 * Interned {@code ResolvableTypes} for the members of a declaring class, as returned by {@link #forField(Field)},
+	 * {@link #forMethodParameter(Method, int)}, {@link #forConstructorParameter(Constructor, int)} and
+	 * {@link #forMethodReturnType(Method)}. Repeated lookups for the same member return the same instance,
+	 * along with its lazily resolved super type, interfaces and generics.
+	 * Types with an implementation class or a nesting level are still resolved per call.
+	 */
+	private static final class DeclaredTypes {
+
+		private final Map<Field, ResolvableType> fieldTypes = new ConcurrentHashMap<>(8);
+
+		// Parameter types per method or constructor, resolved all at once
+		private final Map<Executable, ResolvableType[]> parameterTypes = new ConcurrentHashMap<>(8);
+
+		private final Map<Method, ResolvableType> returnTypes = new ConcurrentHashMap<>(8);
+
+		ResolvableType getFieldType(Field field) {
+			ResolvableType type = this.fieldTypes.get(field);
+			if (type == null) {
+				type = forType(null, new FieldTypeProvider(field), null);
+				this.fieldTypes.put(field, type);
+			}
+			return type;
+		}
+
+		ResolvableType getParameterType(Executable executable, int parameterIndex) {
+			ResolvableType[] types = this.parameterTypes.get(executable);
+			if (types == null) {
+				types = new ResolvableType[executable.getParameterCount()];
+				for (int i = 0; i < types.length; i++) {
+					types[i] = forMethodParameter(MethodParameter.forExecutable(executable, i));
+				}
+				this.parameterTypes.put(executable, types);
+			}
+			// Out of range: fail as MethodParameter does
+			if (parameterIndex < 0 || parameterIndex >= types.length) return forMethodParameter(MethodParameter.forExecutable(executable, parameterIndex));
+			return types[parameterIndex];
+		}
+
+		ResolvableType getReturnType(Method method) {
+			ResolvableType type = this.returnTypes.get(method);
+			if (type == null) {
+				type = forMethodParameter(new MethodParameter(method, -1));
+				this.returnTypes.put(method, type);
+			}
+			return type;
+		}
+	}
+
+
 	/**
 	 * Internal {@link Type} used to represent an empty value.
 	 */
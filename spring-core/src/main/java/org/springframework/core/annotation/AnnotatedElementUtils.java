@@ -14,6 +14,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.lang.Nullable;
@@ -183,6 +184,8 @@ public abstract class AnnotatedElementUtils {
 	}
 
 	private static boolean hasMetaAnnotationTypes(AnnotatedElement element, @Nullable Class<? extends Annotation> annotationType, @Nullable String annotationName) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.isMetaPresent(annotationType != null ? annotationType.getName() : annotationName);
 		return Boolean.TRUE.equals(
 			searchWithGetSemantics(element, annotationType, annotationName, new SimpleAnnotationProcessor<Boolean>() {
 				@Override
@@ -210,6 +213,8 @@ public abstract class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.isPresent(annotationType.getName());
 		return Boolean.TRUE.equals(searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
 	}
 
@@ -224,6 +229,8 @@ public abstract class AnnotatedElementUtils {
 	 * @return {@code true} if a matching annotation is present
 	 */
 	public static boolean isAnnotated(AnnotatedElement element, String annotationName) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.isPresent(annotationName);
 		return Boolean.TRUE.equals(searchWithGetSemantics(element, null, annotationName, alwaysTrueAnnotationProcessor));
 	}
 
@@ -243,6 +250,13 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.getMergedAttributes(annotationType, () -> doGetMergedAnnotationAttributes(element, annotationType));
+		return doGetMergedAnnotationAttributes(element, annotationType);
+	}
+
+	@Nullable
+	private static AnnotationAttributes doGetMergedAnnotationAttributes(AnnotatedElement element, Class<? extends Annotation> annotationType) {
 		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,new MergedAnnotationAttributesProcessor());
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
 		return attributes;
@@ -288,6 +302,12 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element,String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		return getIndexedAttributes(element, annotationName, false, classValuesAsString, nestedAnnotationsAsMap,
+				(classValues, nestedMaps) -> doGetMergedAnnotationAttributes(element, annotationName, classValues, nestedMaps));
+	}
+
+	@Nullable
+	private static AnnotationAttributes doGetMergedAnnotationAttributes(AnnotatedElement element,String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
 		return attributes;
@@ -312,6 +332,14 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		// 同一元素上的合成注解只创建一次
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.getMergedAnnotation(annotationType, () -> doGetMergedAnnotation(element, annotationType));
+		return doGetMergedAnnotation(element, annotationType);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doGetMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -347,6 +375,12 @@ public abstract class AnnotatedElementUtils {
 	 * @see #findAllMergedAnnotations(AnnotatedElement, Class)
 	 */
 	public static <A extends Annotation> Set<A> getAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.getAllMergedAnnotations(annotationType, () -> doGetAllMergedAnnotations(element, annotationType));
+		return doGetAllMergedAnnotations(element, annotationType);
+	}
+
+	private static <A extends Annotation> Set<A> doGetAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
 		MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
 		searchWithGetSemantics(element, annotationType, null, processor);
 		return postProcessAndSynthesizeAggregatedResults(element, processor.getAggregatedResults());
@@ -498,6 +532,8 @@ public abstract class AnnotatedElementUtils {
 	public static boolean hasAnnotation(AnnotatedElement element, Class<? extends Annotation> annotationType) {
 		// Shortcut: directly present on the element, with no processing needed?
 		if (element.isAnnotationPresent(annotationType)) return true;
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.hasAnnotation(annotationType, () -> searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
 		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
 	}
 
@@ -526,6 +562,12 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		return getIndexedAttributes(element, annotationType, true, classValuesAsString, nestedAnnotationsAsMap,
+				(classValues, nestedMaps) -> doFindMergedAnnotationAttributes(element, annotationType, classValues, nestedMaps));
+	}
+
+	@Nullable
+	private static AnnotationAttributes doFindMergedAnnotationAttributes(AnnotatedElement element,Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
 		return attributes;
@@ -560,11 +602,34 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		return getIndexedAttributes(element, annotationName, true, classValuesAsString, nestedAnnotationsAsMap,
+				(classValues, nestedMaps) -> doFindMergedAnnotationAttributes(element, annotationName, classValues, nestedMaps));
+	}
+
+	@Nullable
+	private static AnnotationAttributes doFindMergedAnnotationAttributes(AnnotatedElement element,String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
 		return attributes;
 	}
 
+	/**
+	 * Resolve merged attributes through the {@link MergedAnnotationIndex} of the element, which only holds them in
+	 * their default representation (Class references and nested annotations preserved); any other representation
+	 * is resolved without the index.
+	 * @param annotationKey the annotation type or name
+	 * @param findSemantics whether to follow find semantics rather than get semantics
+	 */
+	@Nullable
+	private static AnnotationAttributes getIndexedAttributes(AnnotatedElement element, Object annotationKey, boolean findSemantics,
+			boolean classValuesAsString, boolean nestedAnnotationsAsMap, AttributesResolver resolver) {
+
+		MergedAnnotationIndex index = (!classValuesAsString && !nestedAnnotationsAsMap ? MergedAnnotationIndex.forElement(element) : null);
+		if (index == null) return resolver.resolve(classValuesAsString, nestedAnnotationsAsMap);
+		Supplier<AnnotationAttributes> defaultResolver = () -> resolver.resolve(false, false);
+		return (findSemantics ? index.findMergedAttributes(annotationKey, defaultResolver) : index.getMergedAttributes(annotationKey, defaultResolver));
+	}
+
 	/**
 	 * Find the first annotation of the specified {@code annotationType} within the annotation hierarchy <em>above</em> the supplied {@code element},
 	 * merge that annotation's attributes with <em>matching</em> attributes from
@@ -582,6 +647,13 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.findMergedAnnotation(annotationType, () -> doFindMergedAnnotation(element, annotationType));
+		return doFindMergedAnnotation(element, annotationType);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doFindMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -610,6 +682,12 @@ public abstract class AnnotatedElementUtils {
 	 * @see #getAllMergedAnnotations(AnnotatedElement, Class)
 	 */
 	public static <A extends Annotation> Set<A> findAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		if (index != null) return index.findAllMergedAnnotations(annotationType, () -> doFindAllMergedAnnotations(element, annotationType));
+		return doFindAllMergedAnnotations(element, annotationType);
+	}
+
+	private static <A extends Annotation> Set<A> doFindAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
 		MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
 		searchWithFindSemantics(element, annotationType, null, processor);
 		return postProcessAndSynthesizeAggregatedResults(element, processor.getAggregatedResults());
@@ -693,6 +771,26 @@ public abstract class AnnotatedElementUtils {
 		return postProcessAndSynthesizeAggregatedResults(element, processor.getAggregatedResults());
 	}
 
+	/**
+	 * Collect the names of all annotation types <em>present</em> on the supplied element or within the annotation
+	 * hierarchy above it, following <em>get semantics</em>, for the {@link MergedAnnotationIndex}.
+	 * @param element the annotated element
+	 * @param annotationTypeNames the set to add the names of all annotation types to
+	 * @param metaAnnotationTypeNames the set to add the names of the meta-annotation types to
+	 * @since 5.1.9
+	 */
+	static void collectAnnotationTypeNames(AnnotatedElement element, final Set<String> annotationTypeNames, final Set<String> metaAnnotationTypeNames) {
+		searchWithGetSemantics(element, Collections.emptySet(), null, null, new SimpleAnnotationProcessor<Object>(true) {
+			@Override
+			@Nullable
+			public Object process(@Nullable AnnotatedElement annotatedElement, Annotation annotation, int metaDepth) {
+				annotationTypeNames.add(annotation.annotationType().getName());
+				if (metaDepth > 0) metaAnnotationTypeNames.add(annotation.annotationType().getName());
+				return CONTINUE;
+			}
+		});
+	}
+
 	/**
 	 * Search for annotations of the specified {@code annotationName} or {@code annotationType} on the specified {@code element}, following <em>get semantics</em>.
 	 * @param element the annotated element
@@ -1104,6 +1202,16 @@ public abstract class AnnotatedElementUtils {
 		return annotations;
 	}
 
+	/**
+	 * Callback that resolves merged attributes in the given representation, for {@link #getIndexedAttributes}.
+	 */
+	@FunctionalInterface
+	private interface AttributesResolver {
+
+		@Nullable
+		AnnotationAttributes resolve(boolean classValuesAsString, boolean nestedAnnotationsAsMap);
+	}
+
 	/**
 	 * Callback interface that is used to process annotations during a search.
 	 * Depending on the use case, a processor may choose to {@linkplain #process} a single target annotation, multiple target annotations,
@@ -3,6 +3,7 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
@@ -11,6 +12,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -108,6 +110,15 @@ public abstract class AnnotationUtils {
 
 	private static final Map<Method, AliasDescriptor> aliasDescriptorCache = new ConcurrentReferenceHashMap<>(256);
 
+	/** Names of the annotation types used anywhere in a class and its hierarchy, including meta-annotations. */
+	private static final Map<Class<?>, Set<String>> candidateAnnotationTypesCache = new ConcurrentReferenceHashMap<>(256);
+
+	/** Name of an annotation type along with the names of all its meta-annotation types. */
+	private static final Map<Class<? extends Annotation>, Set<String>> metaAnnotationTypesCache = new ConcurrentReferenceHashMap<>(256);
+
+	/** Cache marker for a class that could not be introspected, and is therefore a candidate for any annotation. */
+	private static final Set<String> ANY_ANNOTATION_TYPES = Collections.unmodifiableSet(new HashSet<>());
+
 	@Nullable
 	private static transient Log logger;
 
@@ -794,6 +805,125 @@ public abstract class AnnotationUtils {
 		return (name.startsWith("java.") || name.startsWith("org.springframework.lang."));
 	}
 
+	/**
+	 * 判断给定的类是否可能带有指定的注解，用于在逐个方法/字段查找注解之前过滤掉不相关的类
+	 * Determine whether the given class is a candidate for carrying the specified annotation,
+	 * i.e. whether the annotation or a composed annotation meta-annotated with it is declared
+	 * anywhere in the class and its hierarchy: on the class itself or on any of its methods,
+	 * fields, constructors or parameters, in any superclass or implemented interface.
+	 * A {@code false} result means that a search for the annotation on the class or any of its
+	 * members, with <em>get</em> or <em>find</em> semantics, cannot succeed, so that callers such as
+	 * bean post-processors can skip per-method introspection; {@code true} does not guarantee a match.
+	 * Since the methods overridden or implemented by a method are all declared in the hierarchy of its
+	 * declaring class, a search for the annotations of a method may be pre-filtered on
+	 * {@code method.getDeclaringClass()}.
+	 * The summary of the declared annotations is computed once per class, and shared along the hierarchy.
+	 * @param clazz the class to introspect
+	 * @param annotationType the searchable annotation type
+	 * @return {@code false} if the class cannot carry the annotation, {@code true} otherwise
+	 * @since 5.1.9
+	 * @see #isCandidateClass(Class, Collection)
+	 * @see #isCandidateClass(Class, String)
+	 */
+	public static boolean isCandidateClass(Class<?> clazz, Class<? extends Annotation> annotationType) {
+		return isCandidateClass(clazz, annotationType.getName());
+	}
+
+	/**
+	 * Determine whether the given class is a candidate for carrying one of the specified annotations.
+	 * @param clazz the class to introspect
+	 * @param annotationTypes the searchable annotation types
+	 * @return {@code false} if the class cannot carry any of the annotations, {@code true} otherwise
+	 * @since 5.1.9
+	 * @see #isCandidateClass(Class, Class)
+	 */
+	public static boolean isCandidateClass(Class<?> clazz, Collection<Class<? extends Annotation>> annotationTypes) {
+		for (Class<? extends Annotation> annotationType : annotationTypes) {
+			if (isCandidateClass(clazz, annotationType.getName())) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the given class is a candidate for carrying the specified annotation.
+	 * @param clazz the class to introspect
+	 * @param annotationName the fully qualified name of the searchable annotation type
+	 * @return {@code false} if the class cannot carry the annotation, {@code true} otherwise
+	 * @since 5.1.9
+	 * @see #isCandidateClass(Class, Class)
+	 */
+	public static boolean isCandidateClass(Class<?> clazz, String annotationName) {
+		// Shortcut: JDK types only carry JDK annotations
+		if (clazz.getName().startsWith("java.")) return (annotationName.startsWith("java.") || annotationName.startsWith("jdk."));
+		Set<String> annotationTypes = getCandidateAnnotationTypes(clazz);
+		return (annotationTypes == ANY_ANNOTATION_TYPES || annotationTypes.contains(annotationName));
+	}
+
+	private static Set<String> getCandidateAnnotationTypes(Class<?> clazz) {
+		Set<String> annotationTypes = candidateAnnotationTypesCache.get(clazz);
+		if (annotationTypes != null) return annotationTypes;
+		try {
+			Set<String> declaredTypes = new HashSet<>();
+			addCandidateAnnotationTypes(clazz.getDeclaredAnnotations(), declaredTypes);
+			ReflectionUtils.doWithLocalFields(clazz, field -> addCandidateAnnotationTypes(field.getDeclaredAnnotations(), declaredTypes));
+			ReflectionUtils.doWithLocalMethods(clazz, method -> {
+				addCandidateAnnotationTypes(method.getDeclaredAnnotations(), declaredTypes);
+				for (Annotation[] parameterAnnotations : method.getParameterAnnotations()) {
+					addCandidateAnnotationTypes(parameterAnnotations, declaredTypes);
+				}
+			});
+			for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+				addCandidateAnnotationTypes(constructor.getDeclaredAnnotations(), declaredTypes);
+				for (Annotation[] parameterAnnotations : constructor.getParameterAnnotations()) {
+					addCandidateAnnotationTypes(parameterAnnotations, declaredTypes);
+				}
+			}
+			annotationTypes = declaredTypes;
+			// 父类和接口的注解汇总各自缓存，层次结构中的类共享
+			Class<?> superclass = clazz.getSuperclass();
+			if (superclass != null && superclass != Object.class) {
+				annotationTypes = mergeCandidateAnnotationTypes(annotationTypes, getCandidateAnnotationTypes(superclass));
+			}
+			for (Class<?> ifc : clazz.getInterfaces()) {
+				annotationTypes = mergeCandidateAnnotationTypes(annotationTypes, getCandidateAnnotationTypes(ifc));
+			}
+		}catch (Throwable ex) {
+			handleIntrospectionFailure(clazz, ex);
+			annotationTypes = ANY_ANNOTATION_TYPES;
+		}
+		candidateAnnotationTypesCache.put(clazz, annotationTypes);
+		return annotationTypes;
+	}
+
+	private static Set<String> mergeCandidateAnnotationTypes(Set<String> annotationTypes, Set<String> inheritedTypes) {
+		if (annotationTypes == ANY_ANNOTATION_TYPES || inheritedTypes == ANY_ANNOTATION_TYPES) return ANY_ANNOTATION_TYPES;
+		annotationTypes.addAll(inheritedTypes);
+		return annotationTypes;
+	}
+
+	private static void addCandidateAnnotationTypes(Annotation[] annotations, Set<String> annotationTypes) {
+		for (Annotation annotation : annotations) {
+			annotationTypes.addAll(getMetaAnnotationTypes(annotation.annotationType()));
+		}
+	}
+
+	private static Set<String> getMetaAnnotationTypes(Class<? extends Annotation> annotationType) {
+		Set<String> metaAnnotationTypes = metaAnnotationTypesCache.get(annotationType);
+		if (metaAnnotationTypes == null) {
+			metaAnnotationTypes = new HashSet<>();
+			collectMetaAnnotationTypes(annotationType, metaAnnotationTypes);
+			metaAnnotationTypesCache.put(annotationType, metaAnnotationTypes);
+		}
+		return metaAnnotationTypes;
+	}
+
+	private static void collectMetaAnnotationTypes(Class<? extends Annotation> annotationType, Set<String> metaAnnotationTypes) {
+		if (!metaAnnotationTypes.add(annotationType.getName()) || isInJavaLangAnnotationPackage(annotationType)) return;
+		for (Annotation metaAnnotation : getDeclaredAnnotations(annotationType)) {
+			collectMetaAnnotationTypes(metaAnnotation.annotationType(), metaAnnotationTypes);
+		}
+	}
+
 	/**
 	 * Determine if the supplied {@link Annotation} is defined in the core JDK
 	 * {@code java.lang.annotation} package.
@@ -1677,6 +1807,9 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		candidateAnnotationTypesCache.clear();
+		metaAnnotationTypesCache.clear();
+		MergedAnnotationIndex.clearCache();
 	}
 
 	/**
@@ -0,0 +1,211 @@
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Per-element model of the merged annotations of an {@link AnnotatedElement}, used by {@link AnnotatedElementUtils}.
+ * The names of all directly present and meta-present annotation types are collected in a single pass over the
+ * annotation hierarchy, and the merged attributes (with {@link AliasFor @AliasFor} and attribute overrides resolved)
+ * as well as the synthesized annotations are resolved once per annotation type and kept for subsequent lookups,
+ * so that repeated queries neither walk the hierarchy again nor create a new synthesized proxy per call.
+ *
+ * Only classes and members are indexed, under soft references; the resolved results of an element share one map,
+ * created on its first lookup, and attribute maps are handed out as copies since callers may modify them. Cleared along with the other caches through {@link AnnotationUtils#clearCache()}.
+ * @since 5.1.9
+ * 简而言之，就是每个注解元素只解析一次其注解层次结构，之后的合并注解查询直接命中
+ */
+final class MergedAnnotationIndex {
+
+	/** Cache marker for an annotation type that was not found. */
+	private static final Object NOT_FOUND = new Object();
+
+	private static final Map<AnnotatedElement, MergedAnnotationIndex> cache = new ConcurrentReferenceHashMap<>(256);
+
+	private final AnnotatedElement element;
+
+	// Names of the annotation types present on the element at any level, and at meta level only (get semantics)
+	@Nullable
+	private volatile Set<String>[] annotationTypeNames;
+
+	// Resolved results by kind of lookup and annotation type or name
+	@Nullable
+	private volatile Map<LookupKey, Object> results;
+
+	private MergedAnnotationIndex(AnnotatedElement element) {
+		this.element = element;
+	}
+
+	/**
+	 * Return the index for the given element, or {@code null} if the element is not suitable for caching
+	 * (e.g. an ad-hoc element as built by {@link AnnotatedElementUtils#forAnnotations}).
+	 */
+	@Nullable
+	static MergedAnnotationIndex forElement(AnnotatedElement element) {
+		if (!(element instanceof Class || element instanceof Member)) return null;
+		MergedAnnotationIndex index = cache.get(element);
+		if (index == null) {
+			index = new MergedAnnotationIndex(element);
+			MergedAnnotationIndex existing = cache.putIfAbsent(element, index);
+			if (existing != null) index = existing;
+		}
+		return index;
+	}
+
+	static void clearCache() {
+		cache.clear();
+	}
+
+	// Determine whether an annotation of the given type is present at any level (get semantics).
+	boolean isPresent(String annotationName) {
+		return getAnnotationTypeNames()[0].contains(annotationName);
+	}
+
+	// Determine whether an annotation of the given type is present as a meta-annotation (get semantics).
+	boolean isMetaPresent(String annotationName) {
+		return getAnnotationTypeNames()[1].contains(annotationName);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Set<String>[] getAnnotationTypeNames() {
+		Set<String>[] names = this.annotationTypeNames;
+		if (names == null) {
+			Set<String> present = new LinkedHashSet<>();
+			Set<String> metaPresent = new LinkedHashSet<>();
+			AnnotatedElementUtils.collectAnnotationTypeNames(this.element, present, metaPresent);
+			names = new Set[] {Collections.unmodifiableSet(present), Collections.unmodifiableSet(metaPresent)};
+			this.annotationTypeNames = names;
+		}
+		return names;
+	}
+
+	// Merged attributes with get semantics, keyed by annotation type or name; returned as a copy.
+	@Nullable
+	AnnotationAttributes getMergedAttributes(Object annotationKey, Supplier<AnnotationAttributes> resolver) {
+		return copy(resolve(Lookup.MERGED_ATTRIBUTES, annotationKey, resolver));
+	}
+
+	// Merged attributes with find semantics, keyed by annotation type or name; returned as a copy.
+	@Nullable
+	AnnotationAttributes findMergedAttributes(Object annotationKey, Supplier<AnnotationAttributes> resolver) {
+		return copy(resolve(Lookup.FOUND_ATTRIBUTES, annotationKey, resolver));
+	}
+
+	@Nullable
+	<A extends Annotation> A getMergedAnnotation(Class<A> annotationType, Supplier<A> resolver) {
+		return resolve(Lookup.MERGED_ANNOTATION, annotationType, resolver);
+	}
+
+	@Nullable
+	<A extends Annotation> A findMergedAnnotation(Class<A> annotationType, Supplier<A> resolver) {
+		return resolve(Lookup.FOUND_ANNOTATION, annotationType, resolver);
+	}
+
+	<A extends Annotation> Set<A> getAllMergedAnnotations(Class<A> annotationType, Supplier<Set<A>> resolver) {
+		Set<A> annotations = resolve(Lookup.ALL_MERGED_ANNOTATIONS, annotationType, resolver);
+		return (annotations != null ? new LinkedHashSet<>(annotations) : new LinkedHashSet<>());
+	}
+
+	<A extends Annotation> Set<A> findAllMergedAnnotations(Class<A> annotationType, Supplier<Set<A>> resolver) {
+		Set<A> annotations = resolve(Lookup.ALL_FOUND_ANNOTATIONS, annotationType, resolver);
+		return (annotations != null ? new LinkedHashSet<>(annotations) : new LinkedHashSet<>());
+	}
+
+	// Presence with find semantics.
+	boolean hasAnnotation(Class<? extends Annotation> annotationType, Supplier<Boolean> resolver) {
+		return Boolean.TRUE.equals(resolve(Lookup.FOUND_PRESENCE, annotationType, resolver));
+	}
+
+	// Not computeIfAbsent: a resolver may query the index of the same element for another kind of result
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private <T> T resolve(Lookup lookup, Object annotationKey, Supplier<? extends T> resolver) {
+		Map<LookupKey, Object> results = getResults();
+		LookupKey key = new LookupKey(lookup, annotationKey);
+		Object result = results.get(key);
+		if (result == null) {
+			T resolved = resolver.get();
+			result = (resolved != null ? resolved : NOT_FOUND);
+			results.put(key, result);
+		}
+		return (result != NOT_FOUND ? (T) result : null);
+	}
+
+	private Map<LookupKey, Object> getResults() {
+		Map<LookupKey, Object> results = this.results;
+		if (results == null) {
+			synchronized (this) {
+				results = this.results;
+				if (results == null) {
+					results = new ConcurrentHashMap<>(8);
+					this.results = results;
+				}
+			}
+		}
+		return results;
+	}
+
+	// Copy the map as well as top-level array values, which callers might modify in place
+	@Nullable
+	private static AnnotationAttributes copy(@Nullable AnnotationAttributes attributes) {
+		if (attributes == null) return null;
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			Object value = entry.getValue();
+			if (value != null && value.getClass().isArray()) {
+				int length = Array.getLength(value);
+				Object array = Array.newInstance(value.getClass().getComponentType(), length);
+				System.arraycopy(value, 0, array, 0, length);
+				entry.setValue(array);
+			}
+		}
+		return copy;
+	}
+
+
+	// Kinds of lookups whose results are indexed, with get or find semantics
+	private enum Lookup {
+
+		MERGED_ATTRIBUTES, FOUND_ATTRIBUTES, MERGED_ANNOTATION, FOUND_ANNOTATION,
+		ALL_MERGED_ANNOTATIONS, ALL_FOUND_ANNOTATIONS, FOUND_PRESENCE
+	}
+
+
+	private static final class LookupKey {
+
+		private final Lookup lookup;
+
+		// Annotation type, or annotation name for lookups of attributes by name
+		private final Object annotationKey;
+
+		LookupKey(Lookup lookup, Object annotationKey) {
+			this.lookup = lookup;
+			this.annotationKey = annotationKey;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) return true;
+			if (!(other instanceof LookupKey)) return false;
+			LookupKey otherKey = (LookupKey) other;
+			return (this.lookup == otherKey.lookup && this.annotationKey.equals(otherKey.annotationKey));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.annotationKey.hashCode() * 31 + this.lookup.ordinal();
+		}
+	}
+
+}
@@ -4,6 +4,9 @@ package org.springframework.core.codec;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 
@@ -84,11 +87,7 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 						if (!region.getResource().isReadable()) {
 							return Flux.error(new EncodingException("Resource " + region.getResource() + " is not readable"));
 						}
-						Flux<DataBuffer> prefix = Flux.just(
-								bufferFactory.wrap(startBoundary),
-								bufferFactory.wrap(contentType),
-								bufferFactory.wrap(getContentRangeHeader(region))); // only wrapping, no allocation
-
+						Flux<DataBuffer> prefix = Flux.fromIterable(getRegionPrefix(region, bufferFactory, startBoundary, contentType));
 						return prefix.concatWith(writeResourceRegion(region, bufferFactory, hints));
 					})
 					.concatWithValues(getRegionSuffix(bufferFactory, boundaryString));
@@ -96,6 +95,35 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 		// No doOnDiscard (no caching after DataBufferUtils#read)
 	}
 
+	/**
+	 * Return the parts of a multipart/byteranges body for the given regions, in order: the boundaries and part
+	 * headers as data buffers, each followed by its {@link ResourceRegion} itself, which is left for the caller to
+	 * transfer, e.g. through a zero-copy file transfer. The regions are expected to be readable.
+	 * @param regions the regions of the body
+	 * @param bufferFactory the factory for the boundary and header buffers
+	 * @param mimeType the mime type of the regions, if any
+	 * @param hints the hints, containing the {@link #BOUNDARY_STRING_HINT boundary string}
+	 * @return the data buffers and regions that make up the body
+	 * @since 5.1.9
+	 */
+	public List<Object> encodeParts(List<? extends ResourceRegion> regions, DataBufferFactory bufferFactory, @Nullable MimeType mimeType, Map<String, Object> hints) {
+		String boundaryString = Hints.getRequiredHint(hints, BOUNDARY_STRING_HINT);
+		byte[] startBoundary = toAsciiBytes("\r\n--" + boundaryString + "\r\n");
+		byte[] contentType = mimeType != null ? toAsciiBytes("Content-Type: " + mimeType + "\r\n") : new byte[0];
+		List<Object> parts = new ArrayList<>(regions.size() * 4 + 1);
+		for (ResourceRegion region : regions) {
+			parts.addAll(getRegionPrefix(region, bufferFactory, startBoundary, contentType));
+			parts.add(region);
+		}
+		parts.add(getRegionSuffix(bufferFactory, boundaryString));
+		return parts;
+	}
+
+	// Only wrapping, no allocation
+	private List<DataBuffer> getRegionPrefix(ResourceRegion region, DataBufferFactory bufferFactory, byte[] startBoundary, byte[] contentType) {
+		return Arrays.asList(bufferFactory.wrap(startBoundary), bufferFactory.wrap(contentType), bufferFactory.wrap(getContentRangeHeader(region)));
+	}
+
 	private Flux<DataBuffer> writeResourceRegion(ResourceRegion region, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints) {
 
 		Resource resource = region.getResource();
@@ -177,7 +177,7 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 				dataBuffers.remove(lastIdx);
 			}
 		}
-		return dataBuffers.get(0).factory().join(dataBuffers);
+		return DataBufferUtils.join(dataBuffers);
 	}
 
 	@Override
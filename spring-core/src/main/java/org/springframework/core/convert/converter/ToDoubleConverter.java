@@ -0,0 +1,24 @@
+package org.springframework.core.convert.converter;
+
+/**
+ * Primitive specialization of a {@link Converter} to {@code double}, allowing conversions into {@code double} fields
+ * and {@code double[]} arrays without boxing each value.
+ * Implemented in addition to {@code Converter<S, Double>}: {@link org.springframework.core.convert.support.GenericConversionService}
+ * recognizes it on the converter that it resolves for a {@code double} target type.
+ * @since 5.1.9
+ * @param <S> the source type
+ * @see org.springframework.core.convert.support.GenericConversionService#getDoubleConverter
+ */
+@FunctionalInterface
+public interface ToDoubleConverter<S> {
+
+	/**
+	 * Convert the source object of type {@code S} to a {@code double} value.
+	 * @param source the source object to convert, which must be an instance of {@code S} (never {@code null})
+	 * @return the converted value
+	 * @throws IllegalArgumentException if the source cannot be converted, including a source
+	 * that the {@code Converter<S, Double>} would convert to {@code null}
+	 */
+	double convertToDouble(S source);
+
+}
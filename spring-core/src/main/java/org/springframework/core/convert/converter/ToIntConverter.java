@@ -0,0 +1,24 @@
+package org.springframework.core.convert.converter;
+
+/**
+ * Primitive specialization of a {@link Converter} to {@code int}, allowing conversions into {@code int} fields
+ * and {@code int[]} arrays without boxing each value.
+ * Implemented in addition to {@code Converter<S, Integer>}: {@link org.springframework.core.convert.support.GenericConversionService}
+ * recognizes it on the converter that it resolves for an {@code int} target type.
+ * @since 5.1.9
+ * @param <S> the source type
+ * @see org.springframework.core.convert.support.GenericConversionService#getIntConverter
+ */
+@FunctionalInterface
+public interface ToIntConverter<S> {
+
+	/**
+	 * Convert the source object of type {@code S} to an {@code int} value.
+	 * @param source the source object to convert, which must be an instance of {@code S} (never {@code null})
+	 * @return the converted value
+	 * @throws IllegalArgumentException if the source cannot be converted, including a source
+	 * that the {@code Converter<S, Integer>} would convert to {@code null}
+	 */
+	int convertToInt(S source);
+
+}
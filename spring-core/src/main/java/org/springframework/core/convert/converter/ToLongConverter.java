@@ -0,0 +1,24 @@
+package org.springframework.core.convert.converter;
+
+/**
+ * Primitive specialization of a {@link Converter} to {@code long}, allowing conversions into {@code long} fields
+ * and {@code long[]} arrays without boxing each value.
+ * Implemented in addition to {@code Converter<S, Long>}: {@link org.springframework.core.convert.support.GenericConversionService}
+ * recognizes it on the converter that it resolves for a {@code long} target type.
+ * @since 5.1.9
+ * @param <S> the source type
+ * @see org.springframework.core.convert.support.GenericConversionService#getLongConverter
+ */
+@FunctionalInterface
+public interface ToLongConverter<S> {
+
+	/**
+	 * Convert the source object of type {@code S} to a {@code long} value.
+	 * @param source the source object to convert, which must be an instance of {@code S} (never {@code null})
+	 * @return the converted value
+	 * @throws IllegalArgumentException if the source cannot be converted, including a source
+	 * that the {@code Converter<S, Long>} would convert to {@code null}
+	 */
+	long convertToLong(S source);
+
+}
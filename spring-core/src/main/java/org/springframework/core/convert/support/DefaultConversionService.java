@@ -89,6 +89,9 @@ public class DefaultConversionService extends GenericConversionService {
 		converterRegistry.addConverter(new CollectionToObjectConverter(conversionService));
 		converterRegistry.addConverter(new ObjectToCollectionConverter(conversionService));
 		converterRegistry.addConverter(new StreamConverter(conversionService));
+		if (conversionService instanceof GenericConversionService) {
+			converterRegistry.addConverter(new PrimitiveArrayConverter((GenericConversionService) conversionService));
+		}
 	}
 
 	private static void addScalarConverters(ConverterRegistry converterRegistry) {
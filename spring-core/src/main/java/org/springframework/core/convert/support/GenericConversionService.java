@@ -3,7 +3,10 @@
 package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -28,6 +31,9 @@ import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.convert.converter.GenericConverter;
 import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+import org.springframework.core.convert.converter.ToDoubleConverter;
+import org.springframework.core.convert.converter.ToIntConverter;
+import org.springframework.core.convert.converter.ToLongConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -51,10 +57,27 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	private static final GenericConverter NO_MATCH = new NoOpConverter("NO_MATCH");
 
+	/**
+	 * Types whose conversions among each other are resolved eagerly when freezing,
+	 * e.g. for {@code @Value} and bean property values given as Strings.
+	 */
+	private static final Class<?>[] COMMON_SOURCE_TYPES = {String.class, Boolean.class, Character.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class};
+
+	private static final Class<?>[] COMMON_PRIMITIVE_TYPES = {boolean.class, char.class, byte.class, short.class,
+			int.class, long.class, float.class, double.class};
+
 	private final Converters converters = new Converters();
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/**
+	 * Converters by source class and target class, for type descriptors without generics and annotations.
+	 * Only used once frozen, since registrations cannot change anymore then.
+	 */
+	@Nullable
+	private volatile Map<Class<?>, Map<Class<?>, GenericConverter>> frozenConverters;
+
 	// ConverterRegistry implementation
 	@Override
 	public void addConverter(Converter<?, ?> converter) {
@@ -75,6 +98,7 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	@Override
 	public void addConverter(GenericConverter converter) {
+		assertNotFrozen();
 		this.converters.add(converter);
 		invalidateCache();
 	}
@@ -93,10 +117,44 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	@Override
 	public void removeConvertible(Class<?> sourceType, Class<?> targetType) {
+		assertNotFrozen();
 		this.converters.remove(sourceType, targetType);
 		invalidateCache();
 	}
 
+	/**
+	 * Freeze the converter registrations of this service, once all converters have been added.
+	 * Lookups for source and target types without generics and annotations then go through a two-level table keyed
+	 * by source class and target class, which does not allocate a cache key for every lookup. Converters created
+	 * by a {@link ConverterFactory} are obtained once per target class instead of for every conversion, and the
+	 * conversions between String, Boolean, Character, the Number wrappers and the primitive types are resolved right away.
+	 * Any further registration or removal fails with an {@link IllegalStateException}.
+	 * @since 5.1.9
+	 * @see #isFrozen()
+	 */
+	public void freeze() {
+		if (this.frozenConverters != null) return;
+		this.frozenConverters = new ConcurrentReferenceHashMap<>(64);
+		for (Class<?> sourceType : COMMON_SOURCE_TYPES) {
+			TypeDescriptor sourceDescriptor = TypeDescriptor.valueOf(sourceType);
+			for (Class<?> targetType : COMMON_SOURCE_TYPES) {
+				getConverter(sourceDescriptor, TypeDescriptor.valueOf(targetType));
+			}
+			for (Class<?> targetType : COMMON_PRIMITIVE_TYPES) {
+				getConverter(sourceDescriptor, TypeDescriptor.valueOf(targetType));
+			}
+		}
+	}
+
+	/**
+	 * Return whether the converter registrations of this service are frozen.
+	 * @since 5.1.9
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return (this.frozenConverters != null);
+	}
+
 	// ConversionService implementation
 	@Override
 	public boolean canConvert(@Nullable Class<?> sourceType, Class<?> targetType) {
@@ -177,6 +235,48 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return convert(source, TypeDescriptor.forObject(source), targetType);
 	}
 
+	/**
+	 * Return the {@link ToIntConverter} form of the converter that this service uses from the given source type to {@code int},
+	 * for converting without boxing, e.g. into {@code int[]} arrays.
+	 * @param sourceType the source type to convert from
+	 * @return the primitive converter, or {@code null} if the resolved converter does not implement {@link ToIntConverter}
+	 * @since 5.1.9
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public ToIntConverter<Object> getIntConverter(TypeDescriptor sourceType) {
+		Object converter = getTargetConverter(sourceType, int.class);
+		return (converter instanceof ToIntConverter ? (ToIntConverter<Object>) converter : null);
+	}
+
+	/**
+	 * Return the {@link ToLongConverter} form of the converter that this service uses from the given source type to {@code long},
+	 * for converting without boxing, e.g. into {@code long[]} arrays.
+	 * @param sourceType the source type to convert from
+	 * @return the primitive converter, or {@code null} if the resolved converter does not implement {@link ToLongConverter}
+	 * @since 5.1.9
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public ToLongConverter<Object> getLongConverter(TypeDescriptor sourceType) {
+		Object converter = getTargetConverter(sourceType, long.class);
+		return (converter instanceof ToLongConverter ? (ToLongConverter<Object>) converter : null);
+	}
+
+	/**
+	 * Return the {@link ToDoubleConverter} form of the converter that this service uses from the given source type to {@code double},
+	 * for converting without boxing, e.g. into {@code double[]} arrays.
+	 * @param sourceType the source type to convert from
+	 * @return the primitive converter, or {@code null} if the resolved converter does not implement {@link ToDoubleConverter}
+	 * @since 5.1.9
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public ToDoubleConverter<Object> getDoubleConverter(TypeDescriptor sourceType) {
+		Object converter = getTargetConverter(sourceType, double.class);
+		return (converter instanceof ToDoubleConverter ? (ToDoubleConverter<Object>) converter : null);
+	}
+
 	@Override
 	public String toString() {
 		return this.converters.toString();
@@ -212,6 +312,10 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		Map<Class<?>, Map<Class<?>, GenericConverter>> frozenConverters = this.frozenConverters;
+		if (frozenConverters != null && isPlainType(sourceType) && isPlainType(targetType)) {
+			return getFrozenConverter(frozenConverters, sourceType, targetType);
+		}
 		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
 		GenericConverter converter = this.converterCache.get(key);
 		if (converter != null) {
@@ -258,6 +362,45 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	// A descriptor fully determined by its class: no generics (also not through a type variable), no annotations and no element types to resolve
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		Class<?> type = typeDescriptor.getType();
+		return (typeDescriptor.getResolvableType().getType() == type && typeDescriptor.getAnnotations().length == 0 &&
+				!Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type));
+	}
+
+	@Nullable
+	private GenericConverter getFrozenConverter(Map<Class<?>, Map<Class<?>, GenericConverter>> frozenConverters,
+			TypeDescriptor sourceType, TypeDescriptor targetType) {
+
+		Map<Class<?>, GenericConverter> convertersForSource = frozenConverters.get(sourceType.getType());
+		GenericConverter converter = (convertersForSource != null ? convertersForSource.get(targetType.getType()) : null);
+		if (converter != null) return (converter != NO_MATCH ? converter : null);
+		converter = this.converters.find(sourceType, targetType);
+		if (converter == null) converter = getDefaultConverter(sourceType, targetType);
+		// 目标类型已确定，因此工厂创建的转换器可以复用
+		if (converter instanceof ConverterFactoryAdapter) converter = ((ConverterFactoryAdapter) converter).bind(targetType.getObjectType());
+		if (convertersForSource == null) convertersForSource = frozenConverters.computeIfAbsent(sourceType.getType(), key -> new ConcurrentReferenceHashMap<>(16));
+		convertersForSource.put(targetType.getType(), (converter != null ? converter : NO_MATCH));
+		return converter;
+	}
+
+	// Return the converter to the given primitive type, unwrapped from its adapter if registered as Converter or ConverterFactory
+	@Nullable
+	private Object getTargetConverter(TypeDescriptor sourceType, Class<?> primitiveType) {
+		GenericConverter converter = getConverter(sourceType, TypeDescriptor.valueOf(primitiveType));
+		if (converter instanceof ConverterAdapter) return ((ConverterAdapter) converter).converter;
+		if (converter instanceof BoundConverterFactoryAdapter) return ((BoundConverterFactoryAdapter) converter).converter;
+		if (converter instanceof ConverterFactoryAdapter) {
+			return ((ConverterFactoryAdapter) converter).converterFactory.getConverter(ClassUtils.resolvePrimitiveIfNecessary(primitiveType));
+		}
+		return converter;
+	}
+
+	private void assertNotFrozen() {
+		Assert.state(this.frozenConverters == null, "Cannot modify the converters of a frozen ConversionService");
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
 	}
@@ -384,6 +527,11 @@ public class GenericConversionService implements ConfigurableConversionService {
 			return this.converterFactory.getConverter(targetType.getObjectType()).convert(source);
 		}
 
+		// Return a GenericConverter that always converts to the given target type, reusing the converter of the factory
+		public GenericConverter bind(Class<?> targetType) {
+			return new BoundConverterFactoryAdapter(this, this.converterFactory.getConverter(targetType));
+		}
+
 		@Override
 		public String toString() {
 			return (this.typeInfo + " : " + this.converterFactory);
@@ -391,6 +539,42 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * A {@link ConverterFactoryAdapter} bound to a single target type, as used once frozen.
+	 */
+	@SuppressWarnings("unchecked")
+	private final class BoundConverterFactoryAdapter implements GenericConverter {
+
+		private final ConverterFactoryAdapter adapter;
+
+		private final Converter<Object, Object> converter;
+
+		public BoundConverterFactoryAdapter(ConverterFactoryAdapter adapter, Converter<Object, ?> converter) {
+			this.adapter = adapter;
+			this.converter = (Converter<Object, Object>) converter;
+		}
+
+		@Override
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return this.adapter.getConvertibleTypes();
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			if (source == null) {
+				return convertNullSource(sourceType, targetType);
+			}
+			return this.converter.convert(source);
+		}
+
+		@Override
+		public String toString() {
+			return this.adapter.toString();
+		}
+	}
+
+
 	/**
 	 * Key for use with the converter cache.
 	 */
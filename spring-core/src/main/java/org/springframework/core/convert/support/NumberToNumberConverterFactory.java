@@ -6,6 +6,9 @@ import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.core.convert.converter.ToDoubleConverter;
+import org.springframework.core.convert.converter.ToIntConverter;
+import org.springframework.core.convert.converter.ToLongConverter;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -29,7 +32,11 @@ import org.springframework.util.NumberUtils;
 final class NumberToNumberConverterFactory implements ConverterFactory<Number, Number>, ConditionalConverter {
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Number> Converter<Number, T> getConverter(Class<T> targetType) {
+		if (Integer.class == targetType) return (Converter<Number, T>) NumberToInteger.INSTANCE;
+		if (Long.class == targetType) return (Converter<Number, T>) NumberToLong.INSTANCE;
+		if (Double.class == targetType) return (Converter<Number, T>) NumberToDouble.INSTANCE;
 		return new NumberToNumber<>(targetType);
 	}
 
@@ -53,4 +60,53 @@ final class NumberToNumberConverterFactory implements ConverterFactory<Number, N
 		}
 	}
 
+
+
+	private static final class NumberToInteger implements Converter<Number, Integer>, ToIntConverter<Number> {
+
+		static final NumberToInteger INSTANCE = new NumberToInteger();
+
+		@Override
+		public Integer convert(Number source) {
+			return (source instanceof Integer ? (Integer) source : Integer.valueOf(convertToInt(source)));
+		}
+
+		@Override
+		public int convertToInt(Number source) {
+			return NumberUtils.convertNumberToInt(source);
+		}
+	}
+
+
+	private static final class NumberToLong implements Converter<Number, Long>, ToLongConverter<Number> {
+
+		static final NumberToLong INSTANCE = new NumberToLong();
+
+		@Override
+		public Long convert(Number source) {
+			return (source instanceof Long ? (Long) source : Long.valueOf(convertToLong(source)));
+		}
+
+		@Override
+		public long convertToLong(Number source) {
+			return NumberUtils.convertNumberToLong(source);
+		}
+	}
+
+
+	private static final class NumberToDouble implements Converter<Number, Double>, ToDoubleConverter<Number> {
+
+		static final NumberToDouble INSTANCE = new NumberToDouble();
+
+		@Override
+		public Double convert(Number source) {
+			return (source instanceof Double ? (Double) source : Double.valueOf(convertToDouble(source)));
+		}
+
+		@Override
+		public double convertToDouble(Number source) {
+			return NumberUtils.convertNumberToDouble(source);
+		}
+	}
+
 }
@@ -0,0 +1,137 @@
+package org.springframework.core.convert.support;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.converter.ToDoubleConverter;
+import org.springframework.core.convert.converter.ToIntConverter;
+import org.springframework.core.convert.converter.ToLongConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Converts an array, a collection or a comma-delimited String to an {@code int[]}, {@code long[]} or {@code double[]}
+ * array through the {@link ToIntConverter}, {@link ToLongConverter} or {@link ToDoubleConverter} form of the element
+ * converter, so that the elements are not boxed on their way into the array.
+ *
+ * Only applies if the element converter that the {@link GenericConversionService} resolves for the source element type
+ * offers such a form, which is the case for the default String and Number converters; otherwise the regular array
+ * converters apply. Elements of another runtime type than the declared one are converted individually as before.
+ * @since 5.1.9
+ * 简而言之，就是转换为基本类型数组时不对每个元素装箱
+ */
+final class PrimitiveArrayConverter implements ConditionalGenericConverter {
+
+	private final GenericConversionService conversionService;
+
+	public PrimitiveArrayConverter(GenericConversionService conversionService) {
+		this.conversionService = conversionService;
+	}
+
+	@Override
+	public Set<ConvertiblePair> getConvertibleTypes() {
+		Set<ConvertiblePair> convertiblePairs = new LinkedHashSet<>(9);
+		for (Class<?> sourceType : new Class<?>[] {Object[].class, Collection.class, String.class}) {
+			convertiblePairs.add(new ConvertiblePair(sourceType, int[].class));
+			convertiblePairs.add(new ConvertiblePair(sourceType, long[].class));
+			convertiblePairs.add(new ConvertiblePair(sourceType, double[].class));
+		}
+		return convertiblePairs;
+	}
+
+	@Override
+	public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		TypeDescriptor sourceElementType = getSourceElementType(sourceType);
+		Class<?> componentType = targetType.getType().getComponentType();
+		return (sourceElementType != null && componentType != null && getElementConverter(sourceElementType, componentType) != null);
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (source == null) return null;
+		Object[] elements = getElements(source);
+		TypeDescriptor sourceElementType = getSourceElementType(sourceType);
+		Class<?> componentType = targetType.getType().getComponentType();
+		if (sourceElementType == null || componentType == null) {
+			throw new IllegalStateException("Unsupported conversion from [" + sourceType + "] to [" + targetType + "]");
+		}
+		Object declaredConverter = getElementConverter(sourceElementType, componentType);
+		if (componentType == int.class) {
+			int[] result = new int[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				Object element = elements[i];
+				Object converter = (isDeclaredType(element, sourceElementType) ? declaredConverter : getElementConverter(element, sourceType, componentType));
+				result[i] = (converter != null ? ((ToIntConverter<Object>) converter).convertToInt(element) : (Integer) convertElement(element, sourceType, componentType));
+			}
+			return result;
+		}else if (componentType == long.class) {
+			long[] result = new long[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				Object element = elements[i];
+				Object converter = (isDeclaredType(element, sourceElementType) ? declaredConverter : getElementConverter(element, sourceType, componentType));
+				result[i] = (converter != null ? ((ToLongConverter<Object>) converter).convertToLong(element) : (Long) convertElement(element, sourceType, componentType));
+			}
+			return result;
+		}else {
+			double[] result = new double[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				Object element = elements[i];
+				Object converter = (isDeclaredType(element, sourceElementType) ? declaredConverter : getElementConverter(element, sourceType, componentType));
+				result[i] = (converter != null ? ((ToDoubleConverter<Object>) converter).convertToDouble(element) : (Double) convertElement(element, sourceType, componentType));
+			}
+			return result;
+		}
+	}
+
+	// A String source is split into String elements
+	@Nullable
+	private static TypeDescriptor getSourceElementType(TypeDescriptor sourceType) {
+		return (sourceType.getType() == String.class ? sourceType : sourceType.getElementTypeDescriptor());
+	}
+
+	// Elements as StringToArrayConverter, CollectionToArrayConverter and ArrayToArrayConverter see them
+	private static Object[] getElements(Object source) {
+		if (source instanceof String) {
+			String[] fields = StringUtils.commaDelimitedListToStringArray((String) source);
+			for (int i = 0; i < fields.length; i++) {
+				fields[i] = fields[i].trim();
+			}
+			return fields;
+		}
+		if (source instanceof Collection) return ((Collection<?>) source).toArray();
+		return ObjectUtils.toObjectArray(source);
+	}
+
+	private static boolean isDeclaredType(@Nullable Object element, TypeDescriptor sourceElementType) {
+		return (element != null && element.getClass() == sourceElementType.getObjectType());
+	}
+
+	@Nullable
+	private Object getElementConverter(@Nullable Object element, TypeDescriptor sourceType, Class<?> componentType) {
+		if (element == null) return null;
+		TypeDescriptor elementType = (sourceType.getType() == String.class ? sourceType : sourceType.elementTypeDescriptor(element));
+		return getElementConverter(elementType, componentType);
+	}
+
+	@Nullable
+	private Object getElementConverter(TypeDescriptor sourceElementType, Class<?> componentType) {
+		if (componentType == int.class) return this.conversionService.getIntConverter(sourceElementType);
+		if (componentType == long.class) return this.conversionService.getLongConverter(sourceElementType);
+		if (componentType == double.class) return this.conversionService.getDoubleConverter(sourceElementType);
+		return null;
+	}
+
+	// Regular conversion for an element without primitive converter, also failing for null elements as before
+	@Nullable
+	private Object convertElement(@Nullable Object element, TypeDescriptor sourceType, Class<?> componentType) {
+		TypeDescriptor elementType = (sourceType.getType() == String.class ? sourceType : sourceType.elementTypeDescriptor(element));
+		return this.conversionService.convert(element, elementType, TypeDescriptor.valueOf(componentType));
+	}
+
+}
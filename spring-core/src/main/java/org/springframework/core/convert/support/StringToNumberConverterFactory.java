@@ -4,6 +4,9 @@ package org.springframework.core.convert.support;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.core.convert.converter.ToDoubleConverter;
+import org.springframework.core.convert.converter.ToIntConverter;
+import org.springframework.core.convert.converter.ToLongConverter;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -27,7 +30,12 @@ import org.springframework.util.NumberUtils;
 final class StringToNumberConverterFactory implements ConverterFactory<String, Number> {
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
+		// 常用类型返回共享的、可不装箱转换的实例
+		if (Integer.class == targetType) return (Converter<String, T>) StringToInteger.INSTANCE;
+		if (Long.class == targetType) return (Converter<String, T>) StringToLong.INSTANCE;
+		if (Double.class == targetType) return (Converter<String, T>) StringToDouble.INSTANCE;
 		return new StringToNumber<>(targetType);
 	}
 
@@ -49,4 +57,53 @@ final class StringToNumberConverterFactory implements ConverterFactory<String, N
 		}
 	}
 
+
+
+	private static final class StringToInteger implements Converter<String, Integer>, ToIntConverter<String> {
+
+		static final StringToInteger INSTANCE = new StringToInteger();
+
+		@Override
+		public Integer convert(String source) {
+			return (source.isEmpty() ? null : convertToInt(source));
+		}
+
+		@Override
+		public int convertToInt(String source) {
+			return NumberUtils.parseInt(source);
+		}
+	}
+
+
+	private static final class StringToLong implements Converter<String, Long>, ToLongConverter<String> {
+
+		static final StringToLong INSTANCE = new StringToLong();
+
+		@Override
+		public Long convert(String source) {
+			return (source.isEmpty() ? null : convertToLong(source));
+		}
+
+		@Override
+		public long convertToLong(String source) {
+			return NumberUtils.parseLong(source);
+		}
+	}
+
+
+	private static final class StringToDouble implements Converter<String, Double>, ToDoubleConverter<String> {
+
+		static final StringToDouble INSTANCE = new StringToDouble();
+
+		@Override
+		public Double convert(String source) {
+			return (source.isEmpty() ? null : convertToDouble(source));
+		}
+
+		@Override
+		public double convertToDouble(String source) {
+			return NumberUtils.parseDouble(source);
+		}
+	}
+
 }
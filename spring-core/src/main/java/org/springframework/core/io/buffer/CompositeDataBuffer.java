@@ -0,0 +1,615 @@
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link DataBuffer} that presents the readable bytes of several {@link DefaultDataBuffer DefaultDataBuffers}
+ * as one buffer without copying them, the scatter/gather counterpart of Netty's {@code CompositeByteBuf}
+ * for the {@link DefaultDataBufferFactory}. Created by {@link DataBufferUtils#join(List)}, so that joining
+ * the chunks of a large body neither allocates a buffer of the full size nor copies every chunk into it.
+ *
+ * Reads and index-based access go straight to the component buffers; {@link #asByteBuffer(int, int)} returns
+ * a shared view when the range lies within one component and a copy otherwise, whereas {@link #asByteBuffers()}
+ * always returns shared views, e.g. for a {@link java.nio.channels.GatheringByteChannel}. Writing beyond the
+ * capacity appends a new component instead of reallocating. The component buffers are released along with
+ * this buffer.
+ * @since 5.1.9
+ * @see DataBufferUtils#join(List)
+ * 简而言之，就是把多个 DataBuffer 拼成一个逻辑上连续的缓冲区，合并时不再整体复制
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private static final int CAPACITY_THRESHOLD = 1024 * 1024 * 4;
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+
+	private final DefaultDataBufferFactory dataBufferFactory;
+
+	// The buffers released along with this one; empty for a slice, which does not own its components
+	private final List<DataBuffer> buffers;
+
+	// The buffer that a slice was taken from, whose reference count the slice shares
+	@Nullable
+	private final CompositeDataBuffer parent;
+
+	// Views of the components; component i holds the bytes from index offsets[i] on
+	private ByteBuffer[] views;
+
+	private int[] offsets;
+
+	private int componentCount;
+
+	private int capacity;
+
+	private int readPosition;
+
+	private int writePosition;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+
+	CompositeDataBuffer(DefaultDataBufferFactory dataBufferFactory, List<? extends DataBuffer> dataBuffers) {
+		this(dataBufferFactory, new ArrayList<>(dataBuffers), collectViews(dataBuffers), null);
+	}
+
+	private CompositeDataBuffer(DefaultDataBufferFactory dataBufferFactory, List<DataBuffer> buffers, List<ByteBuffer> views,
+			@Nullable CompositeDataBuffer parent) {
+
+		this.dataBufferFactory = dataBufferFactory;
+		this.buffers = buffers;
+		this.parent = parent;
+		this.views = new ByteBuffer[Math.max(views.size(), 4)];
+		this.offsets = new int[this.views.length];
+		for (ByteBuffer view : views) {
+			addComponent(view);
+		}
+		this.writePosition = this.capacity;
+	}
+
+	/**
+	 * Whether the given buffers can be composed, i.e. whether they all stem from a {@link DefaultDataBufferFactory}.
+	 */
+	static boolean isComposable(List<? extends DataBuffer> dataBuffers) {
+		for (DataBuffer dataBuffer : dataBuffers) {
+			if (!(dataBuffer instanceof DefaultDataBuffer || dataBuffer instanceof CompositeDataBuffer)) return false;
+		}
+		return true;
+	}
+
+	// Shared views of the readable bytes, flattening nested composites and skipping empty buffers
+	private static List<ByteBuffer> collectViews(List<? extends DataBuffer> dataBuffers) {
+		List<ByteBuffer> views = new ArrayList<>(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			if (dataBuffer instanceof CompositeDataBuffer) {
+				Collections.addAll(views, ((CompositeDataBuffer) dataBuffer).asByteBuffers());
+			}else if (dataBuffer.readableByteCount() > 0) {
+				views.add(dataBuffer.asByteBuffer());
+			}
+		}
+		return views;
+	}
+
+	private void addComponent(ByteBuffer view) {
+		if (this.componentCount == this.views.length) {
+			this.views = Arrays.copyOf(this.views, this.componentCount * 2);
+			this.offsets = Arrays.copyOf(this.offsets, this.componentCount * 2);
+		}
+		this.views[this.componentCount] = view;
+		this.offsets[this.componentCount] = this.capacity;
+		this.componentCount++;
+		this.capacity += view.remaining();
+	}
+
+	// Index of the component holding the byte at the given index, which must be below the capacity
+	private int componentIndex(int index) {
+		int i = Arrays.binarySearch(this.offsets, 0, this.componentCount, index);
+		return (i >= 0 ? i : -i - 2);
+	}
+
+
+	/**
+	 * Return the number of component buffers.
+	 */
+	public int getComponentCount() {
+		return this.componentCount;
+	}
+
+	@Override
+	public DefaultDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		else if (fromIndex >= this.writePosition) {
+			return -1;
+		}
+		for (int c = componentIndex(fromIndex); c < this.componentCount; c++) {
+			ByteBuffer view = this.views[c];
+			int offset = this.offsets[c];
+			int end = Math.min(view.remaining(), this.writePosition - offset);
+			for (int i = Math.max(fromIndex - offset, 0); i < end; i++) {
+				if (predicate.test(view.get(i))) return offset + i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		int index = Math.min(fromIndex, this.writePosition - 1);
+		if (index < 0) return -1;
+		for (int c = componentIndex(index); c >= 0; c--) {
+			ByteBuffer view = this.views[c];
+			int offset = this.offsets[c];
+			for (int i = Math.min(index - offset, view.remaining() - 1); i >= 0; i--) {
+				if (predicate.test(view.get(i))) return offset + i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public int writableByteCount() {
+		return this.capacity - this.writePosition;
+	}
+
+	@Override
+	public int capacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public CompositeDataBuffer capacity(int newCapacity) {
+		if (newCapacity <= 0) {
+			throw new IllegalArgumentException(String.format("'newCapacity' %d must be higher than 0", newCapacity));
+		}
+		if (this.parent != null) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+		if (newCapacity > this.capacity) {
+			// Append a component rather than copying the existing ones
+			DefaultDataBuffer buffer = this.dataBufferFactory.allocateBuffer(newCapacity - this.capacity);
+			this.buffers.add(buffer);
+			addComponent(buffer.asByteBuffer(0, newCapacity - this.capacity));
+		}
+		else if (newCapacity < this.capacity) {
+			if (this.readPosition >= newCapacity) {
+				this.readPosition = newCapacity;
+				this.writePosition = newCapacity;
+			}
+			else if (this.writePosition > newCapacity) {
+				this.writePosition = newCapacity;
+			}
+			// Truncate the views; the memory of dropped components is given back on release
+			int last = componentIndex(newCapacity - 1);
+			ByteBuffer view = this.views[last].duplicate();
+			view.limit(newCapacity - this.offsets[last]);
+			this.views[last] = view.slice();
+			Arrays.fill(this.views, last + 1, this.componentCount, null);
+			this.componentCount = last + 1;
+			this.capacity = newCapacity;
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer ensureCapacity(int length) {
+		int writable = writableByteCount();
+		if (length > writable) {
+			// Grow by at least the current capacity, up to 4 MB at a time
+			int growth = Math.max(length - writable, Math.min(Math.max(this.capacity, 64), CAPACITY_THRESHOLD));
+			capacity(this.capacity + growth);
+		}
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.readPosition;
+	}
+
+	@Override
+	public CompositeDataBuffer readPosition(int readPosition) {
+		assertIndex(readPosition >= 0, "'readPosition' %d must be >= 0", readPosition);
+		assertIndex(readPosition <= this.writePosition, "'readPosition' %d must be <= %d",readPosition, this.writePosition);
+		this.readPosition = readPosition;
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.writePosition;
+	}
+
+	@Override
+	public CompositeDataBuffer writePosition(int writePosition) {
+		assertIndex(writePosition >= this.readPosition, "'writePosition' %d must be >= %d",writePosition, this.readPosition);
+		assertIndex(writePosition <= this.capacity, "'writePosition' %d must be <= %d",writePosition, this.capacity);
+		this.writePosition = writePosition;
+		return this;
+	}
+
+	@Override
+	public byte getByte(int index) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(index <= this.writePosition - 1, "index %d must be <= %d", index, this.writePosition - 1);
+		int c = componentIndex(index);
+		return this.views[c].get(index - this.offsets[c]);
+	}
+
+	@Override
+	public byte read() {
+		assertIndex(this.readPosition <= this.writePosition - 1, "readPosition %d must be <= %d",this.readPosition, this.writePosition - 1);
+		int c = componentIndex(this.readPosition);
+		byte b = this.views[c].get(this.readPosition - this.offsets[c]);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "Byte array must not be null");
+		read(destination, 0, destination.length);
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "Byte array must not be null");
+		assertIndex(this.readPosition <= this.writePosition - length,"readPosition %d and length %d should be smaller than writePosition %d",this.readPosition, length, this.writePosition);
+		int index = this.readPosition;
+		int remaining = length;
+		for (int c = componentIndex(index); remaining > 0; c++) {
+			ByteBuffer view = this.views[c].duplicate();
+			int start = index - this.offsets[c];
+			int count = Math.min(remaining, view.remaining() - start);
+			view.position(start);
+			view.get(destination, offset, count);
+			index += count;
+			offset += count;
+			remaining -= count;
+		}
+		this.readPosition += length;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte b) {
+		ensureCapacity(1);
+		int c = componentIndex(this.writePosition);
+		this.views[c].put(this.writePosition - this.offsets[c], b);
+		this.writePosition++;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source) {
+		Assert.notNull(source, "Byte array must not be null");
+		write(source, 0, source.length);
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source, int offset, int length) {
+		Assert.notNull(source, "Byte array must not be null");
+		write(ByteBuffer.wrap(source, offset, length));
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(DataBuffer... buffers) {
+		if (!ObjectUtils.isEmpty(buffers)) {
+			List<ByteBuffer> sources = new ArrayList<>(buffers.length);
+			for (DataBuffer buffer : buffers) {
+				if (buffer instanceof CompositeDataBuffer) {
+					Collections.addAll(sources, ((CompositeDataBuffer) buffer).asByteBuffers());
+				}else {
+					sources.add(buffer.asByteBuffer());
+				}
+			}
+			write(sources.toArray(new ByteBuffer[0]));
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(ByteBuffer... buffers) {
+		if (!ObjectUtils.isEmpty(buffers)) {
+			ensureCapacity(Arrays.stream(buffers).mapToInt(ByteBuffer::remaining).sum());
+			for (ByteBuffer buffer : buffers) {
+				write(buffer);
+			}
+		}
+		return this;
+	}
+
+	private void write(ByteBuffer source) {
+		ensureCapacity(source.remaining());
+		for (int c = componentIndex(this.writePosition); source.hasRemaining(); c++) {
+			ByteBuffer view = this.views[c].duplicate();
+			view.position(this.writePosition - this.offsets[c]);
+			int count = Math.min(source.remaining(), view.remaining());
+			ByteBuffer chunk = source.duplicate();
+			chunk.limit(chunk.position() + count);
+			view.put(chunk);
+			source.position(source.position() + count);
+			this.writePosition += count;
+		}
+	}
+
+	// Encoded up front, since the default implementation encodes into a view that may be a copy here
+	@Override
+	public CompositeDataBuffer write(CharSequence charSequence, Charset charset) {
+		Assert.notNull(charSequence, "CharSequence must not be null");
+		Assert.notNull(charset, "Charset must not be null");
+		if (charSequence.length() != 0) {
+			try {
+				write(charset.newEncoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE)
+						.encode(CharBuffer.wrap(charSequence)));
+			}catch (CharacterCodingException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The slice shares the components of this buffer as well as its reference count: retaining or releasing
+	 * the slice retains or releases this buffer.
+	 */
+	@Override
+	public CompositeDataBuffer slice(int index, int length) {
+		checkIndex(index, length);
+		CompositeDataBuffer parent = (this.parent != null ? this.parent : this);
+		return new CompositeDataBuffer(this.dataBufferFactory, Collections.emptyList(), Arrays.asList(views(index, length)), parent);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Returns a shared view if the readable bytes lie within one component, and a copy otherwise.
+	 * @see #asByteBuffers()
+	 */
+	@Override
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Returns a shared view if the range lies within one component, and a copy otherwise.
+	 * @see #asByteBuffers(int, int)
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		ByteBuffer[] views = asByteBuffers(index, length);
+		if (views.length == 0) return EMPTY_BUFFER.duplicate();
+		if (views.length == 1) return views[0];
+		ByteBuffer copy = ByteBuffer.allocate(length);
+		for (ByteBuffer view : views) {
+			copy.put(view);
+		}
+		copy.flip();
+		return copy;
+	}
+
+	/**
+	 * Expose the readable bytes of this buffer as shared views of the components, to be written with a single
+	 * gathering write.
+	 * @return one byte buffer per component holding readable bytes
+	 */
+	public ByteBuffer[] asByteBuffers() {
+		return asByteBuffers(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * Expose a subsequence of this buffer's bytes as shared views of the components.
+	 * @param index the index at which to start the byte buffers
+	 * @param length the length of the returned byte buffers
+	 * @return one byte buffer per component in the given range
+	 */
+	public ByteBuffer[] asByteBuffers(int index, int length) {
+		checkIndex(index, length);
+		return views(index, length);
+	}
+
+	private ByteBuffer[] views(int index, int length) {
+		if (length == 0) return new ByteBuffer[0];
+		int first = componentIndex(index);
+		int last = componentIndex(index + length - 1);
+		ByteBuffer[] views = new ByteBuffer[last - first + 1];
+		for (int c = first; c <= last; c++) {
+			ByteBuffer view = this.views[c].duplicate();
+			int offset = this.offsets[c];
+			view.limit(Math.min(view.remaining(), index + length - offset));
+			view.position(Math.max(index - offset, 0));
+			views[c - first] = view.slice();
+		}
+		return views;
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream(false);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		return new CompositeDataBufferInputStream(releaseOnClose);
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		return new CompositeDataBufferOutputStream();
+	}
+
+	@Override
+	public boolean isAllocated() {
+		if (this.parent != null) return this.parent.isAllocated();
+		return (this.refCount.get() > 0);
+	}
+
+	@Override
+	public CompositeDataBuffer retain() {
+		if (this.parent != null) {
+			this.parent.retain();
+			return this;
+		}
+		int count;
+		do {
+			count = this.refCount.get();
+			if (count <= 0) throw new IllegalStateException("DataBuffer has been released already");
+		}while (!this.refCount.compareAndSet(count, count + 1));
+		return this;
+	}
+
+	@Override
+	public boolean release() {
+		if (this.parent != null) return this.parent.release();
+		int count = this.refCount.decrementAndGet();
+		if (count > 0) return false;
+		if (count < 0) {
+			this.refCount.incrementAndGet();
+			throw new IllegalStateException("DataBuffer has been released already");
+		}
+		for (DataBuffer buffer : this.buffers) {
+			DataBufferUtils.release(buffer);
+		}
+		return true;
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CompositeDataBuffer)) {
+			return false;
+		}
+		CompositeDataBuffer otherBuffer = (CompositeDataBuffer) other;
+		if (readableByteCount() != otherBuffer.readableByteCount()) {
+			return false;
+		}
+		for (int i = 0; i < readableByteCount(); i++) {
+			if (getByte(this.readPosition + i) != otherBuffer.getByte(otherBuffer.readPosition + i)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (int i = this.readPosition; i < this.writePosition; i++) {
+			hashCode = 31 * hashCode + getByte(i);
+		}
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w: %d, c: %d, components: %d)",this.readPosition, this.writePosition, this.capacity, this.componentCount);
+	}
+
+
+	private void checkIndex(int index, int length) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(length >= 0, "length %d must be >= 0", length);
+		assertIndex(index + length <= this.capacity, "index %d and length %d must be <= %d", index, length, this.capacity);
+	}
+
+	private void assertIndex(boolean expression, String format, Object... args) {
+		if (!expression) {
+			String message = String.format(format, args);
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		private final boolean releaseOnClose;
+
+		private boolean closed;
+
+		CompositeDataBufferInputStream(boolean releaseOnClose) {
+			this.releaseOnClose = releaseOnClose;
+		}
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) throws IOException {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public void close() {
+			if (this.closed) return;
+			this.closed = true;
+			if (this.releaseOnClose) release();
+		}
+	}
+
+
+	private class CompositeDataBufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			CompositeDataBuffer.this.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) throws IOException {
+			CompositeDataBuffer.this.write(bytes, off, len);
+		}
+	}
+
+}
@@ -11,9 +11,11 @@ import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -406,11 +408,30 @@ public abstract class DataBufferUtils {
 		return Flux.from(dataBuffers)
 				.collectList()
 				.filter(list -> !list.isEmpty())
-				.map(list -> list.get(0).factory().join(list))
+				.map(DataBufferUtils::join)
 				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 
 	}
 
+	/**
+	 * Return a new {@code DataBuffer} composed from joining together the given
+	 * {@code dataBuffers}. Buffers of a {@link DefaultDataBufferFactory} are
+	 * composed into a {@link CompositeDataBuffer} that refers to them without
+	 * copying (a single buffer is returned as is); for other buffers this
+	 * delegates to {@link DataBufferFactory#join(List)}.
+	 * Note that the given data buffers do <strong>not</strong> have to be
+	 * released. They will be released as part of the returned buffer.
+	 * @param dataBuffers the data buffers that are to be composed
+	 * @return a buffer that is composed from the {@code dataBuffers} argument
+	 * @since 5.1.9
+	 */
+	public static DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		if (!CompositeDataBuffer.isComposable(dataBuffers)) return dataBuffers.get(0).factory().join(dataBuffers);
+		if (dataBuffers.size() == 1) return dataBuffers.get(0);
+		return new CompositeDataBuffer((DefaultDataBufferFactory) dataBuffers.get(0).factory(), dataBuffers);
+	}
+
 
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
@@ -535,9 +556,18 @@ public abstract class DataBufferUtils {
 		@Override
 		protected void hookOnNext(DataBuffer dataBuffer) {
 			try {
-				ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
-				while (byteBuffer.hasRemaining()) {
-					this.channel.write(byteBuffer);
+				if (dataBuffer instanceof CompositeDataBuffer && this.channel instanceof GatheringByteChannel) {
+					// Write the components at once rather than copying them into one buffer
+					ByteBuffer[] byteBuffers = ((CompositeDataBuffer) dataBuffer).asByteBuffers();
+					long remaining = dataBuffer.readableByteCount();
+					while (remaining > 0) {
+						remaining -= ((GatheringByteChannel) this.channel).write(byteBuffers);
+					}
+				}else {
+					ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+					while (byteBuffer.hasRemaining()) {
+						this.channel.write(byteBuffer);
+					}
 				}
 				this.sink.next(dataBuffer);
 				request(1);
@@ -0,0 +1,572 @@
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBufferFactory} that recycles the memory of released buffers, for runtimes without Netty
+ * (e.g. WebFlux on a Servlet container) where the {@link DefaultDataBufferFactory} creates garbage for every chunk read.
+ * Buffers are {@link PooledDataBuffer PooledDataBuffers}: once {@linkplain PooledDataBuffer#release() released}
+ * by every holder, their memory goes back to the pool.
+ *
+ * Memory is handed out in power-of-two size classes from {@value #MIN_POOLED_CAPACITY} bytes up to the
+ * {@linkplain #PooledDataBufferFactory(boolean, int, int) maximum pooled capacity}; larger buffers are not pooled.
+ * Each thread keeps a small cache of the memory it allocated and released itself, bounded in total bytes and drained
+ * when the thread stops allocating; memory released on another thread goes straight to the shared arenas that
+ * threads are spread across.
+ * In leak detection mode (see {@link #setLeakDetection}), buffers that are garbage collected without
+ * having been released are logged along with the stack trace of their allocation.
+ * @since 5.1.9
+ * 简而言之，就是不依赖 Netty、按大小分级池化内存并引用计数的 DataBufferFactory
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * System property that enables {@linkplain #setLeakDetection leak detection} for every factory.
+	 * The default is "false".
+	 */
+	public static final String LEAK_DETECTION_PROPERTY_NAME = "spring.dataBuffer.leakDetection";
+
+	// Smallest size class: 64 bytes.
+	public static final int MIN_POOLED_CAPACITY = 64;
+
+	// Default largest size class: 64 KiB.
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	private static final int MIN_SIZE_SHIFT = 6;
+
+	// Buffers per size class in the cache of a thread
+	private static final int THREAD_CACHE_SIZE = 16;
+
+	// Total bytes of the buffers in the cache of a thread: 256 KiB.
+	private static final int THREAD_CACHE_CAPACITY = 256 * 1024;
+
+	// Interval at which the caches of threads that have not allocated since the previous sweep are drained
+	private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	// Buffers per size class in an arena
+	private static final int ARENA_CACHE_SIZE = 256;
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final Arena[] arenas;
+
+	private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::registerThreadCache);
+
+	// Caches of all threads, so that those of idle or terminated threads can be drained to the arenas
+	private final Set<ThreadCache> threadCaches = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+	private final LongAdder allocatedBuffers = new LongAdder();
+
+	private volatile boolean leakDetection = SpringProperties.getFlag(LEAK_DETECTION_PROPERTY_NAME);
+
+	// Trackers of unreleased buffers, referenced until released or reported
+	private final Map<LeakTracker, Boolean> leakTrackers = new ConcurrentHashMap<>();
+
+	private final ReferenceQueue<PooledBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final LongAdder leakCount = new LongAdder();
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} for heap buffers, with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred; {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred; {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity used for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the largest capacity to pool, rounded up to a power of two;
+	 * larger buffers are allocated and discarded as by the {@link DefaultDataBufferFactory}
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int defaultInitialCapacity, int maxPooledCapacity) {
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY, "'maxPooledCapacity' must be at least " + MIN_POOLED_CAPACITY);
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = Integer.highestOneBit(maxPooledCapacity - 1) << 1;
+		int sizeClasses = sizeClass(this.maxPooledCapacity) + 1;
+		this.arenas = new Arena[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1];
+		for (int i = 0; i < this.arenas.length; i++) {
+			this.arenas[i] = new Arena(sizeClasses);
+		}
+	}
+
+	/**
+	 * Specify whether to track the allocation site of every buffer and log the buffers that are garbage collected
+	 * without having been released. Costs a stack trace per allocation, so meant for development and tests.
+	 * Default is "false", unless the {@value #LEAK_DETECTION_PROPERTY_NAME} system property is set.
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	// Return the number of buffers allocated and not released yet.
+	public long getAllocatedBufferCount() {
+		return this.allocatedBuffers.sum();
+	}
+
+	// Return the number of leaked buffers reported in leak detection mode so far.
+	public long getLeakCount() {
+		reportLeaks();
+		return this.leakCount.sum();
+	}
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		if (this.leakDetection) reportLeaks();
+		ThreadCache cache = this.threadCache.get();
+		ByteBuffer memory = allocateMemory(initialCapacity, this.preferDirect, cache);
+		PooledBuffer buffer = new PooledBuffer(this, view(memory, initialCapacity), memory, cache);
+		this.allocatedBuffers.increment();
+		if (this.leakDetection) buffer.leakTracker = new LeakTracker(buffer, this.leakQueue, this.leakTrackers);
+		return buffer;
+	}
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect + ", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+	// Memory of at least the given capacity: a whole size class if pooled
+	private ByteBuffer allocateMemory(int capacity, boolean direct, ThreadCache cache) {
+		if (capacity > this.maxPooledCapacity || direct != this.preferDirect) return allocate(capacity, direct);
+		int sizeClass = sizeClass(capacity);
+		ByteBuffer memory = cache.poll(sizeClass);
+		if (memory == null) {
+			// Only on a miss of the thread cache, which keeps the check off the fast path
+			sweepIfDue();
+			memory = getArena().poll(sizeClass);
+		}
+		if (memory == null) memory = allocate(MIN_POOLED_CAPACITY << sizeClass, direct);
+		memory.clear();
+		return memory;
+	}
+
+	/**
+	 * Give memory back to the pool, unless it does not match a size class. The memory goes to the given cache only
+	 * if released by the thread that cache belongs to: a thread that releases what others allocated, as is common
+	 * for the buffers of a request, would otherwise fill its cache with memory it never allocates from.
+	 */
+	private void recycle(ByteBuffer memory, ThreadCache cache) {
+		int capacity = memory.capacity();
+		if (capacity > this.maxPooledCapacity || capacity < MIN_POOLED_CAPACITY || memory.isDirect() != this.preferDirect ||
+				Integer.bitCount(capacity) != 1) {
+			return;
+		}
+		int sizeClass = sizeClass(capacity);
+		if (!cache.isOwnedByCurrentThread() || !cache.offer(sizeClass, memory)) getArena().offer(sizeClass, memory);
+	}
+
+	private Arena getArena() {
+		return this.arenas[(int) (Thread.currentThread().getId() & (this.arenas.length - 1))];
+	}
+
+	private ThreadCache registerThreadCache() {
+		ThreadCache cache = new ThreadCache();
+		this.threadCaches.add(cache);
+		return cache;
+	}
+
+	private void sweepIfDue() {
+		long lastSweep = this.lastSweep.get();
+		long now = System.nanoTime();
+		if (now - lastSweep >= SWEEP_INTERVAL && this.lastSweep.compareAndSet(lastSweep, now)) {
+			sweepThreadCaches();
+		}
+	}
+
+	// Drain the caches of threads that have terminated or not allocated since the previous sweep to the arenas
+	void sweepThreadCaches() {
+		for (ThreadCache cache : this.threadCaches) {
+			boolean terminated = cache.isTerminated();
+			if (terminated || cache.isIdle()) {
+				if (terminated) this.threadCaches.remove(cache);
+				cache.drainTo(this.arenas[(int) (cache.threadId & (this.arenas.length - 1))]);
+			}
+		}
+	}
+
+	// Return the total bytes of memory held in the caches of threads.
+	long getThreadCacheBytes() {
+		long bytes = 0;
+		for (ThreadCache cache : this.threadCaches) {
+			bytes += cache.bytes;
+		}
+		return bytes;
+	}
+
+	private void reportLeaks() {
+		LeakTracker tracker;
+		while ((tracker = (LeakTracker) this.leakQueue.poll()) != null) {
+			if (this.leakTrackers.remove(tracker) != null) {
+				this.leakCount.increment();
+				// 泄漏的缓冲区不会再被释放，不再计入已分配数量
+				this.allocatedBuffers.decrement();
+				logger.error("DataBuffer garbage collected without having been released: " + this + " - allocated at", tracker.allocation);
+			}
+		}
+	}
+
+	private static ByteBuffer allocate(int capacity, boolean direct) {
+		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	// A view of the first bytes of the memory, so that the buffer capacity is the requested one
+	private static ByteBuffer view(ByteBuffer memory, int capacity) {
+		ByteBuffer duplicate = memory.duplicate();
+		duplicate.clear();
+		duplicate.limit(capacity);
+		return duplicate.slice();
+	}
+
+	// Index of the smallest size class that holds the given capacity
+	private static int sizeClass(int capacity) {
+		return (capacity <= MIN_POOLED_CAPACITY ? 0 : 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_SHIFT);
+	}
+
+
+	/**
+	 * A {@link DefaultDataBuffer} whose memory comes from the pool and goes back to it once released.
+	 */
+	private static final class PooledBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDataBufferFactory factory;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		// The pooled memory that the native buffer is a view of
+		private ByteBuffer memory;
+
+		// Cache of the allocating thread, which gets the memory back if released on that thread
+		private final ThreadCache cache;
+
+		@Nullable
+		private ByteBuffer newMemory;
+
+		@Nullable
+		LeakTracker leakTracker;
+
+		PooledBuffer(PooledDataBufferFactory factory, ByteBuffer byteBuffer, ByteBuffer memory, ThreadCache cache) {
+			super(factory, byteBuffer);
+			this.factory = factory;
+			this.memory = memory;
+			this.cache = cache;
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (this.refCount.get() > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int count;
+			do {
+				count = this.refCount.get();
+				if (count <= 0) throw new IllegalStateException("DataBuffer has been released already");
+			}while (!this.refCount.compareAndSet(count, count + 1));
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int count = this.refCount.decrementAndGet();
+			if (count > 0) return false;
+			if (count < 0) {
+				this.refCount.incrementAndGet();
+				throw new IllegalStateException("DataBuffer has been released already");
+			}
+			// Detach from the memory before handing it to other buffers
+			readPosition(0);
+			writePosition(0);
+			setNativeBuffer(EMPTY_BUFFER);
+			ByteBuffer memory = this.memory;
+			this.memory = EMPTY_BUFFER;
+			LeakTracker leakTracker = this.leakTracker;
+			if (leakTracker != null) leakTracker.close();
+			this.factory.allocatedBuffers.decrement();
+			this.factory.recycle(memory, this.cache);
+			return true;
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			if (!isAllocated()) throw new IllegalStateException("DataBuffer has been released already");
+			return super.capacity(newCapacity);
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = super.asInputStream(releaseOnClose);
+			return (releaseOnClose ? releasingOnClose(inputStream, this) : inputStream);
+		}
+
+		// Shares the reference count, as the memory of the slice goes back to the pool along with this buffer
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return new PooledSlice(this, super.slice(index, length).getNativeBuffer(), length);
+		}
+
+		@Override
+		ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+			ByteBuffer memory = this.factory.allocateMemory(capacity, direct, this.factory.threadCache.get());
+			this.newMemory = memory;
+			return view(memory, capacity);
+		}
+
+		@Override
+		void releaseNativeBuffer(ByteBuffer byteBuffer) {
+			ByteBuffer oldMemory = this.memory;
+			if (this.newMemory != null) {
+				this.memory = this.newMemory;
+				this.newMemory = null;
+			}
+			this.factory.recycle(oldMemory, this.cache);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("PooledDataBuffer (r: %d, w: %d, c: %d)", readPosition(), writePosition(), capacity());
+		}
+	}
+
+
+	/**
+	 * A slice of a {@link PooledBuffer}, retained and released along with it.
+	 */
+	private static final class PooledSlice extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledBuffer parent;
+
+		PooledSlice(PooledBuffer parent, ByteBuffer byteBuffer, int length) {
+			super(parent.factory(), byteBuffer);
+			this.parent = parent;
+			writePosition(length);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = super.asInputStream(releaseOnClose);
+			return (releaseOnClose ? releasingOnClose(inputStream, this) : inputStream);
+		}
+
+		// A slice of a slice is a view of the same pooled memory
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return new PooledSlice(this.parent, super.slice(index, length).getNativeBuffer(), length);
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+	}
+
+	// Release the given buffer once, when the stream is closed
+	private static InputStream releasingOnClose(InputStream inputStream, PooledDataBuffer buffer) {
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (this.closed) return;
+				this.closed = true;
+				try {
+					super.close();
+				}finally {
+					buffer.release();
+				}
+			}
+		};
+	}
+
+
+	/**
+	 * Buffers of each size class cached by a thread. Only its own thread adds and takes buffers; the lock is
+	 * uncontended except while a sweep drains the cache.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers = new ByteBuffer[32 - MIN_SIZE_SHIFT][];
+
+		private final int[] counts = new int[32 - MIN_SIZE_SHIFT];
+
+		// Weakly referenced, so that the cache of a factory does not keep a terminated thread around
+		private final WeakReference<Thread> thread = new WeakReference<>(Thread.currentThread());
+
+		final long threadId = Thread.currentThread().getId();
+
+		volatile int bytes;
+
+		// Allocations served from this cache, and their number at the previous sweep
+		private int hits;
+
+		private int hitsAtSweep;
+
+		boolean isOwnedByCurrentThread() {
+			return (this.thread.get() == Thread.currentThread());
+		}
+
+		boolean isTerminated() {
+			Thread thread = this.thread.get();
+			return (thread == null || !thread.isAlive());
+		}
+
+		@Nullable
+		synchronized ByteBuffer poll(int sizeClass) {
+			int count = this.counts[sizeClass];
+			if (count == 0) return null;
+			this.counts[sizeClass] = --count;
+			ByteBuffer buffer = this.buffers[sizeClass][count];
+			this.buffers[sizeClass][count] = null;
+			this.bytes -= buffer.capacity();
+			this.hits++;
+			return buffer;
+		}
+
+		synchronized boolean offer(int sizeClass, ByteBuffer buffer) {
+			int count = this.counts[sizeClass];
+			if (count == THREAD_CACHE_SIZE || this.bytes + buffer.capacity() > THREAD_CACHE_CAPACITY) return false;
+			if (this.buffers[sizeClass] == null) this.buffers[sizeClass] = new ByteBuffer[THREAD_CACHE_SIZE];
+			this.buffers[sizeClass][count] = buffer;
+			this.counts[sizeClass] = count + 1;
+			this.bytes += buffer.capacity();
+			return true;
+		}
+
+		// Whether no allocation was served from this cache since the previous call
+		synchronized boolean isIdle() {
+			boolean idle = (this.hits == this.hitsAtSweep);
+			this.hitsAtSweep = this.hits;
+			return idle;
+		}
+
+		synchronized void drainTo(Arena arena) {
+			for (int sizeClass = 0; sizeClass < this.counts.length; sizeClass++) {
+				for (int i = 0; i < this.counts[sizeClass]; i++) {
+					arena.offer(sizeClass, this.buffers[sizeClass][i]);
+					this.buffers[sizeClass][i] = null;
+				}
+				this.counts[sizeClass] = 0;
+			}
+			this.bytes = 0;
+		}
+	}
+
+
+	/**
+	 * Buffers of each size class shared by the threads assigned to an arena.
+	 */
+	private static final class Arena {
+
+		private final Queue<ByteBuffer>[] buffers;
+
+		private final AtomicInteger[] counts;
+
+		@SuppressWarnings("unchecked")
+		Arena(int sizeClasses) {
+			this.buffers = new Queue[sizeClasses];
+			this.counts = new AtomicInteger[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				this.buffers[i] = new ConcurrentLinkedQueue<>();
+				this.counts[i] = new AtomicInteger();
+			}
+		}
+
+		@Nullable
+		ByteBuffer poll(int sizeClass) {
+			ByteBuffer buffer = this.buffers[sizeClass].poll();
+			if (buffer != null) this.counts[sizeClass].decrementAndGet();
+			return buffer;
+		}
+
+		// Beyond its limit, memory is left to the garbage collector
+		void offer(int sizeClass, ByteBuffer buffer) {
+			if (this.counts[sizeClass].incrementAndGet() > ARENA_CACHE_SIZE) {
+				this.counts[sizeClass].decrementAndGet();
+				return;
+			}
+			this.buffers[sizeClass].offer(buffer);
+		}
+	}
+
+
+	/**
+	 * Weak reference to a buffer that is enqueued if the buffer is garbage collected before being released.
+	 */
+	private static final class LeakTracker extends WeakReference<PooledBuffer> {
+
+		private final Throwable allocation = new Throwable("DataBuffer allocation");
+
+		private final Map<LeakTracker, Boolean> trackers;
+
+		LeakTracker(PooledBuffer buffer, ReferenceQueue<PooledBuffer> queue, Map<LeakTracker, Boolean> trackers) {
+			super(buffer, queue);
+			this.trackers = trackers;
+			trackers.put(this, Boolean.TRUE);
+		}
+
+		void close() {
+			this.trackers.remove(this);
+			clear();
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ package org.springframework.core.io.support;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.net.JarURLConnection;
@@ -13,19 +14,31 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -142,6 +155,12 @@ import org.springframework.util.StringUtils;
  * exists in multiple classloader locations, the actual end resource may not be
  * underneath. Therefore, preferably, use "{@code classpath*:}" with the same
  * Ant-style pattern in such a case, which will search <i>all</i> class path locations that contain the root package.
+ *
+ * <b>Indexed jar scanning:</b>
+ * With {@link #setIndexedJarScanning indexed jar scanning}, the entries of each jar file are read once and kept as a
+ * sorted index for the lifetime of the process, so that every further pattern only visits the entries below its
+ * root directory. The root directories of a pattern, as well as the patterns passed to {@link #findAllResources},
+ * are then resolved in parallel on a small dedicated executor. Matching jar entries are returned in the sorted order of their names.
  * @since 1.0.2
  * @see #CLASSPATH_ALL_URL_PREFIX
  * @see org.springframework.util.AntPathMatcher
@@ -150,8 +169,28 @@ import org.springframework.util.StringUtils;
  */
 public class PathMatchingResourcePatternResolver implements ResourcePatternResolver {
 
+	/**
+	 * System property that instructs Spring to use {@link #setIndexedJarScanning indexed jar scanning}
+	 * by default, e.g. for the resolvers of component scanning. The default is "false".
+	 * @since 5.1.9
+	 */
+	public static final String INDEXED_JAR_SCANNING_PROPERTY_NAME = "spring.resources.indexedJarScanning";
+
 	private static final Log logger = LogFactory.getLog(PathMatchingResourcePatternResolver.class);
 
+	/**
+	 * Bounded executor for parallel resolution with indexed jar scanning, shared by all resolvers.
+	 * Its threads terminate when idle, so that it costs nothing after startup.
+	 */
+	private static final ExecutorService scanningExecutor;
+
+	static {
+		int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), ScanningThread::new);
+		executor.allowCoreThreadTimeOut(true);
+		scanningExecutor = executor;
+	}
+
 	@Nullable
 	private static Method equinoxResolveMethod;
 
@@ -170,6 +209,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private boolean indexedJarScanning = SpringProperties.getFlag(INDEXED_JAR_SCANNING_PROPERTY_NAME);
+
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
 	 * ClassLoader access will happen via the thread context class loader.
@@ -228,6 +269,31 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Specify whether jar files should be scanned through a sorted index of their entries, built once per jar file
+	 * and shared by all resolvers, and whether root directories should be resolved in parallel.
+	 * Default is the value of the {@value #INDEXED_JAR_SCANNING_PROPERTY_NAME} system property, i.e. "false".
+	 * Jar files in the file system are re-indexed when modified; nested jars are assumed to be unchanged.
+	 * @since 5.1.9
+	 * @see #clearJarIndexCache()
+	 */
+	public void setIndexedJarScanning(boolean indexedJarScanning) {
+		this.indexedJarScanning = indexedJarScanning;
+	}
+
+	// Return whether indexed jar scanning is active. @since 5.1.9
+	public boolean isIndexedJarScanning() {
+		return this.indexedJarScanning;
+	}
+
+	/**
+	 * Clear the jar entry indexes shared by all resolvers, e.g. after replacing jar files that are not in the file system.
+	 * @since 5.1.9
+	 */
+	public static void clearJarIndexCache() {
+		JarEntryIndex.clearCache();
+	}
+
 	//---------------------------------------------------------------------
 	// Implementation of 【ResourceLoader】 interface
 	//---------------------------------------------------------------------
@@ -243,6 +309,24 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return getResourceLoader().getResource(location);
 	}
 
+	/**
+	 * Resolve the given location patterns into Resource objects, in parallel with
+	 * {@link #setIndexedJarScanning indexed jar scanning} and sequentially otherwise.
+	 * @param locationPatterns the location patterns to resolve
+	 * @return the resources per location pattern, in the order of the given patterns
+	 * @throws IOException in case of I/O errors
+	 * @since 5.1.9
+	 * @see #getResources(String)
+	 */
+	public Map<String, Resource[]> findAllResources(String... locationPatterns) throws IOException {
+		List<Resource[]> resources = mapInParallel(Arrays.asList(locationPatterns), this::getResources);
+		Map<String, Resource[]> result = new LinkedHashMap<>(locationPatterns.length * 2);
+		for (int i = 0; i < locationPatterns.length; i++) {
+			result.putIfAbsent(locationPatterns[i], resources.get(i));
+		}
+		return result;
+	}
+
 	//------------------------------------------------------------------------------
 	// Implementation of 【ResourcePatternResolver】 interface   核心重构方法！！！
 	//------------------------------------------------------------------------------
@@ -426,26 +510,84 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		String subPattern = locationPattern.substring(rootDirPath.length());//subPattern == **/*.class
 		Resource[] rootDirResources = getResources(rootDirPath);
 		Set<Resource> result = new LinkedHashSet<>(16);
-		for (Resource rootDirResource : rootDirResources) {
-			rootDirResource = resolveRootDirResource(rootDirResource);
-			URL rootDirUrl = rootDirResource.getURL();
-			if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
-				URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
-				if (resolvedUrl != null) rootDirUrl = resolvedUrl;
-				rootDirResource = new UrlResource(rootDirUrl);
-			}
-			if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
-				result.addAll(VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher()));
-			}else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
-				result.addAll(doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern));
-			}else {
-				result.addAll(doFindPathMatchingFileResources(rootDirResource, subPattern));
-			}
+		// 多个根目录（例如多个 jar）在索引模式下并行扫描，结果仍按根目录顺序合并
+		for (Set<Resource> rootDirResult : mapInParallel(Arrays.asList(rootDirResources), rootDirResource -> findPathMatchingRootDirResources(rootDirResource, subPattern))) {
+			result.addAll(rootDirResult);
 		}
 		if (logger.isTraceEnabled()) logger.trace("Resolved location pattern [" + locationPattern + "] to resources " + result);
 		return result.toArray(new Resource[0]);
 	}
 
+	// Find all resources below the given root directory that match the given sub pattern.
+	private Set<Resource> findPathMatchingRootDirResources(Resource rootDirResource, String subPattern) throws IOException {
+		rootDirResource = resolveRootDirResource(rootDirResource);
+		URL rootDirUrl = rootDirResource.getURL();
+		if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
+			URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
+			if (resolvedUrl != null) rootDirUrl = resolvedUrl;
+			rootDirResource = new UrlResource(rootDirUrl);
+		}
+		if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
+			return VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher());
+		}else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
+			return doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern);
+		}else {
+			return doFindPathMatchingFileResources(rootDirResource, subPattern);
+		}
+	}
+
+	/**
+	 * Apply the given function to all items, in parallel with indexed jar scanning and if there is more than one item.
+	 * Parallel tasks run on a small dedicated executor rather than the common ForkJoinPool, since they block on jar
+	 * and file system I/O; nested calls from its worker threads run sequentially so that they never wait for it.
+	 * They use the thread context class loader of the caller, since a DefaultResourceLoader without a specific
+	 * ClassLoader resolves class path resources against it.
+	 * @return the results in the order of the given items
+	 */
+	private <T, R> List<R> mapInParallel(List<T> items, IOFunction<T, R> function) throws IOException {
+		if (!this.indexedJarScanning || items.size() < 2 || Thread.currentThread() instanceof ScanningThread) {
+			List<R> result = new ArrayList<>(items.size());
+			for (T item : items) {
+				result.add(function.apply(item));
+			}
+			return result;
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Future<R>> futures = new ArrayList<>(items.size());
+		try {
+			for (T item : items) {
+				futures.add(scanningExecutor.submit(() -> {
+					Thread currentThread = Thread.currentThread();
+					ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+					currentThread.setContextClassLoader(classLoader);
+					try {
+						return function.apply(item);
+					}finally {
+						currentThread.setContextClassLoader(previousClassLoader);
+					}
+				}));
+			}
+			List<R> result = new ArrayList<>(items.size());
+			for (Future<R> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		}catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while resolving resources in parallel");
+		}catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) throw (IOException) cause;
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}finally {
+			for (Future<R> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
 	/**
 	 * Determine the root directory for the given location.
 	 * Used for determining the starting point for file matching, resolving the root directory location to a {@code java.io.File}
@@ -532,6 +674,9 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				if (separatorIndex != -1) {
 					jarFileUrl = urlFile.substring(0, separatorIndex);
 					rootEntryPath = urlFile.substring(separatorIndex + 2);  // both separators are 2 chars
+					// 已有有效索引时无需再打开 jar 文件
+					JarEntryIndex index = (this.indexedJarScanning ? JarEntryIndex.getCached(jarFileUrl) : null);
+					if (index != null) return findMatchingEntries(index, rootDirResource, rootEntryPath, subPattern);
 					jarFile = getJarFile(jarFileUrl);
 				}else {
 					jarFile = new JarFile(urlFile);
@@ -547,6 +692,9 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 		try {
 			if (logger.isTraceEnabled()) logger.trace("Looking for matching resources in jar file [" + jarFileUrl + "]");
+			if (this.indexedJarScanning) {
+				return findMatchingEntries(JarEntryIndex.forJarFile(jarFileUrl, jarFile), rootDirResource, rootEntryPath, subPattern);
+			}
 			if (!"".equals(rootEntryPath) && !rootEntryPath.endsWith("/")) {
 				// Root entry path must end with slash to allow for proper matching.The Sun JRE does not return a slash here, but BEA JRockit does.
 				rootEntryPath = rootEntryPath + "/";
@@ -570,6 +718,21 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	// Find the entries of an indexed jar file below the given root entry path that match the given sub pattern.
+	private Set<Resource> findMatchingEntries(JarEntryIndex index, Resource rootDirResource, String rootEntryPath, String subPattern) throws IOException {
+		if (!"".equals(rootEntryPath) && !rootEntryPath.endsWith("/")) {
+			rootEntryPath = rootEntryPath + "/";
+		}
+		Set<Resource> result = new LinkedHashSet<>(8);
+		for (String entryPath : index.getEntryNames(rootEntryPath)) {
+			String relativePath = entryPath.substring(rootEntryPath.length());
+			if (getPathMatcher().match(subPattern, relativePath)) {
+				result.add(rootDirResource.createRelative(relativePath));
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
@@ -781,4 +944,24 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+
+	// A function that may throw an IOException, for resolving resources in parallel.
+	@FunctionalInterface
+	private interface IOFunction<T, R> {
+
+		R apply(T item) throws IOException;
+	}
+
+
+	// Daemon worker of the scanning executor, recognized to keep nested scans on the same thread.
+	private static final class ScanningThread extends Thread {
+
+		private static final AtomicInteger threadCount = new AtomicInteger();
+
+		ScanningThread(Runnable task) {
+			super(task, "resource-scanning-" + threadCount.incrementAndGet());
+			setDaemon(true);
+		}
+	}
+
 }
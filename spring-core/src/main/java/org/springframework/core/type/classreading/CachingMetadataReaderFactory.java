@@ -28,6 +28,10 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** JVM-wide cache to consult on a miss in the cache above, if any. */
+	@Nullable
+	private SharedMetadataReaderCache sharedCache = (SharedMetadataReaderCache.isSharedByDefault() ? SharedMetadataReaderCache.getSharedInstance() : null);
+
 	// Create a new CachingMetadataReaderFactory for the default class loader,using a local resource cache.
 	public CachingMetadataReaderFactory() {
 		super();
@@ -84,13 +88,32 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+	/**
+	 * Specify a JVM-wide cache to obtain MetadataReaders from when missing in the local or ResourceLoader-level cache,
+	 * typically {@link SharedMetadataReaderCache#getSharedInstance()}. Unlike those caches, it is not affected by {@link #clearCache()}.
+	 * Default is the shared instance if the {@value SharedMetadataReaderCache#SHARED_CACHE_PROPERTY_NAME} flag is set, none otherwise.
+	 * @since 5.1.9
+	 */
+	public void setSharedCache(@Nullable SharedMetadataReaderCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Return the JVM-wide cache this factory obtains MetadataReaders from, if any.
+	 * @since 5.1.9
+	 */
+	@Nullable
+	public SharedMetadataReaderCache getSharedCache() {
+		return this.sharedCache;
+	}
+
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (this.metadataReaderCache instanceof ConcurrentMap) {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = createMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
@@ -98,16 +121,22 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			synchronized (this.metadataReaderCache) {
 				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
+					metadataReader = createMetadataReader(resource);
 					this.metadataReaderCache.put(resource, metadataReader);
 				}
 				return metadataReader;
 			}
 		}else {
-			return super.getMetadataReader(resource);
+			return createMetadataReader(resource);
 		}
 	}
 
+	private MetadataReader createMetadataReader(Resource resource) throws IOException {
+		SharedMetadataReaderCache sharedCache = this.sharedCache;
+		if (sharedCache != null) return sharedCache.getMetadataReader(resource, getResourceLoader().getClassLoader());
+		return super.getMetadataReader(resource);
+	}
+
 	//  Clear the local MetadataReader cache, if any, removing all cached class metadata.
 	public void clearCache() {
 		if (this.metadataReaderCache instanceof LocalResourceCache) {
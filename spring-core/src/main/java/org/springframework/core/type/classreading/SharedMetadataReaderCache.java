@@ -0,0 +1,252 @@
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.BoundedLruEviction;
+
+/**
+ * JVM-wide, size-bounded and concurrent cache of {@link MetadataReader} instances, keyed by class loader and
+ * resource URL and validated against the last-modified timestamp of the resource. Allows several application contexts
+ * (e.g. in a test suite or a plugin setup) to share the ASM parsing result for the same class files.
+ *
+ * Used by {@link CachingMetadataReaderFactory} below its local cache when the {@value #SHARED_CACHE_PROPERTY_NAME}
+ * flag is set, and for any factory configured through {@link CachingMetadataReaderFactory#setSharedCache}.
+ * When exceeding its limit, the least recently used entries are evicted in batches.
+ * @since 5.1.9
+ * 简而言之，就是跨 ApplicationContext 共享的 ASM 元数据缓存，并提供命中/未命中/淘汰计数
+ */
+public class SharedMetadataReaderCache {
+
+	/**
+	 * System property that instructs Spring to use the {@link #getSharedInstance() shared instance} for every
+	 * {@link CachingMetadataReaderFactory}, e.g. for the ones of component scanning and configuration class parsing.
+	 * The default is "false".
+	 */
+	public static final String SHARED_CACHE_PROPERTY_NAME = "spring.metadataReader.sharedCache";
+
+	/**
+	 * System property to specify the limit of the {@link #getSharedInstance() shared instance}. The default is {@value #DEFAULT_CACHE_LIMIT}.
+	 */
+	public static final String CACHE_LIMIT_PROPERTY_NAME = "spring.metadataReader.sharedCache.limit";
+
+	/**
+	 * Default maximum number of entries: 4096.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 4096;
+
+	private static final SharedMetadataReaderCache sharedInstance = new SharedMetadataReaderCache(getConfiguredCacheLimit());
+
+	private final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>(256);
+
+	private final BoundedLruEviction<CacheKey, CacheEntry> eviction = new BoundedLruEviction<>(this.cache, entry -> entry.lastAccess);
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private volatile int cacheLimit;
+
+	/**
+	 * Create a new cache with the given limit.
+	 * @param cacheLimit the maximum number of entries
+	 */
+	public SharedMetadataReaderCache(int cacheLimit) {
+		setCacheLimit(cacheLimit);
+	}
+
+	/**
+	 * Return the JVM-wide instance, limited to {@value #DEFAULT_CACHE_LIMIT} entries unless specified through
+	 * the {@value #CACHE_LIMIT_PROPERTY_NAME} system property.
+	 */
+	public static SharedMetadataReaderCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+	// Determine whether every CachingMetadataReaderFactory should use the shared instance
+	static boolean isSharedByDefault() {
+		return SpringProperties.getFlag(SHARED_CACHE_PROPERTY_NAME);
+	}
+
+	private static int getConfiguredCacheLimit() {
+		String limit = SpringProperties.getProperty(CACHE_LIMIT_PROPERTY_NAME);
+		return (limit != null ? Integer.parseInt(limit.trim()) : DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Specify the maximum number of entries, applied with the next insertion.
+	 * @param cacheLimit the maximum number of entries (must be greater than 0)
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of entries.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Obtain a MetadataReader for the given resource, parsing it unless a reader for the same class loader and URL
+	 * with the same last-modified timestamp is cached. Resources without a URL are parsed without caching.
+	 * @param resource the resource (pointing to a ".class" file)
+	 * @param classLoader the ClassLoader to resolve annotation and nested types against
+	 * @return a holder for the ClassReader instance (never {@code null})
+	 * @throws IOException in case of I/O failure
+	 */
+	public MetadataReader getMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
+		CacheKey key;
+		try {
+			key = new CacheKey(classLoader, resource.getURL().toString());
+		}catch (IOException ex) {
+			this.missCount.increment();
+			return new SimpleMetadataReader(resource, classLoader);
+		}
+		long lastModified = lastModified(resource);
+		CacheEntry entry = this.cache.get(key);
+		if (entry != null && entry.lastModified == lastModified) {
+			entry.lastAccess = this.eviction.tick();
+			this.hitCount.increment();
+			return entry.metadataReader;
+		}
+		this.missCount.increment();
+		MetadataReader metadataReader = new SimpleMetadataReader(resource, classLoader);
+		this.cache.put(key, new CacheEntry(metadataReader, lastModified, this.eviction.tick()));
+		this.evictionCount.add(this.eviction.evictIfNecessary(this.cacheLimit).size());
+		return metadataReader;
+	}
+
+	// Unknown timestamps (-1) only match each other, e.g. for resources that do not support last-modified checks
+	private static long lastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Return the number of cached MetadataReaders.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the number of requests served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that required parsing a class file.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries evicted because of the cache limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Remove all entries for the given ClassLoader, e.g. when discarding a plugin.
+	 * @param classLoader the ClassLoader whose entries to remove
+	 * @see #releaseClassLoader
+	 */
+	public void clear(@Nullable ClassLoader classLoader) {
+		this.cache.keySet().removeIf(key -> key.classLoader == classLoader);
+	}
+
+	/**
+	 * Remove all entries for the given ClassLoader and its children, unless it is the ClassLoader of this cache or one of
+	 * its parents, which live as long as the cache anyway. To be called when a ClassLoader gets discarded, e.g. on close
+	 * of an application context within a web application or plugin: the cached readers reference their ClassLoader,
+	 * so weak keys would not be enough to let it be garbage-collected.
+	 * @param classLoader the ClassLoader to release
+	 * @since 5.1.9
+	 */
+	public void releaseClassLoader(@Nullable ClassLoader classLoader) {
+		if (classLoader == null || isParentOrSelf(classLoader, SharedMetadataReaderCache.class.getClassLoader())) return;
+		this.cache.keySet().removeIf(key -> isParentOrSelf(classLoader, key.classLoader));
+	}
+
+	private static boolean isParentOrSelf(ClassLoader candidate, @Nullable ClassLoader classLoader) {
+		for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+			if (current == candidate) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all entries, keeping the counters.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "SharedMetadataReaderCache: size=" + size() + ", limit=" + this.cacheLimit + ", hits=" + getHitCount() +
+				", misses=" + getMissCount() + ", evictions=" + getEvictionCount();
+	}
+
+
+	private static final class CacheKey {
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		private final String url;
+
+		CacheKey(@Nullable ClassLoader classLoader, String url) {
+			this.classLoader = classLoader;
+			this.url = url;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) return true;
+			if (!(other instanceof CacheKey)) return false;
+			CacheKey otherKey = (CacheKey) other;
+			return (this.classLoader == otherKey.classLoader && this.url.equals(otherKey.url));
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.classLoader) * 31 + this.url.hashCode();
+		}
+	}
+
+
+	private static final class CacheEntry {
+
+		final MetadataReader metadataReader;
+
+		final long lastModified;
+
+		volatile long lastAccess;
+
+		CacheEntry(MetadataReader metadataReader, long lastModified, long lastAccess) {
+			this.metadataReader = metadataReader;
+			this.lastModified = lastModified;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least-recently-used eviction for a size-bounded cache held in a concurrent {@link Map}, whose values record the
+ * time of their last access on the logical {@linkplain #tick() clock} of this helper.
+ *
+ * Lookups remain lock-free since no access order is maintained: once the map exceeds its limit, the least recently
+ * used entries are evicted in one batch, down to 7/8 of the limit, so that sorting the access times is amortized
+ * over many insertions. Concurrent callers do not wait for an eviction in progress.
+ * @since 5.1.9
+ * @param <K> the key type
+ * @param <V> the value type
+ * 简而言之，就是并发缓存共用的批量 LRU 淘汰：命中只记录逻辑时钟，超限时一次淘汰到上限的 7/8
+ */
+public class BoundedLruEviction<K, V> {
+
+	private final Map<K, V> map;
+
+	private final ToLongFunction<? super V> accessTime;
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/**
+	 * Create a new {@code BoundedLruEviction} for the given map.
+	 * @param map the cache, which must support concurrent access
+	 * @param accessTime the function that returns the last access time recorded by a value
+	 */
+	public BoundedLruEviction(Map<K, V> map, ToLongFunction<? super V> accessTime) {
+		Assert.notNull(map, "Map must not be null");
+		Assert.notNull(accessTime, "Access time function must not be null");
+		this.map = map;
+		this.accessTime = accessTime;
+	}
+
+	/**
+	 * Advance the clock, returning the time for a value to record when inserted or accessed.
+	 */
+	public long tick() {
+		return this.clock.incrementAndGet();
+	}
+
+	/**
+	 * Return the time of the clock without advancing it: cheaper than {@link #tick()} for frequent hits, at the
+	 * expense of not telling apart the accesses since the last tick.
+	 */
+	public long currentTime() {
+		return this.clock.get();
+	}
+
+	/**
+	 * Evict the least recently used entries down to 7/8 of the given limit, if the map exceeds that limit
+	 * and no other thread is evicting already.
+	 * @param limit the maximum number of entries
+	 * @return the evicted values, e.g. for releasing their resources (possibly empty)
+	 */
+	public List<V> evictIfNecessary(int limit) {
+		if (this.map.size() <= limit || !this.evictionLock.tryLock()) return Collections.emptyList();
+		try {
+			int excess = this.map.size() - (limit - limit / 8);
+			if (excess <= 0) return Collections.emptyList();
+			// Sort a snapshot of the access times since concurrent hits keep updating them
+			List<Map.Entry<K, V>> entries = new ArrayList<>(this.map.entrySet());
+			long[] accessTimes = new long[entries.size()];
+			for (int i = 0; i < accessTimes.length; i++) {
+				accessTimes[i] = this.accessTime.applyAsLong(entries.get(i).getValue());
+			}
+			Arrays.sort(accessTimes);
+			long threshold = accessTimes[Math.min(excess, accessTimes.length) - 1];
+			List<V> evicted = new ArrayList<>(excess);
+			for (Map.Entry<K, V> entry : entries) {
+				if (evicted.size() >= excess) break;
+				V value = entry.getValue();
+				if (this.accessTime.applyAsLong(value) <= threshold && this.map.remove(entry.getKey(), value)) {
+					evicted.add(value);
+				}
+			}
+			return evicted;
+		}finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+}
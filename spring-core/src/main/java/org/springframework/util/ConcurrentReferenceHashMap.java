@@ -8,15 +8,18 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.lang.Nullable;
@@ -36,6 +39,13 @@ import org.springframework.lang.Nullable;
  * references at any time, so it may appear that an unknown thread is silently removing entries.
  * If not explicitly specified, this implementation will use
  * {@linkplain SoftReference soft entry references}.
+ *
+ * Lookups that find a live entry never take a segment lock; garbage collected entries are purged on updates and
+ * on lookups that miss. In {@linkplain #setAdaptiveConcurrency adaptive concurrency} mode the number of segments
+ * is doubled (up to a limit derived from the number of processors) whenever updates of a segment repeatedly
+ * contend for its lock. {@linkplain #setStatisticsEnabled Statistics} about hits, misses, insertions, removals
+ * and garbage collected entries can be recorded per map, or for all maps through the
+ * {@value #STATISTICS_PROPERTY_NAME} system property, e.g. to see which framework caches churn under memory pressure.
  * @since 3.2
  * @param <K> the key type
  * @param <V> the value type
@@ -54,11 +64,40 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 	private static final int MAXIMUM_SEGMENT_SIZE = 1 << 30;
 
+	/**
+	 * System property that enables {@linkplain #setAdaptiveConcurrency adaptive concurrency} for every map
+	 * created afterwards, including the framework's internal caches. The default is "false".
+	 * @since 5.1.9
+	 */
+	public static final String ADAPTIVE_CONCURRENCY_PROPERTY_NAME = "spring.referenceMap.adaptiveConcurrency";
+
+	/**
+	 * System property that enables {@linkplain #setStatisticsEnabled statistics} for every map created afterwards,
+	 * including the framework's internal caches, which then show up in {@link #getAllStatistics()}.
+	 * The default is "false".
+	 * @since 5.1.9
+	 */
+	public static final String STATISTICS_PROPERTY_NAME = "spring.referenceMap.statistics";
+
+	// Contended lock acquisitions of a segment after which the number of segments is doubled in adaptive mode
+	private static final int CONTENTION_THRESHOLD = 64;
+
+	// Upper bound of the number of segments in adaptive mode: four per processor
+	private static final int MAXIMUM_ADAPTIVE_CONCURRENCY_LEVEL = 1 << calculateShift(Runtime.getRuntime().availableProcessors() * 4, MAXIMUM_CONCURRENCY_LEVEL);
+
+	private static final boolean adaptiveConcurrencyByDefault = getFlag(ADAPTIVE_CONCURRENCY_PROPERTY_NAME);
+
+	private static final boolean statisticsByDefault = getFlag(STATISTICS_PROPERTY_NAME);
+
+	/** Maps with statistics enabled, for {@link #getAllStatistics()}. */
+	private static final List<WeakReference<ConcurrentReferenceHashMap<?, ?>>> statisticsRegistry = new CopyOnWriteArrayList<>();
+
 
 	/**
 	 * Array of segments indexed using the high order bits from the hash.
+	 * Only replaced as a whole, when growing the number of segments in adaptive mode.
 	 */
-	private final Segment[] segments;
+	private volatile Segment[] segments;
 
 	/**
 	 * When the average number of references per table exceeds this value resize will be attempted.
@@ -70,10 +109,14 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private final ReferenceType referenceType;
 
-	/**
-	 * The shift value used to calculate the size of the segments array and an index from the hash.
-	 */
-	private final int shift;
+	private volatile boolean adaptiveConcurrency = adaptiveConcurrencyByDefault;
+
+	// Serializes the growth of the number of segments
+	private final ReentrantLock growthLock = new ReentrantLock();
+
+	// Counters if statistics are enabled, null otherwise
+	@Nullable
+	private volatile Counters counters;
 
 	/**
 	 * Late binding entry set.
@@ -154,8 +197,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
 		Assert.notNull(referenceType, "Reference type must not be null");
 		this.loadFactor = loadFactor;
-		this.shift = calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
-		int size = 1 << this.shift;
+		int size = 1 << calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
 		this.referenceType = referenceType;
 		int roundedUpSegmentCapacity = (int) ((initialCapacity + size - 1L) / size);
 		int initialSize = 1 << calculateShift(roundedUpSegmentCapacity, MAXIMUM_SEGMENT_SIZE);
@@ -165,6 +207,97 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			segments[i] = new Segment(initialSize, resizeThreshold);
 		}
 		this.segments = segments;
+		if (statisticsByDefault) setStatisticsEnabled(true);
+	}
+
+	private static boolean getFlag(String key) {
+		try {
+			return Boolean.parseBoolean(System.getProperty(key));
+		}catch (Throwable ex) {
+			// Not allowed to read system properties
+			return false;
+		}
+	}
+
+	/**
+	 * Specify whether to double the number of segments when updates repeatedly contend for the lock of a segment,
+	 * up to four segments per processor. The concurrency level given at construction is the initial number of segments then.
+	 * Default is "false", unless the {@value #ADAPTIVE_CONCURRENCY_PROPERTY_NAME} system property is set.
+	 * @since 5.1.9
+	 */
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	/**
+	 * Return whether the number of segments grows under contention.
+	 * @since 5.1.9
+	 */
+	public boolean isAdaptiveConcurrency() {
+		return this.adaptiveConcurrency;
+	}
+
+	/**
+	 * Specify whether to record {@linkplain #getStatistics() statistics} for this map, starting from zero.
+	 * Maps with statistics enabled are also included in {@link #getAllStatistics()}.
+	 * Default is "false", unless the {@value #STATISTICS_PROPERTY_NAME} system property is set.
+	 * @since 5.1.9
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		if (statisticsEnabled) {
+			if (this.counters == null) {
+				this.counters = new Counters(getOwnerName());
+				statisticsRegistry.add(new WeakReference<>(this));
+			}
+		}else if (this.counters != null) {
+			this.counters = null;
+			statisticsRegistry.removeIf(ref -> ref.get() == this || ref.get() == null);
+		}
+	}
+
+	/**
+	 * Return whether statistics are recorded for this map.
+	 * @since 5.1.9
+	 */
+	public boolean isStatisticsEnabled() {
+		return (this.counters != null);
+	}
+
+	/**
+	 * Return a snapshot of the statistics of this map, or {@code null} if not {@linkplain #setStatisticsEnabled enabled}.
+	 * @since 5.1.9
+	 */
+	@Nullable
+	public Statistics getStatistics() {
+		Counters counters = this.counters;
+		return (counters != null ? new Statistics(counters, size(), getSegmentsSize()) : null);
+	}
+
+	/**
+	 * Return snapshots of the statistics of all maps that have statistics enabled and have not been garbage collected,
+	 * each {@linkplain Statistics#getName() named} after the code that created the map.
+	 * @since 5.1.9
+	 * @see #STATISTICS_PROPERTY_NAME
+	 */
+	public static List<Statistics> getAllStatistics() {
+		List<Statistics> result = new ArrayList<>(statisticsRegistry.size());
+		for (WeakReference<ConcurrentReferenceHashMap<?, ?>> ref : statisticsRegistry) {
+			ConcurrentReferenceHashMap<?, ?> map = ref.get();
+			Statistics statistics = (map != null ? map.getStatistics() : null);
+			if (statistics != null) result.add(statistics);
+		}
+		statisticsRegistry.removeIf(ref -> ref.get() == null);
+		return result;
+	}
+
+	// The method that created this map (or enabled its statistics), e.g. "org.springframework.core.ResolvableType.<clinit>"
+	private static String getOwnerName() {
+		for (StackTraceElement element : new Throwable().getStackTrace()) {
+			if (!element.getClassName().equals(ConcurrentReferenceHashMap.class.getName()) && !element.getMethodName().equals("<init>")) {
+				return element.getClassName() + "." + element.getMethodName();
+			}
+		}
+		return ConcurrentReferenceHashMap.class.getName();
 	}
 
 
@@ -230,7 +363,10 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	@Nullable
 	private Entry<K, V> getEntryIfAvailable(@Nullable Object key) {
 		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
-		return (ref != null ? ref.get() : null);
+		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		Counters counters = this.counters;
+		if (counters != null) (entry != null ? counters.hits : counters.misses).increment();
+		return entry;
 	}
 
 	/**
@@ -288,6 +424,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 				if (entry != null) {
 					if (ref != null) {
 						ref.release();
+						countRemoval();
 					}
 					return entry.value;
 				}
@@ -304,6 +441,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 				if (entry != null && ObjectUtils.nullSafeEquals(entry.getValue(), value)) {
 					if (ref != null) {
 						ref.release();
+						countRemoval();
 					}
 					return true;
 				}
@@ -345,11 +483,21 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		});
 	}
 
+	private void countRemoval() {
+		Counters counters = this.counters;
+		if (counters != null) counters.removals.increment();
+	}
+
 	@Override
 	public void clear() {
-		for (Segment segment : this.segments) {
-			segment.clear();
-		}
+		Segment[] segments;
+		// Clear the new segments again if the number of segments grew in the meantime
+		do {
+			segments = this.segments;
+			for (Segment segment : segments) {
+				segment.clear();
+			}
+		}while (segments != this.segments);
 	}
 
 	/**
@@ -401,7 +549,60 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	}
 
 	private Segment getSegmentForHash(int hash) {
-		return this.segments[(hash >>> (32 - this.shift)) & (this.segments.length - 1)];
+		Segment[] segments = this.segments;
+		int shift = Integer.numberOfTrailingZeros(segments.length);
+		return segments[(hash >>> (32 - shift)) & (segments.length - 1)];
+	}
+
+	/**
+	 * Double the number of segments, moving the live entries of each segment to the two segments that replace it.
+	 * Blocks all updates while moving; lookups keep reading the previous segments until the new ones are published.
+	 */
+	private void growSegments() {
+		if (!this.growthLock.tryLock()) return;
+		try {
+			Segment[] oldSegments = this.segments;
+			if (oldSegments.length >= MAXIMUM_ADAPTIVE_CONCURRENCY_LEVEL) return;
+			int lockedSegments = 0;
+			try {
+				for (Segment segment : oldSegments) {
+					segment.lock();
+					lockedSegments++;
+				}
+				@SuppressWarnings("unchecked")
+				Segment[] newSegments = (Segment[]) Array.newInstance(Segment.class, oldSegments.length * 2);
+				int shift = Integer.numberOfTrailingZeros(newSegments.length);
+				List<List<Reference<K, V>>> moved = new ArrayList<>(newSegments.length);
+				for (int i = 0; i < newSegments.length; i++) {
+					moved.add(new ArrayList<>());
+				}
+				for (Segment segment : oldSegments) {
+					for (Reference<K, V> head : segment.references) {
+						for (Reference<K, V> ref = head; ref != null; ref = ref.getNext()) {
+							moved.get((ref.getHash() >>> (32 - shift)) & (newSegments.length - 1)).add(ref);
+						}
+					}
+				}
+				for (int i = 0; i < newSegments.length; i++) {
+					Segment oldSegment = oldSegments[i >> 1];
+					newSegments[i] = new Segment(oldSegment.initialSize, (int) (oldSegment.initialSize * getLoadFactor()));
+					newSegments[i].moveFrom(moved.get(i));
+				}
+				// 已被替换的段上的更新会在新的段上重试
+				for (Segment segment : oldSegments) {
+					segment.retired = true;
+				}
+				this.segments = newSegments;
+				Counters counters = this.counters;
+				if (counters != null) counters.segmentGrowths.increment();
+			}finally {
+				for (int i = 0; i < lockedSegments; i++) {
+					oldSegments[i].unlock();
+				}
+			}
+		}finally {
+			this.growthLock.unlock();
+		}
 	}
 
 	/**
@@ -463,6 +664,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		 */
 		private int resizeThreshold;
 
+		// Number of updates that found the lock held by another thread (adaptive concurrency)
+		private int contendedLocks;
+
+		// Whether this segment has been replaced when growing the number of segments
+		private volatile boolean retired;
+
 		public Segment(int initialSize, int resizeThreshold) {
 			this.referenceManager = createReferenceManager();
 			this.initialSize = initialSize;
@@ -472,17 +679,18 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 		@Nullable
 		public Reference<K, V> getReference(@Nullable Object key, int hash, Restructure restructure) {
-			if (restructure == Restructure.WHEN_NECESSARY) {
-				restructureIfNecessary(false);
+			Reference<K, V> ref = null;
+			if (this.count != 0) {
+				// Use a local copy to protect against other threads writing
+				Reference<K, V>[] references = this.references;
+				int index = getIndex(hash, references);
+				ref = findInChain(references[index], key, hash);
 			}
-			if (this.count == 0) {
-				return null;
+			// A hit never locks: garbage collected references are only purged when missing
+			if (ref == null && restructure == Restructure.WHEN_NECESSARY) {
+				restructureIfNecessary(false);
 			}
-			// Use a local copy to protect against other threads writing
-			Reference<K, V>[] references = this.references;
-			int index = getIndex(hash, references);
-			Reference<K, V> head = references[index];
-			return findInChain(head, key, hash);
+			return ref;
 		}
 
 		/**
@@ -499,10 +707,15 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			if (task.hasOption(TaskOption.RESTRUCTURE_BEFORE)) {
 				restructureIfNecessary(resize);
 			}
-			if (task.hasOption(TaskOption.SKIP_IF_EMPTY) && this.count == 0) {
+			if (task.hasOption(TaskOption.SKIP_IF_EMPTY) && this.count == 0 && !this.retired) {
 				return task.execute(null, null, null);
 			}
-			lock();
+			lockForUpdate();
+			if (this.retired) {
+				unlock();
+				return getSegmentForHash(hash).doTask(hash, key, task);
+			}
+			boolean grow = false;
 			try {
 				final int index = getIndex(hash, this.references);
 				final Reference<K, V> head = this.references[index];
@@ -516,8 +729,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 						Reference<K, V> newReference = Segment.this.referenceManager.createReference(newEntry, hash, head);
 						Segment.this.references[index] = newReference;
 						Segment.this.count++;
+						Counters counters = ConcurrentReferenceHashMap.this.counters;
+						if (counters != null) counters.insertions.increment();
 					}
 				};
+				grow = (this.contendedLocks >= CONTENTION_THRESHOLD && ConcurrentReferenceHashMap.this.adaptiveConcurrency);
+				if (grow) this.contendedLocks = 0;
 				return task.execute(ref, entry, entries);
 			}
 			finally {
@@ -525,6 +742,16 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 				if (task.hasOption(TaskOption.RESTRUCTURE_AFTER)) {
 					restructureIfNecessary(resize);
 				}
+				// A segment replaced in the meantime has been grown already
+				if (grow && !this.retired) growSegments();
+			}
+		}
+
+		// Lock, counting the acquisitions that had to wait for another thread
+		private void lockForUpdate() {
+			if (!tryLock()) {
+				lock();
+				this.contendedLocks++;
 			}
 		}
 
@@ -557,18 +784,19 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			boolean needsResize = (currCount > 0 && currCount >= this.resizeThreshold);
 			Reference<K, V> ref = this.referenceManager.pollForPurge();
 			if (ref != null || (needsResize && allowResize)) {
-				lock();
+				lockForUpdate();
 				try {
+					// The references of a replaced segment have been moved already
+					if (this.retired) return;
 					int countAfterRestructure = this.count;
-					Set<Reference<K, V>> toPurge = Collections.emptySet();
-					if (ref != null) {
-						toPurge = new HashSet<>();
-						while (ref != null) {
-							toPurge.add(ref);
-							ref = this.referenceManager.pollForPurge();
-						}
+					Set<Reference<K, V>> toPurge = new HashSet<>();
+					while (ref != null) {
+						toPurge.add(ref);
+						ref = this.referenceManager.pollForPurge();
 					}
 					countAfterRestructure -= toPurge.size();
+					Counters counters = ConcurrentReferenceHashMap.this.counters;
+					if (counters != null) counters.purges.add(toPurge.size());
 
 					// Recalculate taking into account count inside lock and items that
 					// will be purged
@@ -580,16 +808,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 						resizing = true;
 					}
 
-					// Either create a new table or reuse the existing one
-					Reference<K, V>[] restructured =
-							(resizing ? createReferenceArray(restructureSize) : this.references);
+					// Always create a new table, so that lookups without lock never see a partially restructured one
+					Reference<K, V>[] restructured = createReferenceArray(restructureSize);
 
 					// Restructure
 					for (int i = 0; i < this.references.length; i++) {
 						ref = this.references[i];
-						if (!resizing) {
-							restructured[i] = null;
-						}
 						while (ref != null) {
 							if (!toPurge.contains(ref)) {
 								Entry<K, V> entry = ref.get();
@@ -604,8 +828,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 					}
 
 					// Replace volatile members
+					this.references = restructured;
 					if (resizing) {
-						this.references = restructured;
 						this.resizeThreshold = (int) (this.references.length * getLoadFactor());
 					}
 					this.count = Math.max(countAfterRestructure, 0);
@@ -616,6 +840,30 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			}
 		}
 
+		/**
+		 * Take over the live entries of the given references of a replaced segment, with a table large enough
+		 * to hold them without resizing. Called while all segments are locked.
+		 */
+		void moveFrom(List<Reference<K, V>> refs) {
+			int size = this.references.length;
+			while (size < MAXIMUM_SEGMENT_SIZE && refs.size() >= (int) (size * getLoadFactor())) {
+				size <<= 1;
+			}
+			Reference<K, V>[] references = createReferenceArray(size);
+			int count = 0;
+			for (Reference<K, V> ref : refs) {
+				Entry<K, V> entry = ref.get();
+				if (entry != null) {
+					int index = getIndex(ref.getHash(), references);
+					references[index] = this.referenceManager.createReference(entry, ref.getHash(), references[index]);
+					count++;
+				}
+			}
+			this.references = references;
+			this.resizeThreshold = (int) (size * getLoadFactor());
+			this.count = count;
+		}
+
 		@Nullable
 		private Reference<K, V> findInChain(Reference<K, V> ref, @Nullable Object key, int hash) {
 			Reference<K, V> currRef = ref;
@@ -869,6 +1117,9 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
 
+		// The segments at the time of creation, in case their number grows while iterating
+		private final Segment[] segments = ConcurrentReferenceHashMap.this.segments;
+
 		private int segmentIndex;
 
 		private int referenceIndex;
@@ -934,8 +1185,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		private void moveToNextSegment() {
 			this.reference = null;
 			this.references = null;
-			if (this.segmentIndex < ConcurrentReferenceHashMap.this.segments.length) {
-				this.references = ConcurrentReferenceHashMap.this.segments[this.segmentIndex].references;
+			if (this.segmentIndex < this.segments.length) {
+				this.references = this.segments[this.segmentIndex].references;
 				this.segmentIndex++;
 			}
 		}
@@ -948,6 +1199,121 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	}
 
 
+	/**
+	 * Snapshot of the statistics of a map.
+	 * @since 5.1.9
+	 * @see ConcurrentReferenceHashMap#getStatistics()
+	 */
+	public static final class Statistics {
+
+		private final String name;
+
+		private final int size;
+
+		private final int segments;
+
+		private final long hits;
+
+		private final long misses;
+
+		private final long insertions;
+
+		private final long removals;
+
+		private final long purges;
+
+		private final long segmentGrowths;
+
+		Statistics(Counters counters, int size, int segments) {
+			this.name = counters.name;
+			this.size = size;
+			this.segments = segments;
+			this.hits = counters.hits.sum();
+			this.misses = counters.misses.sum();
+			this.insertions = counters.insertions.sum();
+			this.removals = counters.removals.sum();
+			this.purges = counters.purges.sum();
+			this.segmentGrowths = counters.segmentGrowths.sum();
+		}
+
+		// The method that created the map, e.g. "org.springframework.core.ResolvableType.<clinit>".
+		public String getName() {
+			return this.name;
+		}
+
+		// Return the number of entries, including garbage collected ones that have not been purged yet.
+		public int getSize() {
+			return this.size;
+		}
+
+		public int getSegments() {
+			return this.segments;
+		}
+
+		// Return the number of lookups (get, getOrDefault, containsKey) that found an entry.
+		public long getHits() {
+			return this.hits;
+		}
+
+		// Return the number of lookups that found no entry.
+		public long getMisses() {
+			return this.misses;
+		}
+
+		// Return the number of entries added (not counting replaced values).
+		public long getInsertions() {
+			return this.insertions;
+		}
+
+		// Return the number of entries removed explicitly.
+		public long getRemovals() {
+			return this.removals;
+		}
+
+		// Return the number of entries purged because they were garbage collected (soft or weak references cleared).
+		public long getCollected() {
+			return Math.max(this.purges - this.removals, 0);
+		}
+
+		// Return the number of times the number of segments was doubled in adaptive mode.
+		public long getSegmentGrowths() {
+			return this.segmentGrowths;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + ": size=" + this.size + ", segments=" + this.segments + ", hits=" + this.hits + ", misses=" + this.misses +
+					", insertions=" + this.insertions + ", removals=" + this.removals + ", collected=" + getCollected() + ", segmentGrowths=" + this.segmentGrowths;
+		}
+	}
+
+
+	/**
+	 * Counters of a map with statistics enabled.
+	 */
+	private static final class Counters {
+
+		final String name;
+
+		final LongAdder hits = new LongAdder();
+
+		final LongAdder misses = new LongAdder();
+
+		final LongAdder insertions = new LongAdder();
+
+		final LongAdder removals = new LongAdder();
+
+		// Purged references, including the ones released by explicit removals
+		final LongAdder purges = new LongAdder();
+
+		final LongAdder segmentGrowths = new LongAdder();
+
+		Counters(String name) {
+			this.name = name;
+		}
+	}
+
+
 	/**
 	 * The types of restructuring that can be performed.
 	 */
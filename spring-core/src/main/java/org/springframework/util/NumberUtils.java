@@ -100,6 +100,49 @@ public abstract class NumberUtils {
 		}
 	}
 
+	/**
+	 * Convert the given number into an {@code int} value, with the same overflow checks as
+	 * {@link #convertNumberToTargetClass} for {@code Integer} but without boxing the result.
+	 * @param number the number to convert
+	 * @return the converted value
+	 * @throws IllegalArgumentException if there is an overflow
+	 * @since 5.1.9
+	 */
+	public static int convertNumberToInt(Number number) throws IllegalArgumentException {
+		Assert.notNull(number, "Number must not be null");
+		if (number instanceof Integer || number instanceof Short || number instanceof Byte) return number.intValue();
+		long value = checkedLongValue(number, Integer.class);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			raiseOverflowException(number, Integer.class);
+		}
+		return number.intValue();
+	}
+
+	/**
+	 * Convert the given number into a {@code long} value, with the same overflow checks as
+	 * {@link #convertNumberToTargetClass} for {@code Long} but without boxing the result.
+	 * @param number the number to convert
+	 * @return the converted value
+	 * @throws IllegalArgumentException if there is an overflow
+	 * @since 5.1.9
+	 */
+	public static long convertNumberToLong(Number number) throws IllegalArgumentException {
+		Assert.notNull(number, "Number must not be null");
+		return checkedLongValue(number, Long.class);
+	}
+
+	/**
+	 * Convert the given number into a {@code double} value, as {@link #convertNumberToTargetClass} for {@code Double}
+	 * but without boxing the result.
+	 * @param number the number to convert
+	 * @return the converted value
+	 * @since 5.1.9
+	 */
+	public static double convertNumberToDouble(Number number) {
+		Assert.notNull(number, "Number must not be null");
+		return number.doubleValue();
+	}
+
 	/**
 	 * Check for a {@code BigInteger}/{@code BigDecimal} long overflow before returning the given number as a long value.
 	 * @param number the number to convert
@@ -154,7 +197,7 @@ public abstract class NumberUtils {
 	public static <T extends Number> T parseNumber(String text, Class<T> targetClass) {
 		Assert.notNull(text, "Text must not be null");
 		Assert.notNull(targetClass, "Target class must not be null");
-		String trimmed = StringUtils.trimAllWhitespace(text);
+		String trimmed = trimAllWhitespace(text);
 
 		if (Byte.class == targetClass) {
 			return (T) (isHexNumber(trimmed) ? Byte.decode(trimmed) : Byte.valueOf(trimmed));
@@ -177,6 +220,55 @@ public abstract class NumberUtils {
 		}
 	}
 
+	/**
+	 * Parse the given {@code text} into an {@code int} value, as {@link #parseNumber(String, Class)} for {@code Integer}
+	 * (including whitespace removal and hex support) but without boxing the result.
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code int}
+	 * @since 5.1.9
+	 */
+	public static int parseInt(String text) {
+		Assert.notNull(text, "Text must not be null");
+		String trimmed = trimAllWhitespace(text);
+		return (isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.parseInt(trimmed));
+	}
+
+	/**
+	 * Parse the given {@code text} into a {@code long} value, as {@link #parseNumber(String, Class)} for {@code Long}
+	 * (including whitespace removal and hex support) but without boxing the result.
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code long}
+	 * @since 5.1.9
+	 */
+	public static long parseLong(String text) {
+		Assert.notNull(text, "Text must not be null");
+		String trimmed = trimAllWhitespace(text);
+		return (isHexNumber(trimmed) ? Long.decode(trimmed) : Long.parseLong(trimmed));
+	}
+
+	/**
+	 * Parse the given {@code text} into a {@code double} value, as {@link #parseNumber(String, Class)} for {@code Double}
+	 * (including whitespace removal) but without boxing the result.
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code double}
+	 * @since 5.1.9
+	 */
+	public static double parseDouble(String text) {
+		Assert.notNull(text, "Text must not be null");
+		return Double.parseDouble(trimAllWhitespace(text));
+	}
+
+	// Like StringUtils.trimAllWhitespace, but without copying a text that does not contain any whitespace
+	private static String trimAllWhitespace(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (Character.isWhitespace(text.charAt(i))) return StringUtils.trimAllWhitespace(text);
+		}
+		return text;
+	}
+
 	/**
 	 * Parse the given {@code text} into a {@link Number} instance of the given target class, using the supplied {@link NumberFormat}.
 	 * Trims the input {@code String} before attempting to parse the number.
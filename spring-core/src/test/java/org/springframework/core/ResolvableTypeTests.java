@@ -35,7 +35,10 @@ import org.mockito.Captor;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import org.springframework.core.ResolvableType.VariableResolver;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StopWatch;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -1293,6 +1296,75 @@ public class ResolvableTypeTests {
 		assertThat(type.resolveGeneric(), equalTo(Integer.class));
 	}
 
+	@Test
+	public void memberTypesInternedPerDeclaringClass() throws Exception {
+		Field field = Fields.class.getField("parameterizedType");
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		Method returnMethod = Methods.class.getMethod("charSequenceReturn");
+		Constructor<?> constructor = Constructors.class.getConstructor(Map.class);
+		assertSame(ResolvableType.forField(field), ResolvableType.forField(field));
+		assertSame(ResolvableType.forMethodParameter(method, 0), ResolvableType.forMethodParameter(method, 0));
+		assertSame(ResolvableType.forMethodReturnType(returnMethod), ResolvableType.forMethodReturnType(returnMethod));
+		assertSame(ResolvableType.forConstructorParameter(constructor, 0), ResolvableType.forConstructorParameter(constructor, 0));
+		assertThat(ResolvableType.forMethodParameter(method, 0), equalTo(ResolvableType.forMethodParameter(new MethodParameter(method, 0))));
+		assertThat(ResolvableType.forMethodReturnType(returnMethod), equalTo(ResolvableType.forMethodParameter(new MethodParameter(returnMethod, -1))));
+		assertThat(ResolvableType.forConstructorParameter(constructor, 0).resolveGeneric(1), equalTo((Class) Long.class));
+		ResolvableType.clearCache();
+		assertThat(ResolvableType.forField(field).getGeneric(0).getType(), instanceOf(TypeVariable.class));
+	}
+
+	@Test
+	public void memberTypesWithImplementationClassNotInterned() throws Exception {
+		Field field = Fields.class.getField("parameterizedType");
+		ResolvableType type = ResolvableType.forField(field, TypedFields.class);
+		assertThat(type.resolveGeneric(), equalTo((Class) String.class));
+		assertThat(ResolvableType.forField(field).resolveGeneric(), nullValue());
+		assertNotSame(type, ResolvableType.forField(field, TypedFields.class));
+	}
+
+	@Test
+	public void methodParameterIndexOutOfRange() throws Exception {
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		this.thrown.expect(IllegalArgumentException.class);
+		ResolvableType.forMethodParameter(method, 1);
+	}
+
+	@Test
+	public void resolutionPerformance() throws Exception {
+		Assume.group(TestGroup.PERFORMANCE);
+		Field field = Fields.class.getField("parameterizedType");
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, CharSequence.class);
+		ResolvableType arrayListType = ResolvableType.forClassWithGenerics(ArrayList.class, String.class);
+		StopWatch watch = new StopWatch("ResolvableType resolution");
+		watch.start("forField 1,000,000");
+		for (int i = 0; i < 1000000; i++) {
+			ResolvableType.forField(field);
+		}
+		watch.stop();
+		watch.start("forMethodParameter 1,000,000");
+		for (int i = 0; i < 1000000; i++) {
+			ResolvableType.forMethodParameter(method, 0);
+		}
+		watch.stop();
+		watch.start("forMethodParameter(MethodParameter) 1,000,000");
+		for (int i = 0; i < 1000000; i++) {
+			ResolvableType.forMethodParameter(new MethodParameter(method, 0));
+		}
+		watch.stop();
+		watch.start("as(Collection) 1,000,000");
+		for (int i = 0; i < 1000000; i++) {
+			ResolvableType.forMethodParameter(method, 0).as(Collection.class);
+		}
+		watch.stop();
+		watch.start("isAssignableFrom 1,000,000");
+		for (int i = 0; i < 1000000; i++) {
+			listType.isAssignableFrom(arrayListType);
+		}
+		watch.stop();
+		// System.out.println(watch.prettyPrint());
+	}
+
 	private ResolvableType testSerialization(ResolvableType type) throws Exception {
 		ByteArrayOutputStream bos = new ByteArrayOutputStream();
 		ObjectOutputStream oos = new ObjectOutputStream(bos);
@@ -781,6 +781,55 @@ public class AnnotatedElementUtilsTests {
 		assertNotNull(order);
 	}
 
+	@Test
+	public void mergedAnnotationSynthesizedOncePerElement() {
+		Class<?> element = AliasedValueComposedContextConfigClass.class;
+		ContextConfig contextConfig = getMergedAnnotation(element, ContextConfig.class);
+		assertNotNull(contextConfig);
+		assertTrue(contextConfig instanceof SynthesizedAnnotation);
+		assertSame(contextConfig, getMergedAnnotation(element, ContextConfig.class));
+		assertSame(findMergedAnnotation(element, ContextConfig.class), findMergedAnnotation(element, ContextConfig.class));
+		assertArrayEquals(asArray("test.xml"), findMergedAnnotation(element, ContextConfig.class).locations());
+
+		AnnotationUtils.clearCache();
+		ContextConfig recreated = getMergedAnnotation(element, ContextConfig.class);
+		assertNotSame(contextConfig, recreated);
+		assertEquals(contextConfig, recreated);
+	}
+
+	@Test
+	public void mergedAnnotationAttributesCopiedPerLookup() {
+		Class<?> element = AliasedValueComposedContextConfigClass.class;
+		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, ContextConfig.class);
+		assertNotNull(attributes);
+		attributes.getStringArray("locations")[0] = "modified.xml";
+		attributes.put("classes", new Class<?>[] {Object.class});
+
+		AnnotationAttributes again = getMergedAnnotationAttributes(element, ContextConfig.class);
+		assertNotSame(attributes, again);
+		assertArrayEquals(asArray("test.xml"), again.getStringArray("locations"));
+		assertEquals(0, again.getClassArray("classes").length);
+		assertArrayEquals(asArray("test.xml"), AnnotatedElementUtils.findMergedAnnotationAttributes(element, ContextConfig.class, false, false).getStringArray("value"));
+	}
+
+	@Test
+	public void mergedAnnotationIndexConsistentWithSearch() {
+		for (Class<?> element : new Class<?>[] {NonAnnotatedClass.class, TxConfig.class, DerivedTxConfig.class,
+				ComposedTransactionalComponentClass.class, MetaCycleAnnotatedClass.class}) {
+			for (Class<? extends Annotation> annotationType : asList(Transactional.class, TransactionalComponent.class,
+					ComposedTransactionalComponent.class, Component.class, Indexed.class, MetaCycle1.class)) {
+				MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+				boolean annotated = (getMergedAnnotationAttributes(element, annotationType.getName(), true, false) != null);
+				assertEquals(element + " / " + annotationType, annotated, isAnnotated(element, annotationType.getName()));
+				assertEquals(element + " / " + annotationType, annotated, index.isPresent(annotationType.getName()));
+			}
+		}
+		assertTrue(hasMetaAnnotationTypes(ComposedTransactionalComponentClass.class, TX_NAME));
+		assertFalse(hasMetaAnnotationTypes(TxConfig.class, TX_NAME));
+		assertTrue(isAnnotated(MetaCycleAnnotatedClass.class, MetaCycle1.class.getName()));
+		assertNull(MergedAnnotationIndex.forElement(forAnnotations(TxConfig.class.getAnnotations())));
+	}
+
 
 	// -------------------------------------------------------------------------
 
@@ -1528,6 +1528,37 @@ public class AnnotationUtilsTests {
 		assertTrue(AnnotationUtils.getAnnotatedMethodsInBaseType(NullableAnnotatedInterface.class).isEmpty());
 	}
 
+	@Test
+	public void isCandidateClassForAnnotationsInHierarchy() {
+		assertFalse(isCandidateClass(NonAnnotatedClass.class, Order.class));
+		assertTrue(isCandidateClass(NonInheritedAnnotationClass.class, Order.class));
+		assertTrue(isCandidateClass(SubNonInheritedAnnotationClass.class, Order.class));
+		assertTrue(isCandidateClass(SubOfImplementsInterfaceWithAnnotatedMethod.class, Order.class));
+		assertFalse(isCandidateClass(SubOfImplementsInterfaceWithAnnotatedMethod.class, Transactional.class));
+		assertTrue(isCandidateClass(SubTransactionalAndOrderedClass.class, Transactional.class.getName()));
+		assertTrue(isCandidateClass(SubOfImplementsInterfaceWithAnnotatedMethod.class, asList(Transactional.class, Order.class)));
+		assertFalse(isCandidateClass(NonAnnotatedClass.class, asList(Transactional.class, Order.class)));
+	}
+
+	@Test
+	public void isCandidateClassForMetaAnnotationsAndMembers() {
+		assertTrue(isCandidateClass(MetaMetaMetaAnnotatedClass.class, Component.class));
+		assertTrue(isCandidateClass(MetaMetaMetaAnnotatedClass.class, MetaMeta.class));
+		assertTrue(isCandidateClass(MetaMetaMetaAnnotatedClass.class, Transactional.class));
+		assertFalse(isCandidateClass(MetaMetaMetaAnnotatedClass.class, Order.class));
+		assertTrue(isCandidateClass(ClassWithAnnotatedMembers.class, Order.class));
+		assertTrue(isCandidateClass(ClassWithAnnotatedMembers.class, Nullable.class));
+		assertTrue(isCandidateClass(ClassWithAnnotatedConstructorParameter.class, Nullable.class));
+		assertFalse(isCandidateClass(ClassWithAnnotatedConstructorParameter.class, Order.class));
+	}
+
+	@Test
+	public void isCandidateClassForJavaTypes() {
+		assertFalse(isCandidateClass(String.class, Order.class));
+		assertFalse(isCandidateClass(Object.class, Component.class));
+		assertTrue(isCandidateClass(Runnable.class, FunctionalInterface.class));
+	}
+
 
 	@SafeVarargs
 	static <T> T[] asArray(T... arr) {
@@ -1679,6 +1710,21 @@ public class AnnotationUtilsTests {
 		}
 	}
 
+	public static class ClassWithAnnotatedMembers {
+
+		@Order
+		private int order;
+
+		public void setName(@Nullable String name) {
+		}
+	}
+
+	public static class ClassWithAnnotatedConstructorParameter {
+
+		public ClassWithAnnotatedConstructorParameter(@Nullable String name) {
+		}
+	}
+
 	public abstract static class AbstractDoesNotImplementInterfaceWithAnnotatedMethod
 			implements InterfaceWithAnnotatedMethod {
 	}
@@ -2,7 +2,9 @@
 
 package org.springframework.core.codec;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.junit.After;
@@ -112,6 +114,29 @@ public class ResourceRegionEncoderTests  {
 				.verify();
 	}
 
+	@Test
+	public void shouldEncodePartsOfMultipleResourceRegions() {
+		Resource resource = new ClassPathResource("ResourceRegionEncoderTests.txt", getClass());
+		ResourceRegion first = new ResourceRegion(resource, 0, 6);
+		ResourceRegion second = new ResourceRegion(resource, 7, 9);
+		String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+
+		List<Object> parts = this.encoder.encodeParts(Arrays.asList(first, second), this.bufferFactory,
+				MimeType.valueOf("text/plain"),
+				Collections.singletonMap(ResourceRegionEncoder.BOUNDARY_STRING_HINT, boundary));
+
+		assertEquals(9, parts.size());
+		stringConsumer("\r\n--" + boundary + "\r\n").accept((DataBuffer) parts.get(0));
+		stringConsumer("Content-Type: text/plain\r\n").accept((DataBuffer) parts.get(1));
+		stringConsumer("Content-Range: bytes 0-5/39\r\n\r\n").accept((DataBuffer) parts.get(2));
+		assertSame(first, parts.get(3));
+		stringConsumer("\r\n--" + boundary + "\r\n").accept((DataBuffer) parts.get(4));
+		stringConsumer("Content-Type: text/plain\r\n").accept((DataBuffer) parts.get(5));
+		stringConsumer("Content-Range: bytes 7-15/39\r\n\r\n").accept((DataBuffer) parts.get(6));
+		assertSame(second, parts.get(7));
+		stringConsumer("\r\n--" + boundary + "--").accept((DataBuffer) parts.get(8));
+	}
+
 	@Test // gh-22107
 	public void cancelWithoutDemandForMultipleResourceRegions() {
 		Resource resource = new ClassPathResource("ResourceRegionEncoderTests.txt", getClass());
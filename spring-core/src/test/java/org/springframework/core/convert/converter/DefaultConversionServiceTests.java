@@ -589,6 +589,42 @@ public class DefaultConversionServiceTests {
 		assertEquals(3, result[2]);
 	}
 
+	@Test
+	public void convertToPrimitiveArraysWithoutBoxing() {
+		assertArrayEquals(new long[] {1, 2}, conversionService.convert(Arrays.asList("1", " 2"), long[].class));
+		assertArrayEquals(new double[] {1.5, 2}, conversionService.convert("1.5, 2", double[].class), 0.0);
+		assertArrayEquals(new int[] {1, 2, 3}, conversionService.convert(new Number[] {1, 2L, new BigDecimal("3")}, int[].class));
+		assertArrayEquals(new int[] {1, 2}, conversionService.convert(new Object[] {"1", 2L}, int[].class));
+		assertArrayEquals(new int[] {1, 2}, conversionService.convert(new long[] {1, 2}, int[].class));
+		assertNotNull(conversionService.getIntConverter(TypeDescriptor.valueOf(String.class)));
+		assertNotNull(conversionService.getLongConverter(TypeDescriptor.valueOf(Integer.class)));
+		assertNull(conversionService.getDoubleConverter(TypeDescriptor.valueOf(Color.class)));
+	}
+
+	@Test
+	public void convertToPrimitiveArrayWithInvalidElements() {
+		for (Object source : new Object[] {new String[] {"1", "x"}, new String[] {"1", ""}, new Long[] {1L, Long.MAX_VALUE},
+				new Integer[] {1, null}}) {
+			try {
+				conversionService.convert(source, int[].class);
+				fail("Should have thrown ConversionFailedException for " + Arrays.toString((Object[]) source));
+			}
+			catch (ConversionFailedException ex) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void convertToPrimitiveArrayWithCustomElementConverter() {
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.addConverter(String.class, Integer.class, source -> source.length());
+		assertNull(conversionService.getIntConverter(TypeDescriptor.valueOf(String.class)));
+		assertArrayEquals(new int[] {3, 1}, conversionService.convert(new String[] {"abc", "d"}, int[].class));
+		conversionService.freeze();
+		assertArrayEquals(new int[] {3, 1}, conversionService.convert("abc,d", int[].class));
+	}
+
 	@Test
 	public void convertIntegerArrayToIntegerArray() {
 		Integer[] result = conversionService.convert(new Integer[] {1, 2, 3}, Integer[].class);
@@ -959,6 +995,35 @@ public class DefaultConversionServiceTests {
 	}
 
 
+	@Test
+	public void primitiveArrayConversionPerformance() {
+		Assume.group(TestGroup.PERFORMANCE);
+		DefaultConversionService boxingConversionService = new DefaultConversionService();
+		boxingConversionService.removeConvertible(Object[].class, int[].class);
+		String[] source = new String[100];
+		for (int i = 0; i < source.length; i++) {
+			source[i] = String.valueOf(i * 1000);
+		}
+		StopWatch watch = new StopWatch("String[] -> int[] conversionPerformance");
+		for (int round = 0; round < 2; round++) {
+			watch.start("convert 100,000 with element boxing");
+			for (int i = 0; i < 100000; i++) {
+				boxingConversionService.convert(source, int[].class);
+			}
+			watch.stop();
+			watch.start("convert 100,000 with primitive converters");
+			for (int i = 0; i < 100000; i++) {
+				conversionService.convert(source, int[].class);
+			}
+			watch.stop();
+		}
+		// System.out.println(watch.prettyPrint());
+		long boxing = watch.getTaskInfo()[2].getTimeMillis();
+		long primitive = watch.getTaskInfo()[3].getTimeMillis();
+		assertTrue("Primitive conversion took " + primitive + " ms, boxing " + boxing + " ms", primitive < boxing);
+	}
+
+
 	// test fields and helpers
 
 	public List<Integer> genericList = new ArrayList<>();
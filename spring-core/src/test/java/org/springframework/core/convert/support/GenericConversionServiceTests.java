@@ -470,6 +470,56 @@ public class GenericConversionServiceTests {
 				new TypeDescriptor(getClass().getField("inactiveColor"))));
 	}
 
+	@Test
+	public void frozenConversion() throws Exception {
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.freeze();
+		assertTrue(conversionService.isFrozen());
+
+		assertEquals(Integer.valueOf(3), conversionService.convert("3", Integer.class));
+		assertEquals(Integer.valueOf(3), conversionService.convert("3", int.class));
+		assertEquals(Long.valueOf(5), conversionService.convert(5, Long.class));
+		assertEquals(Boolean.TRUE, conversionService.convert("yes", boolean.class));
+		assertEquals(RetentionPolicy.RUNTIME, conversionService.convert("RUNTIME", RetentionPolicy.class));
+		assertEquals("RUNTIME", conversionService.convert(RetentionPolicy.RUNTIME, String.class));
+		assertNull(conversionService.convert(null, Integer.class));
+		assertTrue(conversionService.canBypassConvert(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(CharSequence.class)));
+		assertFalse(conversionService.canConvert(Color.class, Integer.class));
+		assertFalse(conversionService.canConvert(Color.class, Integer.class));
+		assertEquals(Arrays.asList(1, 2), conversionService.convert("1,2", new TypeDescriptor(getClass().getField("list"))));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void frozenRejectsRegistration() {
+		conversionService.freeze();
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+	}
+
+	@Test
+	public void frozenConverterFactoryInvokedOncePerTargetType() {
+		CountingStringToNumberConverterFactory factory = new CountingStringToNumberConverterFactory();
+		conversionService.addConverterFactory(factory);
+		conversionService.freeze();
+		int count = factory.count;
+		for (int i = 0; i < 10; i++) {
+			assertEquals(Integer.valueOf(i), conversionService.convert(String.valueOf(i), Integer.class));
+		}
+		assertEquals(count, factory.count);
+	}
+
+	@Test
+	public void frozenConditionalConverterCachingForDifferentAnnotationAttributes() throws Exception {
+		conversionService.addConverter(new ColorConverter());
+		conversionService.addConverter(new MyConditionalColorConverter());
+		conversionService.freeze();
+
+		assertEquals(Color.BLACK, conversionService.convert(" #000000 ", Color.class));
+		assertEquals(Color.BLACK, conversionService.convert("000000xxxx",
+				new TypeDescriptor(getClass().getField("activeColor"))));
+		assertEquals(Color.BLACK, conversionService.convert(" #000000 ",
+				new TypeDescriptor(getClass().getField("inactiveColor"))));
+	}
+
 	@Test
 	public void shouldNotSupportNullConvertibleTypesFromNonConditionalGenericConverter() {
 		GenericConverter converter = new NonConditionalGenericConverter();
@@ -956,6 +1006,20 @@ public class GenericConversionServiceTests {
 	}
 
 
+	private static class CountingStringToNumberConverterFactory implements ConverterFactory<String, Number> {
+
+		private final StringToNumberConverterFactory delegate = new StringToNumberConverterFactory();
+
+		private int count;
+
+		@Override
+		public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
+			this.count++;
+			return this.delegate.getConverter(targetType);
+		}
+	}
+
+
 	private static class ColorConverter implements Converter<String, Color> {
 
 		@Override
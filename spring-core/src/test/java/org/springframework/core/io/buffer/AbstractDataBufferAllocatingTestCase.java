@@ -46,7 +46,9 @@ public abstract class AbstractDataBufferAllocatingTestCase {
 				{new NettyDataBufferFactory(new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0, true))},
 				{new NettyDataBufferFactory(new PooledByteBufAllocator(false, 1, 1, 8192, 11, 0, 0, 0, true))},
 				{new DefaultDataBufferFactory(true)},
-				{new DefaultDataBufferFactory(false)}
+				{new DefaultDataBufferFactory(false)},
+				{new PooledDataBufferFactory(true)},
+				{new PooledDataBufferFactory(false)}
 
 		};
 	}
@@ -126,6 +128,9 @@ public abstract class AbstractDataBufferAllocatingTestCase {
 					assertEquals("ByteBuf Leak: " + total + " unreleased allocations", 0, total);
 				}
 			}
+		}else if (this.bufferFactory instanceof PooledDataBufferFactory) {
+			long total = ((PooledDataBufferFactory) this.bufferFactory).getAllocatedBufferCount();
+			assertEquals("DataBuffer Leak: " + total + " unreleased allocations", 0, total);
 		}
 	}
 
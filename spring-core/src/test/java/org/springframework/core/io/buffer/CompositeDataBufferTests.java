@@ -0,0 +1,306 @@
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompositeDataBuffer}.
+ */
+@RunWith(Parameterized.class)
+public class CompositeDataBufferTests {
+
+	@Parameterized.Parameter
+	public DefaultDataBufferFactory bufferFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Object[][] dataBufferFactories() {
+		return new Object[][] {
+				{new DefaultDataBufferFactory(false)},
+				{new DefaultDataBufferFactory(true)},
+				{new PooledDataBufferFactory(false)},
+				{new PooledDataBufferFactory(true)}
+		};
+	}
+
+
+	private DataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return this.bufferFactory.allocateBuffer(bytes.length).write(bytes);
+	}
+
+	private CompositeDataBuffer join(String... values) {
+		DataBuffer[] buffers = Arrays.stream(values).map(this::stringBuffer).toArray(DataBuffer[]::new);
+		return (CompositeDataBuffer) DataBufferUtils.join(Arrays.asList(buffers));
+	}
+
+
+	@Test
+	public void joinWithoutCopying() {
+		DataBuffer first = stringBuffer("foo");
+		DataBuffer second = stringBuffer("bar");
+		DataBuffer result = DataBufferUtils.join(Arrays.asList(first, second));
+		assertTrue(result instanceof CompositeDataBuffer);
+		assertEquals(2, ((CompositeDataBuffer) result).getComponentCount());
+		assertEquals(6, result.readableByteCount());
+
+		// Changes to the components show through
+		first.asByteBuffer().put(0, (byte) 'g');
+		assertEquals("goobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(result));
+		assertAllReleased();
+	}
+
+	@Test
+	public void joinSingleBuffer() {
+		DataBuffer buffer = stringBuffer("foo");
+		assertSame(buffer, DataBufferUtils.join(Collections.singletonList(buffer)));
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void joinPublisher() {
+		DataBuffer result = DataBufferUtils.join(Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"))).block();
+		assertTrue(result instanceof CompositeDataBuffer);
+		assertEquals("foobarbaz", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		DataBufferUtils.release(result);
+		assertAllReleased();
+	}
+
+	@Test
+	public void joinPartiallyReadBuffers() {
+		DataBuffer first = stringBuffer("foo");
+		first.read();
+		DataBuffer empty = this.bufferFactory.allocateBuffer(10);
+		DataBuffer nested = join("ba", "r");
+		CompositeDataBuffer result = (CompositeDataBuffer) DataBufferUtils.join(Arrays.asList(first, empty, nested));
+		assertEquals(3, result.getComponentCount());
+		assertEquals("oobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		DataBufferUtils.release(result);
+		assertAllReleased();
+	}
+
+	@Test
+	public void readAcrossComponents() {
+		CompositeDataBuffer buffer = join("ab", "cde", "f");
+		assertEquals('c', buffer.getByte(2));
+		assertEquals('a', buffer.read());
+		byte[] result = new byte[4];
+		buffer.read(result);
+		assertArrayEquals("bcde".getBytes(StandardCharsets.UTF_8), result);
+		assertEquals(5, buffer.readPosition());
+		assertEquals('f', buffer.read());
+		assertEquals(0, buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void readBeyondWritePosition() {
+		CompositeDataBuffer buffer = join("ab", "c");
+		try {
+			buffer.read(new byte[4]);
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	@Test
+	public void writeAppendsComponent() {
+		CompositeDataBuffer buffer = join("ab", "c");
+		assertEquals(0, buffer.writableByteCount());
+		buffer.write((byte) 'd');
+		buffer.write("efg".getBytes(StandardCharsets.UTF_8));
+		buffer.write(ByteBuffer.wrap("h".getBytes(StandardCharsets.UTF_8)));
+		buffer.write("ij", StandardCharsets.UTF_8);
+		assertEquals(3, buffer.getComponentCount());
+		assertEquals("abcdefghij", DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8));
+		DataBufferUtils.release(buffer);
+		assertAllReleased();
+	}
+
+	@Test
+	public void writeDataBuffers() {
+		CompositeDataBuffer buffer = join("a", "b");
+		CompositeDataBuffer other = join("c", "d");
+		DataBuffer last = stringBuffer("e");
+		buffer.write(other, last);
+		assertEquals("abcde", DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8));
+		DataBufferUtils.release(buffer);
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(last);
+		assertAllReleased();
+	}
+
+	@Test
+	public void decreaseCapacity() {
+		CompositeDataBuffer buffer = join("abc", "def");
+		buffer.read();
+		buffer.capacity(4);
+		assertEquals(4, buffer.capacity());
+		assertEquals(4, buffer.writePosition());
+		assertEquals(2, buffer.getComponentCount());
+		assertEquals("bcd", DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8));
+		buffer.capacity(2);
+		assertEquals(2, buffer.readPosition());
+		assertEquals(1, buffer.getComponentCount());
+		DataBufferUtils.release(buffer);
+		assertAllReleased();
+	}
+
+	@Test
+	public void indexOf() {
+		CompositeDataBuffer buffer = join("ab", "cd", "ab");
+		assertEquals(2, buffer.indexOf(b -> b == 'c', 0));
+		assertEquals(4, buffer.indexOf(b -> b == 'a', 1));
+		assertEquals(-1, buffer.indexOf(b -> b == 'z', 0));
+		assertEquals(4, buffer.lastIndexOf(b -> b == 'a', 5));
+		assertEquals(0, buffer.lastIndexOf(b -> b == 'a', 3));
+		assertEquals(-1, buffer.lastIndexOf(b -> b == 'z', 5));
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void slice() {
+		CompositeDataBuffer buffer = join("ab", "cd", "ef");
+		DataBuffer slice = buffer.slice(1, 4);
+		assertEquals("bcde", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		slice.asByteBuffer(0, 1).put(0, (byte) 'x');
+		assertEquals('x', buffer.getByte(1));
+		try {
+			slice.capacity(10);
+			fail("UnsupportedOperationException expected");
+		}
+		catch (UnsupportedOperationException expected) {
+			// ignore
+		}
+		DataBufferUtils.release(buffer);
+		assertAllReleased();
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		CompositeDataBuffer buffer = join("ab", "cd", "ef");
+		CompositeDataBuffer slice = buffer.slice(1, 4).slice(1, 2);
+		assertSame(slice, DataBufferUtils.retain(slice));
+		assertFalse(DataBufferUtils.release(buffer));
+		assertTrue(slice.isAllocated());
+		assertEquals("cd", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(buffer.isAllocated());
+		assertFalse(slice.isAllocated());
+		assertAllReleased();
+	}
+
+	@Test
+	public void asByteBuffer() {
+		CompositeDataBuffer buffer = join("ab", "cd");
+
+		// Shared view within a component
+		ByteBuffer view = buffer.asByteBuffer(2, 2);
+		view.put(0, (byte) 'x');
+		assertEquals('x', buffer.getByte(2));
+
+		// Copy across components
+		ByteBuffer copy = buffer.asByteBuffer();
+		assertEquals(4, copy.remaining());
+		assertEquals("abxd", StandardCharsets.UTF_8.decode(copy).toString());
+
+		ByteBuffer[] views = buffer.asByteBuffers();
+		assertEquals(2, views.length);
+		assertEquals("ab", StandardCharsets.UTF_8.decode(views[0]).toString());
+		assertEquals("xd", StandardCharsets.UTF_8.decode(views[1]).toString());
+		assertEquals(0, buffer.asByteBuffer(4, 0).remaining());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void inputStream() throws IOException {
+		CompositeDataBuffer buffer = join("ab", "cd", "e");
+		InputStream inputStream = buffer.asInputStream(true);
+		assertEquals('a', inputStream.read());
+		byte[] result = new byte[10];
+		assertEquals(4, inputStream.read(result, 0, 10));
+		assertEquals(-1, inputStream.read());
+		inputStream.close();
+		assertFalse(buffer.isAllocated());
+		assertAllReleased();
+	}
+
+	@Test
+	public void outputStream() throws IOException {
+		CompositeDataBuffer buffer = join("a", "b");
+		OutputStream outputStream = buffer.asOutputStream();
+		outputStream.write('c');
+		outputStream.write("de".getBytes(StandardCharsets.UTF_8));
+		assertEquals("abcde", DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8));
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void gatheringWrite() throws IOException {
+		Path tempFile = Files.createTempFile("CompositeDataBufferTests", null);
+		try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+			CompositeDataBuffer buffer = join("foo", "bar", "baz");
+			DataBufferUtils.write(Flux.just(buffer), channel).map(DataBufferUtils::release).blockLast();
+			assertFalse(buffer.isAllocated());
+			assertEquals("foobarbaz", new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+		}
+		finally {
+			Files.delete(tempFile);
+		}
+		assertAllReleased();
+	}
+
+	@Test
+	public void retainAndRelease() {
+		CompositeDataBuffer buffer = join("a", "b");
+		buffer.retain();
+		assertFalse(buffer.release());
+		assertTrue(buffer.isAllocated());
+		assertTrue(buffer.release());
+		assertFalse(buffer.isAllocated());
+		assertAllReleased();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tooManyReleases() {
+		CompositeDataBuffer buffer = join("a", "b");
+		buffer.release();
+		buffer.release();
+	}
+
+	@Test
+	public void equalsAndHashCode() {
+		CompositeDataBuffer buffer = join("ab", "c");
+		CompositeDataBuffer other = join("a", "bc");
+		assertEquals(buffer, other);
+		assertEquals(buffer.hashCode(), other.hashCode());
+		DataBufferUtils.release(buffer);
+		DataBufferUtils.release(other);
+	}
+
+	private void assertAllReleased() {
+		if (this.bufferFactory instanceof PooledDataBufferFactory) {
+			assertEquals(0, ((PooledDataBufferFactory) this.bufferFactory).getAllocatedBufferCount());
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ */
+public class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+
+
+	@Test
+	public void allocatePooledBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertTrue(buffer instanceof PooledDataBuffer);
+		assertEquals(100, buffer.capacity());
+		assertEquals(1, this.bufferFactory.getAllocatedBufferCount());
+		assertTrue(DataBufferUtils.release(buffer));
+		assertFalse(((PooledDataBuffer) buffer).isAllocated());
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void releasedMemoryIsReused() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer.getNativeBuffer().array();
+		DataBufferUtils.release(buffer);
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(120);
+		assertSame(memory, other.getNativeBuffer().array());
+		assertEquals(120, other.capacity());
+		assertEquals(0, other.readableByteCount());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void largeBufferNotPooled() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 1024);
+		DefaultDataBuffer buffer = bufferFactory.allocateBuffer(2048);
+		byte[] memory = buffer.getNativeBuffer().array();
+		DataBufferUtils.release(buffer);
+		DefaultDataBuffer other = bufferFactory.allocateBuffer(2048);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		DataBufferUtils.release(other);
+		assertEquals(0, bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void directBuffers() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(true);
+		DefaultDataBuffer buffer = bufferFactory.allocateBuffer(10);
+		assertTrue(buffer.getNativeBuffer().isDirect());
+		buffer.write("abc".getBytes(StandardCharsets.UTF_8));
+		assertEquals("abc", DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8));
+		DataBufferUtils.release(buffer);
+		assertEquals(0, bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void growKeepsContent() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		byte[] bytes = new byte[1000];
+		Arrays.fill(bytes, (byte) 'a');
+		buffer.write(bytes);
+		buffer.write(bytes);
+		assertEquals(2000, buffer.readableByteCount());
+		byte[] result = new byte[2000];
+		buffer.read(result);
+		for (byte b : result) {
+			assertEquals('a', b);
+		}
+		DataBufferUtils.release(buffer);
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void retainAndRelease() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(10);
+		buffer.retain();
+		assertFalse(buffer.release());
+		assertTrue(buffer.isAllocated());
+		assertTrue(buffer.release());
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tooManyReleases() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(10);
+		buffer.release();
+		buffer.release();
+	}
+
+	@Test
+	public void writeAfterRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write((byte) 'a');
+		DataBufferUtils.release(buffer);
+		assertEquals(0, buffer.readableByteCount());
+		try {
+			buffer.write((byte) 'b');
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException expected) {
+			// ignore
+		}
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10).write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(3, 3));
+		assertTrue(slice instanceof PooledDataBuffer);
+		assertFalse(DataBufferUtils.release(buffer));
+		assertEquals("bar", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(((PooledDataBuffer) buffer).isAllocated());
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void nestedSliceSharesReferenceCount() throws IOException {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10).write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = buffer.slice(1, 5).slice(2, 3);
+		assertTrue(slice instanceof PooledDataBuffer);
+		DataBufferUtils.retain(slice);
+		assertFalse(DataBufferUtils.release(buffer));
+		assertEquals("bar", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+
+		slice.asInputStream(true).close();
+		assertFalse(((PooledDataBuffer) buffer).isAllocated());
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void releaseOnOtherThread() throws InterruptedException {
+		DataBuffer[] buffers = new DataBuffer[100];
+		Thread allocator = new Thread(() -> {
+			for (int i = 0; i < buffers.length; i++) {
+				buffers[i] = this.bufferFactory.allocateBuffer(i * 10);
+			}
+		});
+		allocator.start();
+		allocator.join();
+		assertEquals(100, this.bufferFactory.getAllocatedBufferCount());
+		for (DataBuffer buffer : buffers) {
+			DataBufferUtils.release(buffer);
+		}
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+	@Test
+	public void releaseOnOtherThreadBypassesThreadCache() throws InterruptedException {
+		DataBuffer[] buffers = new DataBuffer[10];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = this.bufferFactory.allocateBuffer(1000);
+		}
+		Thread releaser = new Thread(() -> {
+			for (DataBuffer buffer : buffers) {
+				DataBufferUtils.release(buffer);
+			}
+		});
+		releaser.start();
+		releaser.join();
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+		assertEquals(0, this.bufferFactory.getThreadCacheBytes());
+	}
+
+	@Test
+	public void threadCacheBoundedInBytes() {
+		DataBuffer[] buffers = new DataBuffer[16];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = this.bufferFactory.allocateBuffer(64 * 1024);
+		}
+		for (DataBuffer buffer : buffers) {
+			DataBufferUtils.release(buffer);
+		}
+		assertEquals(256 * 1024, this.bufferFactory.getThreadCacheBytes());
+	}
+
+	@Test
+	public void idleThreadCacheDrained() {
+		DataBufferUtils.release(this.bufferFactory.allocateBuffer(100));
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer.getNativeBuffer().array();
+		DataBufferUtils.release(buffer);
+		assertEquals(128, this.bufferFactory.getThreadCacheBytes());
+
+		// Kept while served from since the previous sweep, drained once not
+		this.bufferFactory.sweepThreadCaches();
+		assertEquals(128, this.bufferFactory.getThreadCacheBytes());
+		this.bufferFactory.sweepThreadCaches();
+		assertEquals(0, this.bufferFactory.getThreadCacheBytes());
+
+		// Still pooled, in the arena of this thread
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertSame(memory, other.getNativeBuffer().array());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void join() {
+		DataBuffer first = this.bufferFactory.allocateBuffer(3).write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer second = this.bufferFactory.allocateBuffer(3).write("bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(first, second));
+		assertEquals("foobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		assertEquals(1, this.bufferFactory.getAllocatedBufferCount());
+		DataBufferUtils.release(result);
+	}
+
+	@Test
+	public void leakDetection() throws InterruptedException {
+		this.bufferFactory.setLeakDetection(true);
+		this.bufferFactory.allocateBuffer(10);
+		DataBuffer released = this.bufferFactory.allocateBuffer(10);
+		DataBufferUtils.release(released);
+		for (int i = 0; i < 50 && this.bufferFactory.getLeakCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertEquals(1, this.bufferFactory.getLeakCount());
+		assertEquals(0, this.bufferFactory.getAllocatedBufferCount());
+	}
+
+}
@@ -2,14 +2,23 @@
 
 package org.springframework.core.io.support;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
@@ -31,6 +40,9 @@ public class PathMatchingResourcePatternResolverTests {
 	private static final String[] TEST_CLASSES_IN_CORE_IO_SUPPORT = new String[] {"PathMatchingResourcePatternResolverTests.class"};
 	private static final String[] CLASSES_IN_REACTIVESTREAMS = new String[] {"Processor.class", "Publisher.class", "Subscriber.class", "Subscription.class"};
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
 
 	@Test(expected = FileNotFoundException.class)
@@ -95,6 +107,69 @@ public class PathMatchingResourcePatternResolverTests {
 		assertTrue("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar", found);
 	}
 
+	@Test
+	public void classpathStarWithPatternInJarIndexed() throws IOException {
+		Resource[] resources = resolver.getResources("classpath*:org/reactivestreams/*.class");
+		resolver.setIndexedJarScanning(true);
+		assertEquals(new HashSet<>(Arrays.asList(resources)), new HashSet<>(Arrays.asList(resolver.getResources("classpath*:org/reactivestreams/*.class"))));
+		assertEquals(new HashSet<>(Arrays.asList(resources)), new HashSet<>(Arrays.asList(resolver.getResources("classpath*:org/reactivestreams/*.class"))));
+	}
+
+	@Test
+	public void indexedJarScanningMatchesDefault() throws IOException {
+		File jar = createJar("a/b/One.class", "a/b/c/Two.class", "a/b/c/d/Three.xml", "a/bc/Four.class", "a/Five.class");
+		String location = "jar:" + jar.toURI() + "!/a/b/**/*.class";
+		Resource[] resources = resolver.getResources(location);
+		assertProtocolAndFilenames(resources, "jar", "One.class", "Two.class");
+
+		resolver.setIndexedJarScanning(true);
+		assertEquals(Arrays.asList(resources), Arrays.asList(resolver.getResources(location)));
+		assertEquals(Arrays.asList(resources), Arrays.asList(resolver.getResources(location)));
+	}
+
+	@Test
+	public void indexedJarScanningDetectsModifiedJar() throws IOException {
+		resolver.setIndexedJarScanning(true);
+		File jar = createJar("a/One.class");
+		assertTrue(jar.setLastModified(100000L));
+		String location = "jar:" + jar.toURI() + "!/a/*.class";
+		assertProtocolAndFilenames(resolver.getResources(location), "jar", "One.class");
+
+		createJar("a/One.class", "a/Two.class");
+		assertTrue(jar.setLastModified(200000L));
+		assertProtocolAndFilenames(resolver.getResources(location), "jar", "One.class", "Two.class");
+	}
+
+	@Test
+	public void findAllResources() throws IOException {
+		resolver.setIndexedJarScanning(true);
+		Map<String, Resource[]> resources = resolver.findAllResources("classpath*:org/reactivestreams/*.class",
+				"org/springframework/core/io/support/PathMatchingResourcePatternResolverTests.class");
+		assertEquals(Arrays.asList("classpath*:org/reactivestreams/*.class",
+				"org/springframework/core/io/support/PathMatchingResourcePatternResolverTests.class"), new ArrayList<>(resources.keySet()));
+		assertTrue(resources.get("classpath*:org/reactivestreams/*.class").length > 0);
+		assertProtocolAndFilenames(resources.get("org/springframework/core/io/support/PathMatchingResourcePatternResolverTests.class"),
+				"file", "PathMatchingResourcePatternResolverTests.class");
+	}
+
+	private File createJar(String... entryNames) throws IOException {
+		File jar = new File(temporaryFolder.getRoot(), "sample.jar");
+		try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+			Set<String> directories = new HashSet<>();
+			for (String entryName : entryNames) {
+				for (int index = entryName.indexOf('/'); index != -1; index = entryName.indexOf('/', index + 1)) {
+					if (directories.add(entryName.substring(0, index + 1))) {
+						out.putNextEntry(new JarEntry(entryName.substring(0, index + 1)));
+						out.closeEntry();
+					}
+				}
+				out.putNextEntry(new JarEntry(entryName));
+				out.closeEntry();
+			}
+		}
+		return jar;
+	}
+
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)throws IOException {
 
 		// Uncomment the following if you encounter problems with matching against the file system
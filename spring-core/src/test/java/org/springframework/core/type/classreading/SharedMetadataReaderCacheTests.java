@@ -0,0 +1,148 @@
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.Base64Utils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.SerializationUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.SystemPropertyUtils;
+import org.springframework.util.TypeUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 5.1.9
+ */
+public class SharedMetadataReaderCacheTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final SharedMetadataReaderCache cache = new SharedMetadataReaderCache(16);
+
+	@Test
+	public void sharedAcrossFactories() throws IOException {
+		CachingMetadataReaderFactory factory1 = new CachingMetadataReaderFactory(getClass().getClassLoader());
+		factory1.setSharedCache(cache);
+		CachingMetadataReaderFactory factory2 = new CachingMetadataReaderFactory(getClass().getClassLoader());
+		factory2.setSharedCache(cache);
+
+		MetadataReader reader1 = factory1.getMetadataReader(getClass().getName());
+		MetadataReader reader2 = factory2.getMetadataReader(getClass().getName());
+		assertSame(reader1, reader2);
+		assertEquals(getClass().getName(), reader2.getClassMetadata().getClassName());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+
+		factory2.clearCache();
+		assertSame(reader1, factory2.getMetadataReader(getClass().getName()));
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void separateEntriesPerClassLoader() throws IOException {
+		Resource resource = new ClassPathResource(classFile(getClass()));
+		ClassLoader otherClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		MetadataReader reader1 = cache.getMetadataReader(resource, getClass().getClassLoader());
+		MetadataReader reader2 = cache.getMetadataReader(resource, otherClassLoader);
+		assertNotSame(reader1, reader2);
+		assertEquals(2, cache.size());
+
+		cache.clear(otherClassLoader);
+		assertEquals(1, cache.size());
+		assertSame(reader1, cache.getMetadataReader(resource, getClass().getClassLoader()));
+	}
+
+	@Test
+	public void releaseDiscardedClassLoader() throws IOException {
+		Resource resource = new ClassPathResource(classFile(getClass()));
+		ClassLoader pluginClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		ClassLoader nestedClassLoader = new URLClassLoader(new URL[0], pluginClassLoader);
+		cache.getMetadataReader(resource, getClass().getClassLoader());
+		cache.getMetadataReader(resource, pluginClassLoader);
+		cache.getMetadataReader(resource, nestedClassLoader);
+		assertEquals(3, cache.size());
+
+		// The ClassLoader of the cache itself is never discarded before the cache
+		cache.releaseClassLoader(SharedMetadataReaderCache.class.getClassLoader());
+		assertEquals(3, cache.size());
+		cache.releaseClassLoader(pluginClassLoader);
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void reloadedWhenModified() throws IOException {
+		File classFile = temporaryFolder.newFile("Sample.class");
+		Files.copy(new ClassPathResource(classFile(getClass())).getInputStream(), classFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		assertTrue(classFile.setLastModified(100000L));
+		MetadataReader reader1 = cache.getMetadataReader(new FileSystemResource(classFile), null);
+		assertSame(reader1, cache.getMetadataReader(new FileSystemResource(classFile), null));
+
+		assertTrue(classFile.setLastModified(200000L));
+		MetadataReader reader2 = cache.getMetadataReader(new FileSystemResource(classFile), null);
+		assertNotSame(reader1, reader2);
+		assertSame(reader2, cache.getMetadataReader(new FileSystemResource(classFile), null));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void boundedWithLeastRecentlyUsedEviction() throws IOException {
+		Class<?>[] classes = {StringUtils.class, ClassUtils.class, ObjectUtils.class, Assert.class, CollectionUtils.class,
+				ReflectionUtils.class, StreamUtils.class, FileCopyUtils.class, ResourceUtils.class, NumberUtils.class,
+				PatternMatchUtils.class, SystemPropertyUtils.class, TypeUtils.class, SerializationUtils.class,
+				DigestUtils.class, Base64Utils.class, MimeTypeUtils.class, LinkedCaseInsensitiveMap.class,
+				ConcurrentReferenceHashMap.class, AntPathMatcher.class};
+		Resource keptResource = new ClassPathResource(classFile(getClass()));
+		MetadataReader keptReader = cache.getMetadataReader(keptResource, null);
+		for (Class<?> clazz : classes) {
+			cache.getMetadataReader(new ClassPathResource(classFile(clazz)), null);
+			assertSame(keptReader, cache.getMetadataReader(keptResource, null));
+			assertTrue(cache.size() <= 16);
+		}
+		assertTrue(cache.getEvictionCount() >= classes.length + 1 - 16);
+		assertSame(keptReader, cache.getMetadataReader(keptResource, null));
+	}
+
+	@Test
+	public void resourceWithoutUrlNotCached() throws IOException {
+		byte[] content = StreamUtils.copyToByteArray(new ClassPathResource(classFile(getClass())).getInputStream());
+		MetadataReader reader = cache.getMetadataReader(new ByteArrayResource(content), null);
+		assertEquals(getClass().getName(), reader.getClassMetadata().getClassName());
+		assertEquals(0, cache.size());
+	}
+
+	private static String classFile(Class<?> clazz) {
+		return clazz.getName().replace('.', '/') + ".class";
+	}
+
+}
@@ -642,6 +642,75 @@ public class AntPathMatcherTests {
 		assertEquals("Extension mapping should be disabled with \".\" as path separator","/*.html.hotel.*", pathMatcher.combine("/*.html", "hotel.*"));
 	}
 
+	@Test
+	public void compiledPatternMatchesLikeMatcher() {
+		String[][] cases = {{"test", "test"}, {"/test", "test"}, {"t?st", "test"}, {"*", "test/"}, {"/*", "/"},
+				{"/**", "/"}, {"/**/*.jsp", "/x/y/z.jsp"}, {"/x/**/bla/**/*.jsp", "/x/a/bla/b/bla/c.jsp"},
+				{"/x/**/bla", "/x/bla/bla/x"}, {"*bla*/**/bla/**", "XXXblaXXXX/testing/testing/bla/testing/testing/"},
+				{"/{bla}.*", "/testing.html"}, {"/group/{name}/members", "/group/sales/members"}, {"/test/", "/test//"},
+				{"/x/*/**/end", "/x/a/b/c/end"}, {"**/*", "a//b"}, {"a/**/**/b", "a/b"}, {"/bla*bla/test", "/blaXXXbla/test"}};
+		for (String[] testCase : cases) {
+			assertCompiledMatch(pathMatcher, testCase[0], testCase[1]);
+		}
+
+		Random random = new Random(42);
+		String[] patternParts = {"a", "b", "ab", "*", "?", "**", "a*", "*b", "a?b", "{x}"};
+		String[] pathParts = {"a", "b", "ab", "ba", "aab", "abb", ""};
+		for (int i = 0; i < 20000; i++) {
+			assertCompiledMatch(pathMatcher, randomPath(random, patternParts), randomPath(random, pathParts));
+		}
+	}
+
+	@Test
+	public void compiledPatternWithMatcherSettings() {
+		pathMatcher.setCaseSensitive(false);
+		assertTrue(pathMatcher.compile("/Group/*/Mem?ers").match("/group/sales/members"));
+		assertCompiledMatch(pathMatcher, "/Group/{name}/*", "/gROUP/sales/x");
+
+		pathMatcher.setTrimTokens(true);
+		assertCompiledMatch(pathMatcher, "/a/ b /*", "/a/b/ c ");
+		assertCompiledMatch(pathMatcher, "/a/**/c", "/a/ / b /c");
+
+		AntPathMatcher dotMatcher = new AntPathMatcher(".");
+		assertCompiledMatch(dotMatcher, "org.*.sample", "org.springframework.sample");
+		assertCompiledMatch(dotMatcher, "org.**.Sample", "org.springframework.util.Sample");
+
+		// Wildcards do not match line terminators
+		assertCompiledMatch(new AntPathMatcher(), "/a*b", "/a\nb");
+	}
+
+	@Test
+	public void compiledPatternCacheIsBounded() {
+		pathMatcher.setCompiledPatternCacheLimit(16);
+		AntPathMatcher.CompiledPattern kept = pathMatcher.getCompiledPattern("/kept/**");
+		for (int i = 0; i < 100; i++) {
+			assertTrue(pathMatcher.getCompiledPattern("/test" + i + "/*").match("/test" + i + "/x"));
+			assertSame(kept, pathMatcher.getCompiledPattern("/kept/**"));
+			assertTrue(pathMatcher.compiledPatternCache.size() <= 16);
+		}
+		assertTrue(kept.match("/kept/x/y"));
+
+		pathMatcher.setCaseSensitive(false);
+		assertNotSame(kept, pathMatcher.getCompiledPattern("/kept/**"));
+	}
+
+	private static void assertCompiledMatch(AntPathMatcher matcher, String pattern, String path) {
+		AntPathMatcher.CompiledPattern compiled = matcher.compile(pattern);
+		assertEquals("match(" + pattern + ", " + path + ")", matcher.match(pattern, path), compiled.match(path));
+		assertEquals("matchStart(" + pattern + ", " + path + ")", matcher.matchStart(pattern, path), compiled.matchStart(path));
+	}
+
+	private static String randomPath(Random random, String[] parts) {
+		StringBuilder builder = new StringBuilder(random.nextBoolean() ? "/" : "");
+		int length = random.nextInt(5);
+		for (int i = 0; i < length; i++) {
+			if (i > 0) builder.append('/');
+			builder.append(parts[random.nextInt(parts.length)]);
+		}
+		if (random.nextInt(4) == 0) builder.append('/');
+		return builder.toString();
+	}
+
 	@Test // gh-22959
 	public void isPattern() {
 		assertTrue(pathMatcher.isPattern("/test/*"));
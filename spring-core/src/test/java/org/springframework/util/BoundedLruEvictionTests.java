@@ -0,0 +1,73 @@
+package org.springframework.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedLruEviction}.
+ */
+public class BoundedLruEvictionTests {
+
+	private final Map<String, Entry> map = new ConcurrentHashMap<>();
+
+	private final BoundedLruEviction<String, Entry> eviction = new BoundedLruEviction<>(this.map, entry -> entry.lastAccess);
+
+
+	private void put(String key) {
+		this.map.put(key, new Entry(key, this.eviction.tick()));
+	}
+
+	@Test
+	public void nothingEvictedWithinLimit() {
+		for (int i = 0; i < 16; i++) {
+			put("key" + i);
+		}
+		assertTrue(this.eviction.evictIfNecessary(16).isEmpty());
+		assertEquals(16, this.map.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedEvictedInBatch() {
+		for (int i = 0; i < 17; i++) {
+			put("key" + i);
+		}
+		this.map.get("key0").lastAccess = this.eviction.tick();
+		List<Entry> evicted = this.eviction.evictIfNecessary(16);
+		assertEquals(17 - 14, evicted.size());
+		assertEquals(14, this.map.size());
+		assertTrue(this.map.containsKey("key0"));
+		for (int i = 1; i <= 3; i++) {
+			assertFalse(this.map.containsKey("key" + i));
+		}
+		for (Entry entry : evicted) {
+			assertFalse(this.map.containsKey(entry.key));
+		}
+	}
+
+	@Test
+	public void currentTimeDoesNotAdvance() {
+		long time = this.eviction.tick();
+		assertEquals(time, this.eviction.currentTime());
+		assertEquals(time, this.eviction.currentTime());
+		assertEquals(time + 1, this.eviction.tick());
+	}
+
+
+	private static class Entry {
+
+		final String key;
+
+		volatile long lastAccess;
+
+		Entry(String key, long lastAccess) {
+			this.key = key;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+}
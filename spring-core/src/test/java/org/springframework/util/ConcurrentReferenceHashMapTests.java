@@ -213,8 +213,9 @@ public class ConcurrentReferenceHashMapTests {
 		for (int i = 1; i <= 5; i++) {
 			this.map.put(i, String.valueOf(i));
 		}
-		this.map.getMockReference(1, Restructure.NEVER).queueForPurge();
-		this.map.getMockReference(3, Restructure.NEVER).queueForPurge();
+		// Cleared and queued as by the garbage collector: lookups only purge when missing
+		this.map.getMockReference(1, Restructure.NEVER).release();
+		this.map.getMockReference(3, Restructure.NEVER).release();
 		assertThat(this.map.getReference(1, Restructure.WHEN_NECESSARY), is(nullValue()));
 		assertThat(this.map.get(2), is("2"));
 		assertThat(this.map.getReference(3, Restructure.WHEN_NECESSARY), is(nullValue()));
@@ -222,6 +223,19 @@ public class ConcurrentReferenceHashMapTests {
 		assertThat(this.map.get(5), is("5"));
 	}
 
+	@Test
+	public void shouldNotPurgeOnHit() {
+		this.map = new TestWeakConcurrentCache<>(1, 0.75f, 1);
+		for (int i = 1; i <= 5; i++) {
+			this.map.put(i, String.valueOf(i));
+		}
+		this.map.getMockReference(1, Restructure.NEVER).release();
+		assertThat(this.map.get(2), is("2"));
+		assertThat(this.map.getSegment(0).getCount(), is(5));
+		assertThat(this.map.get(1), is(nullValue()));
+		assertThat(this.map.getSegment(0).getCount(), is(4));
+	}
+
 	@Test
 	public void shouldPurgeOnPut() {
 		this.map = new TestWeakConcurrentCache<>(1, 0.75f, 1);
@@ -474,6 +488,91 @@ public class ConcurrentReferenceHashMapTests {
 		assertThat(this.map.get(2), is("2b"));
 	}
 
+	@Test
+	public void shouldGrowSegmentsUnderContention() throws InterruptedException {
+		this.map = new TestWeakConcurrentCache<>(16, 0.75f, 1);
+		this.map.setAdaptiveConcurrency(true);
+		for (int i = 0; i < 64; i++) {
+			ConcurrentReferenceHashMap<Integer, String>.Segment segment = this.map.getSegment(0);
+			segment.lock();
+			Integer key = i;
+			Thread writer = new Thread(() -> this.map.put(key, String.valueOf(key)));
+			try {
+				writer.start();
+				while (!segment.hasQueuedThreads()) {
+					Thread.yield();
+				}
+			}finally {
+				segment.unlock();
+			}
+			writer.join();
+		}
+		assertThat(this.map.getSegmentsSize(), is(2));
+		assertThat(this.map.size(), is(64));
+		for (int i = 0; i < 64; i++) {
+			assertThat(this.map.get(i), is(String.valueOf(i)));
+		}
+		this.map.put(64, "64");
+		this.map.remove(0);
+		assertThat(this.map.get(64), is("64"));
+		assertThat(this.map.containsKey(0), is(false));
+		assertThat(this.map.size(), is(64));
+	}
+
+	@Test
+	public void shouldKeepEntriesWhenGrowingConcurrently() throws InterruptedException {
+		ConcurrentReferenceHashMap<Integer, String> map = new ConcurrentReferenceHashMap<>(16, 0.75f, 1);
+		map.setAdaptiveConcurrency(true);
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			int offset = t * 10000;
+			threads[t] = new Thread(() -> {
+				for (int i = offset; i < offset + 10000; i++) {
+					map.put(i, String.valueOf(i));
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(map.size(), is(80000));
+		for (int i = 0; i < 80000; i++) {
+			assertThat(map.get(i), is(String.valueOf(i)));
+		}
+	}
+
+	@Test
+	public void shouldRecordStatistics() {
+		this.map = new TestWeakConcurrentCache<>(1, 0.75f, 1);
+		this.map.setStatisticsEnabled(false);
+		assertThat(this.map.getStatistics(), is(nullValue()));
+		this.map.setStatisticsEnabled(true);
+		for (int i = 1; i <= 5; i++) {
+			this.map.put(i, String.valueOf(i));
+		}
+		this.map.put(1, "1b");
+		this.map.get(1);
+		this.map.get(2);
+		this.map.get(6);
+		this.map.remove(2);
+		this.map.getMockReference(3, Restructure.NEVER).release();
+		this.map.get(3);
+		ConcurrentReferenceHashMap.Statistics statistics = this.map.getStatistics();
+		assertThat(statistics.getName(), containsString(ConcurrentReferenceHashMapTests.class.getName()));
+		assertThat(statistics.getHits(), is(2L));
+		assertThat(statistics.getMisses(), is(2L));
+		assertThat(statistics.getInsertions(), is(5L));
+		assertThat(statistics.getRemovals(), is(1L));
+		assertThat(statistics.getCollected(), is(1L));
+		assertThat(statistics.getSize(), is(3));
+		assertThat(ConcurrentReferenceHashMap.getAllStatistics(), hasItem(hasToString(statistics.toString())));
+		this.map.setStatisticsEnabled(false);
+		assertThat(this.map.getStatistics(), is(nullValue()));
+	}
+
 	@Test
 	@Ignore("Intended for use during development only")
 	public void shouldBeFasterThanSynchronizedMap() throws InterruptedException {
@@ -302,6 +302,45 @@ public class NumberUtilsTests {
 		assertEquals(Double.valueOf(Double.MIN_VALUE), NumberUtils.parseNumber(aDouble, Double.class, nf));
 	}
 
+	@Test
+	public void parsePrimitives() {
+		assertEquals(Integer.MAX_VALUE, NumberUtils.parseInt(" " + Integer.MAX_VALUE + " "));
+		assertEquals(-255, NumberUtils.parseInt("-0xFF"));
+		assertEquals(10, NumberUtils.parseInt("010"));
+		assertEquals(Long.MIN_VALUE, NumberUtils.parseLong(String.valueOf(Long.MIN_VALUE)));
+		assertEquals(255L, NumberUtils.parseLong("#FF"));
+		assertEquals(1234.5, NumberUtils.parseDouble(" 1 234.5"), 0.0);
+		try {
+			NumberUtils.parseInt("");
+			fail("Should have thrown NumberFormatException");
+		}
+		catch (NumberFormatException expected) {
+		}
+	}
+
+	@Test
+	public void convertToPrimitives() {
+		assertEquals(-1, NumberUtils.convertNumberToInt(BigInteger.valueOf(-1)));
+		assertEquals(7, NumberUtils.convertNumberToInt(Short.valueOf((short) 7)));
+		assertEquals(Integer.MIN_VALUE, NumberUtils.convertNumberToInt(Long.valueOf(Integer.MIN_VALUE)));
+		assertEquals(Long.MAX_VALUE, NumberUtils.convertNumberToLong(BigInteger.valueOf(Long.MAX_VALUE)));
+		assertEquals(2.5, NumberUtils.convertNumberToDouble(new BigDecimal("2.5")), 0.0);
+		try {
+			NumberUtils.convertNumberToInt(Long.valueOf(Integer.MAX_VALUE + 1L));
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException expected) {
+			assertTrue(expected.getMessage().endsWith("overflow"));
+		}
+		try {
+			NumberUtils.convertNumberToLong(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException expected) {
+			assertTrue(expected.getMessage().endsWith("overflow"));
+		}
+	}
+
 	@Test
 	public void convertToInteger() {
 		assertEquals(Integer.valueOf(Integer.valueOf(-1)), NumberUtils.convertNumberToTargetClass(BigInteger.valueOf(-1), Integer.class));
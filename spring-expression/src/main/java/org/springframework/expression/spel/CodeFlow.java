@@ -12,6 +12,7 @@ import java.util.List;
 import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 
@@ -71,9 +72,23 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context passed to getValue).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The variables holding the active context object, e.g. the current element
+	 * while the selection criteria are evaluated. Empty when the active context
+	 * object is the target passed to getValue.
+	 */
+	private final Deque<Integer> activeContextObjects = new ArrayDeque<>();
+
+	/**
+	 * Sub-expressions the compiled expression hands back to the interpreter,
+	 * see {@link #insertInterpretedEvaluation}.
+	 */
+	private final List<SpelNode> interpretedNodes = new ArrayList<>();
 
 
 	/**
@@ -91,11 +106,33 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if a node such as a selection has {@link #pushActiveContextObject pushed} one.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variableId = this.activeContextObjects.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
+	}
+
+	/**
+	 * Make the object held in the given variable the active context object, so that
+	 * {@link #loadTarget} loads it until the matching {@link #popActiveContextObject}.
+	 * @param variableId the variable holding the new active context object
+	 * (1 to return to the target passed to getValue, i.e. the root object)
+	 * @since 5.1.9
+	 */
+	public void pushActiveContextObject(int variableId) {
+		this.activeContextObjects.push(variableId);
+	}
+
+	/**
+	 * Restore the active context object that was in place before the last
+	 * {@link #pushActiveContextObject}.
+	 * @since 5.1.9
+	 */
+	public void popActiveContextObject() {
+		this.activeContextObjects.pop();
 	}
 
 	/**
@@ -215,6 +252,43 @@ public class CodeFlow implements Opcodes {
 		return this.className;
 	}
 
+	/**
+	 * Insert the bytecode that evaluates the given node with the interpreter, against
+	 * the current active context object, and leaves the result (converted to the
+	 * required type) on the stack. Used for sub-expressions that have not been
+	 * evaluated yet when the expression gets compiled, e.g. a branch of a ternary that
+	 * has not been taken so far, for which no bytecode can be generated.
+	 * @param mv the visitor into which new instructions should be inserted
+	 * @param node the node to evaluate
+	 * @param requiredType the type the result is converted to
+	 * @since 5.1.9
+	 * @see CompiledExpression#interpret
+	 */
+	public void insertInterpretedEvaluation(MethodVisitor mv, SpelNode node, Class<?> requiredType) {
+		mv.visitVarInsn(ALOAD, 0);
+		insertOptimalLoad(mv, this.interpretedNodes.size());
+		this.interpretedNodes.add(node);
+		mv.visitLdcInsn(Type.getType(requiredType));
+		loadTarget(mv);
+		mv.visitVarInsn(ALOAD, 1);
+		loadEvaluationContext(mv);
+		mv.visitMethodInsn(INVOKEVIRTUAL, "org/springframework/expression/spel/CompiledExpression", "interpret",
+				"(ILjava/lang/Class;Ljava/lang/Object;Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)Ljava/lang/Object;",
+				false);
+		String descriptor = toDescriptor(requiredType);
+		insertCheckCast(mv, descriptor);
+		pushDescriptor(descriptor);
+	}
+
+	/**
+	 * Return the nodes registered through {@link #insertInterpretedEvaluation},
+	 * in the order of the indexes used by the generated code.
+	 * @since 5.1.9
+	 */
+	public List<SpelNode> getInterpretedNodes() {
+		return this.interpretedNodes;
+	}
+
 
 	/**
 	 * Insert any necessary cast and value call to convert from a boxed type to a
@@ -2,9 +2,14 @@
 
 package org.springframework.expression.spel;
 
+import java.util.List;
+
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.TypedValue;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Base superclass for compiled expressions. Each generated compiled expression class
@@ -16,6 +21,11 @@ import org.springframework.lang.Nullable;
  */
 public abstract class CompiledExpression {
 
+	private SpelNode[] interpretedNodes = new SpelNode[0];
+
+	private SpelParserConfiguration configuration = new SpelParserConfiguration();
+
+
 	/**
 	 * Subclasses of CompiledExpression generated by SpelCompiler will provide an
 	 * implementation of this method.
@@ -23,4 +33,50 @@ public abstract class CompiledExpression {
 	public abstract Object getValue(@Nullable Object target, @Nullable EvaluationContext context)
 			throws EvaluationException;
 
+	/**
+	 * Set the sub-expressions that the generated code hands back to the interpreter,
+	 * along with the parser configuration of the expression to interpret them with.
+	 * Called by the SpelCompiler once the compiled expression has been instantiated.
+	 * @since 5.1.9
+	 * @see CodeFlow#insertInterpretedEvaluation
+	 */
+	public void setInterpretedNodes(List<SpelNode> interpretedNodes, SpelParserConfiguration configuration) {
+		this.interpretedNodes = interpretedNodes.toArray(new SpelNode[0]);
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Evaluate one of the {@link #setInterpretedNodes interpreted nodes}, on behalf
+	 * of the generated code.
+	 * @param index the index of the node
+	 * @param requiredType the type to convert the result to
+	 * @param activeContextObject the active context object at that point of the expression
+	 * @param rootObject the root object (the target passed to {@link #getValue})
+	 * @param context the evaluation context passed to {@link #getValue}
+	 * @return the converted result
+	 * @since 5.1.9
+	 */
+	@Nullable
+	protected final Object interpret(int index, Class<?> requiredType, @Nullable Object activeContextObject,
+			@Nullable Object rootObject, @Nullable EvaluationContext context) throws EvaluationException {
+
+		Assert.state(context != null, "No EvaluationContext for interpreted sub-expression");
+		ExpressionState state = new ExpressionState(context, new TypedValue(rootObject), this.configuration);
+		if (activeContextObject != rootObject) {
+			// As in the interpreted selection and projection, the element is the scope root, e.g. for indexes
+			state.pushActiveContextObject(new TypedValue(activeContextObject));
+			state.enterScope();
+		}
+		Object value = this.interpretedNodes[index].getValue(state);
+		if (requiredType == Object.class) {
+			return value;
+		}
+		value = state.convertValue(new TypedValue(value), TypeDescriptor.valueOf(requiredType));
+		if (value == null && requiredType == Boolean.class) {
+			// As for the interpreted operators, null is no valid condition
+			throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", "boolean");
+		}
+		return value;
+	}
+
 }
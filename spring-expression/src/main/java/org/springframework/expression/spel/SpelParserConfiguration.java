@@ -121,4 +121,26 @@ public class SpelParserConfiguration {
 	public int getMaximumAutoGrowSize() {
 		return this.maximumAutoGrowSize;
 	}
+
+	// 值相等即可共享解析结果，例如在 SharedSpelExpressionCache 中作为缓存键的一部分
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof SpelParserConfiguration)) {
+			return false;
+		}
+		SpelParserConfiguration otherConfig = (SpelParserConfiguration) other;
+		return (this.compilerMode == otherConfig.compilerMode &&
+				this.compilerClassLoader == otherConfig.compilerClassLoader &&
+				this.autoGrowNullReferences == otherConfig.autoGrowNullReferences &&
+				this.autoGrowCollections == otherConfig.autoGrowCollections &&
+				this.maximumAutoGrowSize == otherConfig.maximumAutoGrowSize);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.compilerMode.hashCode() * 31 + System.identityHashCode(this.compilerClassLoader);
+	}
 }
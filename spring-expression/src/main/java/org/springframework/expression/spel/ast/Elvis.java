@@ -57,14 +57,17 @@ public class Elvis extends SpelNodeImpl {
 	public boolean isCompilable() {
 		SpelNodeImpl condition = this.children[0];
 		SpelNodeImpl ifNullValue = this.children[1];
-		return (condition.isCompilable() && ifNullValue.isCompilable() &&
-				condition.exitTypeDescriptor != null && ifNullValue.exitTypeDescriptor != null);
+		// The value for null may not have been needed yet: it is interpreted then
+		return (condition.isCompilable() && condition.exitTypeDescriptor != null &&
+				(isUnresolved(ifNullValue) || (ifNullValue.isCompilable() && ifNullValue.exitTypeDescriptor != null)));
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		// exit type descriptor can be null if both components are literal expressions
 		computeExitTypeDescriptor();
+		// or if the value for null has not been needed yet
+		String exitDescriptor = (this.exitTypeDescriptor != null ? this.exitTypeDescriptor : "Ljava/lang/Object");
 		cf.enterCompilationScope();
 		this.children[0].generateCode(mv, cf);
 		String lastDesc = cf.lastDescriptor();
@@ -84,15 +87,15 @@ public class Elvis extends SpelNodeImpl {
 		mv.visitLabel(elseTarget);
 		mv.visitInsn(POP);
 		cf.enterCompilationScope();
-		this.children[1].generateCode(mv, cf);
-		if (!CodeFlow.isPrimitive(this.exitTypeDescriptor)) {
+		generateCodeForOperand(mv, cf, this.children[1], Object.class);
+		if (!CodeFlow.isPrimitive(exitDescriptor)) {
 			lastDesc = cf.lastDescriptor();
 			Assert.state(lastDesc != null, "No last descriptor");
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		}
 		cf.exitCompilationScope();
 		mv.visitLabel(endOfIf);
-		cf.pushDescriptor(this.exitTypeDescriptor);
+		cf.pushDescriptor(exitDescriptor);
 	}
 
 	private void computeExitTypeDescriptor() {
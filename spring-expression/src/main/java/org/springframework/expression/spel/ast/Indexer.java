@@ -30,7 +30,7 @@ import org.springframework.util.ReflectionUtils;
 
 /**
  * An Indexer can index into some proceeding structure to access a particular piece of it.
- * Supported structures are: strings / collections (lists/sets) / arrays.
+ * Supported structures are: strings / collections (lists/sets) / arrays / maps.
  *
  * @author Andy Clement
  * @author Phillip Webb
@@ -138,7 +138,8 @@ public class Indexer extends SpelNodeImpl {
 			if (targetDescriptor.getMapKeyTypeDescriptor() != null) {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
 			}
-			this.indexedType = IndexedType.MAP;
+			// Compiled code passes the key on as is, so it only applies if no conversion was needed
+			this.indexedType = (key == index ? IndexedType.MAP : null);
 			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
 		}
 
@@ -180,13 +181,14 @@ public class Indexer extends SpelNodeImpl {
 	@Override
 	public boolean isCompilable() {
 		if (this.indexedType == IndexedType.ARRAY) {
-			return (this.exitTypeDescriptor != null);
+			return (this.exitTypeDescriptor != null && isCompilableNumericIndex());
 		}
-		else if (this.indexedType == IndexedType.LIST) {
-			return this.children[0].isCompilable();
+		else if (this.indexedType == IndexedType.LIST || this.indexedType == IndexedType.STRING) {
+			return isCompilableNumericIndex();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
-			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
+			return (this.children[0] instanceof PropertyOrFieldReference ||
+					(this.children[0].isCompilable() && this.children[0].exitTypeDescriptor != null));
 		}
 		else if (this.indexedType == IndexedType.OBJECT) {
 			// If the string name is changing the accessor is clearly going to change (so no compilation possible)
@@ -197,6 +199,12 @@ public class Indexer extends SpelNodeImpl {
 		return false;
 	}
 
+	private boolean isCompilableNumericIndex() {
+		// The interpreter converts the index to an int, the compiled code can only do so for numbers
+		SpelNodeImpl index = this.children[0];
+		return (index.isCompilable() && CodeFlow.isPrimitiveOrUnboxableSupportedNumber(index.exitTypeDescriptor));
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		String descriptor = cf.lastDescriptor();
@@ -241,21 +249,23 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateCodeForIndex(mv, cf, 'I');
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateCodeForIndex(mv, cf, 'I');
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
+		else if (this.indexedType == IndexedType.STRING) {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/String");
+			generateCodeForIndex(mv, cf, 'I');
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "charAt", "(I)C", false);
+			mv.visitMethodInsn(INVOKESTATIC, "java/lang/String", "valueOf", "(C)Ljava/lang/String;", false);
+		}
+
 		else if (this.indexedType == IndexedType.MAP) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
 			// Special case when the key is an unquoted string literal that will be parsed as
@@ -266,9 +276,7 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
-				cf.enterCompilationScope();
-				this.children[0].generateCode(mv, cf);
-				cf.exitCompilationScope();
+				generateCodeForIndex(mv, cf, 'L');
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -304,6 +312,25 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Generate the code for the index (or key), which is evaluated against the root object
+	 * as in the interpreter, and leave it on the stack as an int ('I') or an object ('L').
+	 */
+	private void generateCodeForIndex(MethodVisitor mv, CodeFlow cf, char targetDescriptor) {
+		cf.enterCompilationScope();
+		cf.pushActiveContextObject(1);
+		this.children[0].generateCode(mv, cf);
+		cf.popActiveContextObject();
+		String indexDescriptor = cf.lastDescriptor();
+		if (targetDescriptor == 'I') {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, indexDescriptor, targetDescriptor);
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, indexDescriptor);
+		}
+		cf.exitCompilationScope();
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder("[");
@@ -741,6 +768,7 @@ public class Indexer extends SpelNodeImpl {
 				throw new SpelEvaluationException(getStartPosition(), SpelMessage.STRING_INDEX_OUT_OF_BOUNDS,
 						this.target.length(), this.index);
 			}
+			exitTypeDescriptor = "Ljava/lang/String";
 			return new TypedValue(String.valueOf(this.target.charAt(this.index)));
 		}
 
@@ -59,9 +59,10 @@ public class OpOr extends Operator {
 	public boolean isCompilable() {
 		SpelNodeImpl left = getLeftOperand();
 		SpelNodeImpl right = getRightOperand();
-		return (left.isCompilable() && right.isCompilable() &&
-				CodeFlow.isBooleanCompatible(left.exitTypeDescriptor) &&
-				CodeFlow.isBooleanCompatible(right.exitTypeDescriptor));
+		// The right operand may not have been evaluated yet: it is interpreted then
+		return (left.isCompilable() && CodeFlow.isBooleanCompatible(left.exitTypeDescriptor) &&
+				(isUnresolved(right) ||
+						(right.isCompilable() && CodeFlow.isBooleanCompatible(right.exitTypeDescriptor))));
 	}
 
 	@Override
@@ -78,7 +79,7 @@ public class OpOr extends Operator {
 		mv.visitJumpInsn(GOTO,endOfIf);
 		mv.visitLabel(elseTarget);
 		cf.enterCompilationScope();
-		getRightOperand().generateCode(mv, cf);
+		generateCodeForOperand(mv, cf, getRightOperand(), Boolean.class);
 		cf.unboxBooleanIfNecessary(mv);
 		cf.exitCompilationScope();
 		mv.visitLabel(endOfIf);
@@ -265,4 +265,32 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		cf.exitCompilationScope();
 	}
 
+	/**
+	 * Determine whether the given operand has not been evaluated yet, so that nothing is
+	 * known about the value it produces: e.g. a branch of a ternary or the right operand
+	 * of {@code or} that the interpreter has not needed so far. Such an operand does not
+	 * prevent the compilation of its parent, see {@link #generateCodeForOperand}.
+	 * @since 5.1.9
+	 */
+	protected static boolean isUnresolved(SpelNodeImpl operand) {
+		return (operand.exitTypeDescriptor == null && !operand.isCompilable());
+	}
+
+	/**
+	 * Ask an operand to generate its bytecode or, if it is still {@link #isUnresolved
+	 * unresolved}, generate the bytecode that hands it back to the interpreter.
+	 * @param requiredType the type that the value of an unresolved operand is converted to
+	 * @since 5.1.9
+	 */
+	protected static void generateCodeForOperand(
+			MethodVisitor mv, CodeFlow cf, SpelNodeImpl operand, Class<?> requiredType) {
+
+		if (isUnresolved(operand)) {
+			cf.insertInterpretedEvaluation(mv, operand, requiredType);
+		}
+		else {
+			operand.generateCode(mv, cf);
+		}
+	}
+
 }
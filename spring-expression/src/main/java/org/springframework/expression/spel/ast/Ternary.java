@@ -71,15 +71,18 @@ public class Ternary extends SpelNodeImpl {
 		SpelNodeImpl condition = this.children[0];
 		SpelNodeImpl left = this.children[1];
 		SpelNodeImpl right = this.children[2];
-		return (condition.isCompilable() && left.isCompilable() && right.isCompilable() &&
-				CodeFlow.isBooleanCompatible(condition.exitTypeDescriptor) &&
-				left.exitTypeDescriptor != null && right.exitTypeDescriptor != null);
+		// A branch that has not been taken yet is interpreted
+		return (condition.isCompilable() && CodeFlow.isBooleanCompatible(condition.exitTypeDescriptor) &&
+				(isUnresolved(left) || (left.isCompilable() && left.exitTypeDescriptor != null)) &&
+				(isUnresolved(right) || (right.isCompilable() && right.exitTypeDescriptor != null)));
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		// May reach here without it computed if all elements are literals
 		computeExitTypeDescriptor();
+		// Or without a descriptor at all if a branch has not been taken yet
+		String exitDescriptor = (this.exitTypeDescriptor != null ? this.exitTypeDescriptor : "Ljava/lang/Object");
 		cf.enterCompilationScope();
 		this.children[0].generateCode(mv, cf);
 		String lastDesc = cf.lastDescriptor();
@@ -92,8 +95,8 @@ public class Ternary extends SpelNodeImpl {
 		Label endOfIf = new Label();
 		mv.visitJumpInsn(IFEQ, elseTarget);
 		cf.enterCompilationScope();
-		this.children[1].generateCode(mv, cf);
-		if (!CodeFlow.isPrimitive(this.exitTypeDescriptor)) {
+		generateCodeForOperand(mv, cf, this.children[1], Object.class);
+		if (!CodeFlow.isPrimitive(exitDescriptor)) {
 			lastDesc = cf.lastDescriptor();
 			Assert.state(lastDesc != null, "No last descriptor");
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
@@ -102,15 +105,15 @@ public class Ternary extends SpelNodeImpl {
 		mv.visitJumpInsn(GOTO, endOfIf);
 		mv.visitLabel(elseTarget);
 		cf.enterCompilationScope();
-		this.children[2].generateCode(mv, cf);
-		if (!CodeFlow.isPrimitive(this.exitTypeDescriptor)) {
+		generateCodeForOperand(mv, cf, this.children[2], Object.class);
+		if (!CodeFlow.isPrimitive(exitDescriptor)) {
 			lastDesc = cf.lastDescriptor();
 			Assert.state(lastDesc != null, "No last descriptor");
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		}
 		cf.exitCompilationScope();
 		mv.visitLabel(endOfIf);
-		cf.pushDescriptor(this.exitTypeDescriptor);
+		cf.pushDescriptor(exitDescriptor);
 	}
 
 }
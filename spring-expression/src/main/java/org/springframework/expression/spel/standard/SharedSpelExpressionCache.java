@@ -0,0 +1,383 @@
+package org.springframework.expression.spel.standard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.BoundedLruEviction;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * JVM-wide, size-bounded and concurrent cache of parsed SpEL {@link Expression} instances, keyed by expression text,
+ * template delimiters and {@link SpelParserConfiguration}, plus an optional scope of the caller. Allows several
+ * application contexts and expression evaluators to share the parsing and the compiled form of the same expressions.
+ *
+ * Evicting the least recently used entries (in batches, when exceeding the limit) reverts their
+ * {@link SpelExpression SpelExpressions} to interpreted mode, so that the generated classes are no longer referenced
+ * and can be unloaded together with the class loader of the {@link SpelCompiler}.
+ * The {@link #getEvaluationReport() evaluation report} lists how often each cached expression was evaluated by the
+ * interpreter and by its compiled form. Entries for the types of a discarded class loader are to be
+ * {@linkplain #releaseClassLoader released} explicitly, e.g. on close of an application context.
+ * @since 5.1.9
+ * 简而言之，就是跨调用方共享的 SpEL 表达式缓存：解析和编译只做一次，淘汰时释放生成的类，并统计解释/编译执行次数
+ */
+public class SharedSpelExpressionCache {
+
+	/**
+	 * System property that instructs Spring to use the {@link #getSharedInstance() shared instance} for the
+	 * expression caches of the bean expression resolver and of the annotation-driven expression evaluators.
+	 * The default is "false".
+	 */
+	public static final String SHARED_CACHE_PROPERTY_NAME = "spring.expression.sharedCache";
+
+	/**
+	 * System property to specify the limit of the {@link #getSharedInstance() shared instance}. The default is {@value #DEFAULT_CACHE_LIMIT}.
+	 */
+	public static final String CACHE_LIMIT_PROPERTY_NAME = "spring.expression.sharedCache.limit";
+
+	/**
+	 * Default maximum number of entries: 1024.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	private static final SharedSpelExpressionCache sharedInstance = new SharedSpelExpressionCache(getConfiguredCacheLimit());
+
+	private final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>(256);
+
+	private final BoundedLruEviction<CacheKey, CacheEntry> eviction = new BoundedLruEviction<>(this.cache, entry -> entry.lastAccess);
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private volatile int cacheLimit;
+
+	/**
+	 * Create a new cache with the given limit.
+	 * @param cacheLimit the maximum number of entries
+	 */
+	public SharedSpelExpressionCache(int cacheLimit) {
+		setCacheLimit(cacheLimit);
+	}
+
+	/**
+	 * Return the JVM-wide instance, limited to {@value #DEFAULT_CACHE_LIMIT} entries unless specified through
+	 * the {@value #CACHE_LIMIT_PROPERTY_NAME} system property.
+	 */
+	public static SharedSpelExpressionCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+	/**
+	 * Determine whether expression caches should use the {@linkplain #getSharedInstance() shared instance}
+	 * by default, as specified through the {@value #SHARED_CACHE_PROPERTY_NAME} system property.
+	 */
+	public static boolean isSharedByDefault() {
+		return SpringProperties.getFlag(SHARED_CACHE_PROPERTY_NAME);
+	}
+
+	private static int getConfiguredCacheLimit() {
+		String limit = SpringProperties.getProperty(CACHE_LIMIT_PROPERTY_NAME);
+		return (limit != null ? Integer.parseInt(limit.trim()) : DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Specify the maximum number of entries, applied with the next insertion.
+	 * @param cacheLimit the maximum number of entries (must be greater than 0)
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of entries.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Obtain the expression for the given text, parsing it with the given parser unless an expression with the
+	 * same text, template delimiters, parser configuration and scope is cached.
+	 * @param parser the parser to use on a cache miss
+	 * @param expressionString the raw expression string to parse
+	 * @param parserContext a context for influencing the parsing process (may be {@code null})
+	 * @param scope an optional key that keeps the expression apart from the same text used elsewhere, e.g. since
+	 * its compiled form is specific to the types of a certain method (may be {@code null})
+	 * @return the (possibly shared) expression (never {@code null})
+	 * @throws ParseException an exception occurred during parsing
+	 * @see #getExpression(SpelExpressionParser, String, ParserContext, Object, ClassLoader)
+	 */
+	public Expression getExpression(SpelExpressionParser parser, String expressionString,
+			@Nullable ParserContext parserContext, @Nullable Object scope) throws ParseException {
+
+		return getExpression(parser, expressionString, parserContext, scope, null);
+	}
+
+	/**
+	 * Obtain the expression for the given text, parsing it with the given parser unless an expression with the
+	 * same text, template delimiters, parser configuration, scope and class loader is cached.
+	 * @param parser the parser to use on a cache miss
+	 * @param expressionString the raw expression string to parse
+	 * @param parserContext a context for influencing the parsing process (may be {@code null})
+	 * @param scope an optional key that keeps the expression apart from the same text used elsewhere, e.g. since
+	 * its compiled form is specific to the types of a certain method (may be {@code null})
+	 * @param classLoader the class loader of the types that the expression is evaluated against, whose
+	 * {@linkplain #releaseClassLoader release} removes the entry (may be {@code null})
+	 * @return the (possibly shared) expression (never {@code null})
+	 * @throws ParseException an exception occurred during parsing
+	 */
+	public Expression getExpression(SpelExpressionParser parser, String expressionString, @Nullable ParserContext parserContext,
+			@Nullable Object scope, @Nullable ClassLoader classLoader) throws ParseException {
+
+		CacheKey key = new CacheKey(expressionString, parserContext, parser.getConfiguration(), scope, classLoader);
+		CacheEntry entry = this.cache.get(key);
+		if (entry != null) {
+			entry.lastAccess = this.eviction.tick();
+			this.hitCount.increment();
+			return entry.expression;
+		}
+		this.missCount.increment();
+		Expression expression = parser.parseExpression(expressionString, parserContext);
+		// Keep a single instance per key, so that compilation and the counters are shared
+		CacheEntry existing = this.cache.putIfAbsent(key, new CacheEntry(expression, this.eviction.tick()));
+		if (existing != null) return existing.expression;
+		for (CacheEntry evicted : this.eviction.evictIfNecessary(this.cacheLimit)) {
+			release(evicted.expression);
+			this.evictionCount.increment();
+		}
+		return expression;
+	}
+
+	// Drop the compiled form, the last reference to the generated class besides its (recycled) ChildClassLoader
+	private static void release(Expression expression) {
+		for (SpelExpression spelExpression : getSpelExpressions(expression)) {
+			spelExpression.revertToInterpreted();
+		}
+	}
+
+	// A template yields a CompositeStringExpression with one SpelExpression per ${...} part
+	private static List<SpelExpression> getSpelExpressions(Expression expression) {
+		List<SpelExpression> result = new ArrayList<>(1);
+		if (expression instanceof SpelExpression) {
+			result.add((SpelExpression) expression);
+		}else if (expression instanceof CompositeStringExpression) {
+			for (Expression part : ((CompositeStringExpression) expression).getExpressions()) {
+				if (part instanceof SpelExpression) {
+					result.add((SpelExpression) part);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the number of cached expressions.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the number of requests served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that required parsing an expression.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries evicted because of the cache limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Return a report of the cached expressions, most frequently evaluated first, with the number of evaluations
+	 * by the interpreter and by the compiled form: expressions that keep being interpreted despite many
+	 * evaluations are the candidates for a simpler, compilable form.
+	 */
+	public String getEvaluationReport() {
+		List<EvaluationStatistics> statistics = new ArrayList<>(this.cache.size());
+		this.cache.forEach((key, entry) -> {
+			long interpreted = 0;
+			long compiled = 0;
+			boolean compiledNow = false;
+			for (SpelExpression spelExpression : getSpelExpressions(entry.expression)) {
+				interpreted += spelExpression.getInterpretedEvaluationCount();
+				compiled += spelExpression.getCompiledEvaluationCount();
+				compiledNow |= spelExpression.isCompiled();
+			}
+			statistics.add(new EvaluationStatistics(entry.expression.getExpressionString(), interpreted, compiled, compiledNow));
+		});
+		statistics.sort(Comparator.comparingLong(EvaluationStatistics::getTotal).reversed());
+		StringBuilder sb = new StringBuilder(toString());
+		for (EvaluationStatistics entry : statistics) {
+			sb.append("\n  ").append(entry);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Remove all entries for the given ClassLoader and its children, reverting their compiled expressions, unless
+	 * it is the ClassLoader of this cache or one of its parents, which live as long as the cache anyway. Covers the
+	 * entries obtained for that class loader as well as those of parsers that compile into it. To be called when a
+	 * ClassLoader gets discarded, e.g. on close of an application context within a web application or plugin:
+	 * the cached expressions reference the types they were evaluated against and their generated classes.
+	 * @param classLoader the ClassLoader to release
+	 */
+	public void releaseClassLoader(@Nullable ClassLoader classLoader) {
+		if (classLoader == null || isParentOrSelf(classLoader, SharedSpelExpressionCache.class.getClassLoader())) return;
+		for (Iterator<Map.Entry<CacheKey, CacheEntry>> it = this.cache.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<CacheKey, CacheEntry> entry = it.next();
+			CacheKey key = entry.getKey();
+			if (isParentOrSelf(classLoader, key.classLoader) ||
+					isParentOrSelf(classLoader, key.configuration.getCompilerClassLoader())) {
+				it.remove();
+				release(entry.getValue().expression);
+			}
+		}
+	}
+
+	private static boolean isParentOrSelf(ClassLoader candidate, @Nullable ClassLoader classLoader) {
+		for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+			if (current == candidate) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all entries, reverting compiled expressions and keeping the counters.
+	 */
+	public void clear() {
+		for (CacheKey key : new ArrayList<>(this.cache.keySet())) {
+			CacheEntry entry = this.cache.remove(key);
+			if (entry != null) {
+				release(entry.expression);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SharedSpelExpressionCache: size=" + size() + ", limit=" + this.cacheLimit + ", hits=" + getHitCount() +
+				", misses=" + getMissCount() + ", evictions=" + getEvictionCount();
+	}
+
+
+	private static final class CacheKey {
+
+		private final String expressionString;
+
+		// Template delimiters, or null for a plain expression
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		private final SpelParserConfiguration configuration;
+
+		@Nullable
+		private final Object scope;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		CacheKey(String expressionString, @Nullable ParserContext parserContext,
+				SpelParserConfiguration configuration, @Nullable Object scope, @Nullable ClassLoader classLoader) {
+
+			boolean template = (parserContext != null && parserContext.isTemplate());
+			this.expressionString = expressionString;
+			this.prefix = (template ? parserContext.getExpressionPrefix() : null);
+			this.suffix = (template ? parserContext.getExpressionSuffix() : null);
+			this.configuration = configuration;
+			this.scope = scope;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) return true;
+			if (!(other instanceof CacheKey)) return false;
+			CacheKey otherKey = (CacheKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix) &&
+					this.configuration.equals(otherKey.configuration) &&
+					ObjectUtils.nullSafeEquals(this.scope, otherKey.scope) &&
+					this.classLoader == otherKey.classLoader);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.expressionString.hashCode() * 31 + ObjectUtils.nullSafeHashCode(this.prefix)) * 31 +
+					ObjectUtils.nullSafeHashCode(this.scope);
+		}
+	}
+
+
+	private static final class CacheEntry {
+
+		final Expression expression;
+
+		volatile long lastAccess;
+
+		CacheEntry(Expression expression, long lastAccess) {
+			this.expression = expression;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+
+	private static final class EvaluationStatistics {
+
+		private final String expressionString;
+
+		private final long interpreted;
+
+		private final long compiled;
+
+		private final boolean compiledNow;
+
+		EvaluationStatistics(String expressionString, long interpreted, long compiled, boolean compiledNow) {
+			this.expressionString = expressionString;
+			this.interpreted = interpreted;
+			this.compiled = compiled;
+			this.compiledNow = compiledNow;
+		}
+
+		long getTotal() {
+			return this.interpreted + this.compiled;
+		}
+
+		@Override
+		public String toString() {
+			return "'" + this.expressionString + "': interpreted=" + this.interpreted + ", compiled=" + this.compiled +
+					(this.compiledNow ? " (compiled)" : "");
+		}
+	}
+
+}
@@ -4,6 +4,8 @@ package org.springframework.expression.spel.standard;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -16,6 +18,7 @@ import org.springframework.asm.Opcodes;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
+import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.lang.Nullable;
@@ -84,14 +87,31 @@ public final class SpelCompiler implements Opcodes {
 	 */
 	@Nullable
 	public CompiledExpression compile(SpelNodeImpl expression) {
+		return compile(expression, new SpelParserConfiguration());
+	}
+
+	/**
+	 * Attempt compilation of the supplied expression, as parsed with the given configuration.
+	 * @param expression the expression to compile
+	 * @param configuration the parser configuration, for the sub-expressions that the
+	 * compiled expression hands back to the interpreter
+	 * @return an instance of the class implementing the compiled expression,
+	 * or {@code null} if compilation is not possible
+	 * @since 5.1.9
+	 */
+	@Nullable
+	public CompiledExpression compile(SpelNodeImpl expression, SpelParserConfiguration configuration) {
 		if (expression.isCompilable()) {
 			if (logger.isDebugEnabled()) {
 				logger.debug("SpEL: compiling " + expression.toStringAST());
 			}
-			Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
+			List<SpelNode> interpretedNodes = new ArrayList<>();
+			Class<? extends CompiledExpression> clazz = createExpressionClass(expression, interpretedNodes);
 			if (clazz != null) {
 				try {
-					return ReflectionUtils.accessibleConstructor(clazz).newInstance();
+					CompiledExpression compiledExpression = ReflectionUtils.accessibleConstructor(clazz).newInstance();
+					compiledExpression.setInterpretedNodes(interpretedNodes, configuration);
+					return compiledExpression;
 				}
 				catch (Throwable ex) {
 					throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
@@ -113,11 +133,14 @@ public final class SpelCompiler implements Opcodes {
 	 * Generate the class that encapsulates the compiled expression and define it.
 	 * The  generated class will be a subtype of CompiledExpression.
 	 * @param expressionToCompile the expression to be compiled
+	 * @param interpretedNodes receives the sub-expressions the generated code hands
+	 * back to the interpreter
 	 * @return the expression call, or {@code null} if the decision was to opt out of
 	 * compilation during code generation
 	 */
 	@Nullable
-	private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile) {
+	private Class<? extends CompiledExpression> createExpressionClass(
+			SpelNodeImpl expressionToCompile, List<SpelNode> interpretedNodes) {
 		// Create class outline 'spel/ExNNN extends org.springframework.expression.spel.CompiledExpression'
 		String className = "spel/Ex" + getNextSuffix();
 		ClassWriter cw = new ExpressionClassWriter();
@@ -164,6 +187,7 @@ public final class SpelCompiler implements Opcodes {
 		cw.visitEnd();
 
 		cf.finish();
+		interpretedNodes.addAll(cf.getInterpretedNodes());
 
 		byte[] data = cw.toByteArray();
 		// TODO need to make this conditionally occur based on a debug flag
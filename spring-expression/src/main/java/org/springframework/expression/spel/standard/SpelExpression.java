@@ -2,6 +2,8 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
@@ -55,6 +57,11 @@ public class SpelExpression implements Expression {
 	// The number of times compilation was attempted and failed - enables us to eventually give up trying to compile it when it just doesn't seem to be possible.
 	private volatile int failedAttempts = 0;
 
+	// Total numbers of evaluations by the interpreter and by the compiled form, for monitoring
+	private final LongAdder interpretedEvaluationCount = new LongAdder();
+
+	private final LongAdder compiledEvaluationCount = new LongAdder();
+
 	/**
 	 * Construct an expression, only used by the parser.
 	 */
@@ -92,10 +99,12 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public Object getValue() throws EvaluationException {
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
 				EvaluationContext context = getEvaluationContext();
-				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				return evaluateCompiled(compiledAst, context.getRootObject().getValue(), context);
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
@@ -119,10 +128,12 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public <T> T getValue(@Nullable Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
 				EvaluationContext context = getEvaluationContext();
-				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				Object result = evaluateCompiled(compiledAst, context.getRootObject().getValue(), context);
 				if (expectedResultType == null) {
 					return (T) result;
 				}else {
@@ -149,9 +160,11 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public Object getValue(Object rootObject) throws EvaluationException {
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject, getEvaluationContext());
+				return evaluateCompiled(compiledAst, rootObject, getEvaluationContext());
 			}catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
@@ -173,9 +186,11 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public <T> T getValue(Object rootObject, @Nullable Class<T> expectedResultType) throws EvaluationException {
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				Object result = this.compiledAst.getValue(rootObject, getEvaluationContext());
+				Object result = evaluateCompiled(compiledAst, rootObject, getEvaluationContext());
 				if (expectedResultType == null) {
 					return (T)result;
 				}else {
@@ -205,9 +220,11 @@ public class SpelExpression implements Expression {
 	public Object getValue(EvaluationContext context) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
 
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				return evaluateCompiled(compiledAst, context.getRootObject().getValue(), context);
 			}catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
@@ -230,9 +247,11 @@ public class SpelExpression implements Expression {
 	@Nullable
 	public <T> T getValue(EvaluationContext context, @Nullable Class<T> expectedResultType) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				Object result = evaluateCompiled(compiledAst, context.getRootObject().getValue(), context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}else {
@@ -260,9 +279,11 @@ public class SpelExpression implements Expression {
 	@Nullable
 	public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject, context);
+				return evaluateCompiled(compiledAst, rootObject, context);
 			}catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
@@ -285,9 +306,11 @@ public class SpelExpression implements Expression {
 	@Nullable
 	public <T> T getValue(EvaluationContext context, Object rootObject, @Nullable Class<T> expectedResultType) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
-		if (this.compiledAst != null) {
+		// Read once: the cache may revert this expression to interpreted at any time
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
 			try {
-				Object result = this.compiledAst.getValue(rootObject, context);
+				Object result = evaluateCompiled(compiledAst, rootObject, context);
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}else {
@@ -402,11 +425,20 @@ public class SpelExpression implements Expression {
 		this.ast.setValue(new ExpressionState(context, toTypedValue(rootObject), this.configuration), value);
 	}
 
+	// Evaluate the compiled form, counting successful evaluations only (a failure falls back to the interpreter)
+	@Nullable
+	private Object evaluateCompiled(CompiledExpression compiledAst, @Nullable Object rootObject, EvaluationContext context) {
+		Object result = compiledAst.getValue(rootObject, context);
+		this.compiledEvaluationCount.increment();
+		return result;
+	}
+
 	/**
 	 * Compile the expression if it has been evaluated more than the threshold number of times to trigger compilation.
 	 * @param expressionState the expression state used to determine compilation mode
 	 */
 	private void checkCompile(ExpressionState expressionState) {
+		this.interpretedEvaluationCount.increment();
 		this.interpretedCount++;
 		SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
 		if (compilerMode != SpelCompilerMode.OFF) {
@@ -440,7 +472,7 @@ public class SpelExpression implements Expression {
 					return true;
 				}
 				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-				this.compiledAst = compiler.compile(this.ast);
+				this.compiledAst = compiler.compile(this.ast, this.configuration);
 				if (this.compiledAst == null) {
 					this.failedAttempts++;
 				}
@@ -459,6 +491,32 @@ public class SpelExpression implements Expression {
 		this.failedAttempts = 0;
 	}
 
+	/**
+	 * Return whether the expression is currently evaluated in its compiled form.
+	 * @since 5.1.9
+	 */
+	public boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
+	/**
+	 * Return the number of evaluations performed by the interpreter: before the expression
+	 * got compiled, with compilation switched off or not possible, or after the compiled
+	 * form failed in {@link SpelCompilerMode#MIXED} mode.
+	 * @since 5.1.9
+	 */
+	public long getInterpretedEvaluationCount() {
+		return this.interpretedEvaluationCount.sum();
+	}
+
+	/**
+	 * Return the number of evaluations performed by the compiled form of the expression.
+	 * @since 5.1.9
+	 */
+	public long getCompiledEvaluationCount() {
+		return this.compiledEvaluationCount.sum();
+	}
+
 	/**
 	 * Return the Abstract Syntax Tree for the expression.
 	 */
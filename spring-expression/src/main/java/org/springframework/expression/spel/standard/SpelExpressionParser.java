@@ -33,6 +33,14 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 		this.configuration = configuration;
 	}
 
+	/**
+	 * Return the configuration of the expressions created by this parser.
+	 * @since 5.1.9
+	 */
+	public SpelParserConfiguration getConfiguration() {
+		return this.configuration;
+	}
+
 	// 最终都是委托给了Spring的内部使用的类：InternalSpelExpressionParser--> 内部的SpEL表达式解析器~~~
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
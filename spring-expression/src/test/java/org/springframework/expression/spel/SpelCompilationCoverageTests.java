@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -535,21 +536,25 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals(true, resultI);
 		assertEquals(true, resultC);
 
-		// Can't compile this as we aren't going down the getfalse() branch in our evaluation
+		// We aren't going down the getfalse() branch in our evaluation, it gets interpreted
 		expression = parser.parseExpression("gettrue() or getfalse()");
 		resultI = expression.getValue(tc, Boolean.TYPE);
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(tc, Boolean.TYPE));
 
 		expression = parser.parseExpression("getA() or getB()");
 		tc.a = true;
 		tc.b = true;
 		resultI = expression.getValue(tc, Boolean.TYPE);
-		assertCantCompile(expression); // Haven't yet been into second branch
+		assertCanCompile(expression); // Haven't yet been into second branch, it gets interpreted
 		tc.a = false;
+		tc.b = false;
+		assertFalse(expression.getValue(tc, Boolean.TYPE));
 		tc.b = true;
 		resultI = expression.getValue(tc, Boolean.TYPE);
 		assertCanCompile(expression); // Now been down both
 		assertTrue(resultI);
+		assertTrue(expression.getValue(tc, Boolean.TYPE));
 
 		boolean b = false;
 		expression = parse("#root or #root");
@@ -591,16 +596,20 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		TestClass4 tc = new TestClass4();
 
-		// Can't compile this as we aren't going down the gettrue() branch in our evaluation
+		// We aren't going down the gettrue() branch in our evaluation, it gets interpreted
 		expression = parser.parseExpression("getfalse() and gettrue()");
 		resultI = expression.getValue(tc, Boolean.TYPE);
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertFalse(expression.getValue(tc, Boolean.TYPE));
 
 		expression = parser.parseExpression("getA() and getB()");
 		tc.a = false;
 		tc.b = false;
 		resultI = expression.getValue(tc, Boolean.TYPE);
-		assertCantCompile(expression); // Haven't yet been into second branch
+		assertCanCompile(expression); // Haven't yet been into second branch, it gets interpreted
+		tc.a = true;
+		tc.b = true;
+		assertTrue(expression.getValue(tc, Boolean.TYPE));
 		tc.a = true;
 		tc.b = false;
 		resultI = expression.getValue(tc, Boolean.TYPE);
@@ -668,7 +677,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		boolean root = true;
 		expression = parser.parseExpression("(#root and true)?T(Integer).valueOf(1):T(Long).valueOf(3L)");
 		assertEquals(1, expression.getValue(root));
-		assertCantCompile(expression); // Have not gone down false branch
+		assertCanCompile(expression); // Have not gone down false branch, it gets interpreted
 		root = false;
 		assertEquals(3L, expression.getValue(root));
 		assertCanCompile(expression);
@@ -871,6 +880,16 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		resultI = expression.getValue(s, String.class);
 		assertEquals("abc", resultI);
 		assertCanCompile(expression);
+
+		StandardEvaluationContext context = new StandardEvaluationContext("abc");
+		context.setVariable("fallback", "b");
+		expression = parser.parseExpression("#root?:#fallback");
+		assertEquals("abc", expression.getValue(context));
+		assertCanCompile(expression); // #fallback has not been needed yet, it gets interpreted
+		assertEquals("abc", expression.getValue(context));
+		context = new StandardEvaluationContext("");
+		context.setVariable("fallback", "b");
+		assertEquals("b", expression.getValue(context));
 	}
 
 	@Test
@@ -891,6 +910,164 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals(42,i);
 	}
 
+	@Test
+	public void variableReference_this() throws Exception {
+		expression = parser.parseExpression("#this.length()");
+		assertEquals(5, expression.getValue("hello"));
+		assertCanCompile(expression);
+		assertEquals(5, expression.getValue("hello"));
+	}
+
+	@Test
+	public void interpretedBranchWithParserConfiguration() throws Exception {
+		SpelExpressionParser autoGrowParser = new SpelExpressionParser(new SpelParserConfiguration(true, true));
+		AutoGrowRoot root = new AutoGrowRoot();
+		expression = autoGrowParser.parseExpression("flag ? 'x' : list[2]");
+		assertEquals("x", expression.getValue(root));
+		assertCanCompile(expression); // list[2] has not been needed yet, it gets interpreted
+		root.flag = false;
+		assertEquals("", expression.getValue(root));
+		assertEquals(3, root.list.size());
+	}
+
+	@Test
+	public void interpretedBranchInSelection() throws Exception {
+		List<List<Integer>> lists = Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3), Arrays.asList(4, 5, 6));
+		StandardEvaluationContext context = new StandardEvaluationContext(lists);
+		context.setVariable("all", true);
+		expression = parser.parseExpression("?[#all or contains(size())]");
+		assertEquals(lists, expression.getValue(context));
+		assertCanCompile(expression);
+		// The method argument of the interpreted operand refers to the element, as in the interpreter
+		context.setVariable("all", false);
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2)), expression.getValue(context));
+	}
+
+	@Test
+	public void selection() throws Exception {
+		List<String> list = Arrays.asList("a", "bbb", "cc", "dddd");
+		expression = parser.parseExpression("?[length() > 1]");
+		Object resultI = expression.getValue(list);
+		assertCanCompile(expression);
+		Object resultC = expression.getValue(list);
+		assertEquals(Arrays.asList("bbb", "cc", "dddd"), resultI);
+		assertEquals(resultI, resultC);
+
+		expression = parser.parseExpression("^[length() > 1]");
+		assertEquals("bbb", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("bbb", expression.getValue(list));
+		assertNull(expression.getValue(Collections.singletonList("a")));
+
+		expression = parser.parseExpression("$[length() > 1]");
+		assertEquals("dddd", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("dddd", expression.getValue(list));
+
+		expression = parser.parseExpression("?[#this.startsWith('c')][0]");
+		assertEquals("cc", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("cc", expression.getValue(list));
+
+		// The right operand has not been evaluated yet, it gets interpreted for each element
+		expression = parser.parseExpression("?[length() > 2 or startsWith('c')]");
+		assertEquals(Arrays.asList("bbb", "dddd"), expression.getValue(Arrays.asList("bbb", "dddd")));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("bbb", "cc", "dddd"), expression.getValue(list));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", list);
+		expression = parser.parseExpression("#list?.?[length() > 3]");
+		assertEquals(Collections.singletonList("dddd"), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Collections.singletonList("dddd"), expression.getValue(context));
+		context.setVariable("list", null);
+		assertNull(expression.getValue(context));
+
+		// Selection from an array needs the element type of the array
+		expression = parser.parseExpression("?[length() > 1]");
+		expression.getValue(new String[] {"a", "bb"});
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<String> list = Arrays.asList("a", "bbb", "cc");
+		expression = parser.parseExpression("![length()]");
+		Object resultI = expression.getValue(list);
+		assertCanCompile(expression);
+		Object resultC = expression.getValue(list);
+		assertEquals(Arrays.asList(1, 3, 2), resultI);
+		assertEquals(resultI, resultC);
+
+		expression = parser.parseExpression("?[length() > 1].![#this.toUpperCase()]");
+		assertEquals(Arrays.asList("BBB", "CC"), expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("BBB", "CC"), expression.getValue(list));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", list);
+		expression = parser.parseExpression("#list?.![length()]");
+		assertEquals(Arrays.asList(1, 3, 2), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(1, 3, 2), expression.getValue(context));
+		context.setVariable("list", null);
+		assertNull(expression.getValue(context));
+
+		// Nothing is known about the projected values of an empty list
+		expression = parser.parseExpression("![length()]");
+		expression.getValue(Collections.emptyList());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void indexerWithComputedIndex() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", Arrays.asList("a", "b", "c"));
+		context.setVariable("array", new int[] {10, 20, 30});
+		context.setVariable("i", 1);
+		Map<Object, String> map = new HashMap<>();
+		map.put("key", "value");
+		map.put(2, "two");
+		context.setVariable("map", map);
+		context.setVariable("key", "key");
+
+		expression = parser.parseExpression("#list[#i]");
+		assertEquals("b", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("b", expression.getValue(context));
+
+		expression = parser.parseExpression("#list[#i + 1]");
+		assertEquals("c", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("c", expression.getValue(context));
+
+		expression = parser.parseExpression("#array[#i]");
+		assertEquals(20, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(20, expression.getValue(context));
+
+		expression = parser.parseExpression("'abc'[#i]");
+		assertEquals("b", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("b", expression.getValue(context));
+
+		expression = parser.parseExpression("#map[#key]");
+		assertEquals("value", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("value", expression.getValue(context));
+
+		expression = parser.parseExpression("#map[#i + 1]");
+		assertEquals("two", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("two", expression.getValue(context));
+
+		// The interpreter converts the index, compiled code cannot
+		expression = parser.parseExpression("#list['1']");
+		assertEquals("b", expression.getValue(context));
+		assertCantCompile(expression);
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -6262,4 +6439,12 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		}
 	}
 
+
+	public static class AutoGrowRoot {
+
+		public boolean flag = true;
+
+		public List<String> list = new ArrayList<>();
+	}
+
 }
@@ -0,0 +1,121 @@
+package org.springframework.expression.spel.standard;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SharedSpelExpressionCache}.
+ */
+public class SharedSpelExpressionCacheTests {
+
+	private final SharedSpelExpressionCache cache = new SharedSpelExpressionCache(16);
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+
+	@Test
+	public void sharedAcrossParsersWithEqualConfiguration() {
+		Expression expression = this.cache.getExpression(this.parser, "1 + 2", null, null);
+		assertSame(expression, this.cache.getExpression(new SpelExpressionParser(), "1 + 2", null, null));
+		assertEquals(3, expression.getValue());
+		assertEquals(1, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+
+		SpelExpressionParser compilingParser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null));
+		assertNotSame(expression, this.cache.getExpression(compilingParser, "1 + 2", null, null));
+	}
+
+	@Test
+	public void scopesAndTemplatesKeptApart() {
+		Expression expression = this.cache.getExpression(this.parser, "'a'", null, "one");
+		assertSame(expression, this.cache.getExpression(this.parser, "'a'", null, "one"));
+		assertNotSame(expression, this.cache.getExpression(this.parser, "'a'", null, "two"));
+
+		Expression template = this.cache.getExpression(this.parser, "#{'a'}", new TemplateParserContext(), null);
+		assertEquals("a", template.getValue());
+		assertSame(template, this.cache.getExpression(this.parser, "#{'a'}", new TemplateParserContext(), null));
+		assertNotSame(template, this.cache.getExpression(this.parser, "#{'a'}", new TemplateParserContext("${", "}"), null));
+		assertEquals(4, this.cache.size());
+	}
+
+	@Test
+	public void evictionRevertsCompiledExpressions() {
+		SpelExpressionParser compilingParser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null));
+		SpelExpression first = (SpelExpression) this.cache.getExpression(compilingParser, "'abc'.length()", null, null);
+		first.getValue();
+		first.getValue();
+		assertTrue(first.isCompiled());
+
+		Expression template = this.cache.getExpression(compilingParser, "x#{'abc'.length()}", ParserContext.TEMPLATE_EXPRESSION, null);
+		assertEquals("x3", template.getValue());
+		assertEquals("x3", template.getValue());
+		SpelExpression part = (SpelExpression) ((CompositeStringExpression) template).getExpressions()[1];
+		assertTrue(part.isCompiled());
+
+		for (int i = 0; i < 15; i++) {
+			this.cache.getExpression(compilingParser, "'abc'.length() + " + i, null, null);
+		}
+		assertEquals(16 - 16 / 8, this.cache.size());
+		assertEquals(3, this.cache.getEvictionCount());
+		assertFalse(first.isCompiled());
+		assertFalse(part.isCompiled());
+		assertNotSame(first, this.cache.getExpression(compilingParser, "'abc'.length()", null, null));
+	}
+
+	@Test
+	public void releaseDiscardedClassLoader() {
+		ClassLoader pluginClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		ClassLoader nestedClassLoader = new URLClassLoader(new URL[0], pluginClassLoader);
+		Expression kept = this.cache.getExpression(this.parser, "1 + 2", null, null, getClass().getClassLoader());
+		this.cache.getExpression(this.parser, "1 + 2", null, "one", pluginClassLoader);
+		this.cache.getExpression(this.parser, "1 + 2", null, "two", nestedClassLoader);
+		SpelExpressionParser compilingParser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, pluginClassLoader));
+		SpelExpression compiled = (SpelExpression) this.cache.getExpression(compilingParser, "'abc'.length()", null, null);
+		compiled.getValue();
+		compiled.getValue();
+		assertTrue(compiled.isCompiled());
+		assertEquals(4, this.cache.size());
+
+		// The ClassLoader of the cache itself is never discarded before the cache
+		this.cache.releaseClassLoader(SharedSpelExpressionCache.class.getClassLoader());
+		assertEquals(4, this.cache.size());
+		this.cache.releaseClassLoader(pluginClassLoader);
+		assertEquals(1, this.cache.size());
+		assertFalse(compiled.isCompiled());
+		assertSame(kept, this.cache.getExpression(this.parser, "1 + 2", null, null, getClass().getClassLoader()));
+	}
+
+	@Test
+	public void evaluationCounts() {
+		SpelExpressionParser compilingParser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null));
+		SpelExpression expression = (SpelExpression) this.cache.getExpression(compilingParser, "'abc'.length()", null, null);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(3, expression.getValue());
+		}
+		assertEquals(2, expression.getInterpretedEvaluationCount());
+		assertEquals(3, expression.getCompiledEvaluationCount());
+
+		Expression interpreted = this.cache.getExpression(this.parser, "'abc'.length()", null, null);
+		interpreted.getValue();
+		String report = this.cache.getEvaluationReport();
+		assertTrue(report, report.startsWith("SharedSpelExpressionCache: size=2"));
+		assertTrue(report, report.contains("\n  ''abc'.length()': interpreted=2, compiled=3 (compiled)\n  ''abc'.length()': interpreted=1, compiled=0"));
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertFalse(expression.isCompiled());
+	}
+
+}
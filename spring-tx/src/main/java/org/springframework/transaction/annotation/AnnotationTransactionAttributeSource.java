@@ -4,6 +4,7 @@ package org.springframework.transaction.annotation;
 
 import java.io.Serializable;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
@@ -137,7 +138,10 @@ public class AnnotationTransactionAttributeSource extends AbstractFallbackTransa
 	 */
 	@Nullable
 	protected TransactionAttribute determineTransactionAttribute(AnnotatedElement element) {
+		// Invoked for the specific method, the interface method and their classes in turn: filter each on its own class
+		Class<?> candidateClass = (element instanceof Class ? (Class<?>) element : element instanceof Member ? ((Member) element).getDeclaringClass() : null);
 		for (TransactionAnnotationParser annotationParser : this.annotationParsers) {
+			if (candidateClass != null && !annotationParser.isCandidateClass(candidateClass)) continue;
 			TransactionAttribute attr = annotationParser.parseTransactionAnnotation(element);
 			if (attr != null) {
 				return attr;
@@ -19,6 +19,21 @@ import org.springframework.transaction.interceptor.TransactionAttribute;
  */
 public interface TransactionAnnotationParser {
 
+	/**
+	 * Determine whether the given class is a candidate for transaction attributes in the annotation format of this parser.
+	 * If this method returns {@code false}, the methods of the given class will not be parsed for transaction annotations,
+	 * avoiding the annotation search for classes that cannot carry them.
+	 * The default implementation returns {@code true}, leading to regular introspection.
+	 * @param targetClass the class to introspect
+	 * @return {@code false} if the class is known to have no transaction annotations at class or method level;
+	 * {@code true} otherwise
+	 * @since 5.1.9
+	 * @see org.springframework.core.annotation.AnnotationUtils#isCandidateClass
+	 */
+	default boolean isCandidateClass(Class<?> targetClass) {
+		return true;
+	}
+
 	/**
 	 * Parse the transaction attribute for the given method or class,based on an annotation type understood by this parser.
 	 * This essentially parses a known transaction annotation into Spring's metadata
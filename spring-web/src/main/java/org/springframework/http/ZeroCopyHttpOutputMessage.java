@@ -4,9 +4,16 @@ package org.springframework.http;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.util.StreamUtils;
+
 /**
  * Sub-interface of {@code ReactiveOutputMessage} that has support for "zero-copy"
  * file transfers.
@@ -41,4 +48,24 @@ public interface ZeroCopyHttpOutputMessage extends ReactiveHttpOutputMessage {
 	 */
 	Mono<Void> writeWith(Path file, long position, long count);
 
+	/**
+	 * Use the given parts, in order, as the body of the message: {@link DataBuffer DataBuffers}
+	 * are written as they are, and {@link ResourceRegion ResourceRegions} of file system resources
+	 * are transferred like {@link #writeWith(Path, long, long)} does. Meant for multipart/byteranges
+	 * responses, where the regions of a file alternate with the part headers.
+	 * <p>The default implementation reads the regions into data buffers and writes all parts
+	 * through {@link #writeWith(org.reactivestreams.Publisher)}.
+	 * @param parts the data buffers and resource regions to write
+	 * @return a publisher that indicates completion or error.
+	 * @since 5.1.9
+	 */
+	default Mono<Void> writePartsWith(List<?> parts) {
+		return writeWith(Flux.fromIterable(parts).concatMap(part -> {
+			if (part instanceof DataBuffer) return Mono.just((DataBuffer) part);
+			ResourceRegion region = (ResourceRegion) part;
+			Flux<DataBuffer> in = DataBufferUtils.read(region.getResource(), region.getPosition(), bufferFactory(), StreamUtils.BUFFER_SIZE);
+			return DataBufferUtils.takeUntilByteCount(in, region.getCount());
+		}));
+	}
+
 }
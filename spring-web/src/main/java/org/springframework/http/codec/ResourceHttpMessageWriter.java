@@ -14,6 +14,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.codec.ResourceDecoder;
 import org.springframework.core.codec.ResourceEncoder;
@@ -169,6 +170,24 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 	}
 
 
+	// Multiple regions of a file: the part headers as buffers, the regions transferred in between
+	private Optional<Mono<Void>> zeroCopy(Resource resource, List<ResourceRegion> regions, MediaType mediaType,
+			ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+
+		if (message instanceof ZeroCopyHttpOutputMessage && resource.isFile()) {
+			if (!resource.isReadable()) {
+				return Optional.of(Mono.error(new EncodingException("Resource " + resource + " is not readable")));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(Hints.getLogPrefix(hints) + "Zero-copy " + regions.size() + " regions of [" + resource + "]");
+			}
+			List<Object> parts = this.regionEncoder.encodeParts(regions, message.bufferFactory(), mediaType, hints);
+			return Optional.of(((ZeroCopyHttpOutputMessage) message).writePartsWith(parts));
+		}
+		return Optional.empty();
+	}
+
+
 	// Server-side only: single Resource or sub-regions...
 
 	@Override
@@ -213,7 +232,8 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				MediaType multipartType = MediaType.parseMediaType("multipart/byteranges;boundary=" + boundary);
 				headers.setContentType(multipartType);
 				Map<String, Object> allHints = Hints.merge(hints, ResourceRegionEncoder.BOUNDARY_STRING_HINT, boundary);
-				return encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints);
+				return zeroCopy(resource, regions, resourceMediaType, response, allHints)
+						.orElseGet(() -> encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints));
 			}
 		});
 	}
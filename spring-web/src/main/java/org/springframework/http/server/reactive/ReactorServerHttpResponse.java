@@ -2,7 +2,9 @@
 
 package org.springframework.http.server.reactive;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -11,11 +13,14 @@ import io.netty.handler.codec.http.cookie.DefaultCookie;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.server.HttpServerResponse;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -107,6 +112,30 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 		return doCommit(() -> this.response.sendFile(file, position, count).then());
 	}
 
+	@Override
+	public Mono<Void> writePartsWith(List<?> parts) {
+		return doCommit(() -> {
+			// Chained on the outbound, so that file regions go through sendfile in between the buffers
+			NettyOutbound outbound = this.response;
+			for (Object part : parts) {
+				if (part instanceof DataBuffer) {
+					outbound = outbound.send(Mono.just(NettyDataBufferFactory.toByteBuf((DataBuffer) part)));
+				}else {
+					ResourceRegion region = (ResourceRegion) part;
+					try {
+						outbound = outbound.sendFile(region.getResource().getFile().toPath(), region.getPosition(), region.getCount());
+					}catch (IOException ex) {
+						parts.forEach(p -> {
+							if (p instanceof DataBuffer) DataBufferUtils.release((DataBuffer) p);
+						});
+						return Mono.error(ex);
+					}
+				}
+			}
+			return outbound.then();
+		});
+	}
+
 	private Publisher<ByteBuf> toByteBufs(Publisher<? extends DataBuffer> dataBuffers) {
 		return dataBuffers instanceof Mono ?
 				Mono.from(dataBuffers).map(NettyDataBufferFactory::toByteBuf) :
@@ -3,7 +3,10 @@
 package org.springframework.http.codec;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -11,16 +14,21 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpResponse;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertArrayEquals;
@@ -117,6 +125,43 @@ public class ResourceHttpMessageWriterTests {
 				.verify();
 	}
 
+	@Test
+	public void writeMultipleRegionsZeroCopy() throws Exception {
+		Path file = Files.createTempFile("ResourceHttpMessageWriterTests", ".txt");
+		try {
+			Files.write(file, "Spring Framework test resource content.".getBytes(StandardCharsets.UTF_8));
+			ZeroCopyResponse response = new ZeroCopyResponse();
+			MockServerHttpRequest request = get("/").range(of(0, 5), of(7, 15)).build();
+			Mono<Void> mono = this.writer.write(Mono.just(new FileSystemResource(file)), null, null, TEXT_PLAIN, request, response, HINTS);
+			StepVerifier.create(mono).expectComplete().verify();
+
+			assertThat(response.parts.size(), is(7));
+			assertThat(response.parts.get(3), instanceOf(ResourceRegion.class));
+			assertThat(response.parts.get(6), instanceOf(DataBuffer.class));
+			String boundary = response.getHeaders().getContentType().toString().substring(30);
+			StepVerifier.create(response.getBodyAsString())
+					.consumeNextWith(content -> {
+						String[] expected = new String[] {
+								"--" + boundary,
+								"Content-Type: text/plain",
+								"Content-Range: bytes 0-5/39",
+								"Spring",
+								"--" + boundary,
+								"Content-Type: text/plain",
+								"Content-Range: bytes 7-15/39",
+								"Framework",
+								"--" + boundary + "--"
+						};
+						assertArrayEquals(expected, StringUtils.tokenizeToStringArray(content, "\r\n", false, true));
+					})
+					.expectComplete()
+					.verify();
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
 	@Test
 	public void invalidRange() throws Exception {
 
@@ -136,4 +181,22 @@ public class ResourceHttpMessageWriterTests {
 		return HttpRange.createByteRange(first, last);
 	}
 
+
+	// Records the parts and writes them through the default implementation
+	private static class ZeroCopyResponse extends MockServerHttpResponse implements ZeroCopyHttpOutputMessage {
+
+		private List<?> parts;
+
+		@Override
+		public Mono<Void> writeWith(Path file, long position, long count) {
+			return Mono.error(new UnsupportedOperationException());
+		}
+
+		@Override
+		public Mono<Void> writePartsWith(List<?> parts) {
+			this.parts = parts;
+			return ZeroCopyHttpOutputMessage.super.writePartsWith(parts);
+		}
+	}
+
 }
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.servlet.ServletException;
+import javax.servlet.ServletResponseWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -24,10 +25,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
@@ -88,6 +91,18 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 
 	private static final String URL_RESOURCE_CHARSET_PREFIX = "[charset=";
 
+	// Request attributes through which Tomcat offers and performs sendfile transfers
+	private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+	// Default minimum size of a sendfile transfer, as Tomcat's DefaultServlet uses: 48 KB
+	private static final long DEFAULT_SENDFILE_THRESHOLD = 48 * 1024;
+
 
 	private final List<String> locationValues = new ArrayList<>(4);
 
@@ -126,6 +141,8 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 	@Nullable
 	private StringValueResolver embeddedValueResolver;
 
+	private long sendfileThreshold = DEFAULT_SENDFILE_THRESHOLD;
+
 
 	public ResourceHttpRequestHandler() {
 		super(HttpMethod.GET.name(), HttpMethod.HEAD.name());
@@ -297,6 +314,25 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		return this.urlPathHelper;
 	}
 
+	/**
+	 * Set the minimum number of bytes from which a file system resource, or a single range of it,
+	 * is handed to the Servlet container for a zero-copy transfer where supported, i.e. through
+	 * Tomcat's sendfile support. Smaller resources are cheaper to copy.
+	 * <p>By default this is 48 KB. A negative value turns zero-copy transfers off.
+	 * @since 5.1.9
+	 */
+	public void setSendfileThreshold(long sendfileThreshold) {
+		this.sendfileThreshold = sendfileThreshold;
+	}
+
+	/**
+	 * Return the minimum number of bytes of a zero-copy transfer.
+	 * @since 5.1.9
+	 */
+	public long getSendfileThreshold() {
+		return this.sendfileThreshold;
+	}
+
 	@Override
 	public void setEmbeddedValueResolver(StringValueResolver resolver) {
 		this.embeddedValueResolver = resolver;
@@ -471,6 +507,7 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		if (request.getHeader(HttpHeaders.RANGE) == null) {
 			Assert.state(this.resourceHttpMessageConverter != null, "Not initialized");
 			setHeaders(response, resource, mediaType);
+			if (sendfile(request, response, resource)) return;
 			this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
 		}
 		else {
@@ -480,8 +517,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			try {
 				List<HttpRange> httpRanges = inputMessage.getHeaders().getRange();
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
-				this.resourceRegionHttpMessageConverter.write(
-						HttpRange.toResourceRegions(httpRanges, resource), mediaType, outputMessage);
+				List<ResourceRegion> regions = HttpRange.toResourceRegions(httpRanges, resource);
+				if (regions.size() == 1 && sendfile(request, response, resource, mediaType, regions.get(0))) return;
+				this.resourceRegionHttpMessageConverter.write(regions, mediaType, outputMessage);
 			}
 			catch (IllegalArgumentException ex) {
 				response.setHeader("Content-Range", "bytes */" + resource.contentLength());
@@ -490,6 +528,57 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		}
 	}
 
+	// Whole resource, with the Content-Type that the ResourceHttpMessageConverter would default to
+	private boolean sendfile(HttpServletRequest request, HttpServletResponse response, Resource resource)
+			throws IOException {
+
+		long length = resource.contentLength();
+		if (!isSendfilePossible(request, response, resource, length)) return false;
+		if (response.getContentType() == null) response.setContentType(getDefaultContentType(resource));
+		sendfile(request, resource, 0, length);
+		return true;
+	}
+
+	// Single range, with the headers that the ResourceRegionHttpMessageConverter would write
+	private boolean sendfile(HttpServletRequest request, HttpServletResponse response, Resource resource,
+			@Nullable MediaType mediaType, ResourceRegion region) throws IOException {
+
+		long length = resource.contentLength();
+		long start = region.getPosition();
+		long end = Math.min(start + region.getCount() - 1, length - 1);
+		if (!isSendfilePossible(request, response, resource, end - start + 1)) return false;
+		response.setContentType(mediaType != null ? mediaType.toString() : getDefaultContentType(resource));
+		response.setHeader("Content-Range", "bytes " + start + '-' + end + '/' + length);
+		response.setContentLengthLong(end - start + 1);
+		sendfile(request, resource, start, end - start + 1);
+		return true;
+	}
+
+	/**
+	 * Hand the given range of a file system resource to the Servlet container for a zero-copy
+	 * transfer: Tomcat offers sendfile through a request attribute and transfers the file once
+	 * the request has been handled, provided that no body has been written.
+	 */
+	private void sendfile(HttpServletRequest request, Resource resource, long start, long count) throws IOException {
+		request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, resource.getFile().getAbsolutePath());
+		request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+		request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+		if (logger.isTraceEnabled()) {
+			logger.trace("Sendfile transfer of " + count + " bytes of [" + resource + "]");
+		}
+	}
+
+	// Not for wrapped responses, which may expect to see the body (e.g. to compute an ETag)
+	private boolean isSendfilePossible(HttpServletRequest request, HttpServletResponse response, Resource resource, long count) {
+		return (this.sendfileThreshold >= 0 && count >= this.sendfileThreshold && resource.isFile() &&
+				Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE)) &&
+				!(response instanceof ServletResponseWrapper) && !response.isCommitted());
+	}
+
+	private static String getDefaultContentType(Resource resource) {
+		return MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+	}
+
 	@Nullable
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
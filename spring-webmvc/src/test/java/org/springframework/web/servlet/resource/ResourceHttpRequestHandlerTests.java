@@ -21,6 +21,7 @@ import org.springframework.web.accept.ContentNegotiationManagerFactoryBean;
 import org.springframework.web.servlet.HandlerMapping;
 
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -634,6 +635,74 @@ public class ResourceHttpRequestHandlerTests {
 		assertEquals("t.", ranges[11]);
 	}
 
+	@Test
+	public void sendfile() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.setSendfileThreshold(0);
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals(200, this.response.getStatus());
+		assertEquals("text/css", this.response.getContentType());
+		assertEquals(17, this.response.getContentLength());
+		assertEquals(new ClassPathResource("test/foo.css", getClass()).getFile().getAbsolutePath(),
+				this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(0L, this.request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(17L, this.request.getAttribute("org.apache.tomcat.sendfile.end"));
+		assertEquals(0, this.response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void sendfileByteRange() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.addHeader("Range", "bytes=2-5");
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.txt");
+		this.handler.setSendfileThreshold(0);
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals(206, this.response.getStatus());
+		assertEquals("text/plain", this.response.getContentType());
+		assertEquals(4, this.response.getContentLength());
+		assertEquals("bytes 2-5/10", this.response.getHeader("Content-Range"));
+		assertEquals(2L, this.request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(6L, this.request.getAttribute("org.apache.tomcat.sendfile.end"));
+		assertEquals(0, this.response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void noSendfileBelowThreshold() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertNull(this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals("h1 { color:red; }", this.response.getContentAsString());
+	}
+
+	@Test
+	public void noSendfileForMultipleByteRanges() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.addHeader("Range", "bytes=0-1, 4-5");
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.txt");
+		this.handler.setSendfileThreshold(0);
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals(206, this.response.getStatus());
+		assertNull(this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertTrue(this.response.getContentAsString().contains("Content-Range: bytes 4-5/10"));
+	}
+
+	@Test
+	public void noSendfileForWrappedResponse() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.setSendfileThreshold(0);
+		this.handler.handleRequest(this.request, new HttpServletResponseWrapper(this.response));
+
+		assertNull(this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals("h1 { color:red; }", this.response.getContentAsString());
+	}
+
 	@Test  // SPR-14005
 	public void doOverwriteExistingCacheControlHeaders() throws Exception {
 		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");